@@ -110,7 +110,7 @@ public abstract class AbstractDbBackendService<ConfigurationT extends BackendCon
 
     embeddableWriteDataSource = createPooledDataSource(
         configuration, "session",
-        configuration.getConnectionPoolSize() - reservedReadPoolSize - SYSTEM_DATABASE_CONNECTIONS,
+        getWritePoolSize(),
         getCommonTransactionIsolation(),
         false
     );
@@ -134,6 +134,12 @@ public abstract class AbstractDbBackendService<ConfigurationT extends BackendCon
     readOnlyDataSource.start();
   }
 
+  @Override
+  public int getWritePoolSize() {
+    return configuration.getConnectionPoolSize() - configuration.getReservedReadPoolSize()
+        - SYSTEM_DATABASE_CONNECTIONS;
+  }
+
   @Override
   @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR",
       justification =
@@ -19,6 +19,8 @@
 package com.torodb.backend;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
 import com.torodb.backend.ErrorHandler.Context;
 import com.torodb.backend.tables.KvTable;
 import com.torodb.backend.tables.MetaDocPartTable;
@@ -239,4 +241,14 @@ public abstract class AbstractMetaDataReadInterface implements MetaDataReadInter
     return dsl.selectFrom(getMetaDatabaseTable())
         .fetchStream();
   }
+
+  @Override
+  public Table<String, String, Integer> readLastRids(DSLContext dsl) {
+    Table<String, String, Integer> lastRids = HashBasedTable.create();
+    dsl.select(metaDocPartTable.DATABASE, metaDocPartTable.IDENTIFIER, metaDocPartTable.LAST_RID)
+        .from(metaDocPartTable)
+        .fetch()
+        .forEach(record -> lastRids.put(record.value1(), record.value2(), record.value3()));
+    return lastRids;
+  }
 }
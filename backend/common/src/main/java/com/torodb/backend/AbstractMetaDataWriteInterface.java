@@ -66,9 +66,10 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
   private final MetaDocPartIndexColumnTable<?, ?> metaDocPartIndexColumnTable;
   private final KvTable<?> kvTable;
   private final SqlHelper sqlHelper;
+  private final DocPartStatementCache statementCache;
 
   public AbstractMetaDataWriteInterface(MetaDataReadInterface metaDataReadInterface,
-      SqlHelper sqlHelper) {
+      SqlHelper sqlHelper, DocPartStatementCache statementCache) {
     this.metaDatabaseTable = metaDataReadInterface.getMetaDatabaseTable();
     this.metaCollectionTable = metaDataReadInterface.getMetaCollectionTable();
     this.metaDocPartTable = metaDataReadInterface.getMetaDocPartTable();
@@ -80,6 +81,7 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
     this.metaDocPartIndexColumnTable = metaDataReadInterface.getMetaDocPartIndexColumnTable();
     this.kvTable = metaDataReadInterface.getKvTable();
     this.sqlHelper = sqlHelper;
+    this.statementCache = statementCache;
   }
 
   @Override
@@ -166,6 +168,56 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
   protected abstract String getCreateMetaDocPartIndexTableStatement(String schemaName,
       String tableName);
 
+  @Override
+  public void addMetaIndexSparseColumn(DSLContext dsl) {
+    String schemaName = metaIndexTable.getSchema().getName();
+    String tableName = metaIndexTable.getName();
+    String statement = getAddMetaTableBooleanColumnStatement(schemaName, tableName,
+        MetaIndexTable.TableFields.SPARSE.fieldName);
+    sqlHelper.executeStatement(dsl, statement, Context.ADD_COLUMN);
+  }
+
+  @Override
+  public void addMetaDocPartIndexSparseColumn(DSLContext dsl) {
+    String schemaName = metaDocPartIndexTable.getSchema().getName();
+    String tableName = metaDocPartIndexTable.getName();
+    String statement = getAddMetaTableBooleanColumnStatement(schemaName, tableName,
+        MetaDocPartIndexTable.TableFields.SPARSE.fieldName);
+    sqlHelper.executeStatement(dsl, statement, Context.ADD_COLUMN);
+  }
+
+  @Override
+  public void widenMetaIndexFieldOrderingColumn(DSLContext dsl) {
+    String schemaName = metaIndexFieldTable.getSchema().getName();
+    String tableName = metaIndexFieldTable.getName();
+    String statement = getWidenMetaTableOrderingColumnStatement(schemaName, tableName,
+        MetaIndexFieldTable.TableFields.ORDERING.fieldName);
+    sqlHelper.executeStatement(dsl, statement, Context.UNKNOWN);
+  }
+
+  @Override
+  public void widenMetaDocPartIndexColumnOrderingColumn(DSLContext dsl) {
+    String schemaName = metaDocPartIndexColumnTable.getSchema().getName();
+    String tableName = metaDocPartIndexColumnTable.getName();
+    String statement = getWidenMetaTableOrderingColumnStatement(schemaName, tableName,
+        MetaDocPartIndexColumnTable.TableFields.ORDERING.fieldName);
+    sqlHelper.executeStatement(dsl, statement, Context.UNKNOWN);
+  }
+
+  /**
+   * Returns the statement that changes the type of a not null ordering column to the one used
+   * when meta tables are created.
+   */
+  protected abstract String getWidenMetaTableOrderingColumnStatement(String schemaName,
+      String tableName, String columnName);
+
+  /**
+   * Returns the statement that adds a not null boolean column whose value is false on the
+   * existing rows.
+   */
+  protected abstract String getAddMetaTableBooleanColumnStatement(String schemaName,
+      String tableName, String columnName);
+
   @Override
   public void createMetaFieldIndexTable(DSLContext dsl) {
     String schemaName = metaDocPartIndexColumnTable.getSchema().getName();
@@ -217,6 +269,7 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
         field.getName(), field.getIdentifier(),
         field.getType());
     sqlHelper.executeUpdate(dsl, statement, Context.META_INSERT);
+    statementCache.invalidate(database.getIdentifier(), docPart.getIdentifier());
   }
 
   @Override
@@ -226,6 +279,7 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
         .getTableRef(),
         scalar.getIdentifier(), scalar.getType());
     sqlHelper.executeUpdate(dsl, statement, Context.META_INSERT);
+    statementCache.invalidate(database.getIdentifier(), docPart.getIdentifier());
   }
 
   @Override
@@ -233,7 +287,7 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
       MetaIndex index) {
     String statement = getAddMetaIndexStatement(database.getName(), collection.getName(), index
         .getName(),
-        index.isUnique());
+        index.isUnique(), index.isSparse());
     sqlHelper.executeUpdate(dsl, statement, Context.META_INSERT);
   }
 
@@ -251,7 +305,7 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
       MetaDocPart docPart, MetaIdentifiedDocPartIndex index) {
     String statement = getAddMetaDocPartIndexStatement(database.getName(), index.getIdentifier(),
         collection.getName(),
-        docPart.getTableRef(), index.isUnique());
+        docPart.getTableRef(), index.isUnique(), index.isSparse());
     sqlHelper.executeUpdate(dsl, statement, Context.META_INSERT);
   }
 
@@ -311,10 +365,11 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
   }
 
   protected String getAddMetaIndexStatement(String databaseName, String collectionName,
-      String indexName, boolean unique) {
+      String indexName, boolean unique, boolean sparse) {
     String statement = sqlHelper.dsl().insertInto(metaIndexTable)
         .set(metaIndexTable.newRecord()
-            .values(databaseName, collectionName, indexName, unique)).getSQL(ParamType.INLINED);
+            .values(databaseName, collectionName, indexName, unique, sparse))
+        .getSQL(ParamType.INLINED);
     return statement;
   }
 
@@ -337,10 +392,10 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
 
   protected String getAddMetaDocPartIndexStatement(String databaseName, String indexName,
       String collectionName,
-      TableRef tableRef, boolean unique) {
+      TableRef tableRef, boolean unique, boolean sparse) {
     String statement = sqlHelper.dsl().insertInto(metaDocPartIndexTable)
         .set(metaDocPartIndexTable.newRecord()
-            .values(databaseName, indexName, collectionName, tableRef, unique)).getSQL(
+            .values(databaseName, indexName, collectionName, tableRef, unique, sparse)).getSQL(
         ParamType.INLINED);
     return statement;
   }
@@ -359,6 +414,7 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
   public void deleteMetaDatabase(DSLContext dsl, MetaDatabase database) {
     String statement = getDeleteMetaDatabaseStatement(database.getName());
     sqlHelper.executeUpdate(dsl, statement, Context.META_DELETE);
+    statementCache.invalidate(database.getIdentifier());
   }
 
   @Override
@@ -384,6 +440,9 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
 
     statement = getDeleteMetaCollectionStatement(database.getName(), collection.getName());
     sqlHelper.executeUpdate(dsl, statement, Context.META_DELETE);
+
+    collection.streamContainedMetaDocParts().forEach(docPart ->
+        statementCache.invalidate(database.getIdentifier(), docPart.getIdentifier()));
   }
 
   @Override
@@ -524,6 +583,25 @@ public abstract class AbstractMetaDataWriteInterface implements MetaDataWriteInt
     return lastRid.value1();
   }
 
+  @Override
+  public boolean writeLastRid(DSLContext dsl, String database, String collection,
+      TableRef tableRef, int lastRid) {
+    return dsl.update(metaDocPartTable).set(metaDocPartTable.LAST_RID, lastRid).where(
+        metaDocPartTable.DATABASE.eq(database)
+            .and(metaDocPartTable.COLLECTION.eq(collection))
+            .and(getTableRefEqCondition(metaDocPartTable.TABLE_REF, tableRef)))
+        .execute() > 0;
+  }
+
+  @Override
+  public void increaseLastRids(DSLContext dsl, int increment) {
+    dsl.update(metaDocPartTable).set(metaDocPartTable.LAST_RID, metaDocPartTable.LAST_RID
+        .plus(increment)).where(
+        metaDocPartTable.LAST_RID.gt(0)
+            .and(metaDocPartTable.LAST_RID.le(Integer.MAX_VALUE - increment)))
+        .execute();
+  }
+
   protected abstract Condition getTableRefEqCondition(TableField<?, ?> field, TableRef tableRef);
 
   @Override
@@ -25,6 +25,8 @@ import com.torodb.backend.d2r.ResultSetDocPartResult;
 import com.torodb.backend.tables.MetaDocPartTable.DocPartTableFields;
 import com.torodb.core.TableRef;
 import com.torodb.core.TableRefFactory;
+import com.torodb.core.backend.DocPartPredicate;
+import com.torodb.core.backend.ReadOptions;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.cursors.EmptyCursor;
 import com.torodb.core.cursors.IteratorCursor;
@@ -39,17 +41,20 @@ import org.jooq.DSLContext;
 import org.jooq.lambda.Seq;
 import org.jooq.lambda.Unchecked;
 import org.jooq.lambda.tuple.Tuple2;
+import org.jooq.lambda.tuple.Tuple3;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -64,20 +69,25 @@ import javax.inject.Singleton;
 @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
 public abstract class AbstractReadInterface implements ReadInterface {
 
+  private static final String DOC_PART_STATEMENT = "read-doc-part";
+
   private final MetaDataReadInterface metaDataReadInterface;
   private final DataTypeProvider dataTypeProvider;
   private final ErrorHandler errorHandler;
   private final SqlHelper sqlHelper;
   private final TableRefFactory tableRefFactory;
+  private final DocPartStatementCache statementCache;
 
   public AbstractReadInterface(MetaDataReadInterface metaDataReadInterface,
       DataTypeProvider dataTypeProvider,
-      ErrorHandler errorHandler, SqlHelper sqlHelper, TableRefFactory tableRefFactory) {
+      ErrorHandler errorHandler, SqlHelper sqlHelper, TableRefFactory tableRefFactory,
+      DocPartStatementCache statementCache) {
     this.metaDataReadInterface = metaDataReadInterface;
     this.dataTypeProvider = dataTypeProvider;
     this.errorHandler = errorHandler;
     this.sqlHelper = sqlHelper;
     this.tableRefFactory = tableRefFactory;
+    this.statementCache = statementCache;
   }
 
   @Override
@@ -205,6 +215,89 @@ public abstract class AbstractReadInterface implements ReadInterface {
       String rootTableName,
       Stream<Tuple2<String, Integer>> valuesCountList);
 
+  @Override
+  @SuppressFBWarnings(value = {"OBL_UNSATISFIED_OBLIGATION", "ODR_OPEN_DATABASE_RESOURCE"},
+      justification =
+      "ResultSet is wrapped in a Cursor<Integer>. It's iterated and closed in caller code")
+  public Cursor<Integer> getCollectionDidsWithPredicates(DSLContext dsl,
+      MetaDatabase metaDatabase, MetaCollection metaCol, List<DocPartPredicate> predicates,
+      ReadOptions options) throws SQLException {
+    assert predicates.stream().allMatch(predicate -> metaCol.getMetaDocPartByIdentifier(
+        predicate.getDocPart().getIdentifier()) != null);
+
+    MetaDocPart rootDocPart = metaCol.getMetaDocPartByTableRef(tableRefFactory.createRoot());
+    if (rootDocPart == null) {
+      return new EmptyCursor<>();
+    }
+
+    String statement = getReadCollectionDidsWithPredicatesStatement(metaDatabase.getIdentifier(),
+        rootDocPart, predicates, options);
+    Connection connection = dsl.configuration().connectionProvider().acquire();
+    try {
+      PreparedStatement preparedStatement = connection.prepareStatement(statement);
+      setPredicatesParameters(preparedStatement, predicates);
+      return new DefaultDidCursor(errorHandler, preparedStatement.executeQuery());
+    } finally {
+      dsl.configuration().connectionProvider().release(connection);
+    }
+  }
+
+  private void setPredicatesParameters(PreparedStatement preparedStatement,
+      List<DocPartPredicate> predicates) throws SQLException {
+    int parameterIndex = 1;
+    for (DocPartPredicate predicate : predicates) {
+      for (Map.Entry<MetaField, KvValue<?>> value : predicate.getValues().entries()) {
+        sqlHelper.setPreparedStatementValue(preparedStatement, parameterIndex, value.getKey()
+            .getType(), value.getValue());
+        parameterIndex++;
+      }
+    }
+  }
+
+  /**
+   * Returns a statement that selects the dids of the root doc part that fulfill all the given
+   * predicates (or all dids if there are no predicates), sorted by the sort fields of the given
+   * options and then by did, and skipped and limited as the options say.
+   *
+   * <p>Each predicate must add a parameter for each of its values, in the order given by
+   * {@link DocPartPredicate#getValues()}. Sort, skip and limit must not add parameters.
+   */
+  protected abstract String getReadCollectionDidsWithPredicatesStatement(String schemaName,
+      MetaDocPart rootDocPart, List<DocPartPredicate> predicates, ReadOptions options);
+
+  @Override
+  public long countWithPredicates(DSLContext dsl, MetaDatabase metaDatabase,
+      MetaCollection metaCol, List<DocPartPredicate> predicates) throws SQLException {
+    assert predicates.stream().allMatch(predicate -> metaCol.getMetaDocPartByIdentifier(
+        predicate.getDocPart().getIdentifier()) != null);
+
+    MetaDocPart rootDocPart = metaCol.getMetaDocPartByTableRef(tableRefFactory.createRoot());
+    if (rootDocPart == null) {
+      return 0;
+    }
+
+    String statement = getReadCountWithPredicatesStatement(metaDatabase.getIdentifier(),
+        rootDocPart, predicates);
+    Connection connection = dsl.configuration().connectionProvider().acquire();
+    try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+      setPredicatesParameters(preparedStatement, predicates);
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getLong(1);
+      }
+    } finally {
+      dsl.configuration().connectionProvider().release(connection);
+    }
+  }
+
+  /**
+   * Returns a statement that counts the rows of the root doc part that fulfill all the given
+   * predicates, adding the same parameters than
+   * {@link #getReadCollectionDidsWithPredicatesStatement(String, MetaDocPart, List, ReadOptions)}.
+   */
+  protected abstract String getReadCountWithPredicatesStatement(String schemaName,
+      MetaDocPart rootDocPart, List<DocPartPredicate> predicates);
+
   @Override
   @SuppressFBWarnings(value = {"OBL_UNSATISFIED_OBLIGATION", "ODR_OPEN_DATABASE_RESOURCE"},
       justification = "ResultSet is wrapped in a Cursor<Tuple2<Integer, KVValue<?>>>. It's "
@@ -357,24 +450,42 @@ public abstract class AbstractReadInterface implements ReadInterface {
     return getCollectionResultSets(dsl, metaDatabase, metaCollection, dids);
   }
 
+  @Nonnull
+  @Override
+  public List<DocPartResult> getCollectionResultSets(@Nonnull DSLContext dsl,
+      @Nonnull MetaDatabase metaDatabase, @Nonnull MetaCollection metaCollection,
+      @Nonnull Cursor<Integer> didCursor, int maxSize, @Nonnull ReadOptions options)
+      throws SQLException {
+    Collection<Integer> dids = didCursor.getNextBatch(maxSize);
+    return getCollectionResultSets(dsl, metaDatabase, metaCollection, dids, options);
+  }
+
   @Override
+  public List<DocPartResult> getCollectionResultSets(DSLContext dsl, MetaDatabase metaDatabase,
+      MetaCollection metaCollection, Collection<Integer> dids) throws SQLException {
+    return getCollectionResultSets(dsl, metaDatabase, metaCollection, dids, ReadOptions.DEFAULT);
+  }
+
   @SuppressFBWarnings(value = {"OBL_UNSATISFIED_OBLIGATION", "ODR_OPEN_DATABASE_RESOURCE"},
       justification =
       "ResultSet is wrapped in a DocPartResult. It's iterated and closed in caller code")
-  public List<DocPartResult> getCollectionResultSets(DSLContext dsl, MetaDatabase metaDatabase,
-      MetaCollection metaCollection, Collection<Integer> dids) throws SQLException {
+  private List<DocPartResult> getCollectionResultSets(DSLContext dsl, MetaDatabase metaDatabase,
+      MetaCollection metaCollection, Collection<Integer> dids, ReadOptions options)
+      throws SQLException {
     ArrayList<DocPartResult> result = new ArrayList<>();
     Connection connection = dsl.configuration().connectionProvider().acquire();
     try {
       Iterator<? extends MetaDocPart> metaDocPartIterator = metaCollection
           .streamContainedMetaDocParts()
+          .filter(metaDocPart -> options.isRead(metaDocPart.getTableRef()))
           .sorted(TableRefComparator.MetaDocPart.DESC)
           .iterator();
       while (metaDocPartIterator.hasNext()) {
         MetaDocPart metaDocPart = metaDocPartIterator.next();
-        String statament = getDocPartStatament(metaDatabase, metaDocPart, dids);
+        String statament = getCachedDocPartStatament(metaDatabase, metaDocPart, dids);
 
         PreparedStatement preparedStatement = connection.prepareStatement(statament);
+        setDocPartStatementParameters(preparedStatement, metaDocPart, dids);
         result.add(new ResultSetDocPartResult(metaDataReadInterface, dataTypeProvider, errorHandler,
             metaDocPart, preparedStatement.executeQuery(), sqlHelper));
       }
@@ -384,9 +495,86 @@ public abstract class AbstractReadInterface implements ReadInterface {
     return result;
   }
 
+  private String getCachedDocPartStatament(MetaDatabase metaDatabase, MetaDocPart metaDocPart,
+      Collection<Integer> dids) {
+    boolean unsortedRoot = metaDocPart.getTableRef().isRoot() && !isAscending(dids);
+    List<Object> variant = Arrays.asList(
+        DocPartStatementCache.getColumns(metaDocPart),
+        sqlHelper.getDidsParameterArity(dids.size()),
+        unsortedRoot);
+    return statementCache.get(DOC_PART_STATEMENT, metaDatabase.getIdentifier(),
+        metaDocPart.getIdentifier(), variant,
+        () -> getDocPartStatament(metaDatabase, metaDocPart, dids));
+  }
+
+  /**
+   * Returns a statement that selects the rows of the given doc part whose did is one of the given
+   * ones. Rows of the root doc part must be returned in the same order than the given dids (see
+   * {@link #appendDidsOrder(StringBuilder, String, Collection)}) and rows of other doc parts must
+   * be ordered by their read internal fields.
+   *
+   * <p>Dids must not be written on the statement, but bound by
+   * {@link #setDocPartStatementParameters(PreparedStatement, MetaDocPart, Collection)}, so the same
+   * statement can be reused for different dids. By default they are expected to be sent as a
+   * {@link SqlHelper#appendDidsParameters(StringBuilder, int) list of parameters}.
+   *
+   * <p>Statements are cached, so the returned statement must only depend on the identifiers of
+   * the doc part and its columns, the {@link SqlHelper#getDidsParameterArity(int) did arity} and
+   * whether the dids of a root doc part are {@link #isAscending(Collection) sorted} or not.
+   */
   protected abstract String getDocPartStatament(MetaDatabase metaDatabase, MetaDocPart metaDocPart,
       Collection<Integer> dids);
 
+  /**
+   * Binds the given dids on a statement returned by
+   * {@link #getDocPartStatament(MetaDatabase, MetaDocPart, Collection)}.
+   */
+  protected void setDocPartStatementParameters(PreparedStatement preparedStatement,
+      MetaDocPart metaDocPart, Collection<Integer> dids) throws SQLException {
+    int parameterIndex = sqlHelper.setDidsParameters(preparedStatement, 1, dids);
+    if (metaDocPart.getTableRef().isRoot() && !isAscending(dids)) {
+      sqlHelper.setDidsParameters(preparedStatement, parameterIndex, dids);
+    }
+  }
+
+  /**
+   * Appends an {@code ORDER BY} clause that sorts rows in the same order than the given dids.
+   *
+   * <p>If the dids are not sorted, the clause contains one parameter for each
+   * {@link SqlHelper#getDidsParameterArity(int) did parameter}, that must be bound with
+   * {@link SqlHelper#setDidsParameters(PreparedStatement, int, Collection)}.
+   *
+   * @param sb        the statement builder
+   * @param didColumn the quoted name of the did column
+   * @param dids      the dids, in the expected order
+   */
+  protected void appendDidsOrder(StringBuilder sb, String didColumn, Collection<Integer> dids) {
+    sb.append(" ORDER BY ");
+    if (isAscending(dids)) {
+      sb.append(didColumn);
+      return;
+    }
+    sb.append("CASE ")
+        .append(didColumn);
+    int arity = sqlHelper.getDidsParameterArity(dids.size());
+    for (int position = 0; position < arity; position++) {
+      sb.append(" WHEN ? THEN ")
+          .append(position);
+    }
+    sb.append(" END");
+  }
+
+  protected boolean isAscending(Collection<Integer> dids) {
+    Integer previous = null;
+    for (Integer did : dids) {
+      if (previous != null && previous >= did) {
+        return false;
+      }
+      previous = did;
+    }
+    return true;
+  }
+
   @Override
   public int getLastRowIdUsed(DSLContext dsl, MetaDatabase metaDatabase,
       MetaCollection metaCollection, MetaDocPart metaDocPart) {
@@ -413,6 +601,58 @@ public abstract class AbstractReadInterface implements ReadInterface {
   protected abstract String getLastRowIdUsedStatement(MetaDatabase metaDatabase,
       MetaDocPart metaDocPart);
 
+  @Override
+  public int[] getLastRowIdsUsed(DSLContext dsl,
+      List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> docParts) {
+    Optional<String> statement = docParts.size() > 1 ?
+        getLastRowIdsUsedStatement(docParts) : Optional.empty();
+    if (!statement.isPresent()) {
+      return ReadInterface.super.getLastRowIdsUsed(dsl, docParts);
+    }
+
+    int[] result = new int[docParts.size()];
+    Arrays.fill(result, -1);
+    Connection connection = dsl.configuration().connectionProvider().acquire();
+    try (PreparedStatement preparedStatement = connection.prepareStatement(statement.get())) {
+      try (ResultSet rs = preparedStatement.executeQuery()) {
+        while (rs.next()) {
+          int position = rs.getInt(1);
+          int maxId = rs.getInt(2);
+          if (!rs.wasNull()) {
+            result[position] = maxId;
+          }
+        }
+      }
+      return result;
+    } catch (SQLException ex) {
+      throw errorHandler.handleException(Context.FETCH, ex);
+    } finally {
+      dsl.configuration().connectionProvider().release(connection);
+    }
+  }
+
+  /**
+   * Returns a statement that reads the last row id used on each of the given doc parts, as rows
+   * with the position of the doc part on the list and its last row id (or null if it is empty), or
+   * an empty optional if the backend cannot do that, in which case doc parts are read one by one.
+   */
+  protected Optional<String> getLastRowIdsUsedStatement(
+      List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> docParts) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < docParts.size(); i++) {
+      Tuple3<MetaDatabase, MetaCollection, MetaDocPart> docPart = docParts.get(i);
+      if (i > 0) {
+        sb.append(" UNION ALL ");
+      }
+      sb.append("SELECT ")
+          .append(i)
+          .append(", (")
+          .append(getLastRowIdUsedStatement(docPart.v1(), docPart.v3()))
+          .append(')');
+    }
+    return Optional.of(sb.toString());
+  }
+
   protected String getPrimaryKeyColumnIdentifier(TableRef tableRef) {
     if (tableRef.isRoot()) {
       return DocPartTableFields.DID.fieldName;
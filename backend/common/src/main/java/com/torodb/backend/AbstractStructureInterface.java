@@ -27,6 +27,7 @@ import com.torodb.core.TableRef;
 import com.torodb.core.backend.IdentifierConstraints;
 import com.torodb.core.exceptions.InvalidDatabaseException;
 import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
@@ -37,6 +38,7 @@ import org.jooq.DSLContext;
 import org.jooq.Meta;
 import org.jooq.Schema;
 import org.jooq.Table;
+import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 
 import java.util.ArrayList;
@@ -159,13 +161,13 @@ public abstract class AbstractStructureInterface implements StructureInterface {
 
   @Override
   public void createIndex(DSLContext dsl, String indexName, String schemaName, String tableName,
-      List<Tuple3<String, Boolean, FieldType>> columnList, boolean unique)
-      throws UserException {
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse) throws UserException {
     if (!dbBackend.isOnDataInsertMode(schemaName)) {
       Preconditions.checkArgument(!columnList.isEmpty(), "Can not create index on 0 columns");
 
       String statement = getCreateIndexStatement(indexName, schemaName, tableName, columnList,
-          unique);
+          unique, sparse);
 
       sqlHelper.executeUpdateOrThrow(dsl, statement, unique ? Context.ADD_UNIQUE_INDEX :
           Context.CREATE_INDEX);
@@ -173,7 +175,8 @@ public abstract class AbstractStructureInterface implements StructureInterface {
   }
 
   protected abstract String getCreateIndexStatement(String indexName, String schemaName,
-      String tableName, List<Tuple3<String, Boolean, FieldType>> columnList, boolean unique);
+      String tableName, List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList,
+      boolean unique, boolean sparse);
 
   @Override
   public void dropIndex(DSLContext dsl, String schemaName, String tableName, String indexName) {
@@ -182,6 +185,59 @@ public abstract class AbstractStructureInterface implements StructureInterface {
     sqlHelper.executeUpdate(dsl, statement, Context.DROP_INDEX);
   }
 
+  @Override
+  public void createIndexConcurrently(DSLContext dsl, String indexName, String schemaName,
+      String tableName, List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList,
+      boolean unique, boolean sparse) throws UserException {
+    if (!dbBackend.isOnDataInsertMode(schemaName)) {
+      Preconditions.checkArgument(!columnList.isEmpty(), "Can not create index on 0 columns");
+
+      dropIndexConcurrently(dsl, schemaName, tableName, indexName);
+
+      String statement = getCreateIndexConcurrentlyStatement(indexName, schemaName, tableName,
+          columnList, unique, sparse);
+
+      try {
+        sqlHelper.executeUpdateOrThrow(dsl, statement, unique ? Context.ADD_UNIQUE_INDEX :
+            Context.CREATE_INDEX);
+      } catch (UserException | RuntimeException ex) {
+        dropIndexConcurrently(dsl, schemaName, tableName, indexName);
+        throw ex;
+      }
+    }
+  }
+
+  /**
+   * Returns the statement used to create an index without blocking concurrent writes on the
+   * table.
+   *
+   * <p>By default it is the statement returned by
+   * {@link #getCreateIndexStatement(String, String, String, List, boolean, boolean)}, so writes
+   * are blocked while the index is built.
+   */
+  protected String getCreateIndexConcurrentlyStatement(String indexName, String schemaName,
+      String tableName, List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList,
+      boolean unique, boolean sparse) {
+    return getCreateIndexStatement(indexName, schemaName, tableName, columnList, unique, sparse);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>By default the index is dropped with
+   * {@link #dropIndex(DSLContext, String, String, String)} and errors, like the ones thrown when
+   * the index does not exist, are ignored.
+   */
+  @Override
+  public void dropIndexConcurrently(DSLContext dsl, String schemaName, String tableName,
+      String indexName) {
+    try {
+      dropIndex(dsl, schemaName, tableName, indexName);
+    } catch (RuntimeException ex) {
+      LOGGER.trace("Index {}.{} has not been dropped", schemaName, indexName, ex);
+    }
+  }
+
   /**
    * Drops the schema or database where ToroDB's meta tables are stored.
    *
@@ -385,4 +441,28 @@ public abstract class AbstractStructureInterface implements StructureInterface {
 
   protected abstract String getAddColumnToDocPartTableStatement(String schemaName, String tableName,
       String columnName, DataTypeForKv<?> dataType);
+
+  @Override
+  public void addColumnsToDocPartTable(DSLContext dsl, String schemaName, String tableName,
+      List<Tuple2<String, DataTypeForKv<?>>> columns) {
+    Optional<String> statement = columns.size() > 1 ?
+        getAddColumnsToDocPartTableStatement(schemaName, tableName, columns) : Optional.empty();
+
+    if (statement.isPresent()) {
+      sqlHelper.executeStatement(dsl, statement.get(), Context.ADD_COLUMN);
+    } else {
+      for (Tuple2<String, DataTypeForKv<?>> column : columns) {
+        addColumnToDocPartTable(dsl, schemaName, tableName, column.v1(), column.v2());
+      }
+    }
+  }
+
+  /**
+   * Returns a statement that adds all the given columns to a doc part table at once or an empty
+   * optional if the backend does not support it, in which case columns are added one by one.
+   */
+  protected Optional<String> getAddColumnsToDocPartTableStatement(String schemaName,
+      String tableName, List<Tuple2<String, DataTypeForKv<?>>> columns) {
+    return Optional.empty();
+  }
 }
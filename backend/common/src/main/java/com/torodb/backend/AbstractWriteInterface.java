@@ -18,6 +18,7 @@
 
 package com.torodb.backend;
 
+import com.google.common.collect.Iterables;
 import com.torodb.backend.ErrorHandler.Context;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.DocPartData;
@@ -39,8 +40,10 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 import javax.inject.Singleton;
@@ -53,18 +56,23 @@ import javax.inject.Singleton;
 public abstract class AbstractWriteInterface implements WriteInterface {
 
   private static final Logger LOGGER = BackendLoggerFactory.get(AbstractWriteInterface.class);
+  private static final String DELETE_DOC_PART_STATEMENT = "delete-doc-part";
+  private static final String INSERT_DOC_PART_STATEMENT = "insert-doc-part";
 
   private final MetaDataReadInterface metaDataReadInterface;
   private final ErrorHandler errorHandler;
   private final SqlHelper sqlHelper;
+  private final DocPartStatementCache statementCache;
 
   public AbstractWriteInterface(MetaDataReadInterface metaDataReadInterface,
       ErrorHandler errorHandler,
-      SqlHelper sqlHelper) {
+      SqlHelper sqlHelper,
+      DocPartStatementCache statementCache) {
     super();
     this.metaDataReadInterface = metaDataReadInterface;
     this.errorHandler = errorHandler;
     this.sqlHelper = sqlHelper;
+    this.statementCache = statementCache;
   }
 
   @Override
@@ -79,8 +87,7 @@ public abstract class AbstractWriteInterface implements WriteInterface {
 
       while (didCursor.hasNext()) {
         Collection<Integer> dids = didCursor.getNextBatch(maxBatchSize);
-        deleteCollectionDocParts(c, schemaName, metaCollection, dids);
-        deleted += dids.size();
+        deleted += deleteCollectionDocParts(c, schemaName, metaCollection, dids);
       }
 
       return deleted;
@@ -90,36 +97,139 @@ public abstract class AbstractWriteInterface implements WriteInterface {
   }
 
   @Override
-  public void deleteCollectionDocParts(@Nonnull DSLContext dsl,
+  public long deleteCollectionDocParts(@Nonnull DSLContext dsl,
       @Nonnull String schemaName, @Nonnull MetaCollection metaCollection,
       @Nonnull Collection<Integer> dids
   ) {
     Connection c = dsl.configuration().connectionProvider().acquire();
     try {
-      deleteCollectionDocParts(c, schemaName, metaCollection, dids);
+      return deleteCollectionDocParts(c, schemaName, metaCollection, dids);
     } finally {
       dsl.configuration().connectionProvider().release(c);
     }
   }
 
-  private void deleteCollectionDocParts(Connection c, String schemaName,
+  private long deleteCollectionDocParts(Connection c, String schemaName,
       MetaCollection metaCollection,
       Collection<Integer> dids) {
+    long deletedDocs = 0;
     Iterator<? extends MetaDocPart> iterator = metaCollection.streamContainedMetaDocParts()
         .sorted(TableRefComparator.MetaDocPart.DESC).iterator();
     while (iterator.hasNext()) {
       MetaDocPart metaDocPart = iterator.next();
-      String statement = getDeleteDocPartsStatement(schemaName, metaDocPart.getIdentifier(), dids);
+      for (Collection<Integer> didsChunk : partitionDids(dids)) {
+        String statement = statementCache.get(DELETE_DOC_PART_STATEMENT, schemaName,
+            metaDocPart.getIdentifier(), sqlHelper.getDidsParameterArity(didsChunk.size()),
+            () -> getDeleteDocPartsStatement(schemaName, metaDocPart.getIdentifier(), didsChunk));
 
-      sqlHelper.executeUpdate(c, statement, Context.DELETE);
+        try (PreparedStatement preparedStatement = c.prepareStatement(statement)) {
+          setDidsParameters(preparedStatement, 1, didsChunk);
+          int deletedRows = preparedStatement.executeUpdate();
+          if (metaDocPart.getTableRef().isRoot()) {
+            deletedDocs += deletedRows;
+          }
+        } catch (SQLException ex) {
+          throw errorHandler.handleException(Context.DELETE, ex);
+        }
 
-      LOGGER.trace("Executed {}", statement);
+        LOGGER.trace("Executed {}", statement);
+      }
     }
+    return deletedDocs;
   }
 
+  /**
+   * Returns a statement that deletes the rows of the given table whose did is one of the given
+   * ones.
+   *
+   * <p>Dids must not be written on the statement, but bound by
+   * {@link #setDidsParameters(PreparedStatement, int, Collection)}. Statements are cached, so the
+   * returned statement must only depend on the identifiers and the
+   * {@link SqlHelper#getDidsParameterArity(int) did arity}.
+   */
   protected abstract String getDeleteDocPartsStatement(String schemaName, String tableName,
       Collection<Integer> dids);
 
+  /**
+   * Binds the given dids on a statement that filters by did, starting on the given parameter.
+   *
+   * <p>By default dids are bound as a
+   * {@link SqlHelper#setDidsParameters(PreparedStatement, int, Collection) list of parameters}.
+   *
+   * @return the index of the next parameter
+   */
+  protected int setDidsParameters(PreparedStatement preparedStatement, int parameterIndex,
+      Collection<Integer> dids) throws SQLException {
+    return sqlHelper.setDidsParameters(preparedStatement, parameterIndex, dids);
+  }
+
+  /**
+   * Returns the max number of dids that are bound on a single statement that filters by did.
+   */
+  protected int getMaxDidsPerStatement() {
+    return SqlHelper.MAX_DIDS_PARAMETERS;
+  }
+
+  private Iterable<? extends Collection<Integer>> partitionDids(Collection<Integer> dids) {
+    if (dids.size() <= getMaxDidsPerStatement()) {
+      return Collections.singletonList(dids);
+    }
+    return Iterables.partition(dids, getMaxDidsPerStatement());
+  }
+
+  @Override
+  public void updateDocPartFields(DSLContext dsl, String schemaName, MetaDocPart metaDocPart,
+      Map<MetaField, KvValue<?>> newValues, Collection<Integer> dids) throws UserException {
+    if (newValues.isEmpty() || dids.isEmpty()) {
+      return;
+    }
+
+    Connection connection = dsl.configuration().connectionProvider().acquire();
+    try {
+      for (Collection<Integer> didsChunk : partitionDids(dids)) {
+        List<FieldType> fieldTypeList = new ArrayList<>(newValues.size());
+        String statement = getUpdateDocPartFieldsStatement(schemaName, metaDocPart,
+            newValues.keySet().iterator(), didsChunk, fieldTypeList);
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
+          int parameterIndex = 1;
+          Iterator<FieldType> fieldTypeIterator = fieldTypeList.iterator();
+          for (KvValue<?> value : newValues.values()) {
+            sqlHelper.setPreparedStatementNullableValue(
+                preparedStatement, parameterIndex++,
+                fieldTypeIterator.next(),
+                value);
+          }
+          setDidsParameters(preparedStatement, parameterIndex, didsChunk);
+          preparedStatement.executeUpdate();
+
+          if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Executed {}", preparedStatement.toString());
+          }
+        }
+      }
+    } catch (SQLException ex) {
+      throw errorHandler.handleUserException(Context.UPDATE, ex);
+    } finally {
+      dsl.configuration().connectionProvider().release(connection);
+    }
+  }
+
+  /**
+   * Returns an update statement that sets the columns of the given fields on the rows of the given
+   * doc part that belong to the given dids.
+   *
+   * <p>The statement has one parameter for each field, following the iteration order, followed by
+   * the parameters bound by {@link #setDidsParameters(PreparedStatement, int, Collection)}. The
+   * type of each field parameter must be added to fieldTypeList.
+   */
+  protected abstract String getUpdateDocPartFieldsStatement(
+      String schemaName,
+      MetaDocPart metaDocPart,
+      Iterator<MetaField> metaFieldIterator,
+      Collection<Integer> dids,
+      List<FieldType> fieldTypeList);
+
   @Override
   public void insertDocPartData(DSLContext dsl, String schemaName, DocPartData docPartData) throws
       UserException {
@@ -150,10 +260,15 @@ public abstract class AbstractWriteInterface implements WriteInterface {
     final int maxBatchSize = getMaxBatchSize();
     Collection<InternalField<?>> internalFields = metaDataReadInterface.getInternalFields(
         metaDocPart);
-    List<FieldType> fieldTypeList = new ArrayList<>();
-    String statement = getInsertDocPartDataStatement(schemaName, metaDocPart, metaFieldIterator,
-        metaScalarIterator,
-        internalFields, fieldTypeList);
+    InsertStatement insertStatement = statementCache.get(INSERT_DOC_PART_STATEMENT, schemaName,
+        metaDocPart.getIdentifier(), DocPartStatementCache.getColumns(docPartData), () -> {
+          List<FieldType> fieldTypes = new ArrayList<>();
+          String statement = getInsertDocPartDataStatement(schemaName, metaDocPart,
+              metaFieldIterator, metaScalarIterator, internalFields, fieldTypes);
+          return new InsertStatement(statement, fieldTypes);
+        });
+    String statement = insertStatement.statement;
+    List<FieldType> fieldTypeList = insertStatement.fieldTypes;
     assert assertFieldTypeListIsConsistent(docPartData, fieldTypeList) :
         "fieldTypeList should be an ordered list of FieldType"
         + " from MetaScalar and MetaField following the the ordering of "
@@ -204,6 +319,12 @@ public abstract class AbstractWriteInterface implements WriteInterface {
     }
   }
 
+  /**
+   * Returns an insert statement for the internal fields and the given scalars and fields.
+   *
+   * <p>Statements are cached, so the returned statement must only depend on the identifiers of the
+   * doc part and the given scalars and fields.
+   */
   protected abstract String getInsertDocPartDataStatement(
       String schemaName,
       MetaDocPart metaDocPart,
@@ -212,6 +333,17 @@ public abstract class AbstractWriteInterface implements WriteInterface {
       Collection<InternalField<?>> internalFields,
       List<FieldType> fieldTypeList);
 
+  private static class InsertStatement {
+
+    private final String statement;
+    private final List<FieldType> fieldTypes;
+
+    private InsertStatement(String statement, List<FieldType> fieldTypes) {
+      this.statement = statement;
+      this.fieldTypes = Collections.unmodifiableList(fieldTypes);
+    }
+  }
+
   private boolean assertFieldTypeListIsConsistent(DocPartData docPartData,
       List<FieldType> fieldTypeList) {
     Iterator<MetaScalar> metaScalarIterator = docPartData.orderedMetaScalarIterator();
@@ -0,0 +1,239 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Singleton;
+
+/**
+ * Keeps the number of documents of each collection, so unfiltered counts do not need to scan the
+ * root doc part of the collection.
+ *
+ * <p>Counters are accessed through the {@link TransactionCounters} of each backend transaction.
+ * A counter is loaded the first time its collection is counted and then it is maintained with
+ * the documents inserted and deleted by the transactions that are committed. To never cache a
+ * count that does not match the committed state, a loaded count is discarded if the collection
+ * was modified by a transaction that has not finished yet or that has been committed since the
+ * loading transaction started.
+ */
+@Singleton
+@ThreadSafe
+public class CollectionDocCounters {
+
+  private static final long UNKNOWN = -1;
+
+  @GuardedBy("this")
+  private final Map<CollectionKey, Counter> counters = new HashMap<>();
+  @GuardedBy("this")
+  private long commitSequence = 0;
+
+  /**
+   * Returns the view of the counters for a new transaction. It must be created before the
+   * transaction executes its first statement.
+   */
+  public TransactionCounters newTransactionCounters() {
+    return new TransactionCounters(getCommitSequence());
+  }
+
+  /**
+   * Forgets all the counts, so they are loaded again the next time they are requested.
+   *
+   * <p>It must be called after any change on the data that is not done by a write transaction,
+   * like dropping or renaming collections.
+   */
+  public synchronized void invalidateAll() {
+    commitSequence++;
+    for (Counter counter : counters.values()) {
+      counter.count = UNKNOWN;
+      counter.lastCommit = commitSequence;
+    }
+  }
+
+  private synchronized long getCommitSequence() {
+    return commitSequence;
+  }
+
+  @GuardedBy("this")
+  private Counter getCounter(CollectionKey key) {
+    return counters.computeIfAbsent(key, k -> new Counter());
+  }
+
+  @NotThreadSafe
+  public class TransactionCounters {
+
+    private final Map<CollectionKey, PendingChange> pendingChanges = new HashMap<>();
+    private long startSequence;
+
+    private TransactionCounters(long startSequence) {
+      this.startSequence = startSequence;
+    }
+
+    /**
+     * Returns the number of documents the given collection has for this transaction, if it is
+     * known.
+     */
+    public OptionalLong getCount(String schemaName, String collectionIdentifier) {
+      CollectionKey key = new CollectionKey(schemaName, collectionIdentifier);
+      PendingChange pendingChange = pendingChanges.get(key);
+      synchronized (CollectionDocCounters.this) {
+        Counter counter = counters.get(key);
+        if (counter == null || counter.count == UNKNOWN
+            || pendingChange != null && pendingChange.unknown) {
+          return OptionalLong.empty();
+        }
+        long delta = pendingChange == null ? 0 : pendingChange.delta;
+        return OptionalLong.of(counter.count + delta);
+      }
+    }
+
+    /**
+     * Notifies the number of documents of the given collection that has been read by this
+     * transaction, which is cached if it matches the committed state.
+     */
+    public void loaded(String schemaName, String collectionIdentifier, long count) {
+      CollectionKey key = new CollectionKey(schemaName, collectionIdentifier);
+      if (pendingChanges.containsKey(key)) {
+        return;
+      }
+      synchronized (CollectionDocCounters.this) {
+        Counter counter = getCounter(key);
+        if (counter.activeWriters == 0 && counter.lastCommit <= startSequence) {
+          counter.count = count;
+        }
+      }
+    }
+
+    /**
+     * Notifies that this transaction has inserted (if the delta is positive) or deleted (if it is
+     * negative) documents on the given collection.
+     */
+    public void modified(String schemaName, String collectionIdentifier, long delta) {
+      getPendingChange(new CollectionKey(schemaName, collectionIdentifier)).delta += delta;
+    }
+
+    /**
+     * Notifies that this transaction may have inserted or deleted an unknown number of documents
+     * on the given collection.
+     */
+    public void modifiedUnknown(String schemaName, String collectionIdentifier) {
+      getPendingChange(new CollectionKey(schemaName, collectionIdentifier)).unknown = true;
+    }
+
+    private PendingChange getPendingChange(CollectionKey key) {
+      PendingChange pendingChange = pendingChanges.get(key);
+      if (pendingChange == null) {
+        synchronized (CollectionDocCounters.this) {
+          Counter counter = getCounter(key);
+          counter.activeWriters++;
+          pendingChange = new PendingChange(counter);
+        }
+        pendingChanges.put(key, pendingChange);
+      }
+      return pendingChange;
+    }
+
+    /**
+     * Applies the changes done by this transaction, that must be called once the transaction has
+     * been committed.
+     */
+    public void committed() {
+      finish(true);
+    }
+
+    /**
+     * Discards the changes done by this transaction, that must be called when the transaction is
+     * rolled back or closed.
+     */
+    public void discarded() {
+      finish(false);
+    }
+
+    private void finish(boolean commit) {
+      synchronized (CollectionDocCounters.this) {
+        if (!pendingChanges.isEmpty()) {
+          commitSequence++;
+          for (PendingChange pendingChange : pendingChanges.values()) {
+            Counter counter = pendingChange.counter;
+            counter.activeWriters--;
+            counter.lastCommit = commitSequence;
+            if (commit && counter.count != UNKNOWN) {
+              counter.count = pendingChange.unknown ? UNKNOWN : counter.count
+                  + pendingChange.delta;
+            }
+          }
+          pendingChanges.clear();
+        }
+        startSequence = commitSequence;
+      }
+    }
+  }
+
+  private static class Counter {
+
+    private long count = UNKNOWN;
+    private int activeWriters = 0;
+    private long lastCommit = 0;
+  }
+
+  private static class PendingChange {
+
+    private final Counter counter;
+    private long delta = 0;
+    private boolean unknown = false;
+
+    private PendingChange(Counter counter) {
+      this.counter = counter;
+    }
+  }
+
+  private static class CollectionKey {
+
+    private final String schemaName;
+    private final String collectionIdentifier;
+
+    private CollectionKey(String schemaName, String collectionIdentifier) {
+      this.schemaName = schemaName;
+      this.collectionIdentifier = collectionIdentifier;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(schemaName, collectionIdentifier);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CollectionKey)) {
+        return false;
+      }
+      CollectionKey other = (CollectionKey) obj;
+      return schemaName.equals(other.schemaName)
+          && collectionIdentifier.equals(other.collectionIdentifier);
+    }
+  }
+}
@@ -45,4 +45,9 @@ public interface DbBackendService extends TorodbService {
   public Connection createReadOnlyConnection();
 
   public Connection createWriteConnection();
+
+  /**
+   * Returns the number of connections on the pool used by {@link #createWriteConnection()}.
+   */
+  public int getWritePoolSize();
 }
@@ -20,6 +20,7 @@ package com.torodb.backend;
 
 import com.google.common.base.Preconditions;
 import com.torodb.backend.ErrorHandler.Context;
+import com.torodb.core.backend.ReadOptions;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.DocPartResult;
 import com.torodb.core.transaction.metainf.MetaCollection;
@@ -47,6 +48,7 @@ public class DefaultDocPartResultCursor implements Cursor<DocPartResult> {
   private final DSLContext dsl;
   private final MetaDatabase metaDatabase;
   private final MetaCollection metaCollection;
+  private final ReadOptions options;
 
   public DefaultDocPartResultCursor(
       @Nonnull SqlInterface sqlInterface,
@@ -54,11 +56,22 @@ public class DefaultDocPartResultCursor implements Cursor<DocPartResult> {
       @Nonnull DSLContext dsl,
       @Nonnull MetaDatabase metaDatabase,
       @Nonnull MetaCollection metaCollection) {
+    this(sqlInterface, didCursor, dsl, metaDatabase, metaCollection, ReadOptions.DEFAULT);
+  }
+
+  public DefaultDocPartResultCursor(
+      @Nonnull SqlInterface sqlInterface,
+      @Nonnull Cursor<Integer> didCursor,
+      @Nonnull DSLContext dsl,
+      @Nonnull MetaDatabase metaDatabase,
+      @Nonnull MetaCollection metaCollection,
+      @Nonnull ReadOptions options) {
     this.sqlInterface = sqlInterface;
     this.didCursor = didCursor;
     this.dsl = dsl;
     this.metaDatabase = metaDatabase;
     this.metaCollection = metaCollection;
+    this.options = options;
   }
 
   @Override
@@ -98,7 +111,7 @@ public class DefaultDocPartResultCursor implements Cursor<DocPartResult> {
 
     try {
       return sqlInterface.getReadInterface().getCollectionResultSets(
-          dsl, metaDatabase, metaCollection, didCursor, maxResults
+          dsl, metaDatabase, metaCollection, didCursor, maxResults, options
       );
     } catch (SQLException ex) {
       throw sqlInterface.getErrorHandler().handleException(Context.FETCH, ex);
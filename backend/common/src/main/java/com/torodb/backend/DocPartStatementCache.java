@@ -0,0 +1,156 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.torodb.core.d2r.DocPartData;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaField;
+import com.torodb.core.transaction.metainf.MetaScalar;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Singleton;
+
+/**
+ * A cache of the statements (or any other value derived from them) that are generated to access
+ * the table of a doc part.
+ *
+ * <p>Statements are identified by a kind, the schema and the doc part identifiers and a variant,
+ * that must contain everything else the statement depends on (usually the ordered list of column
+ * identifiers returned by {@link #getColumns(MetaDocPart)} or {@link #getColumns(DocPartData)}).
+ * As columns are part of the key, adding a field to a doc part changes the key of its statements
+ * and the {@link #invalidate(String, String) invalidation} is only done to free the entries that
+ * are not going to be used anymore.
+ */
+@Singleton
+@ThreadSafe
+public class DocPartStatementCache {
+
+  private static final int MAX_SIZE = 10_000;
+
+  private final Cache<Key, Object> cache = CacheBuilder.newBuilder()
+      .maximumSize(MAX_SIZE)
+      .build();
+
+  /**
+   * Returns the cached value for the given key or builds and caches it if there is no such value.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String kind, String schemaName, String docPartIdentifier, Object variant,
+      Supplier<T> builder) {
+    Key key = new Key(kind, schemaName, docPartIdentifier, variant);
+    Object result = cache.getIfPresent(key);
+    if (result == null) {
+      result = builder.get();
+      cache.put(key, result);
+    }
+    return (T) result;
+  }
+
+  /**
+   * Evicts the statements of the given doc part.
+   */
+  public void invalidate(String schemaName, String docPartIdentifier) {
+    cache.asMap().keySet().removeIf(key -> key.schemaName.equals(schemaName)
+        && key.docPartIdentifier.equals(docPartIdentifier));
+  }
+
+  /**
+   * Evicts the statements of all doc parts on the given schema.
+   */
+  public void invalidate(String schemaName) {
+    cache.asMap().keySet().removeIf(key -> key.schemaName.equals(schemaName));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Returns the identifiers of the scalars and then the fields of the given doc part, in the order
+   * they are streamed.
+   */
+  public static List<String> getColumns(MetaDocPart metaDocPart) {
+    ImmutableList.Builder<String> columns = ImmutableList.builder();
+    metaDocPart.streamScalars().forEach(metaScalar -> columns.add(metaScalar.getIdentifier()));
+    metaDocPart.streamFields().forEach(metaField -> columns.add(metaField.getIdentifier()));
+    return columns.build();
+  }
+
+  /**
+   * Returns the identifiers of the scalars and then the fields of the given doc part data, in the
+   * order they are iterated.
+   */
+  public static List<String> getColumns(DocPartData docPartData) {
+    ImmutableList.Builder<String> columns = ImmutableList.builder();
+    Iterator<MetaScalar> metaScalarIterator = docPartData.orderedMetaScalarIterator();
+    while (metaScalarIterator.hasNext()) {
+      columns.add(metaScalarIterator.next().getIdentifier());
+    }
+    Iterator<MetaField> metaFieldIterator = docPartData.orderedMetaFieldIterator();
+    while (metaFieldIterator.hasNext()) {
+      columns.add(metaFieldIterator.next().getIdentifier());
+    }
+    return columns.build();
+  }
+
+  private static class Key {
+
+    private final String kind;
+    private final String schemaName;
+    private final String docPartIdentifier;
+    private final Object variant;
+    private final int hashCode;
+
+    private Key(String kind, String schemaName, String docPartIdentifier, Object variant) {
+      this.kind = kind;
+      this.schemaName = schemaName;
+      this.docPartIdentifier = docPartIdentifier;
+      this.variant = variant;
+      this.hashCode = Objects.hash(kind, schemaName, docPartIdentifier, variant);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return kind.equals(other.kind)
+          && schemaName.equals(other.schemaName)
+          && docPartIdentifier.equals(other.docPartIdentifier)
+          && Objects.equals(variant, other.variant);
+    }
+  }
+}
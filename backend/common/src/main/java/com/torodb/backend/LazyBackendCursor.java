@@ -20,6 +20,7 @@ package com.torodb.backend;
 
 import com.google.common.base.Preconditions;
 import com.torodb.core.backend.BackendCursor;
+import com.torodb.core.backend.ReadOptions;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.DocPartResult;
 import com.torodb.core.transaction.metainf.MetaCollection;
@@ -44,8 +45,18 @@ public class LazyBackendCursor implements BackendCursor {
       @Nonnull DSLContext dsl,
       @Nonnull MetaDatabase metaDatabase,
       @Nonnull MetaCollection metaCollection) {
+    this(sqlInterface, didCursor, dsl, metaDatabase, metaCollection, ReadOptions.DEFAULT);
+  }
+
+  public LazyBackendCursor(
+      @Nonnull SqlInterface sqlInterface,
+      final @Nonnull Cursor<Integer> didCursor,
+      @Nonnull DSLContext dsl,
+      @Nonnull MetaDatabase metaDatabase,
+      @Nonnull MetaCollection metaCollection,
+      @Nonnull ReadOptions options) {
     docCursor = new DefaultDocPartResultCursor(sqlInterface, didCursor, dsl, metaDatabase,
-        metaCollection);
+        metaCollection, options);
     this.didCursor = didCursor;
   }
 
@@ -19,6 +19,7 @@
 package com.torodb.backend;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Table;
 import com.torodb.backend.tables.KvTable;
 import com.torodb.backend.tables.MetaCollectionTable;
 import com.torodb.backend.tables.MetaDatabaseTable;
@@ -123,6 +124,16 @@ public interface MetaDataReadInterface {
 
   Stream<MetaDatabaseRecord> readMetaDatabaseTable(DSLContext dsl);
 
+  /**
+   * Reads the rid high-water marks stored on the meta doc part table.
+   *
+   * @return the stored marks by database name and doc part identifier. Marks are not positive on
+   *         doc parts whose mark has never been stored.
+   * @see MetaDataWriteInterface#writeLastRid(DSLContext, String, String, TableRef, int)
+   */
+  @Nonnull
+  Table<String, String, Integer> readLastRids(@Nonnull DSLContext dsl);
+
   /**
    *
    * @return
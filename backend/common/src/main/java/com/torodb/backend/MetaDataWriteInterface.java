@@ -18,7 +18,9 @@
 
 package com.torodb.backend;
 
+import com.torodb.core.TableRef;
 import com.torodb.core.backend.MetaInfoKey;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
@@ -53,6 +55,30 @@ public interface MetaDataWriteInterface {
 
   void createMetaFieldIndexTable(@Nonnull DSLContext dsl);
 
+  /**
+   * Adds the sparse column to a meta index table created by a version that did not support sparse
+   * indexes. Existing indexes are marked as not sparse.
+   */
+  void addMetaIndexSparseColumn(@Nonnull DSLContext dsl);
+
+  /**
+   * Adds the sparse column to a meta doc part index table created by a version that did not
+   * support sparse indexes. Existing doc part indexes are marked as not sparse.
+   */
+  void addMetaDocPartIndexSparseColumn(@Nonnull DSLContext dsl);
+
+  /**
+   * Widens the ordering column of a meta index field table created by a version whose ordering
+   * column could not store all the {@link FieldIndexOrdering} values.
+   */
+  void widenMetaIndexFieldOrderingColumn(@Nonnull DSLContext dsl);
+
+  /**
+   * Widens the ordering column of a meta doc part index column table created by a version whose
+   * ordering column could not store all the {@link FieldIndexOrdering} values.
+   */
+  void widenMetaDocPartIndexColumnOrderingColumn(@Nonnull DSLContext dsl);
+
   void createKvTable(@Nonnull DSLContext dsl);
 
   void addMetaDatabase(@Nonnull DSLContext dsl, @Nonnull MetaDatabase database);
@@ -98,6 +124,21 @@ public interface MetaDataWriteInterface {
   int consumeRids(@Nonnull DSLContext dsl, @Nonnull MetaDatabase database,
       @Nonnull MetaCollection collection, @Nonnull MetaDocPart docPart, int count);
 
+  /**
+   * Stores the rid high-water mark of a doc part, which must be greater or equal than any rid that
+   * is used on it until a new mark is stored.
+   *
+   * @return false if the doc part has no meta row
+   */
+  boolean writeLastRid(@Nonnull DSLContext dsl, @Nonnull String database,
+      @Nonnull String collection, @Nonnull TableRef tableRef, int lastRid);
+
+  /**
+   * Increases by the given amount the rid high-water marks that have been stored, except the ones
+   * that would overflow.
+   */
+  void increaseLastRids(@Nonnull DSLContext dsl, int increment);
+
   @Nullable
   String writeMetaInfo(@Nonnull DSLContext dsl, @Nonnull MetaInfoKey key, @Nonnull String newValue);
 }
@@ -19,6 +19,8 @@
 package com.torodb.backend;
 
 import com.google.common.collect.Multimap;
+import com.torodb.core.backend.DocPartPredicate;
+import com.torodb.core.backend.ReadOptions;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.DocPartResult;
 import com.torodb.core.transaction.metainf.MetaCollection;
@@ -28,6 +30,7 @@ import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.kvdocument.values.KvValue;
 import org.jooq.DSLContext;
 import org.jooq.lambda.tuple.Tuple2;
+import org.jooq.lambda.tuple.Tuple3;
 
 import java.sql.SQLException;
 import java.util.Collection;
@@ -49,6 +52,16 @@ public interface ReadInterface {
       MetaCollection metaCol, MetaDocPart metaDocPart, Multimap<MetaField, KvValue<?>> valuesMap)
       throws SQLException;
 
+  /**
+   * Returns the dids of the documents that fulfill all the given predicates, sorted, skipped and
+   * limited as the given options say. Dids are ordered by did if the options do not define a sort.
+   */
+  @Nonnull
+  public Cursor<Integer> getCollectionDidsWithPredicates(@Nonnull DSLContext dsl,
+      @Nonnull MetaDatabase metaDatabase, @Nonnull MetaCollection metaCol,
+      @Nonnull List<DocPartPredicate> predicates, @Nonnull ReadOptions options)
+      throws SQLException;
+
   @Nonnull
   public Cursor<Tuple2<Integer, KvValue<?>>> getCollectionDidsAndProjectionWithFieldsIn(
       DSLContext dsl, MetaDatabase metaDatabase,
@@ -59,6 +72,13 @@ public interface ReadInterface {
   long countAll(@Nonnull DSLContext dsl, @Nonnull MetaDatabase database,
       @Nonnull MetaCollection collection);
 
+  /**
+   * Returns the number of documents that fulfill all the given predicates.
+   */
+  long countWithPredicates(@Nonnull DSLContext dsl, @Nonnull MetaDatabase metaDatabase,
+      @Nonnull MetaCollection metaCol, @Nonnull List<DocPartPredicate> predicates)
+      throws SQLException;
+
   @Nonnull
   Cursor<Integer> getAllCollectionDids(@Nonnull DSLContext dsl, @Nonnull MetaDatabase metaDatabase,
       @Nonnull MetaCollection metaCollection)
@@ -69,6 +89,16 @@ public interface ReadInterface {
       @Nonnull MetaDatabase metaDatabase, @Nonnull MetaCollection metaCollection,
       @Nonnull Cursor<Integer> didCursor, int maxSize) throws SQLException;
 
+  /**
+   * Returns the rows of the next dids of the cursor, skipping the doc parts that are not read as
+   * the given options say. Root rows are returned in the same order than the cursor dids.
+   */
+  @Nonnull
+  List<DocPartResult> getCollectionResultSets(@Nonnull DSLContext dsl,
+      @Nonnull MetaDatabase metaDatabase, @Nonnull MetaCollection metaCollection,
+      @Nonnull Cursor<Integer> didCursor, int maxSize, @Nonnull ReadOptions options)
+      throws SQLException;
+
   @Nonnull
   List<DocPartResult> getCollectionResultSets(@Nonnull DSLContext dsl,
       @Nonnull MetaDatabase metaDatabase, @Nonnull MetaCollection metaCollection,
@@ -76,4 +106,23 @@ public interface ReadInterface {
 
   int getLastRowIdUsed(@Nonnull DSLContext dsl, @Nonnull MetaDatabase metaDatabase,
       @Nonnull MetaCollection metaCollection, @Nonnull MetaDocPart metaDocPart);
+
+  /**
+   * Like {@link #getLastRowIdUsed(DSLContext, MetaDatabase, MetaCollection, MetaDocPart)}, but
+   * for several doc parts, that may belong to different databases and collections.
+   *
+   * <p>Backends should read all of them with as few statements as possible.
+   *
+   * @return the last row id used on each doc part, in the same order they were given
+   */
+  @Nonnull
+  default int[] getLastRowIdsUsed(@Nonnull DSLContext dsl,
+      @Nonnull List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> docParts) {
+    int[] result = new int[docParts.size()];
+    for (int i = 0; i < result.length; i++) {
+      Tuple3<MetaDatabase, MetaCollection, MetaDocPart> docPart = docParts.get(i);
+      result[i] = getLastRowIdUsed(dsl, docPart.v1(), docPart.v2(), docPart.v3());
+    }
+    return result;
+  }
 }
@@ -36,6 +36,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -44,6 +45,12 @@ import javax.inject.Singleton;
 @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
 public class SqlHelper {
 
+  /**
+   * The max number of dids that are sent as parameters of a single {@code IN} list.
+   */
+  public static final int MAX_DIDS_PARAMETERS = 1024;
+  private static final int MIN_DIDS_PARAMETERS = 8;
+
   private final DataTypeProvider dataTypeProvider;
   private final ErrorHandler errorHandler;
 
@@ -201,4 +208,56 @@ public class SqlHelper {
 
     return dataType.getTypeName();
   }
+
+  /**
+   * Returns the number of parameters used to send the given number of dids on an {@code IN} list.
+   *
+   * <p>The number of parameters is rounded up to a power of two (or to a multiple of
+   * {@link #MAX_DIDS_PARAMETERS} when it is bigger), so statements that filter by a different
+   * number of dids share the same SQL and can be reused by the driver and the database.
+   */
+  public int getDidsParameterArity(int didCount) {
+    if (didCount > MAX_DIDS_PARAMETERS) {
+      return ((didCount + MAX_DIDS_PARAMETERS - 1) / MAX_DIDS_PARAMETERS) * MAX_DIDS_PARAMETERS;
+    }
+    int arity = MIN_DIDS_PARAMETERS;
+    while (arity < didCount) {
+      arity <<= 1;
+    }
+    return arity;
+  }
+
+  /**
+   * Appends a parenthesized list of {@link #getDidsParameterArity(int) as many placeholders} as
+   * needed to send the given number of dids.
+   */
+  public void appendDidsParameters(StringBuilder sb, int didCount) {
+    int arity = getDidsParameterArity(didCount);
+    sb.append('(');
+    for (int i = 0; i < arity; i++) {
+      sb.append("?,");
+    }
+    sb.setCharAt(sb.length() - 1, ')');
+  }
+
+  /**
+   * Binds the given dids to the placeholders appended by
+   * {@link #appendDidsParameters(StringBuilder, int)}, repeating the last did (or an invalid did if
+   * there are no dids) on the placeholders that are not needed.
+   *
+   * @return the index of the next parameter
+   */
+  public int setDidsParameters(PreparedStatement preparedStatement, int parameterIndex,
+      Collection<Integer> dids) throws SQLException {
+    int arity = getDidsParameterArity(dids.size());
+    int did = -1;
+    for (Integer requestedDid : dids) {
+      did = requestedDid;
+      preparedStatement.setInt(parameterIndex++, did);
+    }
+    for (int i = dids.size(); i < arity; i++) {
+      preparedStatement.setInt(parameterIndex++, did);
+    }
+    return parameterIndex;
+  }
 }
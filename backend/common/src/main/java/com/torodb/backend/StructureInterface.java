@@ -23,12 +23,14 @@ import com.torodb.backend.meta.TorodbSchema;
 import com.torodb.core.TableRef;
 import com.torodb.core.exceptions.InvalidDatabaseException;
 import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import org.jooq.DSLContext;
 import org.jooq.Meta;
 import org.jooq.Schema;
+import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 
 import java.util.List;
@@ -92,6 +94,21 @@ public interface StructureInterface {
   void addColumnToDocPartTable(@Nonnull DSLContext dsl, @Nonnull String schemaName,
       @Nonnull String tableName, @Nonnull String columnName, @Nonnull DataTypeForKv<?> dataType);
 
+  /**
+   * Adds several columns to a doc part table.
+   *
+   * <p>Backends that can alter a table with several column definitions should add all of them
+   * in a single statement, as each table alteration may have to lock and rewrite the table.
+   *
+   * @param columns the name and data type of each column to add
+   */
+  default void addColumnsToDocPartTable(@Nonnull DSLContext dsl, @Nonnull String schemaName,
+      @Nonnull String tableName, @Nonnull List<Tuple2<String, DataTypeForKv<?>>> columns) {
+    for (Tuple2<String, DataTypeForKv<?>> column : columns) {
+      addColumnToDocPartTable(dsl, schemaName, tableName, column.v1(), column.v2());
+    }
+  }
+
   /**
    * Returns a stream of functions that, when executed, executes backend specific tasks that should
    * be done once the data insert mode finishes and return a label that indicate the type of
@@ -102,13 +119,44 @@ public interface StructureInterface {
    */
   public Stream<Function<DSLContext, String>> streamDataInsertFinishTasks(MetaDatabase db);
 
+  /**
+   * Creates an index on the given columns of a table.
+   *
+   * <p>A {@link FieldIndexOrdering#HASHED hashed} column is indexed with a hash index if the
+   * backend supports it and a sparse index does not contain the rows whose indexed columns are all
+   * null if the backend supports partial indexes. Otherwise an ordinary index is created, which can
+   * resolve the same lookups.
+   */
   void createIndex(@Nonnull DSLContext dsl, @Nonnull String indexName, @Nonnull String tableSchema,
-      @Nonnull String tableName, @Nonnull List<Tuple3<String, Boolean, FieldType>> columnList, 
-      boolean unique) throws UserException;
+      @Nonnull String tableName,
+      @Nonnull List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse) throws UserException;
 
   void dropIndex(@Nonnull DSLContext dsl, @Nonnull String schemaName, @Nonnull String tableName, 
       @Nonnull String indexName);
 
+  /**
+   * Like {@link #createIndex(DSLContext, String, String, String, List, boolean, boolean)}, but the
+   * index is built without blocking concurrent writes on the table if the backend supports it.
+   *
+   * <p>The connection used by the given context must be on auto commit mode. Any previous index
+   * with the same name is dropped before the index is built and the index is dropped if it cannot
+   * be built.
+   */
+  void createIndexConcurrently(@Nonnull DSLContext dsl, @Nonnull String indexName,
+      @Nonnull String tableSchema, @Nonnull String tableName,
+      @Nonnull List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse) throws UserException;
+
+  /**
+   * Like {@link #dropIndex(DSLContext, String, String, String)}, but nothing is done if the index
+   * does not exist and concurrent writes on the table are not blocked if the backend supports it.
+   *
+   * <p>The connection used by the given context must be on auto commit mode.
+   */
+  void dropIndexConcurrently(@Nonnull DSLContext dsl, @Nonnull String schemaName,
+      @Nonnull String tableName, @Nonnull String indexName);
+
   /**
    * Drops all torodb elements from the backend, including metatables and their content.
    *
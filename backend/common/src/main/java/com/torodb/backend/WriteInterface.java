@@ -22,9 +22,13 @@ import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.DocPartData;
 import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.transaction.metainf.MetaCollection;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaField;
+import com.torodb.kvdocument.values.KvValue;
 import org.jooq.DSLContext;
 
 import java.util.Collection;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 
@@ -36,7 +40,16 @@ public interface WriteInterface {
   long deleteCollectionDocParts(@Nonnull DSLContext dsl, @Nonnull String schemaName,
       @Nonnull MetaCollection metaCollection, @Nonnull Cursor<Integer> didCursor);
 
-  void deleteCollectionDocParts(@Nonnull DSLContext dsl, @Nonnull String schemaName,
+  /**
+   * Deletes the documents with the given dids from the given collection.
+   *
+   * @return the number of documents that have been deleted
+   */
+  long deleteCollectionDocParts(@Nonnull DSLContext dsl, @Nonnull String schemaName,
       @Nonnull MetaCollection metaCollection, @Nonnull Collection<Integer> dids);
 
+  void updateDocPartFields(@Nonnull DSLContext dsl, @Nonnull String schemaName,
+      @Nonnull MetaDocPart metaDocPart, @Nonnull Map<MetaField, KvValue<?>> newValues,
+      @Nonnull Collection<Integer> dids) throws UserException;
+
 }
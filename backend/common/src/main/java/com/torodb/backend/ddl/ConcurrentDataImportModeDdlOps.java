@@ -32,6 +32,7 @@ import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.retrier.Retrier;
 import com.torodb.core.retrier.RetrierGiveUpException;
 import com.torodb.core.transaction.RollbackException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
@@ -188,12 +189,12 @@ public class ConcurrentDataImportModeDdlOps implements DataImportModeDdlOps {
   private Consumer<DSLContext> createIndexJob(MetaDatabase db, MetaDocPart docPart,
       MetaIdentifiedDocPartIndex docPartIndex) {
     return _dsl -> {
-      List<Tuple3<String, Boolean, FieldType>> columnList = new ArrayList<>(docPartIndex.size());
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList =
+          new ArrayList<>(docPartIndex.size());
       for (Iterator<? extends MetaDocPartIndexColumn> indexColumnIterator = docPartIndex
           .iteratorColumns(); indexColumnIterator.hasNext();) {
         MetaDocPartIndexColumn indexColumn = indexColumnIterator.next();
-        columnList.add(new Tuple3<>(indexColumn.getIdentifier(), indexColumn.getOrdering()
-            .isAscending(), 
+        columnList.add(new Tuple3<>(indexColumn.getIdentifier(), indexColumn.getOrdering(),
             docPart.getMetaFieldByIdentifier(indexColumn.getIdentifier()).getType()));
       }
 
@@ -201,7 +202,8 @@ public class ConcurrentDataImportModeDdlOps implements DataImportModeDdlOps {
         sqlInterface.getStructureInterface().createIndex(
             _dsl, docPartIndex.getIdentifier(), db.getIdentifier(), docPart.getIdentifier(),
             columnList,
-            docPartIndex.isUnique());
+            docPartIndex.isUnique(),
+            docPartIndex.isSparse());
       } catch (UserException userException) {
         throw new SystemException(userException);
       }
@@ -19,7 +19,10 @@
 package com.torodb.backend.ddl;
 
 import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
 import com.torodb.core.transaction.metainf.MetaIndex;
 import com.torodb.core.transaction.metainf.MutableMetaCollection;
 import org.jooq.DSLContext;
@@ -32,4 +35,17 @@ public interface CreateIndexDdlOp extends AutoCloseable {
   void createIndex(DSLContext dsl, MetaDatabase db, MutableMetaCollection col, MetaIndex index)
       throws UserException;
 
+  /**
+   * Like {@link #createIndex(DSLContext, MetaDatabase, MutableMetaCollection, MetaIndex)}, but
+   * physical indexes are not created for the existent doc parts.
+   */
+  void createBackgroundIndex(DSLContext dsl, MetaDatabase db, MutableMetaCollection col,
+      MetaIndex index);
+
+  /**
+   * Stores the metainformation of a physical index that has already been created.
+   */
+  void addDocPartIndex(DSLContext dsl, MetaDatabase db, MetaCollection col, MetaDocPart docPart,
+      MetaIdentifiedDocPartIndex docPartIndex);
+
 }
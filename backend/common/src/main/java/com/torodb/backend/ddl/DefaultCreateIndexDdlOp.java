@@ -24,9 +24,11 @@ import com.torodb.backend.SqlInterface;
 import com.torodb.core.TableRef;
 import com.torodb.core.d2r.IdentifierFactory;
 import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
 import com.torodb.core.transaction.metainf.MetaDocPartIndexColumn;
 import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
 import com.torodb.core.transaction.metainf.MetaIndex;
@@ -63,7 +65,35 @@ public class DefaultCreateIndexDdlOp implements CreateIndexDdlOp {
   @Override
   public void createIndex(DSLContext dsl, MetaDatabase db,
       MutableMetaCollection col, MetaIndex index) throws UserException {
+    addIndex(dsl, db, col, index);
 
+    createMissingDocPartIndexes(dsl, db, col, index);
+  }
+
+  @Override
+  public void createBackgroundIndex(DSLContext dsl, MetaDatabase db, MutableMetaCollection col,
+      MetaIndex index) {
+    addIndex(dsl, db, col, index);
+
+    LOGGER.info("Created logical index {}.{}.{}, whose physical indexes will be built on "
+        + "background", db.getName(), col.getName(), index.getName());
+  }
+
+  @Override
+  public void addDocPartIndex(DSLContext dsl, MetaDatabase db, MetaCollection col,
+      MetaDocPart docPart, MetaIdentifiedDocPartIndex docPartIndex) {
+    sqlInterface.getMetaDataWriteInterface().addMetaDocPartIndex(
+        dsl, db, col, docPart, docPartIndex);
+
+    Iterator<? extends MetaDocPartIndexColumn> columnIterator = docPartIndex.iteratorColumns();
+    while (columnIterator.hasNext()) {
+      sqlInterface.getMetaDataWriteInterface().addMetaDocPartIndexColumn(
+          dsl, db, col, docPart, docPartIndex, columnIterator.next());
+    }
+  }
+
+  private void addIndex(DSLContext dsl, MetaDatabase db, MutableMetaCollection col,
+      MetaIndex index) {
     Preconditions.checkArgument(!index.isUnique() || index.streamTableRefs().count() == 1,
         "composed unique indexes on fields of different subdocuments are not supported yet");
 
@@ -78,18 +108,18 @@ public class DefaultCreateIndexDdlOp implements CreateIndexDdlOp {
           dsl, db, col, index, field
       );
     }
-
-    createMissingDocPartIndexes(dsl, db, col, index);
   }
 
   private void createIndex(DSLContext dsl, MetaDatabase db, MetaCollection col, MetaIndex index,
       MutableMetaDocPart docPart,
       List<String> identifiers) throws UserException {
-    MutableMetaDocPartIndex docPartIndex = docPart.addMetaDocPartIndex(index.isUnique());
+    MutableMetaDocPartIndex docPartIndex = docPart.addMetaDocPartIndex(index.isUnique(),
+        index.isSparse());
     Iterator<? extends MetaIndexField> indexFieldIterator = index.iteratorMetaIndexFieldByTableRef(
         docPart.getTableRef());
     int position = 0;
-    List<Tuple3<String, Boolean, FieldType>> columnList = new ArrayList<>(identifiers.size());
+    List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList =
+        new ArrayList<>(identifiers.size());
     for (String identifier : identifiers) {
       MetaIndexField indexField = indexFieldIterator.next();
       MetaDocPartIndexColumn docPartIndexColumn = docPartIndex.putMetaDocPartIndexColumn(
@@ -98,7 +128,7 @@ public class DefaultCreateIndexDdlOp implements CreateIndexDdlOp {
           indexField.getOrdering()
       );
       columnList.add(new Tuple3<>(docPartIndexColumn.getIdentifier(), docPartIndexColumn
-          .getOrdering().isAscending(), docPart.getMetaFieldByIdentifier(identifier).getType()));
+          .getOrdering(), docPart.getMetaFieldByIdentifier(identifier).getType()));
     }
     MetaIdentifiedDocPartIndex identifiedDocPartIndex = docPartIndex.immutableCopy(
         identifierFactory.toIndexIdentifier(
@@ -106,20 +136,12 @@ public class DefaultCreateIndexDdlOp implements CreateIndexDdlOp {
         )
     );
 
-    sqlInterface.getMetaDataWriteInterface().addMetaDocPartIndex(
-        dsl, db, col, docPart, identifiedDocPartIndex);
-
-    for (String identifier : identifiers) {
-      MetaDocPartIndexColumn docPartIndexColumn = docPartIndex
-          .getMetaDocPartIndexColumnByIdentifier(identifier);
-      sqlInterface.getMetaDataWriteInterface().addMetaDocPartIndexColumn(
-          dsl, db, col, docPart, identifiedDocPartIndex, docPartIndexColumn);
-    }
+    addDocPartIndex(dsl, db, col, docPart, identifiedDocPartIndex);
 
     sqlInterface.getStructureInterface().createIndex(
         dsl, identifiedDocPartIndex.getIdentifier(), db.getIdentifier(), docPart
         .getIdentifier(),
-        columnList, index.isUnique());
+        columnList, index.isUnique(), index.isSparse());
     LOGGER.info("Created index {} for table {} associated to logical index {}.{}.{}",
         identifiedDocPartIndex.getIdentifier(), docPart.getIdentifier(), db.getName(),
         col.getName(), index.getName());
@@ -19,6 +19,7 @@
 package com.torodb.backend.ddl;
 
 import com.google.common.base.Preconditions;
+import com.torodb.backend.CollectionDocCounters;
 import com.torodb.backend.ErrorHandler;
 import com.torodb.backend.SqlInterface;
 import com.torodb.core.backend.DdlOperationExecutor;
@@ -27,7 +28,9 @@ import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.transaction.RollbackException;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
 import com.torodb.core.transaction.metainf.MetaField;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
 import com.torodb.core.transaction.metainf.MetaIndex;
 import com.torodb.core.transaction.metainf.MetaScalar;
 import com.torodb.core.transaction.metainf.MetaSnapshot;
@@ -50,9 +53,12 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
   private final DSLContext dsl;
   private final DdlOps ddlOps;
   private final Connection connection;
+  private final CollectionDocCounters collectionDocCounters;
 
-  public DefaultDdlOperationExecutor(SqlInterface sqlInterface, DdlOps ddlOps) {
+  public DefaultDdlOperationExecutor(SqlInterface sqlInterface, DdlOps ddlOps,
+      CollectionDocCounters collectionDocCounters) {
     this.sqlInterface = sqlInterface;
+    this.collectionDocCounters = collectionDocCounters;
     this.connection = sqlInterface.getDbBackend().createSystemConnection();
     this.dsl = sqlInterface.getDslContextFactory().createDslContext(connection);
     this.ddlOps = ddlOps;
@@ -167,6 +173,7 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
     try {
       ddlOps.getWriteStructureDdlOps().dropCollection(dsl, db, coll);
       commit();
+      collectionDocCounters.invalidateAll();
     } catch (RollbackException ex) {
       rollback();
       throw ex;
@@ -179,6 +186,7 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
     try {
       ddlOps.getWriteStructureDdlOps().dropDatabase(dsl, db);
       commit();
+      collectionDocCounters.invalidateAll();
     } catch (RollbackException ex) {
       rollback();
       throw ex;
@@ -198,6 +206,36 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
     }
   }
 
+  @Override
+  public void createIndex(MetaDatabase db, MutableMetaCollection col, MetaIndex index,
+      boolean background) throws UserException {
+    if (!background) {
+      createIndex(db, col, index);
+      return;
+    }
+    Preconditions.checkState(!isClosed(), "This operation executor is closed");
+    try {
+      ddlOps.getCreateIndexDdlOp().createBackgroundIndex(dsl, db, col, index);
+      commit();
+    } catch (RollbackException ex) {
+      rollback();
+      throw ex;
+    }
+  }
+
+  @Override
+  public void addDocPartIndex(MetaDatabase db, MetaCollection col, MetaDocPart docPart,
+      MetaIdentifiedDocPartIndex docPartIndex) {
+    Preconditions.checkState(!isClosed(), "This operation executor is closed");
+    try {
+      ddlOps.getCreateIndexDdlOp().addDocPartIndex(dsl, db, col, docPart, docPartIndex);
+      commit();
+    } catch (RollbackException ex) {
+      rollback();
+      throw ex;
+    }
+  }
+
   @Override
   public void dropIndex(MetaDatabase db, MutableMetaCollection col, MetaIndex index) {
     Preconditions.checkState(!isClosed(), "This operation executor is closed");
@@ -217,6 +255,7 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
     try {
       ddlOps.getRenameDdlOp().renameCollection(dsl, fromDb, fromColl, toDb, toColl);
       commit();
+      collectionDocCounters.invalidateAll();
     } catch (RollbackException ex) {
       rollback();
       throw ex;
@@ -229,6 +268,7 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
     try {
       sqlInterface.getStructureInterface().dropAll(dsl);
       commit();
+      collectionDocCounters.invalidateAll();
     } catch (RollbackException ex) {
       rollback();
       throw ex;
@@ -241,6 +281,7 @@ public class DefaultDdlOperationExecutor implements DdlOperationExecutor {
     try {
       sqlInterface.getStructureInterface().dropUserData(dsl);
       commit();
+      collectionDocCounters.invalidateAll();
     } catch (RollbackException ex) {
       rollback();
       throw ex;
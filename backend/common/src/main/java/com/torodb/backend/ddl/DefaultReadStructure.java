@@ -18,6 +18,9 @@
 
 package com.torodb.backend.ddl;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
 import com.torodb.backend.BackendLoggerFactory;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.SqlInterface;
@@ -62,10 +65,15 @@ import org.apache.logging.log4j.Logger;
 import org.jooq.DSLContext;
 import org.jooq.DataType;
 import org.jooq.Result;
+import org.jooq.lambda.tuple.Tuple2;
 
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -87,11 +95,13 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
 
   @Override
   public MetaSnapshot readMetadata(DSLContext dsl) {
+    Stopwatch stopwatch = Stopwatch.createStarted();
     MutableMetaSnapshot mutableSnapshot = WrapperMutableMetaSnapshot.createEmpty();
 
     Updater updater = createUpdater(dsl);
     updater.loadMetaSnapshot(mutableSnapshot);
 
+    LOGGER.info("Metadata read and validated in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
     return mutableSnapshot;
   }
 
@@ -157,15 +167,23 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
       MutableMetaDatabase metaDatabase = snapshot.addMetaDatabase(databaseRecord.getName(),
           databaseRecord.getIdentifier());
 
+      Stopwatch stopwatch = Stopwatch.createStarted();
       SchemaValidator schemaValidator = createSchemaValidator(databaseRecord);
+      LOGGER.debug("Schema of database {} read in {} ms", databaseRecord.getName(),
+          stopwatch.elapsed(TimeUnit.MILLISECONDS));
+
+      stopwatch.reset().start();
+      DatabaseRecords records = new DatabaseRecords(databaseRecord.getName());
 
       dsl.selectFrom(collectionTable)
           .where(collectionTable.DATABASE.eq(databaseRecord.getName()))
           .fetch()
           .forEach(
-              (col) -> analyzeCollection(metaDatabase, col, schemaValidator));
+              (col) -> analyzeCollection(metaDatabase, col, schemaValidator, records));
 
-      checkCompleteness(databaseRecord, schemaValidator);
+      checkCompleteness(databaseRecord, schemaValidator, records);
+      LOGGER.debug("Metadata of database {} validated in {} ms", databaseRecord.getName(),
+          stopwatch.elapsed(TimeUnit.MILLISECONDS));
     }
 
     protected SchemaValidator createSchemaValidator(MetaDatabaseRecord databaseRecord) {
@@ -173,34 +191,31 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
           databaseRecord.getName());
     }
 
-    private void checkCompleteness(MetaDatabaseRecord database, SchemaValidator schemaValidator) {
-      Map<String, MetaDocPartRecord<Object>> docParts = dsl
-          .selectFrom(docPartTable)
-          .where(docPartTable.DATABASE.eq(database.getName()))
-          .fetchMap(docPartTable.IDENTIFIER);
-      List<MetaFieldRecord<Object>> fields = dsl
-          .selectFrom(fieldTable)
-          .where(fieldTable.DATABASE.eq(database.getName()))
-          .fetch();
-      List<MetaScalarRecord<Object>> scalars = dsl
-          .selectFrom(scalarTable)
-          .where(scalarTable.DATABASE.eq(database.getName()))
-          .fetch();
+    private void checkCompleteness(MetaDatabaseRecord database, SchemaValidator schemaValidator,
+        DatabaseRecords records) {
+      Map<String, MetaDocPartRecord<Object>> docParts = records.docParts.stream()
+          .collect(Collectors.toMap(MetaDocPartRecord::getIdentifier, docPart -> docPart));
       for (Table table : schemaValidator.getExistingTables()) {
-        MetaDocPartRecord<?> docPart = docParts.get(table.getName());
+        MetaDocPartRecord<Object> docPart = docParts.get(table.getName());
         if (docPart == null) {
           throw new InvalidDatabaseSchemaException(database.getIdentifier(), "Table " + getTableRef(
               database, table)
               + " has no container associated for database " + database.getName());
         }
 
+        Tuple2<String, TableRef> docPartKey = records.getKey(docPart);
+        Set<String> columns = new HashSet<>();
+        records.fieldsByDocPart.get(docPartKey).forEach(field -> columns.add(
+            field.getIdentifier()));
+        records.scalarsByDocPart.get(docPartKey).forEach(scalar -> columns.add(
+            scalar.getIdentifier()));
+
         for (TableField existingField : table.fields()) {
           if (!sqlInterface.getIdentifierConstraints().isAllowedColumnIdentifier(existingField
               .getName())) {
             continue;
           }
-          if (!SchemaValidator.containsField(existingField, docPart.getCollection(),
-              docPart.getTableRefValue(tableRefFactory), fields, scalars, tableRefFactory)) {
+          if (!columns.contains(existingField.getName())) {
             throw new InvalidDatabaseSchemaException(database.getIdentifier(),
                 "Column " + getColumnRef(database, table, existingField)
                 + " has no field associated for database " + database.getName());
@@ -210,30 +225,24 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
     }
 
     private void analyzeCollection(MutableMetaDatabase database, MetaCollectionRecord collection,
-        SchemaValidator schemaValidator) {
+        SchemaValidator schemaValidator, DatabaseRecords records) {
       MutableMetaCollection col = database.addMetaCollection(
           collection.getName(),
           collection.getIdentifier()
       );
 
-      dsl.selectFrom(docPartTable)
-          .where(docPartTable.DATABASE.eq(database.getName())
-              .and(docPartTable.COLLECTION.eq(collection.getName())))
-          .fetch()
+      records.docPartsByCollection.get(collection.getName())
           .forEach(
-              (docPart) -> analyzeDocPart(database, col, docPart, schemaValidator));
+              (docPart) -> analyzeDocPart(database, col, docPart, schemaValidator, records));
 
-      dsl.selectFrom(indexTable)
-          .where(indexTable.DATABASE.eq(database.getName())
-              .and(indexTable.COLLECTION.eq(collection.getName())))
-          .fetch()
+      records.indexesByCollection.get(collection.getName())
           .forEach(
-              (index) -> analyzeIndex(database, col, index, schemaValidator));
+              (index) -> analyzeIndex(database, col, index, schemaValidator, records));
     }
 
     private void analyzeDocPart(MutableMetaDatabase database,
         MutableMetaCollection collection, MetaDocPartRecord<Object> docPartRecord,
-        SchemaValidator schemaValidator) {
+        SchemaValidator schemaValidator, DatabaseRecords records) {
       if (!docPartRecord.getCollection().equals(collection.getName())) {
         return;
       }
@@ -247,30 +256,20 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
 
       MutableMetaDocPart docPart = collection.addMetaDocPart(
           docPartRecord.getTableRefValue(tableRefFactory), docPartRecord.getIdentifier());
-      dsl.selectFrom(fieldTable)
-          .where(fieldTable.DATABASE.eq(database.getName())
-              .and(fieldTable.COLLECTION.eq(collection.getName()))
-              .and(fieldTable.TABLE_REF.eq(docPartRecord.getTableRef())))
-          .fetch()
+      Tuple2<String, TableRef> docPartKey = records.getKey(docPartRecord);
+
+      records.fieldsByDocPart.get(docPartKey)
           .forEach(
               (field) -> analyzeField(database, collection, docPart, field, schemaValidator));
 
-      dsl.selectFrom(scalarTable)
-          .where(scalarTable.DATABASE.eq(database.getName())
-              .and(scalarTable.COLLECTION.eq(collection.getName()))
-              .and(scalarTable.TABLE_REF.eq(docPartRecord.getTableRef())))
-          .fetch()
+      records.scalarsByDocPart.get(docPartKey)
           .forEach(
               (scalar) -> analyzeScalar(database, collection, docPart, scalar, schemaValidator));
 
-      dsl.selectFrom(docPartIndexTable)
-          .where(docPartIndexTable.DATABASE.eq(database.getName())
-              .and(docPartIndexTable.COLLECTION.eq(collection.getName()))
-              .and(docPartIndexTable.TABLE_REF.eq(docPartRecord.getTableRef())))
-          .fetch()
+      records.docPartIndexesByDocPart.get(docPartKey)
           .forEach(
               (docPartIndex) -> analyzeDocPartIndex(database, collection, docPart, docPartIndex,
-                  schemaValidator));
+                  schemaValidator, records));
     }
 
     private void analyzeField(MutableMetaDatabase database, MetaCollection collection,
@@ -335,7 +334,7 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
 
     private void analyzeDocPartIndex(MutableMetaDatabase database, MetaCollection collection,
         MutableMetaDocPart docPart, MetaDocPartIndexRecord<Object> docPartIndex,
-        SchemaValidator schemaValidator) {
+        SchemaValidator schemaValidator, DatabaseRecords records) {
       TableRef tableRef = docPartIndex.getTableRefValue(tableRefFactory);
 
       if (!tableRef.equals(docPart.getTableRef())) {
@@ -350,13 +349,9 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
       }
 
       MutableMetaDocPartIndex metaDocPartIndex = docPart.addMetaDocPartIndex(docPartIndex
-          .getUnique());
+          .getUnique(), docPartIndex.getSparse());
 
-      dsl.selectFrom(fieldIndexTable)
-          .where(fieldIndexTable.DATABASE.eq(database.getName())
-              .and(fieldIndexTable.INDEX_IDENTIFIER.eq(docPartIndex.getIdentifier())))
-          .orderBy(fieldIndexTable.POSITION)
-          .fetch()
+      records.docPartIndexColumnsByIndex.get(docPartIndex.getIdentifier())
           .forEach(
               (indexField) -> analyzeDocPartIndexColumn(database, collection, docPart,
                   docPartIndex.getIdentifier(), metaDocPartIndex, indexField, schemaValidator));
@@ -396,18 +391,14 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
 
     private void analyzeIndex(MutableMetaDatabase db,
         MutableMetaCollection metaCollection, MetaIndexRecord index,
-        SchemaValidator schemaValidator) {
+        SchemaValidator schemaValidator, DatabaseRecords records) {
       if (!index.getCollection().equals(metaCollection.getName())) {
         return;
       }
-      MutableMetaIndex metaIndex = metaCollection.addMetaIndex(index.getName(), index.getUnique());
+      MutableMetaIndex metaIndex = metaCollection.addMetaIndex(index.getName(), index.getUnique(),
+          index.getSparse());
 
-      dsl.selectFrom(indexFieldTable)
-          .where(indexFieldTable.DATABASE.eq(db.getName())
-              .and(indexFieldTable.COLLECTION.eq(metaCollection.getName()))
-              .and(indexFieldTable.INDEX.eq(index.getName())))
-          .orderBy(indexFieldTable.POSITION)
-          .fetch()
+      records.indexFieldsByIndex.get(new Tuple2<>(metaCollection.getName(), index.getName()))
           .forEach(
               (indexField) -> analyzeIndexField(metaIndex, indexField));
 
@@ -422,6 +413,72 @@ public class DefaultReadStructure implements ReadStructureDdlOp {
       metaIndex.addMetaIndexField(tableRef, indexField.getName(), indexField.getOrdering());
     }
 
+    /**
+     * The records stored on the meta tables for a database, read with a single query per meta
+     * table instead of one per collection, doc part or index.
+     */
+    private class DatabaseRecords {
+
+      private final List<MetaDocPartRecord<Object>> docParts;
+      private final ListMultimap<String, MetaDocPartRecord<Object>> docPartsByCollection;
+      private final ListMultimap<Tuple2<String, TableRef>, MetaFieldRecord<Object>> fieldsByDocPart;
+      @SuppressWarnings("checkstyle:lineLength")
+      private final ListMultimap<Tuple2<String, TableRef>, MetaScalarRecord<Object>> scalarsByDocPart;
+      @SuppressWarnings("checkstyle:lineLength")
+      private final ListMultimap<Tuple2<String, TableRef>, MetaDocPartIndexRecord<Object>> docPartIndexesByDocPart;
+      @SuppressWarnings("checkstyle:lineLength")
+      private final ListMultimap<String, MetaDocPartIndexColumnRecord<Object>> docPartIndexColumnsByIndex;
+      private final ListMultimap<String, MetaIndexRecord> indexesByCollection;
+      @SuppressWarnings("checkstyle:lineLength")
+      private final ListMultimap<Tuple2<String, String>, MetaIndexFieldRecord<Object>> indexFieldsByIndex;
+
+      private DatabaseRecords(String database) {
+        this.docParts = dsl.selectFrom(docPartTable)
+            .where(docPartTable.DATABASE.eq(database))
+            .fetch();
+        this.docPartsByCollection = Multimaps.index(docParts,
+            MetaDocPartRecord::getCollection);
+        this.fieldsByDocPart = Multimaps.index(
+            dsl.selectFrom(fieldTable)
+                .where(fieldTable.DATABASE.eq(database))
+                .fetch(),
+            field -> new Tuple2<>(field.getCollection(), field.getTableRefValue(tableRefFactory)));
+        this.scalarsByDocPart = Multimaps.index(
+            dsl.selectFrom(scalarTable)
+                .where(scalarTable.DATABASE.eq(database))
+                .fetch(),
+            scalar -> new Tuple2<>(scalar.getCollection(), scalar.getTableRefValue(
+                tableRefFactory)));
+        this.docPartIndexesByDocPart = Multimaps.index(
+            dsl.selectFrom(docPartIndexTable)
+                .where(docPartIndexTable.DATABASE.eq(database))
+                .fetch(),
+            docPartIndex -> new Tuple2<>(docPartIndex.getCollection(),
+                docPartIndex.getTableRefValue(tableRefFactory)));
+        this.docPartIndexColumnsByIndex = Multimaps.index(
+            dsl.selectFrom(fieldIndexTable)
+                .where(fieldIndexTable.DATABASE.eq(database))
+                .orderBy(fieldIndexTable.POSITION)
+                .fetch(),
+            MetaDocPartIndexColumnRecord::getIndexIdentifier);
+        this.indexesByCollection = Multimaps.index(
+            dsl.selectFrom(indexTable)
+                .where(indexTable.DATABASE.eq(database))
+                .fetch(),
+            MetaIndexRecord::getCollection);
+        this.indexFieldsByIndex = Multimaps.index(
+            dsl.selectFrom(indexFieldTable)
+                .where(indexFieldTable.DATABASE.eq(database))
+                .orderBy(indexFieldTable.POSITION)
+                .fetch(),
+            indexField -> new Tuple2<>(indexField.getCollection(), indexField.getIndex()));
+      }
+
+      private Tuple2<String, TableRef> getKey(MetaDocPartRecord<?> docPart) {
+        return new Tuple2<>(docPart.getCollection(), docPart.getTableRefValue(tableRefFactory));
+      }
+    }
+
     private String getDocPartRef(MetaDatabase database, MetaCollection collection,
         MetaDocPart docPart) {
       return database.getName() + "." + collection.getName() + ".[" + docPart.getTableRef() + "]";
@@ -22,6 +22,7 @@ import com.torodb.backend.SqlInterface;
 import com.torodb.core.d2r.IdentifierFactory;
 import com.torodb.core.d2r.ReservedIdGenerator;
 import com.torodb.core.transaction.RollbackException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
@@ -88,7 +89,7 @@ public class DefaultRenameCollectionDdlOp implements RenameCollectionDdlOp {
     while (fromMetaIndexIterator.hasNext()) {
       MetaIndex fromMetaIndex = fromMetaIndexIterator.next();
       MutableMetaIndex toMetaIndex = toCol.addMetaIndex(fromMetaIndex.getName(), fromMetaIndex
-          .isUnique());
+          .isUnique(), fromMetaIndex.isSparse());
       sqlInterface.getMetaDataWriteInterface()
           .addMetaIndex(dsl, toDb, toCol, toMetaIndex);
       copyIndexFields(dsl, fromMetaIndex, toDb, toCol, toMetaIndex);
@@ -170,8 +171,8 @@ public class DefaultRenameCollectionDdlOp implements RenameCollectionDdlOp {
     while (fromMetaDocPartIndexIterator.hasNext()) {
       MetaIdentifiedDocPartIndex fromMetaDocPartIndex = fromMetaDocPartIndexIterator.next();
       MutableMetaDocPartIndex toMutableMetaDocPartIndex = toMetaDocPart.addMetaDocPartIndex(
-          fromMetaDocPartIndex.isUnique());
-      List<Tuple3<String, Boolean, FieldType>> identifiers =
+          fromMetaDocPartIndex.isUnique(), fromMetaDocPartIndex.isSparse());
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> identifiers =
           copyMetaIndexColumns(fromMetaDocPart, fromMetaDocPartIndex, toMutableMetaDocPartIndex);
       MetaIdentifiedDocPartIndex toMetaDocPartIndex = toMutableMetaDocPartIndex.immutableCopy(
           identifierFactory.toIndexIdentifier(
@@ -185,11 +186,11 @@ public class DefaultRenameCollectionDdlOp implements RenameCollectionDdlOp {
     }
   }
 
-  private List<Tuple3<String, Boolean, FieldType>> copyMetaIndexColumns(
+  private List<Tuple3<String, FieldIndexOrdering, FieldType>> copyMetaIndexColumns(
       MetaDocPart fromMetaDocPart,
       MetaIdentifiedDocPartIndex fromMetaDocPartIndex,
       MutableMetaDocPartIndex toMetaDocPartIndex) {
-    List<Tuple3<String, Boolean, FieldType>> identifiers = new ArrayList<>();
+    List<Tuple3<String, FieldIndexOrdering, FieldType>> identifiers = new ArrayList<>();
     Iterator<? extends MetaDocPartIndexColumn> fromMetaDocPartIndexColumnIterator =
         fromMetaDocPartIndex.iteratorColumns();
     while (fromMetaDocPartIndexColumnIterator.hasNext()) {
@@ -197,7 +198,7 @@ public class DefaultRenameCollectionDdlOp implements RenameCollectionDdlOp {
       toMetaDocPartIndex.addMetaDocPartIndexColumn(
           fromMetaDocPartIndexColumn.getIdentifier(), fromMetaDocPartIndexColumn.getOrdering());
       identifiers.add(new Tuple3<>(fromMetaDocPartIndexColumn.getIdentifier(),
-          fromMetaDocPartIndexColumn.getOrdering().isAscending(),
+          fromMetaDocPartIndexColumn.getOrdering(),
           fromMetaDocPart.getMetaFieldByIdentifier(
               fromMetaDocPartIndexColumn.getIdentifier()).getType()));
     }
@@ -20,6 +20,7 @@ package com.torodb.backend.ddl;
 
 import com.torodb.backend.BackendLoggerFactory;
 import com.torodb.backend.SqlInterface;
+import com.torodb.backend.converters.jooq.DataTypeForKv;
 import com.torodb.backend.meta.SchemaUpdater;
 import com.torodb.core.TableRef;
 import com.torodb.core.TableRefFactory;
@@ -27,6 +28,7 @@ import com.torodb.core.d2r.IdentifierFactory;
 import com.torodb.core.exceptions.InvalidDatabaseException;
 import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.transaction.RollbackException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
@@ -162,14 +164,26 @@ public class DefaultStructureDdlOps implements WriteStructureDdlOps {
       Stream<? extends MetaScalar> scalars,
       Stream<? extends MetaField> fields) throws UserException, RollbackException {
 
-    scalars.forEach(scalar -> this.addScalar(dsl, db, col, docPart, scalar));
+    List<Tuple2<String, DataTypeForKv<?>>> newColumns = new ArrayList<>();
 
-    //addScalar throws checked exceptions, we cannot use streams there
-    Iterator<? extends MetaField> fieldIt = fields.iterator();
-    while (fieldIt.hasNext()) {
-      addField(dsl, db, col, docPart, fieldIt.next());
+    scalars.forEach(scalar -> newColumns.add(addMetaScalar(dsl, db, col, docPart, scalar)));
+
+    List<MetaField> newFields = new ArrayList<>();
+    fields.forEach(field -> {
+      newColumns.add(addMetaField(dsl, db, col, docPart, field));
+      newFields.add(field);
+    });
+
+    //all columns are added with a single table alteration when the backend supports it
+    if (!newColumns.isEmpty()) {
+      sqlInterface.getStructureInterface().addColumnsToDocPartTable(dsl, db.getIdentifier(),
+          docPart.getIdentifier(), newColumns);
+    }
+
+    //createMissingIndexes throws checked exceptions, we cannot use streams there
+    for (MetaField newField : newFields) {
+      createMissingIndexes(dsl, db, col, docPart, newField);
     }
-    
   }
 
   @Override
@@ -177,14 +191,16 @@ public class DefaultStructureDdlOps implements WriteStructureDdlOps {
     schemaUpdater.checkOrCreate(dsl);
   }
 
-  private void addField(DSLContext dsl, MetaDatabase db, MetaCollection col, 
-      MutableMetaDocPart docPart, MetaField newField) throws UserException {
+  private Tuple2<String, DataTypeForKv<?>> addMetaField(DSLContext dsl, MetaDatabase db,
+      MetaCollection col, MetaDocPart docPart, MetaField newField) {
     sqlInterface.getMetaDataWriteInterface().addMetaField(dsl, db, col, docPart,
         newField);
-    sqlInterface.getStructureInterface().addColumnToDocPartTable(dsl, db.getIdentifier(),
-        docPart.getIdentifier(), newField.getIdentifier(), sqlInterface.getDataTypeProvider()
+    return new Tuple2<>(newField.getIdentifier(), sqlInterface.getDataTypeProvider()
         .getDataType(newField.getType()));
+  }
 
+  private void createMissingIndexes(DSLContext dsl, MetaDatabase db, MetaCollection col,
+      MutableMetaDocPart docPart, MetaField newField) throws UserException {
     List<Tuple2<MetaIndex, List<String>>> missingIndexes = col.getMissingIndexesForNewField(docPart,
         newField);
 
@@ -197,12 +213,13 @@ public class DefaultStructureDdlOps implements WriteStructureDdlOps {
               missingIndex, identifiers, newField);
 
       if (missingIndex.isMatch(docPart, identifiers, docPartIndex)) {
-        List<Tuple3<String, Boolean, FieldType>> columnList = new ArrayList<>(docPartIndex.size());
+        List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList =
+            new ArrayList<>(docPartIndex.size());
         for (String identifier : identifiers) {
           MetaDocPartIndexColumn docPartIndexColumn = docPartIndex
               .getMetaDocPartIndexColumnByIdentifier(identifier);
           columnList.add(new Tuple3<>(docPartIndexColumn.getIdentifier(), docPartIndexColumn
-              .getOrdering().isAscending(),
+              .getOrdering(),
               docPart.getMetaFieldByIdentifier(identifier).getType()));
         }
         MetaIdentifiedDocPartIndex identifiedDocPartIndex = docPartIndex.immutableCopy(
@@ -220,7 +237,8 @@ public class DefaultStructureDdlOps implements WriteStructureDdlOps {
 
         sqlInterface.getStructureInterface().createIndex(dsl, identifiedDocPartIndex
             .getIdentifier(), db.getIdentifier(),
-            docPart.getIdentifier(), columnList, docPartIndex.isUnique());
+            docPart.getIdentifier(), columnList, docPartIndex.isUnique(),
+            docPartIndex.isSparse());
         LOGGER.info("Created index {} for table {} associated to logical index {}.{}.{}",
             identifiedDocPartIndex.getIdentifier(), docPart.getIdentifier(), db.getName(), col
             .getName(), missingIndex.getName());
@@ -228,14 +246,12 @@ public class DefaultStructureDdlOps implements WriteStructureDdlOps {
     }
   }
 
-  private void addScalar(DSLContext dsl, MetaDatabase db, MetaCollection col, MetaDocPart docPart,
-      MetaScalar newScalar) {
+  private Tuple2<String, DataTypeForKv<?>> addMetaScalar(DSLContext dsl, MetaDatabase db,
+      MetaCollection col, MetaDocPart docPart, MetaScalar newScalar) {
     sqlInterface.getMetaDataWriteInterface().addMetaScalar(dsl, db, col, docPart,
         newScalar);
-    sqlInterface.getStructureInterface().addColumnToDocPartTable(dsl, db.getIdentifier(),
-        docPart.getIdentifier(),
-        newScalar.getIdentifier(), sqlInterface.getDataTypeProvider().getDataType(newScalar
-        .getType()));
+    return new Tuple2<>(newScalar.getIdentifier(), sqlInterface.getDataTypeProvider()
+        .getDataType(newScalar.getType()));
   }
 
   @Override
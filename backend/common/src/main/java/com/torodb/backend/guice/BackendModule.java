@@ -20,6 +20,7 @@ package com.torodb.backend.guice;
 
 import com.google.inject.PrivateModule;
 import com.google.inject.Singleton;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.DslContextFactory;
 import com.torodb.backend.DslContextFactoryImpl;
 import com.torodb.backend.SqlHelper;
@@ -67,6 +68,10 @@ public class BackendModule extends PrivateModule {
         .in(Singleton.class);
     expose(SqlHelper.class);
 
+    bind(DocPartStatementCache.class)
+        .in(Singleton.class);
+    expose(DocPartStatementCache.class);
+
     bind(KvMetainfoHandler.class);
 
     install(new BackendServiceModule());
@@ -21,22 +21,33 @@ package com.torodb.backend.meta;
 import com.google.common.io.CharStreams;
 import com.torodb.backend.BackendLoggerFactory;
 import com.torodb.backend.ErrorHandler.Context;
+import com.torodb.backend.MetaDataReadInterface;
+import com.torodb.backend.MetaDataWriteInterface;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.SqlInterface;
+import com.torodb.backend.tables.MetaDocPartIndexColumnTable;
+import com.torodb.backend.tables.MetaDocPartIndexTable;
+import com.torodb.backend.tables.MetaIndexFieldTable;
+import com.torodb.backend.tables.MetaIndexTable;
+import com.torodb.core.backend.IdentifierConstraints;
 import com.torodb.core.exceptions.InvalidDatabaseException;
 import com.torodb.core.exceptions.SystemException;
 import com.torodb.core.exceptions.ToroRuntimeException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.logging.log4j.Logger;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Meta;
 import org.jooq.Schema;
+import org.jooq.Table;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Optional;
 
 import javax.inject.Inject;
@@ -46,6 +57,13 @@ import javax.inject.Singleton;
 public abstract class AbstractSchemaUpdater implements SchemaUpdater {
 
   private static final Logger LOGGER = BackendLoggerFactory.get(AbstractSchemaUpdater.class);
+  /**
+   * The length required to store the name of any {@link FieldIndexOrdering}.
+   */
+  private static final int ORDERING_LENGTH = Arrays.stream(FieldIndexOrdering.values())
+      .mapToInt(ordering -> ordering.name().length())
+      .max()
+      .getAsInt();
 
   private final SqlInterface sqlInterface;
   private final SqlHelper sqlHelper;
@@ -68,7 +86,8 @@ public abstract class AbstractSchemaUpdater implements SchemaUpdater {
       LOGGER.info("Schema '{}' created", TorodbSchema.IDENTIFIER);
     } else {
       LOGGER.info("Schema '{}' found. Checking it...", TorodbSchema.IDENTIFIER);
-      checkSchema(torodbSchema.get(), sqlInterface);
+      Schema upgradedSchema = upgradeSchema(dsl, torodbSchema.get(), sqlInterface);
+      checkSchema(upgradedSchema, sqlInterface);
       LOGGER.info("Schema '{}' checked", TorodbSchema.IDENTIFIER);
     }
   }
@@ -87,6 +106,89 @@ public abstract class AbstractSchemaUpdater implements SchemaUpdater {
     sqlInterface.getMetaDataWriteInterface().createKvTable(dsl);
   }
 
+  /**
+   * Adds to the meta tables of an existing schema the columns that were introduced after it was
+   * created and widens the columns that were created too narrow.
+   *
+   * @return the given schema if it was not modified or the upgraded schema otherwise
+   */
+  protected Schema upgradeSchema(DSLContext dsl, Schema torodbSchema, SqlInterface sqlInterface)
+      throws InvalidDatabaseException {
+    MetaDataReadInterface metaDataReadInterface = sqlInterface.getMetaDataReadInterface();
+    MetaDataWriteInterface metaDataWriteInterface = sqlInterface.getMetaDataWriteInterface();
+    boolean upgraded = false;
+    if (lacksColumn(torodbSchema, metaDataReadInterface.getMetaIndexTable(),
+        MetaIndexTable.TableFields.SPARSE.fieldName)) {
+      LOGGER.info("Adding column '{}' to meta table '{}'", MetaIndexTable.TableFields.SPARSE,
+          MetaIndexTable.TABLE_NAME);
+      metaDataWriteInterface.addMetaIndexSparseColumn(dsl);
+      upgraded = true;
+    }
+    if (lacksColumn(torodbSchema, metaDataReadInterface.getMetaDocPartIndexTable(),
+        MetaDocPartIndexTable.TableFields.SPARSE.fieldName)) {
+      LOGGER.info("Adding column '{}' to meta table '{}'",
+          MetaDocPartIndexTable.TableFields.SPARSE, MetaDocPartIndexTable.TABLE_NAME);
+      metaDataWriteInterface.addMetaDocPartIndexSparseColumn(dsl);
+      upgraded = true;
+    }
+    if (isNarrowerColumn(torodbSchema, metaDataReadInterface.getMetaIndexFieldTable(),
+        MetaIndexFieldTable.TableFields.ORDERING.fieldName, ORDERING_LENGTH)) {
+      LOGGER.info("Widening column '{}' of meta table '{}'",
+          MetaIndexFieldTable.TableFields.ORDERING, MetaIndexFieldTable.TABLE_NAME);
+      metaDataWriteInterface.widenMetaIndexFieldOrderingColumn(dsl);
+      upgraded = true;
+    }
+    if (isNarrowerColumn(torodbSchema, metaDataReadInterface.getMetaDocPartIndexColumnTable(),
+        MetaDocPartIndexColumnTable.TableFields.ORDERING.fieldName, ORDERING_LENGTH)) {
+      LOGGER.info("Widening column '{}' of meta table '{}'",
+          MetaDocPartIndexColumnTable.TableFields.ORDERING, MetaDocPartIndexColumnTable.TABLE_NAME);
+      metaDataWriteInterface.widenMetaDocPartIndexColumnOrderingColumn(dsl);
+      upgraded = true;
+    }
+    if (!upgraded) {
+      return torodbSchema;
+    }
+    return sqlInterface.getStructureInterface().findTorodbSchema(dsl, dsl.meta())
+        .orElseThrow(() -> new InvalidDatabaseException("The schema '" + TorodbSchema.IDENTIFIER
+            + "' was not found after upgrading it"));
+  }
+
+  /**
+   * Returns true iff the given schema contains the given meta table but the table does not
+   * contain the given column. Missing meta tables are reported when the schema is checked.
+   */
+  private boolean lacksColumn(Schema torodbSchema, Table<?> metaTable, String columnName) {
+    return findTable(torodbSchema, metaTable)
+        .map(table -> Arrays.stream(table.fields())
+            .noneMatch(field -> field.getName().equals(columnName)))
+        .orElse(false);
+  }
+
+  /**
+   * Returns true iff the given schema contains the given meta table and the given column of the
+   * table has a length limit lower than the given one.
+   */
+  private boolean isNarrowerColumn(Schema torodbSchema, Table<?> metaTable, String columnName,
+      int length) {
+    return findTable(torodbSchema, metaTable)
+        .map(table -> Arrays.stream(table.fields())
+            .filter(field -> field.getName().equals(columnName))
+            .map(Field::getDataType)
+            .anyMatch(dataType -> dataType.hasLength() && dataType.length() > 0
+                && dataType.length() < length))
+        .orElse(false);
+  }
+
+  private Optional<Table<?>> findTable(Schema torodbSchema, Table<?> metaTable) {
+    IdentifierConstraints identifierConstraints = sqlInterface.getIdentifierConstraints();
+    for (Table<?> table : torodbSchema.getTables()) {
+      if (identifierConstraints.isSameIdentifier(table.getName(), metaTable.getName())) {
+        return Optional.of(table);
+      }
+    }
+    return Optional.empty();
+  }
+
   private void checkSchema(Schema torodbSchema, SqlInterface sqlInterface) throws
       InvalidDatabaseException {
     sqlInterface.getStructureInterface().checkMetaDataTables(torodbSchema);
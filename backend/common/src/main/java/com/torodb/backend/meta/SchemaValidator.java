@@ -19,7 +19,9 @@
 package com.torodb.backend.meta;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
 import com.torodb.backend.exceptions.InvalidDatabaseSchemaException;
 import com.torodb.backend.tables.records.MetaFieldRecord;
 import com.torodb.backend.tables.records.MetaScalarRecord;
@@ -34,8 +36,11 @@ import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SchemaValidator {
 
@@ -45,6 +50,8 @@ public class SchemaValidator {
   protected final String schemaName;
   protected final Iterable<? extends Table> existingTables;
   protected final Iterable<? extends Index> existingIndexes;
+  private final Map<String, Table> tablesByName = new LinkedHashMap<>();
+  private final Multimap<String, Index> indexesByName = ArrayListMultimap.create();
 
   public SchemaValidator(DSLContext dsl, String schemaName, String database) throws
       InvalidDatabaseSchemaException {
@@ -53,8 +60,16 @@ public class SchemaValidator {
     Connection connection = dsl.configuration().connectionProvider().acquire();
     try {
       checkDatabaseSchema(connection);
-      existingTables = getTables(schemaName, connection);
-      existingIndexes = getIndexes(schemaName, existingTables, connection);
+      List<Table> tables = getTables(schemaName, connection);
+      List<Index> indexes = getIndexes(schemaName, tables, connection);
+      existingTables = tables;
+      existingIndexes = indexes;
+      for (Table table : tables) {
+        tablesByName.putIfAbsent(table.getName(), table);
+      }
+      for (Index index : indexes) {
+        indexesByName.put(index.getName(), index);
+      }
     } finally {
       dsl.configuration().connectionProvider().release(connection);
     }
@@ -75,7 +90,13 @@ public class SchemaValidator {
     return new Table.ResultSetIterator(schemaName, connection);
   }
 
-  private List<Index> getIndexes(String schemaName, Iterable<? extends Table> existingTables,
+  /**
+   * Returns the indexes of the given tables.
+   *
+   * <p>By default indexes are read table by table using {@link DatabaseMetaData}. Backends that
+   * can read the indexes of the whole schema with a single query should override this method.
+   */
+  protected List<Index> getIndexes(String schemaName, Iterable<? extends Table> existingTables,
       Connection connection) {
     List<Index> indexes = new ArrayList<>();
     for (Table table : existingTables) {
@@ -114,21 +135,15 @@ public class SchemaValidator {
   }
 
   public boolean existsTable(String tableName) {
-    for (Table table : existingTables) {
-      if (table.getName().equals(tableName)) {
-        return true;
-      }
-    }
-    return false;
+    return tablesByName.containsKey(tableName);
   }
 
   public boolean existsColumn(String tableName, String columnName) {
-    for (Table table : existingTables) {
-      if (table.getName().equals(tableName)) {
-        for (TableField field : table.fields()) {
-          if (field.getName().equals(columnName)) {
-            return true;
-          }
+    Table table = tablesByName.get(tableName);
+    if (table != null) {
+      for (TableField field : table.fields()) {
+        if (field.getName().equals(columnName)) {
+          return true;
         }
       }
     }
@@ -136,14 +151,13 @@ public class SchemaValidator {
   }
 
   public boolean existsColumnWithType(String tableName, String columnName, DataType<?> columnType) {
-    for (Table table : existingTables) {
-      if (table.getName().equals(tableName)) {
-        for (TableField field : table.fields()) {
-          if (field.getName().equals(columnName)) {
-            String typeName = columnType.getTypeName();
-            return field.getSqlType() == columnType.getSQLType() 
-                && field.getTypeName().replace("\"", "").equals(typeName);
-          }
+    Table table = tablesByName.get(tableName);
+    if (table != null) {
+      for (TableField field : table.fields()) {
+        if (field.getName().equals(columnName)) {
+          String typeName = columnType.getTypeName();
+          return field.getSqlType() == columnType.getSQLType() 
+              && field.getTypeName().replace("\"", "").equals(typeName);
         }
       }
     }
@@ -151,22 +165,20 @@ public class SchemaValidator {
   }
 
   public Table getTable(String tableName) {
-    for (Table table : existingTables) {
-      if (table.getName().equals(tableName)) {
-        return table;
-      }
+    Table table = tablesByName.get(tableName);
+    if (table != null) {
+      return table;
     }
     throw new IllegalArgumentException("Table " + schemaName + "."
         + tableName + " not found");
   }
 
   public TableField getColumn(String tableName, String columnName) {
-    for (Table table : existingTables) {
-      if (table.getName().equals(tableName)) {
-        for (TableField field : table.fields()) {
-          if (field.getName().equals(columnName)) {
-            return field;
-          }
+    Table table = tablesByName.get(tableName);
+    if (table != null) {
+      for (TableField field : table.fields()) {
+        if (field.getName().equals(columnName)) {
+          return field;
         }
       }
     }
@@ -175,21 +187,14 @@ public class SchemaValidator {
   }
 
   public boolean existsIndex(String indexName) {
-    for (Index index : existingIndexes) {
-      if (index.getName().equals(indexName)) {
-        return true;
-      }
-    }
-    return false;
+    return indexesByName.containsKey(indexName);
   }
 
   public boolean existsIndexColumn(String indexName, int position, String columnName) {
-    for (Index index : existingIndexes) {
-      if (index.getName().equals(indexName)) {
-        for (IndexField field : index.fields()) {
-          if (field.getName().equals(columnName)) {
-            return true;
-          }
+    for (Index index : indexesByName.get(indexName)) {
+      for (IndexField field : index.fields()) {
+        if (field.getName().equals(columnName)) {
+          return true;
         }
       }
     }
@@ -301,6 +306,21 @@ public class SchemaValidator {
         this("TABLE_SCHEM", schemaName, tableName, connection);
       }
 
+      /**
+       * Creates an iterator over a result set whose rows have the same columns returned by
+       * {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)}, sorted by
+       * index and ordinal position.
+       */
+      public ResultSetIterator(String schemaColumn, ResultSet resultSet) {
+        this.schemaColumn = schemaColumn;
+        this.resultSet = resultSet;
+        try {
+          this.hasNext = resultSet.next();
+        } catch (SQLException sqlException) {
+          throw new SystemException(sqlException);
+        }
+      }
+
       protected ResultSetIterator(String schemaColumn, String schemaName, 
           String tableName, Connection connection) {
         this.schemaColumn = schemaColumn;
@@ -332,9 +352,11 @@ public class SchemaValidator {
             String schema = resultSet.getString(schemaColumn);
             String name = resultSet.getString("INDEX_NAME");
             boolean unique = !resultSet.getBoolean("NON_UNIQUE");
+            int position = resultSet.getInt("ORDINAL_POSITION");
 
             try {
-              if (!this.isFirst && !this.name.equals(name)) {
+              //indexes of different tables may have the same name
+              if (!this.isFirst && (!this.name.equals(name) || position == 1)) {
                 return new Index(this.schema, this.name, this.unique,
                     ImmutableList.copyOf(fields));
               }
@@ -343,8 +365,9 @@ public class SchemaValidator {
 
               fields.add(new IndexField(
                   resultSet.getString("COLUMN_NAME"),
-                  resultSet.getInt("ORDINAL_POSITION"),
-                  resultSet.getString("ASC_OR_DESC").equals("A")));
+                  position,
+                  //ASC_OR_DESC is null for unordered indexes, like hash ones
+                  !"D".equals(resultSet.getString("ASC_OR_DESC"))));
             } finally {
               this.schema = schema;
               this.name = name;
@@ -468,16 +491,26 @@ public class SchemaValidator {
 
     public static class ResultSetIterator implements Iterator<Table> {
 
+      private final String schemaColumn;
+      private final String schemaName;
       protected final ResultSet tableResultSet;
       protected final DatabaseMetaData metaData;
+      private final Map<String, List<TableField>> fieldsByTable;
 
       private boolean hasNext;
 
       public ResultSetIterator(String schemaName, Connection connection) {
+        this("TABLE_SCHEM", schemaName, connection);
+      }
+
+      protected ResultSetIterator(String schemaColumn, String schemaName, Connection connection) {
+        this.schemaColumn = schemaColumn;
+        this.schemaName = schemaName;
         try {
           this.metaData = connection.getMetaData();
+          this.fieldsByTable = getFieldsByTable();
           this.tableResultSet = getTables(metaData, schemaName);
-          this.hasNext = tableResultSet.next();
+          this.hasNext = nextOnSchema(tableResultSet);
         } catch (SQLException sqlException) {
           throw new SystemException(sqlException);
         }
@@ -495,23 +528,12 @@ public class SchemaValidator {
 
       @Override
       public Table next() {
-        List<TableField> fields = new ArrayList<>();
-
         try {
-          String catalog = tableResultSet.getString("TABLE_CAT");
-          String schema = tableResultSet.getString("TABLE_SCHEM");
+          String schema = tableResultSet.getString(schemaColumn);
           String name = tableResultSet.getString("TABLE_NAME");
-          ResultSet columnResultSet = getColumns(catalog, schema, name);
-          while (columnResultSet.next()) {
-            fields.add(new TableField(
-                columnResultSet.getString("COLUMN_NAME"),
-                columnResultSet.getInt("ORDINAL_POSITION"),
-                columnResultSet.getInt("DATA_TYPE"),
-                columnResultSet.getString("TYPE_NAME"),
-                columnResultSet.getInt("SOURCE_DATA_TYPE")));
-          }
+          List<TableField> fields = fieldsByTable.getOrDefault(name, ImmutableList.of());
 
-          if (!tableResultSet.next()) {
+          if (!nextOnSchema(tableResultSet)) {
             this.hasNext = false;
           }
 
@@ -522,9 +544,46 @@ public class SchemaValidator {
         }
       }
 
-      protected ResultSet getColumns(String catalog, String schema, String name)
+      /**
+       * Moves the given result set to its next row that belongs to the validated schema.
+       *
+       * <p>Metadata methods take the schema name as a pattern, so when it contains a {@code _} the
+       * tables and columns of schemas that have any other character on its place are returned too
+       * and must be ignored.
+       */
+      private boolean nextOnSchema(ResultSet resultSet) throws SQLException {
+        while (resultSet.next()) {
+          if (schemaName.equals(resultSet.getString(schemaColumn))) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      private Map<String, List<TableField>> getFieldsByTable() throws SQLException {
+        Map<String, List<TableField>> fieldsByTable = new HashMap<>();
+        try (ResultSet columnResultSet = getColumns(metaData, schemaName)) {
+          while (nextOnSchema(columnResultSet)) {
+            fieldsByTable.computeIfAbsent(columnResultSet.getString("TABLE_NAME"),
+                name -> new ArrayList<>())
+                .add(new TableField(
+                    columnResultSet.getString("COLUMN_NAME"),
+                    columnResultSet.getInt("ORDINAL_POSITION"),
+                    columnResultSet.getInt("DATA_TYPE"),
+                    columnResultSet.getString("TYPE_NAME"),
+                    columnResultSet.getInt("SOURCE_DATA_TYPE")));
+          }
+        }
+        return fieldsByTable;
+      }
+
+      /**
+       * Returns the columns of all the tables on the given schema, so they can be read with a
+       * single query instead of one per table.
+       */
+      protected ResultSet getColumns(DatabaseMetaData metaData, String schemaName)
           throws SQLException {
-        return metaData.getColumns(catalog, schema, name, null);
+        return metaData.getColumns(null, schemaName, "%", null);
       }
     }
 
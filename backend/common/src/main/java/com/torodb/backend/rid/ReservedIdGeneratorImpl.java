@@ -93,12 +93,30 @@ public class ReservedIdGeneratorImpl implements ReservedIdGenerator {
 
     @Override
     public int nextRid(TableRef tableRef) {
-      return get(tableRef).getAndAddLastUsedId(1) + 1;
+      ReservedIdInfo info = get(tableRef);
+      int rid = info.getAndAddLastUsedId(1) + 1;
+      info.reserveUpTo(rid);
+      return rid;
     }
 
     @Override
     public void setNextRid(TableRef tableRef, int nextRid) {
-      get(tableRef).setLastUsedId(nextRid);
+      ReservedIdInfo info = get(tableRef);
+      info.setLastUsedId(nextRid);
+      info.reserveUpTo(nextRid);
+    }
+
+    @Override
+    public int reserveRids(TableRef tableRef, int count) {
+      ReservedIdInfo info = get(tableRef);
+      int firstRid = info.getAndAddLastUsedId(count) + 1;
+      info.reserveUpTo(firstRid + count - 1);
+      return firstRid;
+    }
+
+    @Override
+    public void releaseRids(TableRef tableRef, int firstRid, int endRid) {
+      get(tableRef).compareAndSetLastUsedId(endRid - 1, firstRid - 1);
     }
 
   }
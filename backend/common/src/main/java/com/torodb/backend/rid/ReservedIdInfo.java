@@ -18,19 +18,67 @@
 
 package com.torodb.backend.rid;
 
+import com.torodb.common.util.CompletionExceptions;
+import com.torodb.core.exceptions.ToroRuntimeException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
+/**
+ * The rids used on a doc part.
+ *
+ * <p>When a {@link HighWaterMarkStore} is given, the last cached id is the high-water mark stored
+ * for the doc part, which must be greater or equal than any used rid, so the next startup can
+ * continue from it without scanning the doc part. Marks are stored {@link #HIGH_WATER_MARK_CHUNK}
+ * rids ahead of the last used one and a new one is stored in background once half of the chunk
+ * has been used, so {@link #reserveUpTo(int)} only waits for the store when rids are used faster
+ * than marks are stored.
+ */
 @ThreadSafe
 public class ReservedIdInfo {
 
+  /**
+   * The number of rids between the last used rid and a stored high-water mark.
+   */
+  public static final int HIGH_WATER_MARK_CHUNK = 1 << 14;
+  /**
+   * The last cached id of doc parts whose high-water mark is not stored.
+   */
+  public static final int UNKNOWN_HIGH_WATER_MARK = Integer.MIN_VALUE;
+
   private final AtomicInteger lastUsedId;
   private final AtomicInteger lastCachedId;
+  @Nullable
+  private final HighWaterMarkStore highWaterMarkStore;
+  /**
+   * The highest rid that can be used without storing a new high-water mark first.
+   */
+  private volatile int freeUpTo;
+  @GuardedBy("this")
+  @Nullable
+  private CompletableFuture<Boolean> pendingStore;
+  @GuardedBy("this")
+  private int pendingMark;
+  @GuardedBy("this")
+  private int retryAfter = Integer.MIN_VALUE;
 
   public ReservedIdInfo(int lastUsedId, int lastCachedId) {
+    this(lastUsedId, lastCachedId, null);
+  }
+
+  public ReservedIdInfo(int lastUsedId, int lastCachedId,
+      @Nullable HighWaterMarkStore highWaterMarkStore) {
     this.lastUsedId = new AtomicInteger(lastUsedId);
     this.lastCachedId = new AtomicInteger(lastCachedId);
+    this.highWaterMarkStore = highWaterMarkStore;
+    synchronized (this) {
+      updateFreeUpTo();
+    }
   }
 
   public void setLastUsedId(int lastUsedId) {
@@ -45,6 +93,10 @@ public class ReservedIdInfo {
     return lastUsedId.getAndAdd(increment);
   }
 
+  public boolean compareAndSetLastUsedId(int expected, int lastUsedId) {
+    return this.lastUsedId.compareAndSet(expected, lastUsedId);
+  }
+
   public void setLastCachedId(int lastCachedId) {
     this.lastCachedId.set(lastCachedId);
   }
@@ -57,6 +109,93 @@ public class ReservedIdInfo {
     return lastCachedId.getAndAdd(increment);
   }
 
+  /**
+   * Makes sure that the stored high-water mark covers the given rid, storing a new one if needed.
+   *
+   * <p>This method only blocks when the rid is beyond the stored mark and a new mark is being
+   * stored. When no mark is stored, the next startup scans the doc part, so there is nothing to
+   * wait for.
+   *
+   * @throws ToroRuntimeException if the new high-water mark cannot be stored
+   */
+  public void reserveUpTo(int id) {
+    while (id > freeUpTo) {
+      CompletableFuture<Boolean> store;
+      synchronized (this) {
+        if (id <= freeUpTo) {
+          return;
+        }
+        store = pendingStore;
+        if (store == null) {
+          store = startStore(id);
+          if (id <= freeUpTo) {
+            return;
+          }
+        }
+      }
+      try {
+        store.join();
+      } catch (CompletionException ex) {
+        throw new ToroRuntimeException("It was impossible to store the rid high-water mark",
+            CompletionExceptions.getFirstNonCompletionException(ex));
+      }
+    }
+  }
+
+  @GuardedBy("this")
+  private CompletableFuture<Boolean> startStore(int id) {
+    assert highWaterMarkStore != null;
+    int mark = saturatedAdd(Math.max(id, lastUsedId.get()), HIGH_WATER_MARK_CHUNK);
+    CompletableFuture<Boolean> store = highWaterMarkStore.store(mark);
+    pendingStore = store;
+    pendingMark = mark;
+    updateFreeUpTo();
+    store.whenComplete((stored, throwable) -> onStored(store, mark, stored));
+    return store;
+  }
+
+  private synchronized void onStored(CompletableFuture<Boolean> store, int mark,
+      @Nullable Boolean stored) {
+    if (pendingStore != store) {
+      return;
+    }
+    pendingStore = null;
+    if (stored != null) {
+      if (stored) {
+        lastCachedId.accumulateAndGet(mark, Math::max);
+      } else {
+        //the doc part has no meta row yet, so the next startup scans it
+        lastCachedId.set(UNKNOWN_HIGH_WATER_MARK);
+        retryAfter = mark;
+      }
+    }
+    updateFreeUpTo();
+  }
+
+  @GuardedBy("this")
+  private void updateFreeUpTo() {
+    if (highWaterMarkStore == null) {
+      freeUpTo = Integer.MAX_VALUE;
+      return;
+    }
+    int storedMark = lastCachedId.get();
+    boolean known = storedMark != UNKNOWN_HIGH_WATER_MARK;
+    if (pendingStore != null) {
+      freeUpTo = known ? storedMark : pendingMark;
+    } else if (storedMark == Integer.MAX_VALUE) {
+      freeUpTo = Integer.MAX_VALUE;
+    } else if (known) {
+      freeUpTo = storedMark - HIGH_WATER_MARK_CHUNK / 2;
+    } else {
+      freeUpTo = retryAfter;
+    }
+  }
+
+  static int saturatedAdd(int a, int b) {
+    long result = (long) a + b;
+    return result > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) result;
+  }
+
   @Override
   public int hashCode() {
     return super.hashCode();
@@ -82,4 +221,19 @@ public class ReservedIdInfo {
     return true;
   }
 
+  /**
+   * Stores the rid high-water mark of a doc part.
+   */
+  @FunctionalInterface
+  public interface HighWaterMarkStore {
+
+    /**
+     * Stores the given high-water mark asynchronously.
+     *
+     * @return a future that is completed with false if the doc part has no meta row where the mark
+     *         can be stored
+     */
+    CompletableFuture<Boolean> store(int mark);
+  }
+
 }
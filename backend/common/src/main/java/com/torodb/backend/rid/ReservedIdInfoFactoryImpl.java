@@ -18,49 +18,126 @@
 
 package com.torodb.backend.rid;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Table;
+import com.torodb.backend.BackendLoggerFactory;
 import com.torodb.backend.SqlInterface;
+import com.torodb.backend.rid.ReservedIdInfo.HighWaterMarkStore;
+import com.torodb.common.util.CompletionExceptions;
 import com.torodb.core.TableRef;
+import com.torodb.core.concurrent.ConcurrentToolsFactory;
 import com.torodb.core.exceptions.ToroRuntimeException;
+import com.torodb.core.transaction.metainf.MetaCollection;
+import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
 import com.torodb.core.transaction.metainf.MetaSnapshot;
+import org.apache.logging.log4j.Logger;
 import org.jooq.DSLContext;
+import org.jooq.lambda.tuple.Tuple3;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.annotation.concurrent.ThreadSafe;
 import javax.inject.Inject;
 
+/**
+ * Loads the last used rids of the doc parts and stores their high-water marks.
+ *
+ * <p>The high-water marks are stored on the meta doc part table, so the last used rid of a doc
+ * part is only scanned when it has no stored mark, like on doc parts created by older versions.
+ * As stored marks can be ahead of the used rids, each load moves them forward one
+ * {@link ReservedIdInfo#HIGH_WATER_MARK_CHUNK} and starts from the previous ones.
+ */
 @ThreadSafe
 public class ReservedIdInfoFactoryImpl implements ReservedIdInfoFactory {
 
+  private static final Logger LOGGER = BackendLoggerFactory.get(ReservedIdInfoFactoryImpl.class);
+  /**
+   * The max number of doc parts whose last row id is read with a single query.
+   */
+  private static final int DOC_PARTS_PER_QUERY = 500;
+
   private final SqlInterface sqlInterface;
+  private final ConcurrentToolsFactory concurrentToolsFactory;
+  private final ExecutorService markStoreExecutor;
   @SuppressWarnings("checkstyle:LineLength")
   private ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<TableRef, ReservedIdInfo>>> megaMap;
 
   @Inject
-  public ReservedIdInfoFactoryImpl(SqlInterface sqlInterface)
-      throws SQLException {
+  public ReservedIdInfoFactoryImpl(SqlInterface sqlInterface,
+      ConcurrentToolsFactory concurrentToolsFactory) throws SQLException {
     this.sqlInterface = sqlInterface;
+    this.concurrentToolsFactory = concurrentToolsFactory;
+    this.markStoreExecutor = concurrentToolsFactory.createExecutorServiceWithMaxThreads(
+        "rid-mark-store", 1);
   }
 
   @Override
   public void load(MetaSnapshot snapshot) {
+    Stopwatch stopwatch = Stopwatch.createStarted();
 
-    try (Connection connection = sqlInterface.getDbBackend().createSystemConnection()) {
+    List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> docParts = snapshot
+        .streamMetaDatabases()
+        .flatMap(db -> db.streamMetaCollections()
+            .flatMap(col -> col.streamContainedMetaDocParts()
+                .map(docPart -> new Tuple3<MetaDatabase, MetaCollection, MetaDocPart>(
+                    db, col, docPart))
+            )
+        )
+        .collect(Collectors.toList());
+
+    Table<String, String, Integer> lastRids = loadLastRids();
+
+    megaMap = loadRowIds(snapshot, docParts, lastRids);
+
+    LOGGER.info("Last used rids of {} doc parts read in {} ms", docParts.size(),
+        stopwatch.elapsed(TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Reads the stored high-water marks and moves them forward one
+   * {@link ReservedIdInfo#HIGH_WATER_MARK_CHUNK}.
+   *
+   * @return the high-water marks as they were before moving them forward
+   */
+  private Table<String, String, Integer> loadLastRids() {
+    try (Connection connection = sqlInterface.getDbBackend().createWriteConnection()) {
       DSLContext dsl = sqlInterface.getDslContextFactory().createDslContext(connection);
 
-      megaMap = loadRowIds(dsl, snapshot);
+      Table<String, String, Integer> lastRids = sqlInterface.getMetaDataReadInterface()
+          .readLastRids(dsl);
+      sqlInterface.getMetaDataWriteInterface().increaseLastRids(dsl,
+          ReservedIdInfo.HIGH_WATER_MARK_CHUNK);
+      connection.commit();
+      return lastRids;
     } catch (SQLException ex) {
       throw new ToroRuntimeException("It was impossible to open a connection with the remote "
           + "database", ex);
     }
-
   }
 
+  /**
+   * Reads the last used rids of the given doc parts, starting from their stored high-water marks.
+   * The ones without a stored mark are scanned in groups of {@link #DOC_PARTS_PER_QUERY}.
+   *
+   * <p>Groups are read concurrently, using at most as many connections as the write pool has, as
+   * no write transaction can be open until rids are loaded.
+   */
   @SuppressWarnings("checkstyle:LineLength")
   private ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<TableRef, ReservedIdInfo>>> loadRowIds(
-      DSLContext dsl, MetaSnapshot snapshot) {
+      MetaSnapshot snapshot, List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> docParts,
+      Table<String, String, Integer> lastRids) {
     ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<TableRef, ReservedIdInfo>>> rowsIdMap =
         new ConcurrentHashMap<>();
 
@@ -69,19 +146,115 @@ public class ReservedIdInfoFactoryImpl implements ReservedIdInfoFactory {
           new ConcurrentHashMap<>();
       rowsIdMap.put(db.getName(), collMap);
       db.streamMetaCollections().forEach(collection -> {
-        ConcurrentHashMap<TableRef, ReservedIdInfo> tableRefMap = new ConcurrentHashMap<>();
-        collMap.put(collection.getName(), tableRefMap);
-        collection.streamContainedMetaDocParts().forEach(metaDocPart -> {
-          TableRef tableRef = metaDocPart.getTableRef();
-          Integer lastRowIUsed = sqlInterface.getReadInterface().getLastRowIdUsed(dsl, db,
-              collection, metaDocPart);
-          tableRefMap.put(tableRef, new ReservedIdInfo(lastRowIUsed, lastRowIUsed));
-        });
+        collMap.put(collection.getName(), new ConcurrentHashMap<>());
       });
     });
+
+    List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> unknownDocParts = new ArrayList<>();
+    for (Tuple3<MetaDatabase, MetaCollection, MetaDocPart> docPart : docParts) {
+      Integer lastRid = lastRids.get(docPart.v1().getName(), docPart.v3().getIdentifier());
+      if (lastRid == null || lastRid <= 0) {
+        unknownDocParts.add(docPart);
+        continue;
+      }
+      int storedMark = lastRid > Integer.MAX_VALUE - ReservedIdInfo.HIGH_WATER_MARK_CHUNK ?
+          lastRid : lastRid + ReservedIdInfo.HIGH_WATER_MARK_CHUNK;
+      putReservedIdInfo(rowsIdMap, docPart, lastRid, storedMark);
+    }
+
+    List<List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>>> groups = Lists.partition(
+        unknownDocParts, DOC_PARTS_PER_QUERY);
+    if (groups.isEmpty()) {
+      return rowsIdMap;
+    }
+    int maxThreads = Math.max(1, Math.min(groups.size(),
+        sqlInterface.getDbBackend().getWritePoolSize()));
+
+    ExecutorService executorService = concurrentToolsFactory.createExecutorServiceWithMaxThreads(
+        "rid-loader", maxThreads);
+    try {
+      CompletableFuture.allOf(groups.stream()
+          .map(group -> CompletableFuture.runAsync(
+              () -> loadRowIds(rowsIdMap, group), executorService))
+          .toArray(CompletableFuture[]::new)
+      ).join();
+    } catch (CompletionException ex) {
+      Throwable cause = CompletionExceptions.getFirstNonCompletionException(ex);
+      Throwables.throwIfUnchecked(cause);
+      throw ex;
+    } finally {
+      executorService.shutdown();
+    }
     return rowsIdMap;
   }
 
+  @SuppressWarnings("checkstyle:LineLength")
+  private void loadRowIds(
+      ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<TableRef, ReservedIdInfo>>> rowsIdMap,
+      List<Tuple3<MetaDatabase, MetaCollection, MetaDocPart>> docParts) {
+    int[] lastRowIdsUsed;
+    int[] storedMarks;
+    try (Connection connection = sqlInterface.getDbBackend().createWriteConnection()) {
+      DSLContext dsl = sqlInterface.getDslContextFactory().createDslContext(connection);
+
+      lastRowIdsUsed = sqlInterface.getReadInterface().getLastRowIdsUsed(dsl, docParts);
+      storedMarks = new int[lastRowIdsUsed.length];
+      for (int i = 0; i < lastRowIdsUsed.length; i++) {
+        Tuple3<MetaDatabase, MetaCollection, MetaDocPart> docPart = docParts.get(i);
+        int mark = ReservedIdInfo.saturatedAdd(Math.max(0, lastRowIdsUsed[i]),
+            ReservedIdInfo.HIGH_WATER_MARK_CHUNK);
+        boolean stored = sqlInterface.getMetaDataWriteInterface().writeLastRid(dsl,
+            docPart.v1().getName(), docPart.v2().getName(), docPart.v3().getTableRef(), mark);
+        storedMarks[i] = stored ? mark : ReservedIdInfo.UNKNOWN_HIGH_WATER_MARK;
+      }
+      connection.commit();
+    } catch (SQLException ex) {
+      throw new ToroRuntimeException("It was impossible to open a connection with the remote "
+          + "database", ex);
+    }
+
+    for (int i = 0; i < lastRowIdsUsed.length; i++) {
+      putReservedIdInfo(rowsIdMap, docParts.get(i), lastRowIdsUsed[i], storedMarks[i]);
+    }
+  }
+
+  @SuppressWarnings("checkstyle:LineLength")
+  private void putReservedIdInfo(
+      ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<TableRef, ReservedIdInfo>>> rowsIdMap,
+      Tuple3<MetaDatabase, MetaCollection, MetaDocPart> docPart, int lastRowIdUsed,
+      int storedMark) {
+    String dbName = docPart.v1().getName();
+    String collectionName = docPart.v2().getName();
+    TableRef tableRef = docPart.v3().getTableRef();
+    rowsIdMap.get(dbName).get(collectionName).put(tableRef, new ReservedIdInfo(lastRowIdUsed,
+        storedMark, createHighWaterMarkStore(dbName, collectionName, tableRef)));
+  }
+
+  private HighWaterMarkStore createHighWaterMarkStore(String dbName, String collectionName,
+      TableRef tableRef) {
+    return mark -> CompletableFuture.supplyAsync(
+        () -> writeLastRid(dbName, collectionName, tableRef, mark), markStoreExecutor);
+  }
+
+  /**
+   * Stores a high-water mark using a system connection, so stores never wait for the write
+   * connections held by the transactions that use the rids.
+   */
+  private boolean writeLastRid(String dbName, String collectionName, TableRef tableRef,
+      int mark) {
+    try (Connection connection = sqlInterface.getDbBackend().createSystemConnection()) {
+      DSLContext dsl = sqlInterface.getDslContextFactory().createDslContext(connection);
+
+      boolean stored = sqlInterface.getMetaDataWriteInterface().writeLastRid(dsl, dbName,
+          collectionName, tableRef, mark);
+      connection.commit();
+      return stored;
+    } catch (SQLException ex) {
+      throw new ToroRuntimeException("It was impossible to store the rid high-water mark of "
+          + dbName + "." + collectionName, ex);
+    }
+  }
+
   @Override
   public ReservedIdInfo create(String dbName, String collectionName, TableRef tableRef) {
     ConcurrentHashMap<String, ConcurrentHashMap<TableRef, ReservedIdInfo>> collectionsMap =
@@ -92,7 +265,9 @@ public class ReservedIdInfoFactoryImpl implements ReservedIdInfoFactory {
     ConcurrentHashMap<TableRef, ReservedIdInfo> docPartsMap = collectionsMap.computeIfAbsent(
         collectionName,
         name -> new ConcurrentHashMap<>());
-    return docPartsMap.computeIfAbsent(tableRef, tr -> new ReservedIdInfo(-1, -1));
+    return docPartsMap.computeIfAbsent(tableRef, tr -> new ReservedIdInfo(-1,
+        ReservedIdInfo.UNKNOWN_HIGH_WATER_MARK,
+        createHighWaterMarkStore(dbName, collectionName, tr)));
   }
 
 }
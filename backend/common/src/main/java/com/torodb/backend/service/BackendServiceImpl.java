@@ -24,6 +24,7 @@ import com.torodb.backend.ddl.DdlOps;
 import com.torodb.core.backend.BackendService;
 import com.torodb.core.backend.DdlOperationExecutor;
 import com.torodb.core.backend.DmlTransaction;
+import com.torodb.core.backend.DocPartIndexBuilder;
 import com.torodb.core.backend.WriteDmlTransaction;
 import com.torodb.core.services.IdleTorodbService;
 import org.apache.logging.log4j.Logger;
@@ -41,17 +42,20 @@ public class BackendServiceImpl extends IdleTorodbService implements BackendServ
   private final ReadDmlTransactionFactory readFactory;
   private final WriteDmlTransactionFactory writeFactory;
   private final DdlOperationExecutorFactory ddlOpExFactory;
+  private final DocPartIndexBuilderFactory indexBuilderFactory;
 
   @Inject
   public BackendServiceImpl(DbBackendService dbBackendService, DdlOps ddlOps,
       ReadDmlTransactionFactory readFactory, WriteDmlTransactionFactory writeFactory,
-      DdlOperationExecutorFactory ddlOpExFactory, ThreadFactory threadFactory) {
+      DdlOperationExecutorFactory ddlOpExFactory, DocPartIndexBuilderFactory indexBuilderFactory,
+      ThreadFactory threadFactory) {
     super(threadFactory);
     this.dbBackendService = dbBackendService;
     this.ddlOps = ddlOps;
     this.readFactory = readFactory;
     this.writeFactory = writeFactory;
     this.ddlOpExFactory = ddlOpExFactory;
+    this.indexBuilderFactory = indexBuilderFactory;
   }
 
   @Override
@@ -69,6 +73,16 @@ public class BackendServiceImpl extends IdleTorodbService implements BackendServ
     return ddlOpExFactory.newOperationExecutor(ddlOps);
   }
 
+  @Override
+  public DocPartIndexBuilder openDocPartIndexBuilder() {
+    return indexBuilderFactory.newIndexBuilder();
+  }
+
+  @Override
+  public int getMaxConcurrentWriteTransactions() {
+    return dbBackendService.getWritePoolSize();
+  }
+
   @Override
   protected void startUp() throws Exception {
     LOGGER.debug("Starting backend...");
@@ -95,4 +109,8 @@ public class BackendServiceImpl extends IdleTorodbService implements BackendServ
   static interface DdlOperationExecutorFactory {
     DdlOperationExecutor newOperationExecutor(DdlOps ddlOps);
   }
+
+  static interface DocPartIndexBuilderFactory {
+    DocPartIndexBuilder newIndexBuilder();
+  }
 }
\ No newline at end of file
@@ -20,9 +20,11 @@ package com.torodb.backend.service;
 
 import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
+import com.torodb.backend.CollectionDocCounters;
 import com.torodb.backend.SqlInterface;
 import com.torodb.backend.ddl.DefaultDdlOperationExecutor;
 import com.torodb.backend.service.BackendServiceImpl.DdlOperationExecutorFactory;
+import com.torodb.backend.service.BackendServiceImpl.DocPartIndexBuilderFactory;
 import com.torodb.backend.service.BackendServiceImpl.ReadDmlTransactionFactory;
 import com.torodb.backend.service.BackendServiceImpl.WriteDmlTransactionFactory;
 import com.torodb.core.TableRefFactory;
@@ -41,29 +43,41 @@ public class BackendServiceModule extends PrivateModule {
         .in(Singleton.class);
     bind(BackendService.class)
         .to(BackendServiceImpl.class);
+    bind(CollectionDocCounters.class)
+        .in(Singleton.class);
   }
 
   @Provides
   ReadDmlTransactionFactory createReadTransactionFactory(
-      SqlInterface sqlInterface, KvMetainfoHandler metainfoHandler) {
-    return () -> new ReadDmlTransactionImpl(sqlInterface, metainfoHandler);
+      SqlInterface sqlInterface, KvMetainfoHandler metainfoHandler,
+      CollectionDocCounters collectionDocCounters) {
+    return () -> new ReadDmlTransactionImpl(sqlInterface, metainfoHandler,
+        collectionDocCounters);
   }
 
   @Provides
   WriteDmlTransactionFactory createWriteDmlTransactionFactory(
       SqlInterface sqlInterface, TableRefFactory tableRefFactory, IdentifierFactory idFactory,
-      KvMetainfoHandler metainfoHandler) {
+      KvMetainfoHandler metainfoHandler, CollectionDocCounters collectionDocCounters) {
     return () -> new WriteDmlTransactionImpl(
         sqlInterface,
         tableRefFactory,
         idFactory,
-        metainfoHandler
+        metainfoHandler,
+        collectionDocCounters
     );
   }
 
   @Provides
-  DdlOperationExecutorFactory createDdlOperationExecutorFactory(SqlInterface sqlInterface) {
-    return (ddlOps) -> new DefaultDdlOperationExecutor(sqlInterface, ddlOps);
+  DdlOperationExecutorFactory createDdlOperationExecutorFactory(SqlInterface sqlInterface,
+      CollectionDocCounters collectionDocCounters) {
+    return (ddlOps) -> new DefaultDdlOperationExecutor(sqlInterface, ddlOps,
+        collectionDocCounters);
+  }
+
+  @Provides
+  DocPartIndexBuilderFactory createDocPartIndexBuilderFactory(SqlInterface sqlInterface) {
+    return () -> new DocPartIndexBuilderImpl(sqlInterface);
   }
 
 }
\ No newline at end of file
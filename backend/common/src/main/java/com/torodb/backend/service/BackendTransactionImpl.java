@@ -19,11 +19,15 @@
 package com.torodb.backend.service;
 
 import com.google.common.collect.Multimap;
+import com.torodb.backend.CollectionDocCounters;
+import com.torodb.backend.CollectionDocCounters.TransactionCounters;
 import com.torodb.backend.ErrorHandler.Context;
 import com.torodb.backend.LazyBackendCursor;
 import com.torodb.backend.SqlInterface;
 import com.torodb.core.backend.BackendCursor;
 import com.torodb.core.backend.DmlTransaction;
+import com.torodb.core.backend.DocPartPredicate;
+import com.torodb.core.backend.ReadOptions;
 import com.torodb.core.backend.EmptyBackendCursor;
 import com.torodb.core.backend.MetaInfoKey;
 import com.torodb.core.cursors.Cursor;
@@ -39,7 +43,9 @@ import org.jooq.lambda.tuple.Tuple2;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  *
@@ -51,9 +57,11 @@ abstract class BackendTransactionImpl implements DmlTransaction {
   private final DSLContext dsl;
   private final SqlInterface sqlInterface;
   private final KvMetainfoHandler metainfoHandler;
+  private final TransactionCounters counters;
 
   public BackendTransactionImpl(Connection connection, SqlInterface sqlInterface,
-      KvMetainfoHandler metainfoHandler) {
+      KvMetainfoHandler metainfoHandler, CollectionDocCounters collectionDocCounters) {
+    this.counters = collectionDocCounters.newTransactionCounters();
     this.connection = connection;
     this.dsl = sqlInterface.getDslContextFactory().createDslContext(connection);
     this.sqlInterface = sqlInterface;
@@ -81,6 +89,10 @@ abstract class BackendTransactionImpl implements DmlTransaction {
     return metainfoHandler;
   }
 
+  TransactionCounters getCounters() {
+    return counters;
+  }
+
   @Override
   public long getDatabaseSize(MetaDatabase db) {
     return sqlInterface.getMetaDataReadInterface().getDatabaseSize(getDsl(), db);
@@ -88,7 +100,13 @@ abstract class BackendTransactionImpl implements DmlTransaction {
 
   @Override
   public long countAll(MetaDatabase db, MetaCollection col) {
-    return sqlInterface.getReadInterface().countAll(getDsl(), db, col);
+    OptionalLong cachedCount = counters.getCount(db.getIdentifier(), col.getIdentifier());
+    if (cachedCount.isPresent()) {
+      return cachedCount.getAsLong();
+    }
+    long count = sqlInterface.getReadInterface().countAll(getDsl(), db, col);
+    counters.loaded(db.getIdentifier(), col.getIdentifier(), count);
+    return count;
   }
 
   @Override
@@ -138,6 +156,31 @@ abstract class BackendTransactionImpl implements DmlTransaction {
     }
   }
 
+  @Override
+  public BackendCursor findByPredicates(MetaDatabase db, MetaCollection col,
+      List<DocPartPredicate> predicates, ReadOptions options) {
+    try {
+      Cursor<Integer> allDids = sqlInterface.getReadInterface().getCollectionDidsWithPredicates(
+          dsl, db, col, predicates, options);
+      return new LazyBackendCursor(sqlInterface, allDids, dsl, db, col, options);
+    } catch (SQLException ex) {
+      throw sqlInterface.getErrorHandler().handleException(Context.FETCH, ex);
+    }
+  }
+
+  @Override
+  public long countByPredicates(MetaDatabase db, MetaCollection col,
+      List<DocPartPredicate> predicates) {
+    if (predicates.isEmpty()) {
+      return countAll(db, col);
+    }
+    try {
+      return sqlInterface.getReadInterface().countWithPredicates(dsl, db, col, predicates);
+    } catch (SQLException ex) {
+      throw sqlInterface.getErrorHandler().handleException(Context.FETCH, ex);
+    }
+  }
+
   @Override
   public Cursor<Tuple2<Integer, KvValue<?>>> findByFieldInProjection(MetaDatabase db,
       MetaCollection col, MetaDocPart docPart,
@@ -171,6 +214,7 @@ abstract class BackendTransactionImpl implements DmlTransaction {
 
   @Override
   public void rollback() {
+    counters.discarded();
     try {
       connection.rollback();
     } catch (SQLException ex) {
@@ -182,6 +226,7 @@ abstract class BackendTransactionImpl implements DmlTransaction {
   public void close() {
     if (!closed) {
       closed = true;
+      counters.discarded();
       try {
         connection.rollback();
         connection.close();
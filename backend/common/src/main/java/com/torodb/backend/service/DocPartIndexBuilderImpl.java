@@ -0,0 +1,119 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend.service;
+
+import com.google.common.base.Preconditions;
+import com.torodb.backend.BackendLoggerFactory;
+import com.torodb.backend.ErrorHandler.Context;
+import com.torodb.backend.SqlInterface;
+import com.torodb.core.backend.DocPartIndexBuilder;
+import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
+import com.torodb.core.transaction.metainf.FieldType;
+import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaDocPartIndexColumn;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
+import org.apache.logging.log4j.Logger;
+import org.jooq.DSLContext;
+import org.jooq.lambda.tuple.Tuple3;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link DocPartIndexBuilder} that builds indexes on its own write connection.
+ *
+ * <p>The connection is on auto commit mode, as some backends cannot build indexes without
+ * blocking writes inside a transaction.
+ */
+class DocPartIndexBuilderImpl implements DocPartIndexBuilder {
+
+  private static final Logger LOGGER = BackendLoggerFactory.get(DocPartIndexBuilderImpl.class);
+
+  private boolean closed = false;
+  private final Connection connection;
+  private final DSLContext dsl;
+  private final SqlInterface sqlInterface;
+
+  public DocPartIndexBuilderImpl(SqlInterface sqlInterface) {
+    this.connection = sqlInterface.getDbBackend().createWriteConnection();
+    this.dsl = sqlInterface.getDslContextFactory().createDslContext(connection);
+    this.sqlInterface = sqlInterface;
+    try {
+      connection.setAutoCommit(true);
+    } catch (SQLException ex) {
+      close();
+      throw sqlInterface.getErrorHandler().handleException(Context.CREATE_INDEX, ex);
+    }
+  }
+
+  @Override
+  public void buildDocPartIndex(MetaDatabase db, MetaDocPart docPart,
+      MetaIdentifiedDocPartIndex docPartIndex) throws UserException {
+    Preconditions.checkState(!isClosed(), "This index builder is closed");
+
+    List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList =
+        new ArrayList<>(docPartIndex.size());
+    Iterator<? extends MetaDocPartIndexColumn> columnIterator = docPartIndex.iteratorColumns();
+    while (columnIterator.hasNext()) {
+      MetaDocPartIndexColumn column = columnIterator.next();
+      columnList.add(new Tuple3<>(column.getIdentifier(), column.getOrdering(),
+          docPart.getMetaFieldByIdentifier(column.getIdentifier()).getType()));
+    }
+
+    LOGGER.info("Building index {} for table {}", docPartIndex.getIdentifier(),
+        docPart.getIdentifier());
+    sqlInterface.getStructureInterface().createIndexConcurrently(dsl,
+        docPartIndex.getIdentifier(), db.getIdentifier(), docPart.getIdentifier(), columnList,
+        docPartIndex.isUnique(), docPartIndex.isSparse());
+    LOGGER.info("Built index {} for table {}", docPartIndex.getIdentifier(),
+        docPart.getIdentifier());
+  }
+
+  @Override
+  public void dropDocPartIndex(MetaDatabase db, MetaDocPart docPart, String indexIdentifier) {
+    Preconditions.checkState(!isClosed(), "This index builder is closed");
+
+    sqlInterface.getStructureInterface().dropIndexConcurrently(dsl, db.getIdentifier(),
+        docPart.getIdentifier(), indexIdentifier);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      try {
+        connection.close();
+      } catch (SQLException ex) {
+        sqlInterface.getErrorHandler().handleException(Context.CLOSE, ex);
+      } finally {
+        dsl.close();
+      }
+    }
+  }
+}
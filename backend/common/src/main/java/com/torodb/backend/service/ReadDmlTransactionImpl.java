@@ -18,6 +18,7 @@
 
 package com.torodb.backend.service;
 
+import com.torodb.backend.CollectionDocCounters;
 import com.torodb.backend.SqlInterface;
 
 /**
@@ -26,8 +27,9 @@ import com.torodb.backend.SqlInterface;
 class ReadDmlTransactionImpl extends BackendTransactionImpl {
 
   public ReadDmlTransactionImpl(SqlInterface sqlInterface,
-      KvMetainfoHandler metainfoHandler) {
-    super(sqlInterface.getDbBackend().createReadOnlyConnection(), sqlInterface, metainfoHandler);
+      KvMetainfoHandler metainfoHandler, CollectionDocCounters collectionDocCounters) {
+    super(sqlInterface.getDbBackend().createReadOnlyConnection(), sqlInterface, metainfoHandler,
+        collectionDocCounters);
   }
 
 }
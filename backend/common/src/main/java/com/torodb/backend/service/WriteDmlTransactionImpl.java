@@ -20,6 +20,7 @@ package com.torodb.backend.service;
 
 import com.google.common.base.Preconditions;
 import com.torodb.backend.BackendLoggerFactory;
+import com.torodb.backend.CollectionDocCounters;
 import com.torodb.backend.ErrorHandler.Context;
 import com.torodb.backend.SqlInterface;
 import com.torodb.core.TableRefFactory;
@@ -32,11 +33,13 @@ import com.torodb.core.transaction.RollbackException;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.kvdocument.values.KvValue;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Map;
 
 class WriteDmlTransactionImpl extends BackendTransactionImpl implements
     WriteDmlTransaction {
@@ -46,8 +49,10 @@ class WriteDmlTransactionImpl extends BackendTransactionImpl implements
       SqlInterface sqlInterface,
       TableRefFactory tableRefFactory,
       IdentifierFactory identifierFactory,
-      KvMetainfoHandler metainfoHandler) {
-    super(sqlInterface.getDbBackend().createWriteConnection(), sqlInterface, metainfoHandler);
+      KvMetainfoHandler metainfoHandler,
+      CollectionDocCounters collectionDocCounters) {
+    super(sqlInterface.getDbBackend().createWriteConnection(), sqlInterface, metainfoHandler,
+        collectionDocCounters);
   }
 
   @Override
@@ -62,7 +67,18 @@ class WriteDmlTransactionImpl extends BackendTransactionImpl implements
   public void insert(MetaDatabase db, MetaCollection col, DocPartData data) throws UserException {
     Preconditions.checkState(!isClosed(), "This transaction is closed");
 
-    getSqlInterface().getWriteInterface().insertDocPartData(getDsl(), db.getIdentifier(), data);
+    boolean root = data.getMetaDocPart().getTableRef().isRoot();
+    try {
+      getSqlInterface().getWriteInterface().insertDocPartData(getDsl(), db.getIdentifier(), data);
+    } catch (UserException | RuntimeException ex) {
+      if (root) {
+        getCounters().modifiedUnknown(db.getIdentifier(), col.getIdentifier());
+      }
+      throw ex;
+    }
+    if (root) {
+      getCounters().modified(db.getIdentifier(), col.getIdentifier(), data.rowCount());
+    }
   }
 
   @Override
@@ -73,8 +89,28 @@ class WriteDmlTransactionImpl extends BackendTransactionImpl implements
       return;
     }
 
+    long deleted;
+    try {
+      deleted = getSqlInterface().getWriteInterface()
+          .deleteCollectionDocParts(getDsl(), db.getIdentifier(), col, dids);
+    } catch (RuntimeException ex) {
+      getCounters().modifiedUnknown(db.getIdentifier(), col.getIdentifier());
+      throw ex;
+    }
+    getCounters().modified(db.getIdentifier(), col.getIdentifier(), -deleted);
+  }
+
+  @Override
+  public void updateFields(MetaDatabase db, MetaCollection col, MetaDocPart docPart,
+      Map<MetaField, KvValue<?>> newValues, Collection<Integer> dids) throws UserException {
+    Preconditions.checkState(!isClosed(), "This transaction is closed");
+
+    if (dids.isEmpty() || newValues.isEmpty()) {
+      return;
+    }
+
     getSqlInterface().getWriteInterface()
-        .deleteCollectionDocParts(getDsl(), db.getIdentifier(), col, dids);
+        .updateDocPartFields(getDsl(), db.getIdentifier(), docPart, newValues, dids);
   }
 
   @Override
@@ -88,7 +124,9 @@ class WriteDmlTransactionImpl extends BackendTransactionImpl implements
 
     try {
       getConnection().commit();
+      getCounters().committed();
     } catch (SQLException ex) {
+      getCounters().discarded();
       getSqlInterface().getErrorHandler().handleUserException(Context.COMMIT, ex);
     } finally {
       getDsl().configuration().connectionProvider().release(getConnection());
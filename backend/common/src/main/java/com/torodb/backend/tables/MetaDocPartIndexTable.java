@@ -48,7 +48,8 @@ public abstract class MetaDocPartIndexTable<TableRefTypeT, R extends MetaDocPart
     IDENTIFIER("identifier"),
     COLLECTION("collection"),
     TABLE_REF("table_ref"),
-    UNIQUE("unique");
+    UNIQUE("unique"),
+    SPARSE("sparse");
 
     public final String fieldName;
 
@@ -95,6 +96,11 @@ public abstract class MetaDocPartIndexTable<TableRefTypeT, R extends MetaDocPart
    */
   public final TableField<R, Boolean> UNIQUE = createUniqueField();
 
+  /**
+   * The column <code>torodb.index.sparse</code>.
+   */
+  public final TableField<R, Boolean> SPARSE = createSparseField();
+
   protected abstract TableField<R, String> createDatabaseField();
 
   protected abstract TableField<R, String> createIdentifierField();
@@ -105,6 +111,8 @@ public abstract class MetaDocPartIndexTable<TableRefTypeT, R extends MetaDocPart
 
   protected abstract TableField<R, Boolean> createUniqueField();
 
+  protected abstract TableField<R, Boolean> createSparseField();
+
   private final UniqueKeys<TableRefTypeT, R> uniqueKeys;
 
   /**
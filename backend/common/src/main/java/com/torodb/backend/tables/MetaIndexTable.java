@@ -46,7 +46,8 @@ public abstract class MetaIndexTable<R extends MetaIndexRecord> extends Semantic
     DATABASE("database"),
     COLLECTION("collection"),
     NAME("name"),
-    UNIQUE("unique");
+    UNIQUE("unique"),
+    SPARSE("sparse");
 
     public final String fieldName;
 
@@ -92,6 +93,12 @@ public abstract class MetaIndexTable<R extends MetaIndexRecord> extends Semantic
   public final TableField<R, Boolean> UNIQUE =
       createUniqueField();
 
+  /**
+   * The column <code>torodb.index.sparse</code>.
+   */
+  public final TableField<R, Boolean> SPARSE =
+      createSparseField();
+
   protected abstract TableField<R, String> createDatabaseField();
 
   protected abstract TableField<R, String> createCollectionField();
@@ -100,6 +107,8 @@ public abstract class MetaIndexTable<R extends MetaIndexRecord> extends Semantic
 
   protected abstract TableField<R, Boolean> createUniqueField();
 
+  protected abstract TableField<R, Boolean> createSparseField();
+
   private final UniqueKeys<R> uniqueKeys;
 
   /**
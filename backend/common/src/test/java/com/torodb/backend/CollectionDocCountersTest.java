@@ -0,0 +1,99 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.torodb.backend.CollectionDocCounters.TransactionCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.OptionalLong;
+
+@RunWith(JUnitPlatform.class)
+public class CollectionDocCountersTest {
+
+  private static final String SCHEMA = "schema";
+  private static final String COL = "col";
+
+  private CollectionDocCounters counters;
+
+  @BeforeEach
+  public void setUp() {
+    counters = new CollectionDocCounters();
+  }
+
+  @Test
+  public void committedChangesAreApplied() {
+    TransactionCounters reader = counters.newTransactionCounters();
+    reader.loaded(SCHEMA, COL, 10);
+    assertEquals(OptionalLong.of(10), reader.getCount(SCHEMA, COL));
+
+    TransactionCounters writer = counters.newTransactionCounters();
+    writer.modified(SCHEMA, COL, 5);
+    writer.modified(SCHEMA, COL, -2);
+    assertEquals(OptionalLong.of(13), writer.getCount(SCHEMA, COL));
+    assertEquals(OptionalLong.of(10), reader.getCount(SCHEMA, COL));
+
+    writer.committed();
+    assertEquals(OptionalLong.of(13), counters.newTransactionCounters().getCount(SCHEMA, COL));
+  }
+
+  @Test
+  public void discardedChangesAreIgnored() {
+    counters.newTransactionCounters().loaded(SCHEMA, COL, 10);
+
+    TransactionCounters writer = counters.newTransactionCounters();
+    writer.modified(SCHEMA, COL, 5);
+    writer.discarded();
+
+    assertEquals(OptionalLong.of(10), counters.newTransactionCounters().getCount(SCHEMA, COL));
+  }
+
+  @Test
+  public void countsLoadedWhileModifiedAreNotCached() {
+    TransactionCounters reader = counters.newTransactionCounters();
+    TransactionCounters writer = counters.newTransactionCounters();
+    writer.modified(SCHEMA, COL, 1);
+
+    reader.loaded(SCHEMA, COL, 10);
+    assertFalse(reader.getCount(SCHEMA, COL).isPresent());
+
+    writer.committed();
+    reader.loaded(SCHEMA, COL, 10);
+    assertFalse(reader.getCount(SCHEMA, COL).isPresent());
+  }
+
+  @Test
+  public void unknownChangesAndInvalidationsForgetTheCount() {
+    counters.newTransactionCounters().loaded(SCHEMA, COL, 10);
+
+    TransactionCounters writer = counters.newTransactionCounters();
+    writer.modifiedUnknown(SCHEMA, COL);
+    writer.committed();
+    assertFalse(counters.newTransactionCounters().getCount(SCHEMA, COL).isPresent());
+
+    counters.newTransactionCounters().loaded(SCHEMA, COL, 10);
+    counters.invalidateAll();
+    assertFalse(counters.newTransactionCounters().getCount(SCHEMA, COL).isPresent());
+  }
+}
@@ -52,6 +52,29 @@ public class ReservedIdGeneratorImplTest {
 
   }
 
+  @Test
+  public void unusedRidsOfTheLastBlockAreReleased() {
+    TableRefFactory tableRefFactory = new TableRefFactoryImpl();
+    ReservedIdGeneratorImpl container = new ReservedIdGeneratorImpl(
+        new MockedReservedIdInfoFactory());
+    container.load(new ImmutableMetaSnapshot.Builder().build());
+
+    DocPartRidGenerator docPartRidGenerator = container.getDocPartRidGenerator("myDB",
+        "myCollection");
+    TableRef root = tableRefFactory.createRoot();
+    int firstBlock = docPartRidGenerator.reserveRids(root, 10);
+    int secondBlock = docPartRidGenerator.reserveRids(root, 10);
+    assertEquals(1, firstBlock);
+    assertEquals(11, secondBlock);
+
+    docPartRidGenerator.releaseRids(root, firstBlock + 5, firstBlock + 10);
+    assertEquals(21, docPartRidGenerator.nextRid(root));
+
+    int thirdBlock = docPartRidGenerator.reserveRids(root, 10);
+    docPartRidGenerator.releaseRids(root, thirdBlock + 3, thirdBlock + 10);
+    assertEquals(thirdBlock + 3, docPartRidGenerator.nextRid(root));
+  }
+
   private static class MockedReservedIdInfoFactory implements ReservedIdInfoFactory {
 
     @Override
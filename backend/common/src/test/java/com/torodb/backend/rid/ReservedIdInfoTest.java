@@ -0,0 +1,136 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend.rid;
+
+import static com.torodb.backend.rid.ReservedIdInfo.HIGH_WATER_MARK_CHUNK;
+import static com.torodb.backend.rid.ReservedIdInfo.UNKNOWN_HIGH_WATER_MARK;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.google.common.collect.Lists;
+import com.torodb.backend.rid.ReservedIdInfo.HighWaterMarkStore;
+import com.torodb.core.exceptions.ToroRuntimeException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@RunWith(JUnitPlatform.class)
+public class ReservedIdInfoTest {
+
+  @Test
+  public void storesAheadWithoutWaiting() {
+    FakeHighWaterMarkStore store = new FakeHighWaterMarkStore(CompletableFuture::new);
+    ReservedIdInfo info = new ReservedIdInfo(0, HIGH_WATER_MARK_CHUNK, store);
+
+    info.reserveUpTo(HIGH_WATER_MARK_CHUNK / 2);
+    assertEquals(new ArrayList<>(), store.marks);
+
+    info.reserveUpTo(HIGH_WATER_MARK_CHUNK / 2 + 1);
+    info.reserveUpTo(HIGH_WATER_MARK_CHUNK);
+    assertEquals(Lists.newArrayList(HIGH_WATER_MARK_CHUNK / 2 + 1 + HIGH_WATER_MARK_CHUNK),
+        store.marks);
+    assertEquals(HIGH_WATER_MARK_CHUNK, info.getLastCachedId());
+  }
+
+  @Test
+  public void waitsBeyondTheStoredMark() throws Exception {
+    CompletableFuture<Boolean> pendingStore = new CompletableFuture<>();
+    FakeHighWaterMarkStore store = new FakeHighWaterMarkStore(() -> pendingStore);
+    ReservedIdInfo info = new ReservedIdInfo(0, HIGH_WATER_MARK_CHUNK, store);
+
+    CompletableFuture<Void> reservation = CompletableFuture.runAsync(
+        () -> info.reserveUpTo(HIGH_WATER_MARK_CHUNK + 1));
+    Thread.sleep(100);
+    assertFalse("Rids beyond the stored mark must wait for the new one",
+        reservation.isDone());
+
+    pendingStore.complete(true);
+    reservation.get(10, TimeUnit.SECONDS);
+    assertEquals(1, store.marks.size());
+    assertEquals((int) store.marks.get(0), info.getLastCachedId());
+  }
+
+  @Test
+  public void unknownMarkDoesntWait() {
+    FakeHighWaterMarkStore store = new FakeHighWaterMarkStore(CompletableFuture::new);
+    ReservedIdInfo info = new ReservedIdInfo(-1, UNKNOWN_HIGH_WATER_MARK, store);
+
+    info.reserveUpTo(1);
+    info.reserveUpTo(HIGH_WATER_MARK_CHUNK);
+
+    assertEquals(Lists.newArrayList(1 + HIGH_WATER_MARK_CHUNK), store.marks);
+  }
+
+  @Test
+  public void missingMetaRowIsRetriedAfterTheMark() {
+    FakeHighWaterMarkStore store = new FakeHighWaterMarkStore(
+        () -> CompletableFuture.completedFuture(false));
+    ReservedIdInfo info = new ReservedIdInfo(-1, UNKNOWN_HIGH_WATER_MARK, store);
+
+    info.reserveUpTo(1);
+    info.reserveUpTo(1 + HIGH_WATER_MARK_CHUNK);
+    assertEquals(1, store.marks.size());
+
+    info.reserveUpTo(2 + HIGH_WATER_MARK_CHUNK);
+    assertEquals(2, store.marks.size());
+    assertEquals(UNKNOWN_HIGH_WATER_MARK, info.getLastCachedId());
+  }
+
+  @Test
+  public void storeErrorsAreThrown() {
+    CompletableFuture<Boolean> failedStore = new CompletableFuture<>();
+    failedStore.completeExceptionally(new IllegalStateException("connection lost"));
+    ReservedIdInfo info = new ReservedIdInfo(0, HIGH_WATER_MARK_CHUNK,
+        new FakeHighWaterMarkStore(() -> failedStore));
+
+    Assertions.assertThrows(ToroRuntimeException.class,
+        () -> info.reserveUpTo(HIGH_WATER_MARK_CHUNK + 1));
+  }
+
+  @Test
+  public void withoutStoreNeverWaits() {
+    ReservedIdInfo info = new ReservedIdInfo(0, 0);
+
+    info.reserveUpTo(Integer.MAX_VALUE);
+  }
+
+  private static class FakeHighWaterMarkStore implements HighWaterMarkStore {
+
+    private final Supplier<CompletableFuture<Boolean>> results;
+    private final List<Integer> marks = new ArrayList<>();
+
+    public FakeHighWaterMarkStore(Supplier<CompletableFuture<Boolean>> results) {
+      this.results = results;
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> store(int mark) {
+      marks.add(mark);
+      return results.get();
+    }
+  }
+
+}
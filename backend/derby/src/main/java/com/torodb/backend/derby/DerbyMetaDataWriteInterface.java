@@ -19,6 +19,7 @@
 package com.torodb.backend.derby;
 
 import com.torodb.backend.AbstractMetaDataWriteInterface;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.SqlBuilder;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.converters.TableRefConverter;
@@ -47,8 +48,8 @@ public class DerbyMetaDataWriteInterface extends AbstractMetaDataWriteInterface
 
   @Inject
   public DerbyMetaDataWriteInterface(DerbyMetaDataReadInterface metaDataReadInterface,
-      SqlHelper sqlHelper) {
-    super(metaDataReadInterface, sqlHelper);
+      SqlHelper sqlHelper, DocPartStatementCache statementCache) {
+    super(metaDataReadInterface, sqlHelper, statementCache);
   }
 
   @Override
@@ -159,6 +160,7 @@ public class DerbyMetaDataWriteInterface extends AbstractMetaDataWriteInterface
         .quote(MetaIndexTable.TableFields.COLLECTION).append(" varchar(32672)  NOT NULL        ,")
         .quote(MetaIndexTable.TableFields.NAME).append("     varchar(32672)  NOT NULL        ,")
         .quote(MetaIndexTable.TableFields.UNIQUE).append("     boolean  NOT NULL        ,")
+        .quote(MetaIndexTable.TableFields.SPARSE).append("     boolean  NOT NULL        ,")
         .append("    PRIMARY KEY (").quote(MetaIndexTable.TableFields.DATABASE).append(",")
         .quote(MetaIndexTable.TableFields.COLLECTION).append(",")
         .quote(MetaIndexTable.TableFields.NAME).append(")")
@@ -201,6 +203,7 @@ public class DerbyMetaDataWriteInterface extends AbstractMetaDataWriteInterface
         .quote(MetaDocPartIndexTable.TableFields.COLLECTION).append(" varchar(32672)   NOT NULL ,")
         .quote(MetaDocPartIndexTable.TableFields.TABLE_REF).append("  varchar(32672) NOT NULL ,")
         .quote(MetaDocPartIndexTable.TableFields.UNIQUE).append("     boolean  NOT NULL        ,")
+        .quote(MetaDocPartIndexTable.TableFields.SPARSE).append("     boolean  NOT NULL        ,")
         .append("    PRIMARY KEY (").quote(MetaDocPartIndexTable.TableFields.DATABASE).append(",")
         .quote(MetaDocPartIndexTable.TableFields.IDENTIFIER).append(")")
         .append(")")
@@ -208,6 +211,26 @@ public class DerbyMetaDataWriteInterface extends AbstractMetaDataWriteInterface
     return statement;
   }
 
+  @Override
+  protected String getWidenMetaTableOrderingColumnStatement(String schemaName, String tableName,
+      String columnName) {
+    String statement = new SqlBuilder("ALTER TABLE ").table(schemaName, tableName)
+        .append(" ALTER COLUMN ")
+        .quote(columnName).append(" SET DATA TYPE varchar(128)")
+        .toString();
+    return statement;
+  }
+
+  @Override
+  protected String getAddMetaTableBooleanColumnStatement(String schemaName, String tableName,
+      String columnName) {
+    String statement = new SqlBuilder("ALTER TABLE ").table(schemaName, tableName)
+        .append(" ADD COLUMN ")
+        .quote(columnName).append(" boolean NOT NULL DEFAULT false")
+        .toString();
+    return statement;
+  }
+
   @Override
   protected String getCreateMetaDocPartIndexColumnTableStatement(String schemaName,
       String tableName) {
@@ -29,6 +29,7 @@ import com.torodb.core.d2r.UniqueIdentifierGenerator;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.ChainConverterFactory;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.IdentifierChecker;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.NameChain;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import org.jooq.DSLContext;
 import org.jooq.lambda.tuple.Tuple3;
@@ -92,7 +93,10 @@ public class DerbyStructureInterface extends AbstractStructureInterface {
 
   @Override
   protected String getCreateIndexStatement(String indexName, String schemaName, String tableName,
-      List<Tuple3<String, Boolean, FieldType>> columnList, boolean unique) {
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse) {
+    //Derby does not support hash nor partial indexes, so hashed and sparse indexes are created as
+    //ordinary indexes
     StringBuilder sb = new StringBuilder()
         .append(unique ? "CREATE UNIQUE INDEX " : "CREATE INDEX ")
         .append("\"").append(indexName).append("\"")
@@ -101,9 +105,9 @@ public class DerbyStructureInterface extends AbstractStructureInterface {
         .append(".")
         .append("\"").append(tableName).append("\"")
         .append(" (");
-    for (Tuple3<String, Boolean, FieldType> columnEntry : columnList) {
+    for (Tuple3<String, FieldIndexOrdering, FieldType> columnEntry : columnList) {
       sb.append("\"").append(columnEntry.v1()).append("\" ")
-          .append(columnEntry.v2() ? "ASC," : "DESC,");
+          .append(columnEntry.v2().isAscending() ? "ASC," : "DESC,");
     }
     sb.setCharAt(sb.length() - 1, ')');
     String statement = sb.toString();
@@ -19,6 +19,7 @@
 package com.torodb.backend.derby;
 
 import com.torodb.backend.AbstractWriteInterface;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.InternalField;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.tables.MetaDocPartTable;
@@ -40,11 +41,15 @@ import javax.inject.Singleton;
 @Singleton
 public class DerbyWriteInterface extends AbstractWriteInterface {
 
+  private final SqlHelper sqlHelper;
+
   @Inject
   public DerbyWriteInterface(DerbyMetaDataReadInterface metaDataReadInterface,
       DerbyErrorHandler errorHandler,
-      SqlHelper sqlHelper) {
-    super(metaDataReadInterface, errorHandler, sqlHelper);
+      SqlHelper sqlHelper,
+      DocPartStatementCache statementCache) {
+    super(metaDataReadInterface, errorHandler, sqlHelper, statementCache);
+    this.sqlHelper = sqlHelper;
   }
 
   @Override
@@ -57,12 +62,34 @@ public class DerbyWriteInterface extends AbstractWriteInterface {
         .append(tableName)
         .append("\" WHERE \"")
         .append(MetaDocPartTable.DocPartTableFields.DID.fieldName)
-        .append("\" IN (");
-    for (Integer did : dids) {
-      sb.append(did)
-          .append(',');
+        .append("\" IN ");
+    sqlHelper.appendDidsParameters(sb, dids.size());
+    String statement = sb.toString();
+    return statement;
+  }
+
+  @Override
+  protected String getUpdateDocPartFieldsStatement(String schemaName, MetaDocPart metaDocPart,
+      Iterator<MetaField> metaFieldIterator, Collection<Integer> dids,
+      List<FieldType> fieldTypeList) {
+    final StringBuilder sb = new StringBuilder(512)
+        .append("UPDATE \"")
+        .append(schemaName)
+        .append("\".\"")
+        .append(metaDocPart.getIdentifier())
+        .append("\" SET ");
+    while (metaFieldIterator.hasNext()) {
+      MetaField metaField = metaFieldIterator.next();
+      sb.append("\"")
+          .append(metaField.getIdentifier())
+          .append("\" = ?,");
+      fieldTypeList.add(metaField.getType());
     }
-    sb.setCharAt(sb.length() - 1, ')');
+    sb.setCharAt(sb.length() - 1, ' ');
+    sb.append("WHERE \"")
+        .append(MetaDocPartTable.DocPartTableFields.DID.fieldName)
+        .append("\" IN ");
+    sqlHelper.appendDidsParameters(sb, dids.size());
     String statement = sb.toString();
     return statement;
   }
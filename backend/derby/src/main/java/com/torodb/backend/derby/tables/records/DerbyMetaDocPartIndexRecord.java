@@ -39,12 +39,13 @@ public class DerbyMetaDocPartIndexRecord extends MetaDocPartIndexRecord<JsonArra
 
   @Override
   public DerbyMetaDocPartIndexRecord values(String database, String identifier, String collection,
-      JsonArray tableRef, Boolean unique) {
+      JsonArray tableRef, Boolean unique, Boolean sparse) {
     setDatabase(database);
     setIdentifier(identifier);
     setCollection(collection);
     setTableRef(tableRef);
     setUnique(unique);
+    setSparse(sparse);
     return this;
   }
 
@@ -52,10 +53,10 @@ public class DerbyMetaDocPartIndexRecord extends MetaDocPartIndexRecord<JsonArra
    * Create a detached, initialised MetaIndexRecord
    */
   public DerbyMetaDocPartIndexRecord(String database, String identifier, String collection,
-      JsonArray tableRef, Boolean unique) {
+      JsonArray tableRef, Boolean unique, Boolean sparse) {
     super(DerbyMetaDocPartIndexTable.DOC_PART_INDEX);
 
-    values(database, identifier, collection, tableRef, unique);
+    values(database, identifier, collection, tableRef, unique, sparse);
   }
 
   @Override
@@ -19,6 +19,7 @@
 package com.torodb.backend.mysql;
 
 import com.torodb.backend.AbstractMetaDataWriteInterface;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.converters.TableRefConverter;
 import com.torodb.backend.tables.KvTable;
@@ -43,8 +44,8 @@ public class MySqlMetaDataWriteInterface extends AbstractMetaDataWriteInterface
 
   @Inject
   public MySqlMetaDataWriteInterface(MySqlMetaDataReadInterface metaDataReadInterface,
-      SqlHelper sqlHelper) {
-    super(metaDataReadInterface, sqlHelper);
+      SqlHelper sqlHelper, DocPartStatementCache statementCache) {
+    super(metaDataReadInterface, sqlHelper, statementCache);
   }
 
   @Override
@@ -146,6 +147,7 @@ public class MySqlMetaDataWriteInterface extends AbstractMetaDataWriteInterface
         .quote(MetaIndexTable.TableFields.COLLECTION).append(" varchar(256)  NOT NULL        ,")
         .quote(MetaIndexTable.TableFields.NAME).append("     varchar(512)  NOT NULL        ,")
         .quote(MetaIndexTable.TableFields.UNIQUE).append("     boolean  NOT NULL        ,")
+        .quote(MetaIndexTable.TableFields.SPARSE).append("     boolean  NOT NULL        ,")
         .append("    PRIMARY KEY (").quote(MetaIndexTable.TableFields.DATABASE).append(",")
         .quote(MetaIndexTable.TableFields.COLLECTION).append(",")
         .quote(MetaIndexTable.TableFields.NAME).append(")")
@@ -164,7 +166,7 @@ public class MySqlMetaDataWriteInterface extends AbstractMetaDataWriteInterface
         .quote(MetaIndexFieldTable.TableFields.POSITION).append(" integer   NOT NULL ,")
         .quote(MetaIndexFieldTable.TableFields.TABLE_REF).append("  varchar(1520) NOT NULL ,")
         .quote(MetaIndexFieldTable.TableFields.NAME).append(" varchar(512)   NOT NULL ,")
-        .quote(MetaIndexFieldTable.TableFields.ORDERING).append("   varchar(4)   NOT NULL ,")
+        .quote(MetaIndexFieldTable.TableFields.ORDERING).append("   varchar(32)   NOT NULL ,")
         .append("    PRIMARY KEY (").quote(MetaIndexFieldTable.TableFields.DATABASE).append(",")
         .quote(MetaIndexFieldTable.TableFields.COLLECTION).append(",")
         .quote(MetaIndexFieldTable.TableFields.INDEX).append(",")
@@ -188,6 +190,7 @@ public class MySqlMetaDataWriteInterface extends AbstractMetaDataWriteInterface
         .quote(MetaDocPartIndexTable.TableFields.COLLECTION).append(" varchar(256)   NOT NULL ,")
         .quote(MetaDocPartIndexTable.TableFields.TABLE_REF).append("  varchar(1520) NOT NULL ,")
         .quote(MetaDocPartIndexTable.TableFields.UNIQUE).append("     boolean  NOT NULL        ,")
+        .quote(MetaDocPartIndexTable.TableFields.SPARSE).append("     boolean  NOT NULL        ,")
         .append("    PRIMARY KEY (").quote(MetaDocPartIndexTable.TableFields.DATABASE).append(",")
         .quote(MetaDocPartIndexTable.TableFields.IDENTIFIER).append(")")
         .append(")")
@@ -195,6 +198,26 @@ public class MySqlMetaDataWriteInterface extends AbstractMetaDataWriteInterface
     return statement;
   }
 
+  @Override
+  protected String getWidenMetaTableOrderingColumnStatement(String schemaName, String tableName,
+      String columnName) {
+    String statement = new MySqlBuilder("ALTER TABLE ").table(schemaName, tableName)
+        .append(" MODIFY COLUMN ")
+        .quote(columnName).append(" varchar(32) NOT NULL")
+        .toString();
+    return statement;
+  }
+
+  @Override
+  protected String getAddMetaTableBooleanColumnStatement(String schemaName, String tableName,
+      String columnName) {
+    String statement = new MySqlBuilder("ALTER TABLE ").table(schemaName, tableName)
+        .append(" ADD COLUMN ")
+        .quote(columnName).append(" boolean NOT NULL DEFAULT false")
+        .toString();
+    return statement;
+  }
+
   @Override
   protected String getCreateMetaDocPartIndexColumnTableStatement(
       String schemaName, String tableName) {
@@ -213,7 +236,7 @@ public class MySqlMetaDataWriteInterface extends AbstractMetaDataWriteInterface
         .quote(MetaDocPartIndexColumnTable.TableFields.IDENTIFIER).append(
         "       varchar(64)     NOT NULL ,")
         .quote(MetaDocPartIndexColumnTable.TableFields.ORDERING).append(
-        "       varchar(4)     NOT NULL ,")
+        "       varchar(32)     NOT NULL ,")
         .append("    PRIMARY KEY (").quote(MetaDocPartIndexColumnTable.TableFields.DATABASE).append(
         ",")
         .quote(MetaDocPartIndexColumnTable.TableFields.INDEX_IDENTIFIER).append(",")
@@ -19,18 +19,24 @@
 package com.torodb.backend.mysql;
 
 import com.torodb.backend.AbstractReadInterface;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.InternalField;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.tables.MetaDocPartTable.DocPartTableFields;
 import com.torodb.core.TableRef;
 import com.torodb.core.TableRefFactory;
+import com.torodb.core.backend.DocPartPredicate;
+import com.torodb.core.backend.ReadOptions;
+import com.torodb.core.backend.ReadOptions.SortField;
+import com.torodb.core.language.AttributePredicate.Operator;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
-import org.jooq.Converter;
+import com.torodb.core.transaction.metainf.MetaField;
 import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
@@ -40,13 +46,17 @@ import javax.inject.Singleton;
 public class MySqlReadInterface extends AbstractReadInterface {
 
   private final MySqlMetaDataReadInterface metaDataReadInterface;
+  private final SqlHelper sqlHelper;
 
   @Inject
   public MySqlReadInterface(MySqlMetaDataReadInterface metaDataReadInterface,
       MySqlDataTypeProvider dataTypeProvider,
-      MySqlErrorHandler errorhandler, SqlHelper sqlHelper, TableRefFactory tableRefFactory) {
-    super(metaDataReadInterface, dataTypeProvider, errorhandler, sqlHelper, tableRefFactory);
+      MySqlErrorHandler errorhandler, SqlHelper sqlHelper, TableRefFactory tableRefFactory,
+      DocPartStatementCache statementCache) {
+    super(metaDataReadInterface, dataTypeProvider, errorhandler, sqlHelper, tableRefFactory,
+        statementCache);
     this.metaDataReadInterface = metaDataReadInterface;
+    this.sqlHelper = sqlHelper;
   }
 
   @Override
@@ -112,6 +122,182 @@ public class MySqlReadInterface extends AbstractReadInterface {
     return statement;
   }
 
+  @Override
+  protected String getReadCollectionDidsWithPredicatesStatement(String schemaName,
+      MetaDocPart rootDocPart, List<DocPartPredicate> predicates, ReadOptions options) {
+    StringBuilder sb = new StringBuilder()
+        .append("SELECT `")
+        .append(DocPartTableFields.DID.fieldName)
+        .append("` FROM `")
+        .append(schemaName)
+        .append("`.`")
+        .append(rootDocPart.getIdentifier())
+        .append('`');
+
+    appendPredicatesCondition(sb, schemaName, predicates);
+
+    sb.append(" ORDER BY ");
+    for (SortField sortField : options.getSort()) {
+      appendSortField(sb, sortField);
+      sb.append(", ");
+    }
+    sb.append('`')
+        .append(DocPartTableFields.DID.fieldName)
+        .append('`');
+    if (options.getLimit() > 0) {
+      sb.append(" LIMIT ")
+          .append(options.getLimit());
+    } else if (options.getSkip() > 0) {
+      //MySQL does not support OFFSET without LIMIT
+      sb.append(" LIMIT 18446744073709551615");
+    }
+    if (options.getSkip() > 0) {
+      sb.append(" OFFSET ")
+          .append(options.getSkip());
+    }
+    String statement = sb.toString();
+    return statement;
+  }
+
+  @Override
+  protected String getReadCountWithPredicatesStatement(String schemaName,
+      MetaDocPart rootDocPart, List<DocPartPredicate> predicates) {
+    StringBuilder sb = new StringBuilder()
+        .append("SELECT COUNT(1) FROM `")
+        .append(schemaName)
+        .append("`.`")
+        .append(rootDocPart.getIdentifier())
+        .append('`');
+    appendPredicatesCondition(sb, schemaName, predicates);
+    String statement = sb.toString();
+    return statement;
+  }
+
+  /**
+   * Appends a {@code WHERE} clause with the conditions of the given predicates, if there is any.
+   */
+  private void appendPredicatesCondition(StringBuilder sb, String schemaName,
+      List<DocPartPredicate> predicates) {
+    if (!predicates.isEmpty()) {
+      sb.append(" WHERE ");
+    }
+    Iterator<DocPartPredicate> predicateIterator = predicates.iterator();
+    while (predicateIterator.hasNext()) {
+      DocPartPredicate predicate = predicateIterator.next();
+      if (predicate.getDocPart().getTableRef().isRoot()) {
+        appendPredicateCondition(sb, predicate);
+      } else {
+        //rows on other doc parts are related with the root one by did
+        sb.append('`')
+            .append(DocPartTableFields.DID.fieldName)
+            .append(predicate.getOperator() == Operator.NOT_EXISTS ? "` NOT IN" : "` IN")
+            .append(" (SELECT `")
+            .append(DocPartTableFields.DID.fieldName)
+            .append("` FROM `")
+            .append(schemaName)
+            .append("`.`")
+            .append(predicate.getDocPart().getIdentifier())
+            .append("` WHERE ");
+        appendPredicateCondition(sb, predicate);
+        sb.append(')');
+      }
+      if (predicateIterator.hasNext()) {
+        sb.append(" AND ");
+      }
+    }
+  }
+
+  /**
+   * Appends the order of a sort field: first by the group of its not null field (the ones without
+   * value go first) and then by the value of that field, which is compared with the values of the
+   * other fields of its group.
+   */
+  private void appendSortField(StringBuilder sb, SortField sortField) {
+    String direction = sortField.isAscending() ? "" : " DESC";
+    sb.append("CASE");
+    int bracket = 1;
+    for (List<MetaField> fieldGroup : sortField.getFieldGroups()) {
+      sb.append(" WHEN ");
+      Iterator<MetaField> fieldIterator = fieldGroup.iterator();
+      while (fieldIterator.hasNext()) {
+        sb.append('`')
+            .append(fieldIterator.next().getIdentifier())
+            .append("` IS NOT NULL");
+        if (fieldIterator.hasNext()) {
+          sb.append(" OR ");
+        }
+      }
+      sb.append(" THEN ")
+          .append(bracket);
+      bracket++;
+    }
+    sb.append(" ELSE 0 END")
+        .append(direction);
+    for (List<MetaField> fieldGroup : sortField.getFieldGroups()) {
+      if (fieldGroup.size() > 1) {
+        //only one field of the group has value, so they are compared as a single column
+        sb.append(", COALESCE(");
+        for (MetaField field : fieldGroup) {
+          sb.append('`')
+              .append(field.getIdentifier())
+              .append("`,");
+        }
+        sb.setCharAt(sb.length() - 1, ')');
+        sb.append(direction);
+      }
+      for (MetaField field : fieldGroup) {
+        sb.append(", `")
+            .append(field.getIdentifier())
+            .append('`')
+            .append(direction);
+      }
+    }
+  }
+
+  private void appendPredicateCondition(StringBuilder sb, DocPartPredicate predicate) {
+    sb.append('(');
+    boolean rootNotExists = predicate.getOperator() == Operator.NOT_EXISTS
+        && predicate.getDocPart().getTableRef().isRoot();
+    for (MetaField field : predicate.getFields()) {
+      sb.append('`')
+          .append(field.getIdentifier())
+          .append('`');
+      switch (predicate.getOperator()) {
+        case IN:
+          sb.append(" IN (");
+          for (int index = 0; index < predicate.getValues().get(field).size(); index++) {
+            sb.append("?,");
+          }
+          sb.setCharAt(sb.length() - 1, ')');
+          break;
+        case GT:
+          sb.append(" > ?");
+          break;
+        case GTE:
+          sb.append(" >= ?");
+          break;
+        case LT:
+          sb.append(" < ?");
+          break;
+        case LTE:
+          sb.append(" <= ?");
+          break;
+        case EXISTS:
+          sb.append(" IS NOT NULL");
+          break;
+        case NOT_EXISTS:
+          //on other doc parts the dids where the field exists are excluded
+          sb.append(rootNotExists ? " IS NULL" : " IS NOT NULL");
+          break;
+        default:
+          throw new AssertionError("Unexpected operator " + predicate.getOperator());
+      }
+      sb.append(rootNotExists ? " AND " : " OR ");
+    }
+    sb.setLength(sb.length() - (rootNotExists ? " AND " : " OR ").length());
+    sb.append(')');
+  }
+
   @Override
   protected String getReadCollectionDidsAndProjectionWithFieldInStatement(String schemaName,
       String rootTableName,
@@ -194,15 +380,12 @@ public class MySqlReadInterface extends AbstractReadInterface {
         .append(metaDocPart.getIdentifier())
         .append("` WHERE `")
         .append(metaDataReadInterface.getMetaDocPartTable().DID.getName())
-        .append("` IN (");
-    Converter<?, Integer> converter =
-        metaDataReadInterface.getMetaDocPartTable().DID.getDataType().getConverter();
-    for (Integer requestedDoc : dids) {
-      sb.append(converter.to(requestedDoc))
-          .append(',');
-    }
-    sb.setCharAt(sb.length() - 1, ')');
-    if (!metaDocPart.getTableRef().isRoot()) {
+        .append("` IN ");
+    sqlHelper.appendDidsParameters(sb, dids.size());
+    if (metaDocPart.getTableRef().isRoot()) {
+      appendDidsOrder(sb, "`" + metaDataReadInterface.getMetaDocPartTable().DID.getName() + "`",
+          dids);
+    } else {
       sb.append(" ORDER BY ");
       Collection<InternalField<?>> internalFieldsIt =
           metaDataReadInterface.getReadInternalFields(metaDocPart);
@@ -30,15 +30,18 @@ import com.torodb.core.d2r.UniqueIdentifierGenerator;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.ChainConverterFactory;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.IdentifierChecker;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.NameChain;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
 import org.jooq.DSLContext;
+import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -112,7 +115,10 @@ public class MySqlStructureInterface extends AbstractStructureInterface {
 
   @Override
   protected String getCreateIndexStatement(String indexName, String schemaName, String tableName,
-      List<Tuple3<String, Boolean, FieldType>> columnList, boolean unique) {
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse) {
+    //MySQL does not support partial indexes and InnoDB ignores USING HASH, so hashed and sparse
+    //indexes are created as ordinary indexes
     StringBuilder sb = new StringBuilder()
         .append(unique ? "CREATE UNIQUE INDEX " : "CREATE INDEX ")
         .append("`").append(indexName).append("`")
@@ -121,7 +127,7 @@ public class MySqlStructureInterface extends AbstractStructureInterface {
         .append(".")
         .append("`").append(tableName).append("`")
         .append(" (");
-    for (Tuple3<String, Boolean, FieldType> columnEntry : columnList) {
+    for (Tuple3<String, FieldIndexOrdering, FieldType> columnEntry : columnList) {
       sb.append("`").append(columnEntry.v1()).append("`");
       
       DataTypeForKv<?> dataType = dataTypeProvider.getDataType(columnEntry.v3());
@@ -131,7 +137,7 @@ public class MySqlStructureInterface extends AbstractStructureInterface {
         sb.append("(3072)");
       }
       
-      sb.append(columnEntry.v2() ? " ASC," : " DESC,");
+      sb.append(columnEntry.v2().isAscending() ? " ASC," : " DESC,");
     }
     sb.setCharAt(sb.length() - 1, ')');
     String statement = sb.toString();
@@ -256,24 +262,40 @@ public class MySqlStructureInterface extends AbstractStructureInterface {
   protected String getAddColumnToDocPartTableStatement(String schemaName, String tableName,
       String columnName,
       DataTypeForKv<?> dataType) {
-    String castDataTypeName = dataType.getCastTypeName();
-    
     SqlBuilder sb = new MySqlBuilder("ALTER TABLE ")
-        .table(schemaName, tableName)
-        .append(" ADD COLUMN ")
+        .table(schemaName, tableName);
+    appendAddColumn(sb, columnName, dataType);
+    return sb.toString();
+  }
+
+  @Override
+  protected Optional<String> getAddColumnsToDocPartTableStatement(String schemaName,
+      String tableName, List<Tuple2<String, DataTypeForKv<?>>> columns) {
+    SqlBuilder sb = new MySqlBuilder("ALTER TABLE ")
+        .table(schemaName, tableName);
+    for (Tuple2<String, DataTypeForKv<?>> column : columns) {
+      appendAddColumn(sb, column.v1(), column.v2());
+      sb.append(',');
+    }
+    sb.setLastChar(' ');
+    return Optional.of(sb.toString());
+  }
+
+  private void appendAddColumn(SqlBuilder sb, String columnName, DataTypeForKv<?> dataType) {
+    String castDataTypeName = dataType.getCastTypeName();
+
+    sb.append(" ADD COLUMN ")
         .quote(columnName)
         .append(" ")
         .append(castDataTypeName);
     
-    if (dataType.getCastTypeName().equals("TIMESTAMP")) {
+    if (castDataTypeName.equals("TIMESTAMP")) {
       sb.append("(")
         .append(String.valueOf(dataType.length()))
         .append(")");
     }
 
     sb.append(" NULL");
-    
-    return sb.toString();
   }
 
   @Override
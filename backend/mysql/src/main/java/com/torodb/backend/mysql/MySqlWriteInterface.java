@@ -20,6 +20,7 @@ package com.torodb.backend.mysql;
 
 import com.codahale.metrics.Timer;
 import com.torodb.backend.AbstractWriteInterface;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.InternalField;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.tables.MetaDocPartTable;
@@ -48,8 +49,9 @@ public class MySqlWriteInterface extends AbstractWriteInterface {
   public MySqlWriteInterface(MySqlMetaDataReadInterface metaDataReadInterface,
       MySqlErrorHandler errorHandler,
       SqlHelper sqlHelper,
+      DocPartStatementCache statementCache,
       MySqlMetrics metrics) {
-    super(metaDataReadInterface, errorHandler, sqlHelper);
+    super(metaDataReadInterface, errorHandler, sqlHelper, statementCache);
     this.sqlHelper = sqlHelper;
     this.metrics = metrics;
   }
@@ -64,12 +66,37 @@ public class MySqlWriteInterface extends AbstractWriteInterface {
         .append(tableName)
         .append("` WHERE `")
         .append(MetaDocPartTable.DocPartTableFields.DID.fieldName)
-        .append("` IN (");
-    for (Integer did : dids) {
-      sb.append(did)
+        .append("` IN ");
+    sqlHelper.appendDidsParameters(sb, dids.size());
+    String statement = sb.toString();
+    return statement;
+  }
+
+  @Override
+  protected String getUpdateDocPartFieldsStatement(String schemaName, MetaDocPart metaDocPart,
+      Iterator<MetaField> metaFieldIterator, Collection<Integer> dids,
+      List<FieldType> fieldTypeList) {
+    final StringBuilder sb = new StringBuilder(512)
+        .append("UPDATE `")
+        .append(schemaName)
+        .append("`.`")
+        .append(metaDocPart.getIdentifier())
+        .append("` SET ");
+    while (metaFieldIterator.hasNext()) {
+      MetaField metaField = metaFieldIterator.next();
+      FieldType type = metaField.getType();
+      sb.append("`")
+          .append(metaField.getIdentifier())
+          .append("` = ")
+          .append(sqlHelper.getPlaceholder(type))
           .append(',');
+      fieldTypeList.add(type);
     }
-    sb.setCharAt(sb.length() - 1, ')');
+    sb.setCharAt(sb.length() - 1, ' ');
+    sb.append("WHERE `")
+        .append(MetaDocPartTable.DocPartTableFields.DID.fieldName)
+        .append("` IN ");
+    sqlHelper.appendDidsParameters(sb, dids.size());
     String statement = sb.toString();
     return statement;
   }
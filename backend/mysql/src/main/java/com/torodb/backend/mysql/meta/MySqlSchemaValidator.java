@@ -25,8 +25,11 @@ import org.jooq.DSLContext;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MySqlSchemaValidator extends SchemaValidator {
 
@@ -60,6 +63,29 @@ public class MySqlSchemaValidator extends SchemaValidator {
     return new Table.ResultSetIterator(schemaName, connection);
   }
 
+  @Override
+  protected List<SchemaValidator.Index> getIndexes(String schemaName,
+      Iterable<? extends SchemaValidator.Table> existingTables, Connection connection) {
+    List<SchemaValidator.Index> indexes = new ArrayList<>();
+    try (PreparedStatement ps = connection.prepareStatement(
+        "SELECT TABLE_SCHEMA AS TABLE_CAT, INDEX_NAME, NON_UNIQUE, COLUMN_NAME,"
+        + " SEQ_IN_INDEX AS ORDINAL_POSITION, COLLATION AS ASC_OR_DESC"
+        + " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ?"
+        + " ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX")) {
+      ps.setString(1, schemaName);
+      try (ResultSet rs = ps.executeQuery()) {
+        SchemaValidator.Index.ResultSetIterator indexIterator =
+            new SchemaValidator.Index.ResultSetIterator("TABLE_CAT", rs);
+        while (indexIterator.hasNext()) {
+          indexes.add(indexIterator.next());
+        }
+      }
+    } catch (SQLException sqlException) {
+      throw new SystemException(sqlException);
+    }
+    return indexes;
+  }
+
   @Override
   protected SchemaValidator.Index.ResultSetIterator getIndexIterator(
       String schemaName, Connection connection, SchemaValidator.Table table) {
@@ -96,7 +122,7 @@ public class MySqlSchemaValidator extends SchemaValidator {
     public static class ResultSetIterator extends SchemaValidator.Table.ResultSetIterator {
   
       public ResultSetIterator(String schemaName, Connection connection) {
-        super(schemaName, connection);
+        super("TABLE_CAT", schemaName, connection);
       }
 
       @Override
@@ -106,9 +132,9 @@ public class MySqlSchemaValidator extends SchemaValidator {
       }
 
       @Override
-      protected ResultSet getColumns(String catalog, String schema, String name)
+      protected ResultSet getColumns(DatabaseMetaData metaData, String schemaName)
           throws SQLException {
-        return metaData.getColumns(catalog, schema, name, "%");
+        return metaData.getColumns(schemaName, null, "%", "%");
       }
     }
     
@@ -111,4 +111,10 @@ public class MySqlMetaDocPartIndexTable
         this, "");
   }
 
+  @Override
+  protected TableField<MySqlMetaDocPartIndexRecord, Boolean> createSparseField() {
+    return createField(TableFields.SPARSE.fieldName, SQLDataType.BOOLEAN.nullable(false), 
+        this, "");
+  }
+
 }
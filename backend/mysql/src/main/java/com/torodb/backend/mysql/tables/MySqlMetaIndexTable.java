@@ -101,4 +101,10 @@ public class MySqlMetaIndexTable extends MetaIndexTable<MySqlMetaIndexRecord> {
         "");
   }
 
+  @Override
+  protected TableField<MySqlMetaIndexRecord, Boolean> createSparseField() {
+    return createField(TableFields.SPARSE.fieldName, SQLDataType.BOOLEAN.nullable(false), this, 
+        "");
+  }
+
 }
@@ -42,12 +42,13 @@ public class MySqlMetaDocPartIndexRecord extends MetaDocPartIndexRecord<String>
 
   @Override
   public MySqlMetaDocPartIndexRecord values(String database, String identifier,
-      String collection, String tableRef, Boolean unique) {
+      String collection, String tableRef, Boolean unique, Boolean sparse) {
     setDatabase(database);
     setIdentifier(identifier);
     setCollection(collection);
     setTableRef(tableRef);
     setUnique(unique);
+    setSparse(sparse);
     return this;
   }
 
@@ -55,10 +56,10 @@ public class MySqlMetaDocPartIndexRecord extends MetaDocPartIndexRecord<String>
    * Create a detached, initialised MetaIndexRecord
    */
   public MySqlMetaDocPartIndexRecord(String database, String identifier, String collection,
-      String tableRef, Boolean unique) {
+      String tableRef, Boolean unique, Boolean sparse) {
     super(MySqlMetaDocPartIndexTable.DOC_PART_INDEX);
 
-    values(database, identifier, collection, tableRef, unique);
+    values(database, identifier, collection, tableRef, unique, sparse);
   }
 
   @Override
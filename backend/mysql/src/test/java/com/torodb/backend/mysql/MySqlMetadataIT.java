@@ -19,12 +19,20 @@
 package com.torodb.backend.mysql;
 
 
+import static org.junit.Assert.assertEquals;
+
+import com.torodb.backend.meta.TorodbSchema;
+import com.torodb.backend.tables.MetaDocPartIndexColumnTable;
+import com.torodb.backend.tables.MetaIndexFieldTable;
 import com.torodb.backend.tests.common.AbstractMetaDataIntegrationSuite;
 import com.torodb.backend.tests.common.BackendTestContextFactory;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.testing.docker.mysql.EnumVersion;
 import com.torodb.testing.docker.mysql.MysqlService;
+import org.jooq.DSLContext;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 
 public class MySqlMetadataIT extends AbstractMetaDataIntegrationSuite {
 
@@ -50,4 +58,28 @@ public class MySqlMetadataIT extends AbstractMetaDataIntegrationSuite {
     return new MySqlTestContextFactory(mysqlService);
   }
 
+  @Test
+  public void narrowOrderingColumnsAreWidened() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      //older versions created the ordering columns as varchar(4), too narrow for HASHED
+      narrowColumn(dslContext, MetaIndexFieldTable.TABLE_NAME,
+          MetaIndexFieldTable.TableFields.ORDERING.fieldName);
+      narrowColumn(dslContext, MetaDocPartIndexColumnTable.TABLE_NAME,
+          MetaDocPartIndexColumnTable.TableFields.ORDERING.fieldName);
+
+      context.getSchemaUpdater().checkOrCreate(dslContext);
+      writeHashedIndexFields(dslContext);
+
+      assertEquals(FieldIndexOrdering.HASHED,
+          getMetaIndexFieldTableRecords(dslContext).get(0).getOrdering());
+      assertEquals(FieldIndexOrdering.HASHED,
+          getMetaDocPartIndexColumnTableRecords(dslContext).get(0).getOrdering());
+    });
+  }
+
+  private void narrowColumn(DSLContext dslContext, String tableName, String columnName) {
+    dslContext.execute("ALTER TABLE `" + TorodbSchema.IDENTIFIER + "`.`" + tableName
+        + "` MODIFY COLUMN `" + columnName + "` varchar(4) NOT NULL");
+  }
+
 }
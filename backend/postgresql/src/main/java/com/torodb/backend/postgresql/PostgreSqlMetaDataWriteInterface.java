@@ -19,6 +19,7 @@
 package com.torodb.backend.postgresql;
 
 import com.torodb.backend.AbstractMetaDataWriteInterface;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.SqlBuilder;
 import com.torodb.backend.SqlHelper;
 import com.torodb.backend.converters.TableRefConverter;
@@ -44,8 +45,8 @@ public class PostgreSqlMetaDataWriteInterface extends AbstractMetaDataWriteInter
 
   @Inject
   public PostgreSqlMetaDataWriteInterface(PostgreSqlMetaDataReadInterface metaDataReadInterface,
-      SqlHelper sqlHelper) {
-    super(metaDataReadInterface, sqlHelper);
+      SqlHelper sqlHelper, DocPartStatementCache statementCache) {
+    super(metaDataReadInterface, sqlHelper, statementCache);
   }
 
   @Override
@@ -146,6 +147,7 @@ public class PostgreSqlMetaDataWriteInterface extends AbstractMetaDataWriteInter
         .quote(MetaIndexTable.TableFields.COLLECTION).append(" varchar  NOT NULL        ,")
         .quote(MetaIndexTable.TableFields.NAME).append("     varchar  NOT NULL        ,")
         .quote(MetaIndexTable.TableFields.UNIQUE).append("     boolean  NOT NULL        ,")
+        .quote(MetaIndexTable.TableFields.SPARSE).append("     boolean  NOT NULL        ,")
         .append("    PRIMARY KEY (").quote(MetaIndexTable.TableFields.DATABASE).append(",")
         .quote(MetaIndexTable.TableFields.COLLECTION).append(",")
         .quote(MetaIndexTable.TableFields.NAME).append(")")
@@ -188,6 +190,7 @@ public class PostgreSqlMetaDataWriteInterface extends AbstractMetaDataWriteInter
         .quote(MetaDocPartIndexTable.TableFields.COLLECTION).append(" varchar   NOT NULL ,")
         .quote(MetaDocPartIndexTable.TableFields.TABLE_REF).append("  varchar[] NOT NULL ,")
         .quote(MetaDocPartIndexTable.TableFields.UNIQUE).append("     boolean  NOT NULL        ,")
+        .quote(MetaDocPartIndexTable.TableFields.SPARSE).append("     boolean  NOT NULL        ,")
         .append("    PRIMARY KEY (").quote(MetaDocPartIndexTable.TableFields.DATABASE).append(",")
         .quote(MetaDocPartIndexTable.TableFields.IDENTIFIER).append(")")
         .append(")")
@@ -195,6 +198,26 @@ public class PostgreSqlMetaDataWriteInterface extends AbstractMetaDataWriteInter
     return statement;
   }
 
+  @Override
+  protected String getWidenMetaTableOrderingColumnStatement(String schemaName, String tableName,
+      String columnName) {
+    String statement = new SqlBuilder("ALTER TABLE ").table(schemaName, tableName)
+        .append(" ALTER COLUMN ")
+        .quote(columnName).append(" TYPE varchar")
+        .toString();
+    return statement;
+  }
+
+  @Override
+  protected String getAddMetaTableBooleanColumnStatement(String schemaName, String tableName,
+      String columnName) {
+    String statement = new SqlBuilder("ALTER TABLE ").table(schemaName, tableName)
+        .append(" ADD COLUMN ")
+        .quote(columnName).append(" boolean NOT NULL DEFAULT false")
+        .toString();
+    return statement;
+  }
+
   @Override
   protected String getCreateMetaDocPartIndexColumnTableStatement(
       String schemaName, String tableName) {
@@ -27,15 +27,18 @@ import com.torodb.backend.SqlHelper;
 import com.torodb.backend.converters.jooq.DataTypeForKv;
 import com.torodb.backend.meta.TorodbSchema;
 import com.torodb.core.backend.IdentifierConstraints;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
 import org.jooq.DSLContext;
+import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -107,20 +110,51 @@ public class PostgreSqlStructureInterface extends AbstractStructureInterface {
 
   @Override
   protected String getCreateIndexStatement(String indexName, String schemaName, String tableName,
-      List<Tuple3<String, Boolean, FieldType>> columnList, boolean unique) {
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse) {
+    return getCreateIndexStatement(indexName, schemaName, tableName, columnList, unique, sparse,
+        false);
+  }
+
+  @Override
+  protected String getCreateIndexConcurrentlyStatement(String indexName, String schemaName,
+      String tableName, List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList,
+      boolean unique, boolean sparse) {
+    return getCreateIndexStatement(indexName, schemaName, tableName, columnList, unique, sparse,
+        true);
+  }
+
+  private String getCreateIndexStatement(String indexName, String schemaName, String tableName,
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList, boolean unique,
+      boolean sparse, boolean concurrently) {
+    //hash indexes can not be unique nor have more than one column
+    boolean hashed = !unique && columnList.size() == 1
+        && columnList.get(0).v2() == FieldIndexOrdering.HASHED;
     StringBuilder sb = new StringBuilder()
         .append(unique ? "CREATE UNIQUE INDEX " : "CREATE INDEX ")
+        .append(concurrently ? "CONCURRENTLY " : "")
         .append("\"").append(indexName).append("\"")
         .append(" ON ")
         .append("\"").append(schemaName).append("\"")
         .append(".")
         .append("\"").append(tableName).append("\"")
+        .append(hashed ? " USING hash" : "")
         .append(" (");
-    for (Tuple3<String, Boolean, FieldType> columnEntry : columnList) {
-      sb.append("\"").append(columnEntry.v1()).append("\" ")
-          .append(columnEntry.v2() ? "ASC," : "DESC,");
+    for (Tuple3<String, FieldIndexOrdering, FieldType> columnEntry : columnList) {
+      sb.append("\"").append(columnEntry.v1()).append("\"");
+      if (!hashed) {
+        sb.append(columnEntry.v2().isAscending() ? " ASC" : " DESC");
+      }
+      sb.append(',');
     }
     sb.setCharAt(sb.length() - 1, ')');
+    if (sparse) {
+      sb.append(" WHERE ");
+      for (Tuple3<String, FieldIndexOrdering, FieldType> columnEntry : columnList) {
+        sb.append("\"").append(columnEntry.v1()).append("\" IS NOT NULL OR ");
+      }
+      sb.setLength(sb.length() - " OR ".length());
+    }
     String statement = sb.toString();
     return statement;
   }
@@ -137,6 +171,20 @@ public class PostgreSqlStructureInterface extends AbstractStructureInterface {
     return statement;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>It also drops the invalid indexes left by concurrent builds that failed or were
+   * interrupted.
+   */
+  @Override
+  public void dropIndexConcurrently(DSLContext dsl, String schemaName, String tableName,
+      String indexName) {
+    String statement = "DROP INDEX CONCURRENTLY IF EXISTS \"" + schemaName + "\".\""
+        + indexName + "\"";
+    sqlHelper.executeUpdate(dsl, statement, Context.DROP_INDEX);
+  }
+
   @Override
   protected String getCreateSchemaStatement(String schemaName) {
     return "CREATE SCHEMA IF NOT EXISTS \"" + schemaName + "\"";
@@ -227,6 +275,22 @@ public class PostgreSqlStructureInterface extends AbstractStructureInterface {
     return sb.toString();
   }
 
+  @Override
+  protected Optional<String> getAddColumnsToDocPartTableStatement(String schemaName,
+      String tableName, List<Tuple2<String, DataTypeForKv<?>>> columns) {
+    SqlBuilder sb = new SqlBuilder("ALTER TABLE ")
+        .table(schemaName, tableName);
+    for (Tuple2<String, DataTypeForKv<?>> column : columns) {
+      sb.append(" ADD COLUMN ")
+          .quote(column.v1())
+          .append(" ")
+          .append(column.v2().getCastTypeName())
+          .append(',');
+    }
+    sb.setLastChar(' ');
+    return Optional.of(sb.toString());
+  }
+
   @Override
   public Stream<Function<DSLContext, String>> streamDataInsertFinishTasks(MetaDatabase db) {
     return db.streamMetaCollections().flatMap(
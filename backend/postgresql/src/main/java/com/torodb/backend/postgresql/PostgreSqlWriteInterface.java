@@ -21,11 +21,13 @@ package com.torodb.backend.postgresql;
 import com.codahale.metrics.Timer;
 import com.torodb.backend.AbstractWriteInterface;
 import com.torodb.backend.BackendLoggerFactory;
+import com.torodb.backend.DocPartStatementCache;
 import com.torodb.backend.ErrorHandler;
 import com.torodb.backend.ErrorHandler.Context;
 import com.torodb.backend.InternalField;
 import com.torodb.backend.SqlHelper;
-import com.torodb.backend.postgresql.converters.PostgreSqlValueToCopyConverter;
+import com.torodb.backend.postgresql.converters.PostgreSqlValueToBinaryCopyConverter;
+import com.torodb.backend.postgresql.converters.util.BinaryCopyBuffer;
 import com.torodb.backend.tables.MetaDocPartTable;
 import com.torodb.core.d2r.DocPartData;
 import com.torodb.core.d2r.DocPartRow;
@@ -40,16 +42,19 @@ import org.apache.logging.log4j.Logger;
 import org.jooq.DSLContext;
 import org.jooq.exception.DataAccessException;
 import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.postgresql.copy.CopyManager;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.Reader;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -59,22 +64,30 @@ public class PostgreSqlWriteInterface extends AbstractWriteInterface {
 
   private static final Logger LOGGER = BackendLoggerFactory.get(PostgreSqlWriteInterface.class);
   public static final int MAX_CAPPED_SIZE = 10;
+  private static final String COPY_DOC_PART_STATEMENT = "copy-doc-part";
+  private static final int COPY_BUFFER_SIZE = 65536;
+  private static final int COPY_FLUSH_SIZE = COPY_BUFFER_SIZE - 4096;
+  private static final int MAX_POOLED_COPY_BUFFER_SIZE = 4 * 1024 * 1024;
 
   private final PostgreSqlMetaDataReadInterface postgreSqlMetaDataReadInterface;
   private final ErrorHandler errorHandler;
   private final SqlHelper sqlHelper;
   private final PostgreSqlMetrics metrics;
+  private final DocPartStatementCache statementCache;
+  private final Queue<BinaryCopyBuffer> copyBufferPool = new ConcurrentLinkedQueue<>();
 
   @Inject
   public PostgreSqlWriteInterface(PostgreSqlMetaDataReadInterface metaDataReadInterface,
       PostgreSqlErrorHandler errorHandler,
       SqlHelper sqlHelper,
+      DocPartStatementCache statementCache,
       PostgreSqlMetrics metrics) {
-    super(metaDataReadInterface, errorHandler, sqlHelper);
+    super(metaDataReadInterface, errorHandler, sqlHelper, statementCache);
     this.postgreSqlMetaDataReadInterface = metaDataReadInterface;
     this.errorHandler = errorHandler;
     this.sqlHelper = sqlHelper;
     this.metrics = metrics;
+    this.statementCache = statementCache;
   }
 
   @Override
@@ -87,16 +100,52 @@ public class PostgreSqlWriteInterface extends AbstractWriteInterface {
         .append(tableName)
         .append("\" WHERE \"")
         .append(MetaDocPartTable.DocPartTableFields.DID.fieldName)
-        .append("\" IN (");
-    for (Integer did : dids) {
-      sb.append(did)
+        .append("\" = ANY(?)");
+    String statement = sb.toString();
+    return statement;
+  }
+
+  @Override
+  protected String getUpdateDocPartFieldsStatement(String schemaName, MetaDocPart metaDocPart,
+      Iterator<MetaField> metaFieldIterator, Collection<Integer> dids,
+      List<FieldType> fieldTypeList) {
+    final StringBuilder sb = new StringBuilder(512)
+        .append("UPDATE \"")
+        .append(schemaName)
+        .append("\".\"")
+        .append(metaDocPart.getIdentifier())
+        .append("\" SET ");
+    while (metaFieldIterator.hasNext()) {
+      MetaField metaField = metaFieldIterator.next();
+      FieldType type = metaField.getType();
+      sb.append("\"")
+          .append(metaField.getIdentifier())
+          .append("\" = ")
+          .append(sqlHelper.getPlaceholder(type))
           .append(',');
+      fieldTypeList.add(type);
     }
-    sb.setCharAt(sb.length() - 1, ')');
+    sb.setCharAt(sb.length() - 1, ' ');
+    sb.append("WHERE \"")
+        .append(MetaDocPartTable.DocPartTableFields.DID.fieldName)
+        .append("\" = ANY(?)");
     String statement = sb.toString();
     return statement;
   }
 
+  @Override
+  protected int setDidsParameters(PreparedStatement preparedStatement, int parameterIndex,
+      Collection<Integer> dids) throws SQLException {
+    preparedStatement.setArray(parameterIndex, preparedStatement.getConnection().createArrayOf(
+        "int4", dids.toArray()));
+    return parameterIndex + 1;
+  }
+
+  @Override
+  protected int getMaxDidsPerStatement() {
+    return Integer.MAX_VALUE;
+  }
+
   @Override
   public void insertDocPartData(DSLContext dsl, String schemaName, DocPartData docPartData) throws
       UserException {
@@ -168,28 +217,55 @@ public class PostgreSqlWriteInterface extends AbstractWriteInterface {
       String schemaName,
       DocPartData docPartData) throws SQLException, IOException {
 
-    final int maxBatchSize = 1024;
     final CopyManager copyManager = connection.getCopyAPI();
     final MetaDocPart metaDocPart = docPartData.getMetaDocPart();
     Collection<InternalField<?>> internalFields = postgreSqlMetaDataReadInterface
         .getInternalFields(metaDocPart);
-    final StringBuilder sb = new StringBuilder(65536);
-    final String copyStatement = getCopyInsertDocPartDataStatement(
-        schemaName, docPartData, metaDocPart, internalFields);
-
-    Iterator<DocPartRow> docPartRowIterator = docPartData.iterator();
-    int docCounter = 0;
-    while (docPartRowIterator.hasNext()) {
-      DocPartRow tableRow = docPartRowIterator.next();
-      docCounter++;
-
-      addValuesToCopy(sb, tableRow, internalFields);
-      assert sb.length() != 0;
-
-      if (docCounter % maxBatchSize == 0 || !docPartRowIterator.hasNext()) {
-        executeCopy(copyManager, copyStatement, sb);
-        sb.setLength(0);
+    final String copyStatement = statementCache.get(COPY_DOC_PART_STATEMENT, schemaName,
+        metaDocPart.getIdentifier(), DocPartStatementCache.getColumns(docPartData),
+        () -> getCopyInsertDocPartDataStatement(
+            schemaName, docPartData, metaDocPart, internalFields));
+    final int columns = internalFields.size() + docPartData.scalarColumnsCount()
+        + docPartData.fieldColumnsCount();
+
+    BinaryCopyBuffer buffer = acquireCopyBuffer();
+    CopyIn copyIn = copyManager.copyIn(copyStatement);
+    try {
+      buffer.writeHeader();
+      Iterator<DocPartRow> docPartRowIterator = docPartData.iterator();
+      while (docPartRowIterator.hasNext()) {
+        DocPartRow tableRow = docPartRowIterator.next();
+
+        addValuesToCopy(buffer, columns, tableRow, internalFields);
+
+        if (buffer.size() >= COPY_FLUSH_SIZE) {
+          buffer.writeTo(copyIn);
+        }
       }
+      buffer.writeTrailer();
+      buffer.writeTo(copyIn);
+      copyIn.endCopy();
+    } finally {
+      if (copyIn.isActive()) {
+        copyIn.cancelCopy();
+      }
+      releaseCopyBuffer(buffer);
+    }
+  }
+
+  private BinaryCopyBuffer acquireCopyBuffer() {
+    BinaryCopyBuffer buffer = copyBufferPool.poll();
+    if (buffer == null) {
+      buffer = new BinaryCopyBuffer(COPY_BUFFER_SIZE);
+    }
+    return buffer;
+  }
+
+  private void releaseCopyBuffer(BinaryCopyBuffer buffer) {
+    //buffers that grew to store huge rows are discarded to do not retain that memory
+    if (buffer.capacity() <= MAX_POOLED_COPY_BUFFER_SIZE) {
+      buffer.clear();
+      copyBufferPool.offer(buffer);
     }
   }
 
@@ -221,74 +297,39 @@ public class PostgreSqlWriteInterface extends AbstractWriteInterface {
           .append("\",");
     }
     copyStatementBuilder.setCharAt(copyStatementBuilder.length() - 1, ')');
-    copyStatementBuilder.append(" FROM STDIN");
+    copyStatementBuilder.append(" FROM STDIN WITH (FORMAT binary)");
     final String copyStatement = copyStatementBuilder.toString();
     return copyStatement;
   }
 
   private void addValuesToCopy(
-      StringBuilder sb,
+      BinaryCopyBuffer buffer,
+      int columns,
       DocPartRow docPartRow,
       Collection<InternalField<?>> internalFields) {
+    buffer.startRow(columns);
     for (InternalField<?> internalField : internalFields) {
       Object internalValue = internalField.getValue(docPartRow);
       if (internalValue == null) {
-        sb.append("\\N");
+        buffer.putNull();
       } else {
-        sb.append(internalValue.toString());
+        buffer.putInt4((Integer) internalValue);
       }
-      sb.append("\t");
     }
     for (KvValue<?> value : docPartRow.getScalarValues()) {
-      addValueToCopy(sb, value);
+      addValueToCopy(buffer, value);
     }
     for (KvValue<?> value : docPartRow.getFieldValues()) {
-      addValueToCopy(sb, value);
+      addValueToCopy(buffer, value);
     }
-    sb.setCharAt(sb.length() - 1, '\n');
   }
 
-  protected void addValueToCopy(StringBuilder sb, KvValue<?> value) {
+  protected void addValueToCopy(BinaryCopyBuffer buffer, KvValue<?> value) {
     if (value != null) {
-      value.accept(PostgreSqlValueToCopyConverter.INSTANCE, sb);
+      value.accept(PostgreSqlValueToBinaryCopyConverter.INSTANCE, buffer);
     } else {
-      sb.append("\\N");
+      buffer.putNull();
     }
-    sb.append('\t');
-  }
-
-  private void executeCopy(CopyManager copyManager, String copyStatement, final StringBuilder sb)
-      throws SQLException, IOException {
-    Reader reader = new StringBuilderReader(sb);
-
-    copyManager.copyIn(copyStatement, reader);
-  }
-
-  private static class StringBuilderReader extends Reader {
-
-    private final StringBuilder sb;
-    private int readerIndex = 0;
-
-    public StringBuilderReader(StringBuilder sb) {
-      this.sb = sb;
-    }
-
-    @Override
-    public int read(char[] cbuf, int off, int len) throws IOException {
-      if (readerIndex == sb.length()) {
-        return -1;
-      }
-      int newReaderIndex = Math.min(sb.length(), readerIndex + len);
-      sb.getChars(readerIndex, newReaderIndex, cbuf, off);
-      int diff = newReaderIndex - readerIndex;
-      readerIndex = newReaderIndex;
-      return diff;
-    }
-
-    @Override
-    public void close() {
-    }
-
   }
 
   @Override
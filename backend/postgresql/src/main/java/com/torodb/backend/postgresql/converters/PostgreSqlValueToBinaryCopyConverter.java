@@ -0,0 +1,286 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend.postgresql.converters;
+
+import com.torodb.backend.postgresql.converters.jooq.MongoDbPointerValueConverter;
+import com.torodb.backend.postgresql.converters.jooq.MongoJavascriptWithScopeValueConverter;
+import com.torodb.backend.postgresql.converters.jooq.MongoRegexValueConverter;
+import com.torodb.backend.postgresql.converters.util.BinaryCopyBuffer;
+import com.torodb.backend.postgresql.converters.util.SqlEscaper;
+import com.torodb.common.util.TextEscaper;
+import com.torodb.kvdocument.values.KvArray;
+import com.torodb.kvdocument.values.KvBinary;
+import com.torodb.kvdocument.values.KvBoolean;
+import com.torodb.kvdocument.values.KvDate;
+import com.torodb.kvdocument.values.KvDecimal128;
+import com.torodb.kvdocument.values.KvDeprecated;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.kvdocument.values.KvDouble;
+import com.torodb.kvdocument.values.KvInstant;
+import com.torodb.kvdocument.values.KvInteger;
+import com.torodb.kvdocument.values.KvLong;
+import com.torodb.kvdocument.values.KvMaxKey;
+import com.torodb.kvdocument.values.KvMinKey;
+import com.torodb.kvdocument.values.KvMongoDbPointer;
+import com.torodb.kvdocument.values.KvMongoJavascript;
+import com.torodb.kvdocument.values.KvMongoJavascriptWithScope;
+import com.torodb.kvdocument.values.KvMongoObjectId;
+import com.torodb.kvdocument.values.KvMongoRegex;
+import com.torodb.kvdocument.values.KvMongoTimestamp;
+import com.torodb.kvdocument.values.KvNull;
+import com.torodb.kvdocument.values.KvString;
+import com.torodb.kvdocument.values.KvTime;
+import com.torodb.kvdocument.values.KvUndefined;
+import com.torodb.kvdocument.values.KvValueVisitor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes {@link com.torodb.kvdocument.values.KvValue KvValues} on the binary representation
+ * PostgreSQL expects on a {@code COPY ... FROM STDIN WITH (FORMAT binary)} for the column type
+ * associated with each {@link com.torodb.core.transaction.metainf.FieldType}.
+ */
+public class PostgreSqlValueToBinaryCopyConverter
+    implements KvValueVisitor<Void, BinaryCopyBuffer> {
+
+  public static final PostgreSqlValueToBinaryCopyConverter INSTANCE =
+      new PostgreSqlValueToBinaryCopyConverter();
+
+  private static final TextEscaper ESCAPER = SqlEscaper.INSTANCE;
+
+  private static final int INT4_OID = 23;
+  private static final int BOOL_OID = 16;
+  private static final int NUMERIC_OID = 1700;
+
+  private static final byte JSONB_VERSION = 1;
+
+  private static final long POSTGRES_EPOCH_DAY = 10957;
+  private static final long POSTGRES_EPOCH_MILLIS = 946684800000L;
+
+  private static final short NUMERIC_POS = 0x0000;
+  private static final short NUMERIC_NEG = 0x4000;
+  private static final BigInteger NUMERIC_BASE = BigInteger.valueOf(10000);
+
+  PostgreSqlValueToBinaryCopyConverter() {}
+
+  @Override
+  public Void visit(KvBoolean value, BinaryCopyBuffer arg) {
+    arg.putBoolean(value.getValue());
+    return null;
+  }
+
+  @Override
+  public Void visit(KvNull value, BinaryCopyBuffer arg) {
+    arg.putBoolean(true);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvArray value, BinaryCopyBuffer arg) {
+    throw new UnsupportedOperationException("Ouch this should not occur");
+  }
+
+  @Override
+  public Void visit(KvInteger value, BinaryCopyBuffer arg) {
+    arg.putInt4(value.intValue());
+    return null;
+  }
+
+  @Override
+  public Void visit(KvLong value, BinaryCopyBuffer arg) {
+    arg.putInt8(value.longValue());
+    return null;
+  }
+
+  @Override
+  public Void visit(KvDouble value, BinaryCopyBuffer arg) {
+    arg.putFloat8(value.doubleValue());
+    return null;
+  }
+
+  @Override
+  public Void visit(KvString value, BinaryCopyBuffer arg) {
+    arg.putText(ESCAPER.escape(value.getValue()));
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMongoObjectId value, BinaryCopyBuffer arg) {
+    arg.putBytes(value.getArrayValue());
+    return null;
+  }
+
+  @Override
+  public Void visit(KvBinary value, BinaryCopyBuffer arg) {
+    arg.putBytes(value.getByteSource().read());
+    return null;
+  }
+
+  @Override
+  public Void visit(KvInstant value, BinaryCopyBuffer arg) {
+    arg.putInt8((value.getMillisFromUnix() - POSTGRES_EPOCH_MILLIS) * 1000);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvDate value, BinaryCopyBuffer arg) {
+    arg.putInt4((int) (value.getValue().toEpochDay() - POSTGRES_EPOCH_DAY));
+    return null;
+  }
+
+  @Override
+  public Void visit(KvTime value, BinaryCopyBuffer arg) {
+    arg.putInt8(value.getValue().toNanoOfDay() / 1000);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMongoTimestamp value, BinaryCopyBuffer arg) {
+    int start = arg.startField();
+    arg.writeInt(2);
+    arg.writeInt(INT4_OID);
+    arg.putInt4(value.getSecondsSinceEpoch());
+    arg.writeInt(INT4_OID);
+    arg.putInt4(value.getOrdinal());
+    arg.endField(start);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvDocument value, BinaryCopyBuffer arg) {
+    throw new UnsupportedOperationException("Ouch this should not occur");
+  }
+
+  @Override
+  public Void visit(KvDecimal128 value, BinaryCopyBuffer arg) {
+    int start = arg.startField();
+    arg.writeInt(4);
+    arg.writeInt(NUMERIC_OID);
+    int numericStart = arg.startField();
+    writeNumeric(value.getBigDecimal(), arg);
+    arg.endField(numericStart);
+    arg.writeInt(BOOL_OID);
+    arg.putBoolean(value.isInfinite() && !value.isNaN());
+    arg.writeInt(BOOL_OID);
+    arg.putBoolean(value.isNaN());
+    arg.writeInt(BOOL_OID);
+    arg.putBoolean(value.isNegativeZero());
+    arg.endField(start);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMongoJavascript value, BinaryCopyBuffer arg) {
+    arg.putText(ESCAPER.escape(value.getValue()));
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMongoJavascriptWithScope value, BinaryCopyBuffer arg) {
+    putJsonb(MongoJavascriptWithScopeValueConverter.CONVERTER.to(value), arg);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMinKey value, BinaryCopyBuffer arg) {
+    arg.putBoolean(false);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMaxKey value, BinaryCopyBuffer arg) {
+    arg.putBoolean(true);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvUndefined value, BinaryCopyBuffer arg) {
+    arg.putBoolean(true);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMongoRegex value, BinaryCopyBuffer arg) {
+    putJsonb(MongoRegexValueConverter.CONVERTER.to(value), arg);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvMongoDbPointer value, BinaryCopyBuffer arg) {
+    putJsonb(MongoDbPointerValueConverter.CONVERTER.to(value), arg);
+    return null;
+  }
+
+  @Override
+  public Void visit(KvDeprecated value, BinaryCopyBuffer arg) {
+    arg.putText(ESCAPER.escape(value.toString()));
+    return null;
+  }
+
+  private static void putJsonb(String json, BinaryCopyBuffer arg) {
+    int start = arg.startField();
+    arg.writeByte(JSONB_VERSION);
+    arg.writeBytes(ESCAPER.escape(json).getBytes(StandardCharsets.UTF_8));
+    arg.endField(start);
+  }
+
+  /**
+   * Writes the given decimal on the PostgreSQL numeric binary format: the number of base 10000
+   * digits, the weight of the first digit, the sign, the display scale and then the digits, most
+   * significant first and without trailing zero digits.
+   */
+  static void writeNumeric(BigDecimal value, BinaryCopyBuffer arg) {
+    int dscale = Math.max(value.scale(), 0);
+    int fractionalDigits = (dscale + 3) / 4;
+    BigInteger unscaled = value.abs().setScale(fractionalDigits * 4).unscaledValue();
+
+    if (unscaled.signum() == 0) {
+      arg.writeShort(0);
+      arg.writeShort(0);
+      arg.writeShort(NUMERIC_POS);
+      arg.writeShort(dscale);
+      return;
+    }
+
+    //the decimal digits of the unscaled value, including the zeros added by a positive exponent
+    int decimalDigits = value.precision() - value.scale() + fractionalDigits * 4;
+    short[] digits = new short[(decimalDigits + 3) / 4 + 2];
+    int count = 0;
+    while (unscaled.signum() != 0) {
+      BigInteger[] divMod = unscaled.divideAndRemainder(NUMERIC_BASE);
+      digits[count++] = divMod[1].shortValue();
+      unscaled = divMod[0];
+    }
+    int trailingZeros = 0;
+    while (digits[trailingZeros] == 0) {
+      trailingZeros++;
+    }
+
+    arg.writeShort(count - trailingZeros);
+    arg.writeShort(count - fractionalDigits - 1);
+    arg.writeShort(value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS);
+    arg.writeShort(dscale);
+    for (int i = count - 1; i >= trailingZeros; i--) {
+      arg.writeShort(digits[i]);
+    }
+  }
+
+}
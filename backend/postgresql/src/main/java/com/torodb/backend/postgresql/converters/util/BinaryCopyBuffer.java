@@ -0,0 +1,171 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend.postgresql.converters.util;
+
+import org.postgresql.copy.CopyIn;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer that encodes rows on the PostgreSQL binary COPY format.
+ *
+ * <p>Field level methods ({@code put*}) write the field length followed by the value, while the
+ * raw methods ({@code write*}) only write the value and are meant to be used to encode the content
+ * of variable length fields opened with {@link #startField()}.
+ */
+public class BinaryCopyBuffer {
+
+  private static final byte[] SIGNATURE = new byte[]{
+    'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0
+  };
+
+  private ByteBuffer buffer;
+
+  public BinaryCopyBuffer(int initialCapacity) {
+    this.buffer = ByteBuffer.allocate(initialCapacity);
+  }
+
+  public int size() {
+    return buffer.position();
+  }
+
+  public int capacity() {
+    return buffer.capacity();
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  public void clear() {
+    buffer.clear();
+  }
+
+  /**
+   * Sends the content of this buffer to the given {@link CopyIn} and clears it.
+   */
+  public void writeTo(CopyIn copyIn) throws SQLException {
+    if (buffer.position() > 0) {
+      copyIn.writeToCopy(buffer.array(), 0, buffer.position());
+      buffer.clear();
+    }
+  }
+
+  public void writeHeader() {
+    writeBytes(SIGNATURE);
+    writeInt(0);
+    writeInt(0);
+  }
+
+  public void writeTrailer() {
+    writeShort(-1);
+  }
+
+  public void startRow(int columns) {
+    writeShort(columns);
+  }
+
+  public void putNull() {
+    writeInt(-1);
+  }
+
+  public void putBoolean(boolean value) {
+    ensure(5);
+    buffer.putInt(1);
+    buffer.put(value ? (byte) 1 : (byte) 0);
+  }
+
+  public void putInt4(int value) {
+    ensure(8);
+    buffer.putInt(4);
+    buffer.putInt(value);
+  }
+
+  public void putInt8(long value) {
+    ensure(12);
+    buffer.putInt(8);
+    buffer.putLong(value);
+  }
+
+  public void putFloat8(double value) {
+    ensure(12);
+    buffer.putInt(8);
+    buffer.putDouble(value);
+  }
+
+  public void putBytes(byte[] value) {
+    ensure(4 + value.length);
+    buffer.putInt(value.length);
+    buffer.put(value);
+  }
+
+  public void putText(String value) {
+    putBytes(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Starts a variable length field whose content will be written with the raw methods.
+   *
+   * @return the position that must be given to {@link #endField(int)} once the content of the
+   *         field has been written
+   */
+  public int startField() {
+    ensure(4);
+    int start = buffer.position();
+    buffer.putInt(0);
+    return start;
+  }
+
+  public void endField(int start) {
+    buffer.putInt(start, buffer.position() - start - 4);
+  }
+
+  public void writeByte(int value) {
+    ensure(1);
+    buffer.put((byte) value);
+  }
+
+  public void writeShort(int value) {
+    ensure(2);
+    buffer.putShort((short) value);
+  }
+
+  public void writeInt(int value) {
+    ensure(4);
+    buffer.putInt(value);
+  }
+
+  public void writeBytes(byte[] value) {
+    ensure(value.length);
+    buffer.put(value);
+  }
+
+  private void ensure(int bytes) {
+    if (buffer.remaining() < bytes) {
+      int newCapacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+      ByteBuffer newBuffer = ByteBuffer.allocate(newCapacity);
+      buffer.flip();
+      newBuffer.put(buffer);
+      buffer = newBuffer;
+    }
+  }
+}
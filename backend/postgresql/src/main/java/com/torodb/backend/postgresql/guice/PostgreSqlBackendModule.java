@@ -44,6 +44,7 @@ import com.torodb.backend.postgresql.PostgreSqlStructureInterface;
 import com.torodb.backend.postgresql.PostgreSqlWriteInterface;
 import com.torodb.backend.postgresql.driver.OfficialPostgreSqlDriver;
 import com.torodb.backend.postgresql.driver.PostgreSqlDriverProvider;
+import com.torodb.backend.postgresql.meta.PostgreSqlReadStructure;
 import com.torodb.backend.postgresql.meta.PostgreSqlSchemaUpdater;
 import com.torodb.core.backend.BackendService;
 import com.torodb.core.backend.IdentifierConstraints;
@@ -86,7 +87,9 @@ public class PostgreSqlBackendModule extends PrivateModule {
         .to(PostgreSqlDbBackend.class);
     expose(DbBackendService.class);
 
-    bind(DefaultReadStructure.class);
+    bind(PostgreSqlReadStructure.class);
+    bind(DefaultReadStructure.class)
+        .to(PostgreSqlReadStructure.class);
     expose(DefaultReadStructure.class);
 
     bind(PostgreSqlSchemaUpdater.class)
@@ -0,0 +1,76 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend.postgresql.meta;
+
+import com.torodb.backend.exceptions.InvalidDatabaseSchemaException;
+import com.torodb.backend.meta.SchemaValidator;
+import com.torodb.core.exceptions.SystemException;
+import org.jooq.DSLContext;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostgreSqlSchemaValidator extends SchemaValidator {
+
+  /**
+   * Reads the columns of all the indexes on a schema, with the same column labels used by
+   * {@link java.sql.DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)}.
+   */
+  private static final String INDEXES_STATEMENT = "SELECT n.nspname AS \"TABLE_SCHEM\","
+      + " ci.relname AS \"INDEX_NAME\", NOT ix.indisunique AS \"NON_UNIQUE\","
+      + " a.attname AS \"COLUMN_NAME\", k.pos + 1 AS \"ORDINAL_POSITION\","
+      + " CASE ix.indoption[k.pos] & 1 WHEN 1 THEN 'D' ELSE 'A' END AS \"ASC_OR_DESC\""
+      + " FROM pg_catalog.pg_index ix"
+      + " JOIN pg_catalog.pg_class ci ON ci.oid = ix.indexrelid"
+      + " JOIN pg_catalog.pg_class ct ON ct.oid = ix.indrelid"
+      + " JOIN pg_catalog.pg_namespace n ON n.oid = ct.relnamespace"
+      + " JOIN generate_series(0, current_setting('max_index_keys')::int - 1) AS k(pos)"
+      + " ON k.pos < ix.indnatts"
+      + " JOIN pg_catalog.pg_attribute a ON a.attrelid = ct.oid AND a.attnum = ix.indkey[k.pos]"
+      + " WHERE n.nspname = ? AND ct.relkind = 'r'"
+      + " ORDER BY ct.relname, ci.relname, k.pos";
+
+  public PostgreSqlSchemaValidator(DSLContext dsl, String schemaName, String database)
+      throws InvalidDatabaseSchemaException {
+    super(dsl, schemaName, database);
+  }
+
+  @Override
+  protected List<Index> getIndexes(String schemaName, Iterable<? extends Table> existingTables,
+      Connection connection) {
+    List<Index> indexes = new ArrayList<>();
+    try (PreparedStatement ps = connection.prepareStatement(INDEXES_STATEMENT)) {
+      ps.setString(1, schemaName);
+      try (ResultSet rs = ps.executeQuery()) {
+        Index.ResultSetIterator indexIterator = new Index.ResultSetIterator("TABLE_SCHEM", rs);
+        while (indexIterator.hasNext()) {
+          indexes.add(indexIterator.next());
+        }
+      }
+    } catch (SQLException sqlException) {
+      throw new SystemException(sqlException);
+    }
+    return indexes;
+  }
+
+}
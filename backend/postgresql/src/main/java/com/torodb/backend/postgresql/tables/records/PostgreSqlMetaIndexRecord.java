@@ -33,12 +33,14 @@ public class PostgreSqlMetaIndexRecord extends MetaIndexRecord {
   }
 
   @Override
-  public MetaIndexRecord values(String database, String collection, String name, Boolean unique) {
+  public MetaIndexRecord values(String database, String collection, String name, Boolean unique,
+      Boolean sparse) {
 
     setDatabase(database);
     setCollection(collection);
     setName(name);
     setUnique(unique);
+    setSparse(sparse);
     return this;
   }
 
@@ -46,10 +48,10 @@ public class PostgreSqlMetaIndexRecord extends MetaIndexRecord {
    * Create a detached, initialised MetaIndexRecord
    */
   public PostgreSqlMetaIndexRecord(String database, String collection, String name,
-      Boolean unique) {
+      Boolean unique, Boolean sparse) {
     super(PostgreSqlMetaIndexTable.INDEX);
 
-    values(database, collection, name, unique);
+    values(database, collection, name, unique, sparse);
   }
 
 }
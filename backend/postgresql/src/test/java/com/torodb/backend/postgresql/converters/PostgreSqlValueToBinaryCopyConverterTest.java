@@ -0,0 +1,132 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.backend.postgresql.converters;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import com.torodb.backend.postgresql.converters.util.BinaryCopyBuffer;
+import com.torodb.kvdocument.values.KvInteger;
+import com.torodb.kvdocument.values.KvNull;
+import com.torodb.kvdocument.values.KvValue;
+import com.torodb.kvdocument.values.heap.LocalDateKvDate;
+import com.torodb.kvdocument.values.heap.StringKvString;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+public class PostgreSqlValueToBinaryCopyConverterTest {
+
+  private BinaryCopyBuffer buffer;
+
+  @Before
+  public void setUp() {
+    buffer = new BinaryCopyBuffer(4);
+  }
+
+  @Test
+  public void testInteger() {
+    assertEncoded(KvInteger.of(258), 0, 0, 0, 4, 0, 0, 1, 2);
+  }
+
+  @Test
+  public void testNull() {
+    assertEncoded(KvNull.getInstance(), 0, 0, 0, 1, 1);
+  }
+
+  @Test
+  public void testDate() {
+    assertEncoded(new LocalDateKvDate(LocalDate.of(2000, 1, 2)), 0, 0, 0, 4, 0, 0, 0, 1);
+  }
+
+  @Test
+  public void testStringIsSqlEscaped() {
+    assertEncoded(new StringKvString("a\u0000"), 0, 0, 0, 3, 'a', 1, '0');
+  }
+
+  @Test
+  public void testNumericZero() {
+    assertNumeric(new BigDecimal("0.00"), 0, 0, 0, 2);
+  }
+
+  @Test
+  public void testNumericInteger() {
+    assertNumeric(new BigDecimal("120000"), 1, 1, 0, 0, 12);
+  }
+
+  @Test
+  public void testNumericTrailingZeroDigits() {
+    assertNumeric(new BigDecimal("1E+8"), 1, 2, 0, 0, 1);
+  }
+
+  @Test
+  public void testNumericFraction() {
+    assertNumeric(new BigDecimal("-12345.678"), 3, 1, 0x4000, 3, 1, 2345, 6780);
+  }
+
+  @Test
+  public void testNumericSmallFraction() {
+    assertNumeric(new BigDecimal("0.00001"), 1, -2, 0, 5, 1000);
+  }
+
+  @Test
+  public void testNumericLargePositiveExponent() {
+    assertNumeric(new BigDecimal("1E+3000"), 1, 750, 0, 0, 1);
+    buffer = new BinaryCopyBuffer(4);
+    assertNumeric(new BigDecimal("1E+6144"), 1, 1536, 0, 0, 1);
+  }
+
+  @Test
+  public void testNumericLargePositiveExponentWithManyDigits() {
+    assertNumeric(new BigDecimal("9.999999999999999999999999999999999E+6144"), 10, 1536, 0, 0,
+        9, 9999, 9999, 9999, 9999, 9999, 9999, 9999, 9999, 9000);
+  }
+
+  @Test
+  public void testNumericLargeNegativeExponent() {
+    assertNumeric(new BigDecimal("1E-6176"), 1, -1544, 0, 6176, 1);
+    buffer = new BinaryCopyBuffer(4);
+    assertNumeric(new BigDecimal("-1.5E-6000"), 2, -1500, 0x4000, 6001, 1, 5000);
+  }
+
+  private void assertEncoded(KvValue<?> value, int... expected) {
+    value.accept(PostgreSqlValueToBinaryCopyConverter.INSTANCE, buffer);
+    byte[] expectedBytes = new byte[expected.length];
+    for (int i = 0; i < expected.length; i++) {
+      expectedBytes[i] = (byte) expected[i];
+    }
+    assertArrayEquals(expectedBytes, content());
+  }
+
+  private void assertNumeric(BigDecimal value, int... expectedShorts) {
+    PostgreSqlValueToBinaryCopyConverter.writeNumeric(value, buffer);
+    ByteBuffer expected = ByteBuffer.allocate(expectedShorts.length * 2);
+    for (int expectedShort : expectedShorts) {
+      expected.putShort((short) expectedShort);
+    }
+    assertArrayEquals(expected.array(), content());
+  }
+
+  private byte[] content() {
+    return buffer.toByteArray();
+  }
+
+}
@@ -25,6 +25,7 @@ import com.torodb.core.TableRef;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.DocPartResult;
 import com.torodb.core.document.ToroDocument;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
@@ -206,19 +207,19 @@ public abstract class AbstractBackendIntegrationSuite {
 
   protected void assertThatUniqueIndexExists(DSLContext dslContext, 
       String schemaName, String tableName, String indexName, 
-      List<Tuple3<String,Boolean,FieldType>> columns) throws SQLException {
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columns) throws SQLException {
     assertThatIndexExists(dslContext, schemaName, tableName, indexName, columns, true);
   }
 
   protected void assertThatIndexExists(DSLContext dslContext, 
       String schemaName, String tableName, String indexName, 
-      List<Tuple3<String,Boolean,FieldType>> columns) throws SQLException {
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columns) throws SQLException {
     assertThatIndexExists(dslContext, schemaName, tableName, indexName, columns, false);
   }
 
   protected void assertThatIndexExists(DSLContext dslContext, 
       String schemaName, String tableName, String indexName, 
-      List<Tuple3<String, Boolean, FieldType>> columns, boolean unique)
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columns, boolean unique)
       throws SQLException {
     execute(dslContext, connection -> {
       ResultSet result = context.getIndexes(connection, schemaName, tableName);
@@ -235,7 +236,7 @@ public abstract class AbstractBackendIntegrationSuite {
         if (position > 0 
             && columnName.equals(columns.get(position - 1).v1)
             && (ascOrDesc == null || ascOrDesc.equals("A")) 
-                == columns.get(position - 1).v2) {
+                == columns.get(position - 1).v2.isAscending()) {
           found = true;
         }
         columnCount++;
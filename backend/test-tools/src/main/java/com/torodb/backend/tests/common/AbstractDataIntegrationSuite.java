@@ -18,16 +18,23 @@
 
 package com.torodb.backend.tests.common;
 
+import static org.junit.Assert.assertEquals;
+
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteSource;
 import com.torodb.backend.converters.jooq.DataTypeForKv;
+import com.torodb.core.backend.ReadOptions;
+import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.CollectionData;
 import com.torodb.core.d2r.D2RTranslator;
 import com.torodb.core.d2r.DocPartData;
+import com.torodb.core.d2r.DocPartRow;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.ImmutableMetaCollection;
 import com.torodb.core.transaction.metainf.ImmutableMetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.core.transaction.metainf.MutableMetaCollection;
 import com.torodb.core.transaction.metainf.WrapperMutableMetaCollection;
 import com.torodb.kvdocument.values.KvBinary;
@@ -57,6 +64,7 @@ import com.torodb.kvdocument.values.heap.LongKvInstant;
 import com.torodb.kvdocument.values.heap.MapKvDocument;
 import com.torodb.kvdocument.values.heap.StringKvString;
 import org.jooq.lambda.tuple.Tuple2;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -66,6 +74,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -114,6 +123,127 @@ public abstract class AbstractDataIntegrationSuite extends AbstractBackendIntegr
     });
   }
   
+  @Test
+  public void shouldUpdateData() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      /* Given */
+      FieldType fieldType = FieldType.INTEGER;
+      createSchema(dslContext);
+      createRootTable(dslContext, COLLECTION_NAME);
+      DataTypeForKv<?> dataType = context.getSqlInterface()
+          .getDataTypeProvider().getDataType(fieldType);
+      context.getSqlInterface().getStructureInterface()
+          .addColumnToDocPartTable(dslContext, DATABASE_SCHEMA_NAME,
+              COLLECTION_NAME, FIELD_COLUMN_NAME + "_"
+          + context.getSqlInterface().getIdentifierConstraints()
+            .getFieldTypeIdentifier(fieldType), dataType);
+
+      ImmutableMetaDatabase metaDatabase = new ImmutableMetaDatabase
+          .Builder(DATABASE_NAME, DATABASE_SCHEMA_NAME)
+          .build();
+      MutableMetaCollection metaCollection = new WrapperMutableMetaCollection(
+          new ImmutableMetaCollection
+            .Builder(COLLECTION_NAME, COLLECTION_NAME)
+            .build());
+
+      KvDocument oldDoc = new KvDocument.Builder()
+          .putValue(FIELD_COLUMN_NAME, KvInteger.of(1))
+          .build();
+      D2RTranslator d2rTranslator = context
+          .getD2RTranslatorFactory().createTranslator(metaDatabase, metaCollection);
+      d2rTranslator.translate(oldDoc);
+      CollectionData collectionData = d2rTranslator.getCollectionDataAccumulator();
+      for (DocPartData docPartData : collectionData) {
+        context.getSqlInterface().getWriteInterface()
+            .insertDocPartData(dslContext, DATABASE_SCHEMA_NAME, docPartData);
+      }
+      MetaDocPart rootDocPart = metaCollection.getMetaDocPartByTableRef(
+          context.getTableRefFactory().createRoot());
+      MetaField field = rootDocPart.getMetaFieldByNameAndType(FIELD_COLUMN_NAME, fieldType);
+      int did = context.getSqlInterface().getReadInterface()
+          .getAllCollectionDids(dslContext, metaDatabase, metaCollection)
+          .next();
+
+      /* When */
+      context.getSqlInterface().getWriteInterface()
+          .updateDocPartFields(dslContext, DATABASE_SCHEMA_NAME, rootDocPart,
+              ImmutableMap.<MetaField, KvValue<?>>of(field, KvInteger.of(2)),
+              ImmutableList.of(did));
+
+      /* Then */
+      KvDocument expectedDoc = new KvDocument.Builder()
+          .putValue(FIELD_COLUMN_NAME, KvInteger.of(2))
+          .build();
+      assertThatDataExists(dslContext, metaDatabase, metaCollection, expectedDoc);
+    });
+  }
+
+  @Test
+  public void shouldSortNumbersOfDifferentTypesByValue() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      /* Given */
+      createSchema(dslContext);
+      createRootTable(dslContext, COLLECTION_NAME);
+      List<FieldType> numericTypes = ImmutableList.of(FieldType.INTEGER, FieldType.LONG,
+          FieldType.DOUBLE);
+      for (FieldType fieldType : numericTypes) {
+        DataTypeForKv<?> dataType = context.getSqlInterface()
+            .getDataTypeProvider().getDataType(fieldType);
+        context.getSqlInterface().getStructureInterface()
+            .addColumnToDocPartTable(dslContext, DATABASE_SCHEMA_NAME,
+                COLLECTION_NAME, FIELD_COLUMN_NAME + "_"
+            + context.getSqlInterface().getIdentifierConstraints()
+              .getFieldTypeIdentifier(fieldType), dataType);
+      }
+
+      ImmutableMetaDatabase metaDatabase = new ImmutableMetaDatabase
+          .Builder(DATABASE_NAME, DATABASE_SCHEMA_NAME)
+          .build();
+      MutableMetaCollection metaCollection = new WrapperMutableMetaCollection(
+          new ImmutableMetaCollection
+            .Builder(COLLECTION_NAME, COLLECTION_NAME)
+            .build());
+
+      D2RTranslator d2rTranslator = context
+          .getD2RTranslatorFactory().createTranslator(metaDatabase, metaCollection);
+      for (KvValue<?> value : ImmutableList.<KvValue<?>>of(
+          KvLong.of(3), KvInteger.of(1), KvDouble.of(2.5))) {
+        d2rTranslator.translate(new KvDocument.Builder()
+            .putValue(FIELD_COLUMN_NAME, value)
+            .build());
+      }
+      List<Integer> dids = new ArrayList<>();
+      CollectionData collectionData = d2rTranslator.getCollectionDataAccumulator();
+      for (DocPartData docPartData : collectionData) {
+        context.getSqlInterface().getWriteInterface()
+            .insertDocPartData(dslContext, DATABASE_SCHEMA_NAME, docPartData);
+        for (DocPartRow row : docPartData) {
+          dids.add(row.getDid());
+        }
+      }
+      MetaDocPart rootDocPart = metaCollection.getMetaDocPartByTableRef(
+          context.getTableRefFactory().createRoot());
+      List<MetaField> fields = new ArrayList<>();
+      for (FieldType fieldType : numericTypes) {
+        fields.add(rootDocPart.getMetaFieldByNameAndType(FIELD_COLUMN_NAME, fieldType));
+      }
+      ReadOptions options = new ReadOptions.Builder()
+          .addSortField(ImmutableList.of(fields), true)
+          .build();
+
+      /* When */
+      List<Integer> sortedDids;
+      try (Cursor<Integer> didCursor = context.getSqlInterface().getReadInterface()
+          .getCollectionDidsWithPredicates(dslContext, metaDatabase, metaCollection,
+              ImmutableList.of(), options)) {
+        sortedDids = didCursor.getRemaining();
+      }
+
+      /* Then */
+      assertEquals(ImmutableList.of(dids.get(1), dids.get(2), dids.get(0)), sortedDids);
+    });
+  }
+
   public static List<Tuple2<String, KvValue<?>>> values() {
     return ImmutableList.<Tuple2<String,KvValue<?>>>of(
           new Tuple2<>("TrueBoolean", KvBoolean.TRUE),
@@ -19,7 +19,12 @@
 package com.torodb.backend.tests.common;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import com.torodb.backend.MetaDataReadInterface;
+import com.torodb.backend.MetaDataWriteInterface;
+import com.torodb.backend.meta.TorodbSchema;
 import com.torodb.backend.tables.KvTable;
 import com.torodb.backend.tables.MetaCollectionTable;
 import com.torodb.backend.tables.MetaDatabaseTable;
@@ -139,6 +144,42 @@ public abstract class AbstractMetaDataIntegrationSuite extends AbstractBackendIn
     });
   }
 
+  @Test
+  public void lastRidsCanBeWrittenAndRead() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      TableRef rootTableRef = context.getTableRefFactory().createRoot();
+
+      MetaDatabase metaDatabase = new ImmutableMetaDatabase
+          .Builder(DATABASE_NAME, DATABASE_SCHEMA_NAME).build();
+      MetaCollection metaCollection = new ImmutableMetaCollection
+          .Builder(COLLECTION_NAME, COLLECTION_IDENTIFIER).build();
+      MetaDocPart metaDocPart = new ImmutableMetaDocPart
+          .Builder(rootTableRef, ROOT_TABLE_NAME).build();
+
+      MetaDataWriteInterface writeInterface = context.getSqlInterface()
+          .getMetaDataWriteInterface();
+      writeInterface.addMetaDocPart(dslContext, metaDatabase, metaCollection, metaDocPart);
+
+      MetaDataReadInterface readInterface = context.getSqlInterface().getMetaDataReadInterface();
+      assertEquals(0, (int) readInterface.readLastRids(dslContext)
+          .get(DATABASE_NAME, ROOT_TABLE_NAME));
+
+      //marks that have never been stored are not increased
+      writeInterface.increaseLastRids(dslContext, 10);
+      assertEquals(0, (int) readInterface.readLastRids(dslContext)
+          .get(DATABASE_NAME, ROOT_TABLE_NAME));
+
+      assertTrue(writeInterface.writeLastRid(dslContext, DATABASE_NAME, COLLECTION_NAME,
+          rootTableRef, 100));
+      writeInterface.increaseLastRids(dslContext, 10);
+      assertEquals(110, (int) readInterface.readLastRids(dslContext)
+          .get(DATABASE_NAME, ROOT_TABLE_NAME));
+
+      assertFalse(writeInterface.writeLastRid(dslContext, DATABASE_NAME, "otherCollection",
+          rootTableRef, 100));
+    });
+  }
+
   @Test
   public void metaFieldTableCanBeWrittenAndRead() throws Exception {
     FieldType fieldType = FieldType.INTEGER;
@@ -333,6 +374,48 @@ public abstract class AbstractMetaDataIntegrationSuite extends AbstractBackendIn
     });
   }
 
+  @Test
+  public void hashedIndexFieldsCanBeWrittenAndRead() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      writeHashedIndexFields(dslContext);
+
+      assertEquals(FieldIndexOrdering.HASHED,
+          getMetaIndexFieldTableRecords(dslContext).get(0).getOrdering());
+      assertEquals(FieldIndexOrdering.HASHED,
+          getMetaDocPartIndexColumnTableRecords(dslContext).get(0).getOrdering());
+    });
+  }
+
+  /**
+   * Writes an index field and a doc part index column whose ordering is
+   * {@link FieldIndexOrdering#HASHED}, the longest ordering name.
+   */
+  protected void writeHashedIndexFields(DSLContext dslContext) {
+    TableRef rootTableRef = context.getTableRefFactory().createRoot();
+
+    MetaDatabase metaDatabase = new ImmutableMetaDatabase
+        .Builder(DATABASE_NAME, DATABASE_SCHEMA_NAME).build();
+    MetaCollection metaCollection = new ImmutableMetaCollection
+        .Builder(COLLECTION_NAME, COLLECTION_IDENTIFIER).build();
+    MetaDocPart metaDocPart = new ImmutableMetaDocPart
+        .Builder(rootTableRef, ROOT_TABLE_NAME).build();
+    MetaIndex metaIndex = new ImmutableMetaIndex
+        .Builder(INDEX_NAME, false).build();
+    MetaIndexField metaIndexField =
+        new ImmutableMetaIndexField(0, rootTableRef, FIELD_NAME, FieldIndexOrdering.HASHED);
+    MetaIdentifiedDocPartIndex metaDocPartIndex =
+        new ImmutableMetaIdentifiedDocPartIndex.Builder(ROOT_INDEX_NAME, false)
+          .build();
+    MetaDocPartIndexColumn metaDocPartIndexColumn =
+        new ImmutableMetaDocPartIndexColumn(0, FIELD_COLUMN_NAME, FieldIndexOrdering.HASHED);
+
+    context.getSqlInterface().getMetaDataWriteInterface()
+        .addMetaIndexField(dslContext, metaDatabase, metaCollection, metaIndex, metaIndexField);
+    context.getSqlInterface().getMetaDataWriteInterface()
+        .addMetaDocPartIndexColumn(dslContext, metaDatabase, metaCollection, metaDocPart,
+            metaDocPartIndex, metaDocPartIndexColumn);
+  }
+
   @Test
   public void metaKvTableCanBeWrittenAndRead() throws Exception {
     context.executeOnDbConnectionWithDslContext(dslContext -> {
@@ -606,6 +689,79 @@ public abstract class AbstractMetaDataIntegrationSuite extends AbstractBackendIn
     });
   }
 
+  @Test
+  public void sparseIndexesCanBeWrittenAndRead() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      TableRef rootTableRef = context.getTableRefFactory().createRoot();
+
+      MetaDatabase metaDatabase = new ImmutableMetaDatabase
+          .Builder(DATABASE_NAME, DATABASE_SCHEMA_NAME).build();
+      MetaCollection metaCollection = new ImmutableMetaCollection
+          .Builder(COLLECTION_NAME, COLLECTION_IDENTIFIER).build();
+      MetaDocPart metaDocPart = new ImmutableMetaDocPart
+          .Builder(rootTableRef, ROOT_TABLE_NAME).build();
+      MetaIndex metaIndex = new ImmutableMetaIndex
+          .Builder(INDEX_NAME, false, true).build();
+      MetaIdentifiedDocPartIndex metaDocPartIndex =
+          new ImmutableMetaIdentifiedDocPartIndex.Builder(ROOT_INDEX_NAME, false, true)
+            .build();
+
+      context.getSqlInterface().getMetaDataWriteInterface()
+          .addMetaIndex(dslContext, metaDatabase, metaCollection, metaIndex);
+      context.getSqlInterface().getMetaDataWriteInterface()
+          .addMetaDocPartIndex(dslContext, metaDatabase, metaCollection, metaDocPart,
+              metaDocPartIndex);
+
+      assertEquals(true, getMetaIndexTableRecords(dslContext).get(0).getSparse());
+      assertEquals(true, getMetaDocPartIndexTableRecords(dslContext).get(0).getSparse());
+    });
+  }
+
+  @Test
+  public void metaIndexTablesWithoutSparseColumnAreUpgraded() throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      TableRef rootTableRef = context.getTableRefFactory().createRoot();
+
+      MetaDatabase metaDatabase = new ImmutableMetaDatabase
+          .Builder(DATABASE_NAME, DATABASE_SCHEMA_NAME).build();
+      MetaCollection metaCollection = new ImmutableMetaCollection
+          .Builder(COLLECTION_NAME, COLLECTION_IDENTIFIER).build();
+      MetaDocPart metaDocPart = new ImmutableMetaDocPart
+          .Builder(rootTableRef, ROOT_TABLE_NAME).build();
+      MetaIndex metaIndex = new ImmutableMetaIndex
+          .Builder(INDEX_NAME, true).build();
+      MetaIdentifiedDocPartIndex metaDocPartIndex =
+          new ImmutableMetaIdentifiedDocPartIndex.Builder(ROOT_INDEX_NAME, true)
+            .build();
+
+      context.getSqlInterface().getMetaDataWriteInterface()
+          .addMetaIndex(dslContext, metaDatabase, metaCollection, metaIndex);
+      context.getSqlInterface().getMetaDataWriteInterface()
+          .addMetaDocPartIndex(dslContext, metaDatabase, metaCollection, metaDocPart,
+              metaDocPartIndex);
+      dropColumn(dslContext, MetaIndexTable.TABLE_NAME,
+          MetaIndexTable.TableFields.SPARSE.fieldName);
+      dropColumn(dslContext, MetaDocPartIndexTable.TABLE_NAME,
+          MetaDocPartIndexTable.TableFields.SPARSE.fieldName);
+
+      context.getSchemaUpdater().checkOrCreate(dslContext);
+
+      MetaIndexRecord indexRecord = getMetaIndexTableRecords(dslContext).get(0);
+      assertEquals(true, indexRecord.getUnique());
+      assertEquals(false, indexRecord.getSparse());
+      MetaDocPartIndexRecord<Object> docPartIndexRecord =
+          getMetaDocPartIndexTableRecords(dslContext).get(0);
+      assertEquals(true, docPartIndexRecord.getUnique());
+      assertEquals(false, docPartIndexRecord.getSparse());
+    });
+  }
+
+  private void dropColumn(DSLContext dslContext, String tableName, String columnName) {
+    char quote = context.getQuoteChar();
+    dslContext.execute("ALTER TABLE " + quote + TorodbSchema.IDENTIFIER + quote + "."
+        + quote + tableName + quote + " DROP COLUMN " + quote + columnName + quote);
+  }
+
   private Result<MetaDatabaseRecord> getMetaDatabaseTableRecords(DSLContext dslContext) {
     MetaDatabaseTable<MetaDatabaseRecord> metaDatabaseTable = context.getSqlInterface()
         .getMetaDataReadInterface().getMetaDatabaseTable();
@@ -652,7 +808,7 @@ public abstract class AbstractMetaDataIntegrationSuite extends AbstractBackendIn
         .fetch();
   }
 
-  private Result<MetaIndexFieldRecord<Object>> getMetaIndexFieldTableRecords(
+  protected Result<MetaIndexFieldRecord<Object>> getMetaIndexFieldTableRecords(
       DSLContext dslContext) {
     MetaIndexFieldTable<Object, MetaIndexFieldRecord<Object>> metaIndexFieldTable = 
         context.getSqlInterface().getMetaDataReadInterface().getMetaIndexFieldTable();
@@ -670,7 +826,7 @@ public abstract class AbstractMetaDataIntegrationSuite extends AbstractBackendIn
         .fetch();
   }
 
-  private Result<MetaDocPartIndexColumnRecord<Object>> getMetaDocPartIndexColumnTableRecords(
+  protected Result<MetaDocPartIndexColumnRecord<Object>> getMetaDocPartIndexColumnTableRecords(
       DSLContext dslContext) {
     MetaDocPartIndexColumnTable<Object, 
           MetaDocPartIndexColumnRecord<Object>> metaDocPartIndexColumnTable = 
@@ -52,6 +52,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.List;
+
 public abstract class AbstractStructureIntegrationSuite extends AbstractBackendIntegrationSuite {
 
   @Test
@@ -155,6 +157,41 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
     });
   }
 
+  @Test
+  public void shouldCreateSparseIndex() throws Exception {
+    shouldCreateIndex(FieldIndexOrdering.ASC, true);
+  }
+
+  @Test
+  public void shouldCreateHashedIndex() throws Exception {
+    shouldCreateIndex(FieldIndexOrdering.HASHED, false);
+  }
+
+  private void shouldCreateIndex(FieldIndexOrdering ordering, boolean sparse) throws Exception {
+    context.executeOnDbConnectionWithDslContext(dslContext -> {
+      /* Given */
+      FieldType fieldType = FieldType.INTEGER;
+      createSchema(dslContext);
+      createRootTable(dslContext, ROOT_TABLE_NAME);
+      DataTypeForKv<?> dataType = context.getSqlInterface()
+          .getDataTypeProvider().getDataType(fieldType);
+      context.getSqlInterface().getStructureInterface()
+          .addColumnToDocPartTable(dslContext, DATABASE_SCHEMA_NAME,
+              ROOT_TABLE_NAME, FIELD_COLUMN_NAME, dataType);
+      List<Tuple3<String, FieldIndexOrdering, FieldType>> columns = ImmutableList.of(
+          new Tuple3<>(FIELD_COLUMN_NAME, ordering, fieldType));
+
+      /* When */
+      context.getSqlInterface().getStructureInterface()
+          .createIndex(dslContext, ROOT_INDEX_NAME, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME,
+              columns, false, sparse);
+
+      /* Then */
+      assertThatIndexExists(dslContext, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, ROOT_INDEX_NAME,
+          columns);
+    });
+  }
+
   @Test
   public void shouldDeleteIndex() throws Exception {
     context.executeOnDbConnectionWithDslContext(dslContext -> {
@@ -170,9 +207,10 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
       context.getSqlInterface().getStructureInterface()
           .createIndex(dslContext, ROOT_INDEX_NAME, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, 
               ImmutableList.of(
-                new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+                new Tuple3<String, FieldIndexOrdering, FieldType>(
+                    FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
               ), 
-              false);
+              false, false);
 
       /* When */
       context.getSqlInterface().getStructureInterface()
@@ -207,9 +245,10 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
       context.getSqlInterface().getStructureInterface()
           .createIndex(dslContext, ROOT_INDEX_NAME, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, 
               ImmutableList.of(
-                new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+                new Tuple3<String, FieldIndexOrdering, FieldType>(
+                    FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
               ), 
-              false);
+              false, false);
 
       /* When */
       context.getSqlInterface().getStructureInterface()
@@ -350,9 +389,10 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
       context.getSqlInterface().getStructureInterface()
           .createIndex(dslContext, ROOT_INDEX_NAME, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, 
               ImmutableList.of(
-                new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+                new Tuple3<String, FieldIndexOrdering, FieldType>(
+                    FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
               ), 
-              false);
+              false, false);
       createSchema(dslContext);
 
       /* When */
@@ -365,7 +405,8 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
       assertThatIndexExists(dslContext, 
           "new_" + DATABASE_SCHEMA_NAME, "new_" + ROOT_TABLE_NAME, "new_" + ROOT_INDEX_NAME,
           ImmutableList.of(
-              new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+              new Tuple3<String, FieldIndexOrdering, FieldType>(
+                  FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
           ));
     });
   }
@@ -452,15 +493,17 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
       context.getSqlInterface().getStructureInterface()
           .createIndex(dslContext, ROOT_INDEX_NAME, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, 
               ImmutableList.of(
-                new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+                new Tuple3<String, FieldIndexOrdering, FieldType>(
+                    FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
               ), 
-              false);
+              false, false);
 
       /* Then */
       assertThatIndexExists(dslContext,
           DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, ROOT_INDEX_NAME,
           ImmutableList.of(
-              new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+              new Tuple3<String, FieldIndexOrdering, FieldType>(
+                  FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
             ));
     });
   }
@@ -482,15 +525,17 @@ public abstract class AbstractStructureIntegrationSuite extends AbstractBackendI
       context.getSqlInterface().getStructureInterface()
           .createIndex(dslContext, ROOT_INDEX_NAME, DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, 
               ImmutableList.of(
-                new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+                new Tuple3<String, FieldIndexOrdering, FieldType>(
+                    FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
               ), 
-              true);
+              true, false);
 
       /* Then */
       assertThatUniqueIndexExists(dslContext,
           DATABASE_SCHEMA_NAME, ROOT_TABLE_NAME, ROOT_INDEX_NAME,
           ImmutableList.of(
-              new Tuple3<String,Boolean,FieldType>(FIELD_COLUMN_NAME, true, fieldType)
+              new Tuple3<String, FieldIndexOrdering, FieldType>(
+                  FIELD_COLUMN_NAME, FieldIndexOrdering.ASC, fieldType)
             ));
     });
   }
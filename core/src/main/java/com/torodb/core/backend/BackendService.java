@@ -42,4 +42,15 @@ public interface BackendService extends TorodbService {
    * <p>It is the caller responsability to enforce the exclusive property.
    */
   public DdlOperationExecutor openDdlOperationExecutor();
+
+  /**
+   * Returns an object used to build physical indexes while other {@link DmlTransaction} are open.
+   */
+  public DocPartIndexBuilder openDocPartIndexBuilder();
+
+  /**
+   * Returns the maximum number of {@link WriteDmlTransaction} that can be open at the same time
+   * without waiting for a backend connection.
+   */
+  public int getMaxConcurrentWriteTransactions();
 }
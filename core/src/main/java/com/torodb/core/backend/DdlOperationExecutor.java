@@ -26,6 +26,7 @@ import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
 import com.torodb.core.transaction.metainf.MetaField;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
 import com.torodb.core.transaction.metainf.MetaIndex;
 import com.torodb.core.transaction.metainf.MetaScalar;
 import com.torodb.core.transaction.metainf.MetaSnapshot;
@@ -142,6 +143,28 @@ public interface DdlOperationExecutor extends AutoCloseable {
   public void createIndex(MetaDatabase db, MutableMetaCollection col, MetaIndex index)
       throws UserException;
 
+  /**
+   * Like {@link #createIndex(MetaDatabase, MutableMetaCollection, MetaIndex)}, but if
+   * {@code background} is true, physical indexes are not created for the existent doc parts.
+   *
+   * <p>Physical indexes for future doc part fields and scalars are created as usual, but the ones
+   * for the existent doc parts must be built with a {@link DocPartIndexBuilder} and then added
+   * with {@link #addDocPartIndex(MetaDatabase, MetaCollection, MetaDocPart,
+   * MetaIdentifiedDocPartIndex)}.
+   *
+   * @throws UserException if the index is not supported.
+   */
+  @ExclusiveDdl
+  public void createIndex(MetaDatabase db, MutableMetaCollection col, MetaIndex index,
+      boolean background) throws UserException;
+
+  /**
+   * Stores the metainformation of a physical index that has been built by a
+   * {@link DocPartIndexBuilder}.
+   */
+  public void addDocPartIndex(MetaDatabase db, MetaCollection col, MetaDocPart docPart,
+      MetaIdentifiedDocPartIndex docPartIndex);
+
   /**
    * Drop a logical index on doc part. 
    * 
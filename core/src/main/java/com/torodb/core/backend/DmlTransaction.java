@@ -28,6 +28,7 @@ import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.kvdocument.values.KvValue;
 import org.jooq.lambda.tuple.Tuple2;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -65,6 +66,37 @@ public interface DmlTransaction extends AutoCloseable {
   public BackendCursor findByFieldIn(MetaDatabase db, MetaCollection col, MetaDocPart docPart,
       Multimap<MetaField, KvValue<?>> valuesMultimap);
 
+  /**
+   * Return a cursor that iterates over all documents that fulfill all the given predicates.
+   *
+   * The predicates, sort, skip and limit are evaluated by the backend, so only the documents that
+   * fulfill the query are read. Doc parts that are not read as the options say are not loaded.
+   *
+   * @param db
+   * @param col
+   * @param predicates a list of predicates on doc parts of the given collection. If it is empty,
+   *                   all documents fulfill the query
+   * @param options    the options on root fields of the given collection used to sort, paginate and
+   *                   project the result
+   * @return
+   */
+  public BackendCursor findByPredicates(MetaDatabase db, MetaCollection col,
+      List<DocPartPredicate> predicates, ReadOptions options);
+
+  /**
+   * Returns the number of documents that fulfill all the given predicates.
+   *
+   * The predicates are evaluated by the backend, so no document is read.
+   *
+   * @param db
+   * @param col
+   * @param predicates a list of predicates on doc parts of the given collection. If it is empty,
+   *                   all documents are counted
+   * @return
+   */
+  public long countByPredicates(MetaDatabase db, MetaCollection col,
+      List<DocPartPredicate> predicates);
+
   /**
    * Return a cursor that iterates over all dids associated with the relative value that fulfill the
    * query.
@@ -0,0 +1,59 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.backend;
+
+import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
+
+/**
+ * Builds physical indexes on the backend without requiring exclusive mode.
+ *
+ * <p>Contrary to {@link DdlOperationExecutor}, other {@link DmlTransaction} can be open meanwhile
+ * an index is built and, if the backend supports it, they are not blocked while writing on the
+ * indexed doc part. Built indexes are not stored on the metainformation, which must be done with
+ * {@link DdlOperationExecutor#addDocPartIndex(MetaDatabase,
+ * com.torodb.core.transaction.metainf.MetaCollection, MetaDocPart, MetaIdentifiedDocPartIndex)}
+ * once the index has been built.
+ */
+public interface DocPartIndexBuilder extends AutoCloseable {
+
+  /**
+   * Builds the given physical index.
+   *
+   * <p>Any previous index with the same identifier, like the ones that were being built when the
+   * system stopped, is dropped before starting the build.
+   *
+   * @throws UserException if the index cannot be built, like when it is unique but there are
+   *                       duplicated values
+   */
+  public void buildDocPartIndex(MetaDatabase db, MetaDocPart docPart,
+      MetaIdentifiedDocPartIndex docPartIndex) throws UserException;
+
+  /**
+   * Drops a physical index built by this object, if it exists.
+   */
+  public void dropDocPartIndex(MetaDatabase db, MetaDocPart docPart, String indexIdentifier);
+
+  boolean isClosed();
+
+  @Override
+  void close();
+}
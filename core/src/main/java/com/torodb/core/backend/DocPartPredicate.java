@@ -0,0 +1,127 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimap;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.AttributePredicate.Operator;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaField;
+import com.torodb.kvdocument.values.KvValue;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An {@link AttributePredicate} whose attribute has been resolved to the columns of a doc part.
+ *
+ * <p>A document fulfills the predicate if at least one of the rows it has on the doc part does,
+ * which is the case when at least one of its fields fulfills the condition (or none of them, if
+ * the operator is {@link Operator#NOT_EXISTS}).
+ */
+@Immutable
+public class DocPartPredicate {
+
+  private final MetaDocPart docPart;
+  private final Operator operator;
+  private final ImmutableList<MetaField> fields;
+  private final ImmutableListMultimap<MetaField, KvValue<?>> values;
+
+  private DocPartPredicate(MetaDocPart docPart, Operator operator,
+      ImmutableList<MetaField> fields, ImmutableListMultimap<MetaField, KvValue<?>> values) {
+    this.docPart = docPart;
+    this.operator = operator;
+    this.fields = fields;
+    this.values = values;
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when at least one of the fields is equal to one of its
+   * values.
+   */
+  public static DocPartPredicate in(MetaDocPart docPart,
+      Multimap<MetaField, KvValue<?>> valuesMultimap) {
+    Preconditions.checkArgument(!valuesMultimap.isEmpty(), "At least one value is required");
+    ImmutableListMultimap<MetaField, KvValue<?>> values = ImmutableListMultimap.copyOf(
+        valuesMultimap);
+    return new DocPartPredicate(docPart, Operator.IN, values.keySet().asList(), values);
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when the field is compared with the value as the given
+   * range operator says.
+   */
+  public static DocPartPredicate range(MetaDocPart docPart, Operator operator, MetaField field,
+      KvValue<?> value) {
+    Preconditions.checkArgument(operator.isRange(), operator + " is not a range operator");
+    return new DocPartPredicate(docPart, operator, ImmutableList.of(field),
+        ImmutableListMultimap.of(field, value));
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when at least one of the fields is not null or, if
+   * {@code exists} is false, when all of them are null.
+   */
+  public static DocPartPredicate exists(MetaDocPart docPart, Collection<? extends MetaField> fields,
+      boolean exists) {
+    Preconditions.checkArgument(!fields.isEmpty(), "At least one field is required");
+    return new DocPartPredicate(docPart, exists ? Operator.EXISTS : Operator.NOT_EXISTS,
+        ImmutableList.copyOf(fields), ImmutableListMultimap.of());
+  }
+
+  @Nonnull
+  public MetaDocPart getDocPart() {
+    return docPart;
+  }
+
+  @Nonnull
+  public Operator getOperator() {
+    return operator;
+  }
+
+  /**
+   * Returns the fields this predicate is evaluated on.
+   */
+  @Nonnull
+  public List<MetaField> getFields() {
+    return fields;
+  }
+
+  /**
+   * Returns the values each field is compared with, grouped by field in the same order than
+   * {@link #getFields()}. It is empty when the operator is {@link Operator#EXISTS} or
+   * {@link Operator#NOT_EXISTS}.
+   */
+  @Nonnull
+  public ImmutableListMultimap<MetaField, KvValue<?>> getValues() {
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return docPart.getIdentifier() + " " + operator + " " + values;
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.core.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.torodb.core.TableRef;
+import com.torodb.core.language.FindOptions;
+import com.torodb.core.language.FindOptions.Projection;
+import com.torodb.core.transaction.metainf.MetaField;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The {@link FindOptions} of a query, resolved to the columns and doc parts of a collection.
+ */
+@Immutable
+public class ReadOptions {
+
+  public static final ReadOptions DEFAULT = new Builder().build();
+
+  private final ImmutableList<SortField> sort;
+  private final long skip;
+  private final long limit;
+  private final Projection projection;
+
+  private ReadOptions(ImmutableList<SortField> sort, long skip, long limit,
+      Projection projection) {
+    this.sort = sort;
+    this.skip = skip;
+    this.limit = limit;
+    this.projection = projection;
+  }
+
+  /**
+   * Returns the root fields dids are sorted by, in order of precedence. Dids with the same values
+   * are sorted by did.
+   */
+  @Nonnull
+  public List<SortField> getSort() {
+    return sort;
+  }
+
+  public long getSkip() {
+    return skip;
+  }
+
+  /**
+   * Returns the max number of dids to return, or 0 if there is no limit.
+   */
+  public long getLimit() {
+    return limit;
+  }
+
+  @Nonnull
+  public Projection getProjection() {
+    return projection;
+  }
+
+  /**
+   * Returns true iff the rows stored on the doc part with the given table ref must be read to
+   * build the projected documents.
+   */
+  public boolean isRead(TableRef tableRef) {
+    if (tableRef.isRoot() || projection.isAll()) {
+      return true;
+    }
+    while (tableRef.getDepth() > 1) {
+      tableRef = tableRef.getParent().get();
+    }
+    return projection.isProjected(tableRef.getName());
+  }
+
+  /**
+   * An attribute of the root doc part that dids are sorted by.
+   *
+   * <p>Each field stores the values of a different type and fields are grouped as defined by
+   * {@link FindOptions#SORT_TYPE_ORDER}. Dids are sorted by the group of their not null field and
+   * then by the value of the fields of that group, which are compared between them. Dids whose
+   * fields are all null go first on ascending order.
+   */
+  @Immutable
+  public static class SortField {
+
+    private final ImmutableList<ImmutableList<MetaField>> fieldGroups;
+    private final boolean ascending;
+
+    public SortField(List<? extends Collection<? extends MetaField>> fieldGroups,
+        boolean ascending) {
+      Preconditions.checkArgument(!fieldGroups.isEmpty(), "At least one field is required");
+      ImmutableList.Builder<ImmutableList<MetaField>> builder = ImmutableList.builder();
+      for (Collection<? extends MetaField> fieldGroup : fieldGroups) {
+        Preconditions.checkArgument(!fieldGroup.isEmpty(), "Field groups cannot be empty");
+        builder.add(ImmutableList.copyOf(fieldGroup));
+      }
+      this.fieldGroups = builder.build();
+      this.ascending = ascending;
+    }
+
+    /**
+     * Returns the groups of fields, in the order they are sorted.
+     */
+    @Nonnull
+    public List<ImmutableList<MetaField>> getFieldGroups() {
+      return fieldGroups;
+    }
+
+    public boolean isAscending() {
+      return ascending;
+    }
+  }
+
+  public static class Builder {
+
+    private final ImmutableList.Builder<SortField> sort = ImmutableList.builder();
+    private long skip = 0;
+    private long limit = 0;
+    private Projection projection = Projection.all();
+
+    public Builder addSortField(List<? extends Collection<? extends MetaField>> fieldGroups,
+        boolean ascending) {
+      sort.add(new SortField(fieldGroups, ascending));
+      return this;
+    }
+
+    public Builder setSkip(long skip) {
+      Preconditions.checkArgument(skip >= 0, "skip must be non negative, but " + skip
+          + " was recived");
+      this.skip = skip;
+      return this;
+    }
+
+    public Builder setLimit(long limit) {
+      Preconditions.checkArgument(limit >= 0, "limit must be non negative, but " + limit
+          + " was recived");
+      this.limit = limit;
+      return this;
+    }
+
+    public Builder setProjection(@Nonnull Projection projection) {
+      this.projection = projection;
+      return this;
+    }
+
+    public ReadOptions build() {
+      return new ReadOptions(sort.build(), skip, limit, projection);
+    }
+  }
+
+}
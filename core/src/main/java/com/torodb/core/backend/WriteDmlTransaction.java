@@ -24,9 +24,11 @@ import com.torodb.core.transaction.RollbackException;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.kvdocument.values.KvValue;
 
 import java.util.Collection;
+import java.util.Map;
 
 public interface WriteDmlTransaction extends DmlTransaction {
   
@@ -55,6 +57,24 @@ public interface WriteDmlTransaction extends DmlTransaction {
 
   public void deleteDids(MetaDatabase db, MetaCollection col, Collection<Integer> dids);
 
+  /**
+   * Sets the given values on the rows of the given doc part that belong to the given documents.
+   *
+   * <p>Only the columns associated with the given fields are modified. The rows of other doc parts
+   * are not modified.
+   *
+   * @param db        the database that contains the given collection
+   * @param col       the collection that contains the given doc part
+   * @param docPart   the doc part whose rows will be modified
+   * @param newValues the values that will be set, indexed by the field whose column stores them. A
+   *                  null value clears the column.
+   * @param dids      the dids of the documents whose rows will be modified
+   * @throws UserException if there is a bussiness problem with the operation (like a unique index
+   *                       violation)
+   */
+  public void updateFields(MetaDatabase db, MetaCollection col, MetaDocPart docPart,
+      Map<MetaField, KvValue<?>> newValues, Collection<Integer> dids) throws UserException;
+
   /**
    * Stores the given key value association.
    *
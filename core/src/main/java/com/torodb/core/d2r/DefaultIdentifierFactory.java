@@ -22,6 +22,7 @@ import com.torodb.core.TableRef;
 import com.torodb.core.backend.IdentifierConstraints;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.IdentifierChecker;
 import com.torodb.core.d2r.UniqueIdentifierGenerator.NameChain;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
@@ -94,13 +95,13 @@ public class DefaultIdentifierFactory implements IdentifierFactory {
 
   @Override
   public String toIndexIdentifier(MetaDatabase metaDatabase, String tableName,
-      Iterable<Tuple3<String, Boolean, FieldType>> columns) {
+      Iterable<Tuple3<String, FieldIndexOrdering, FieldType>> columns) {
     NameChain nameChain = uniqueIdentifierGenerator.createNameChain();
     nameChain.add(tableName);
 
-    for (Tuple3<String, Boolean, FieldType> column : columns) {
+    for (Tuple3<String, FieldIndexOrdering, FieldType> column : columns) {
       nameChain.add(column.v1());
-      nameChain.add(column.v2() ? "a" : "d");
+      nameChain.add(toOrderingIdentifier(column.v2()));
     }
 
     IdentifierChecker identifierChecker = new IndexIdentifierChecker(metaDatabase);
@@ -108,6 +109,19 @@ public class DefaultIdentifierFactory implements IdentifierFactory {
     return uniqueIdentifierGenerator.generateIdentifier(nameChain, identifierChecker, "idx");
   }
 
+  private String toOrderingIdentifier(FieldIndexOrdering ordering) {
+    switch (ordering) {
+      case ASC:
+        return "a";
+      case DESC:
+        return "d";
+      case HASHED:
+        return "h";
+      default:
+        throw new AssertionError("Unexpected ordering " + ordering);
+    }
+  }
+
   private static class DatabaseIdentifierChecker implements IdentifierChecker {
 
     private final MetaSnapshot metaSnapshot;
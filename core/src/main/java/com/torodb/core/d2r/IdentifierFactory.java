@@ -19,6 +19,7 @@
 package com.torodb.core.d2r;
 
 import com.torodb.core.TableRef;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
@@ -51,6 +52,6 @@ public interface IdentifierFactory {
 
   @Nonnull
   String toIndexIdentifier(@Nonnull MetaDatabase metaSnapshot, @Nonnull String tableName,
-      @Nonnull Iterable<Tuple3<String, Boolean, FieldType>> identifiers);
+      @Nonnull Iterable<Tuple3<String, FieldIndexOrdering, FieldType>> identifiers);
 
 }
@@ -73,6 +73,18 @@ public class MemoryRidGenerator implements ReservedIdGenerator {
       rid.set(nextRid);
     }
 
+    @Override
+    public int reserveRids(TableRef tableRef, int count) {
+      AtomicInteger rid = map.computeIfAbsent(tableRef, tr -> new AtomicInteger(0));
+      return rid.getAndAdd(count);
+    }
+
+    @Override
+    public void releaseRids(TableRef tableRef, int firstRid, int endRid) {
+      AtomicInteger rid = map.computeIfAbsent(tableRef, tr -> new AtomicInteger(0));
+      rid.compareAndSet(endRid, firstRid);
+    }
+
   }
 
 }
@@ -20,6 +20,7 @@ package com.torodb.core.d2r;
 
 import com.google.common.collect.Streams;
 import com.torodb.core.TableRef;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
@@ -76,10 +77,17 @@ public class MockIdentifierFactory implements IdentifierFactory {
 
   @Override
   public String toIndexIdentifier(MetaDatabase metaSnapshot, String tableName,
-      Iterable<Tuple3<String, Boolean, FieldType>> identifiers) {
+      Iterable<Tuple3<String, FieldIndexOrdering, FieldType>> identifiers) {
     return Streams.stream(identifiers)
-        .map((tuple) -> tuple.v1 + ':' + tuple.v3 + ":" + (tuple.v2 ? "a" : "b"))
+        .map((tuple) -> tuple.v1 + ':' + tuple.v3 + ":" + toOrderingIdentifier(tuple.v2))
           .collect(Collectors.joining("."));
   }
 
+  private String toOrderingIdentifier(FieldIndexOrdering ordering) {
+    if (ordering == FieldIndexOrdering.HASHED) {
+      return "h";
+    }
+    return ordering.isAscending() ? "a" : "b";
+  }
+
 }
@@ -42,6 +42,27 @@ public interface ReservedIdGenerator {
 
     void setNextRid(TableRef tableRef, int nextRid);
 
+    /**
+     * Reserves a block of contiguous rids on the given doc part.
+     *
+     * @param tableRef the doc part whose rids are reserved
+     * @param count    the number of rids to reserve
+     * @return the first rid of the block, the others are the following {@code count - 1} ones
+     */
+    int reserveRids(TableRef tableRef, int count);
+
+    /**
+     * Returns the unused tail of a block reserved with {@link #reserveRids(TableRef, int)}.
+     *
+     * <p>The rids are only given back if no other block has been reserved on the doc part since
+     * then, otherwise they are just lost.
+     *
+     * @param tableRef  the doc part whose rids were reserved
+     * @param firstRid  the first rid that has not been used
+     * @param endRid    the rid that follows the last rid of the block
+     */
+    void releaseRids(TableRef tableRef, int firstRid, int endRid);
+
   }
 
 }
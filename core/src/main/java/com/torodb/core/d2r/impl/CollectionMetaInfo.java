@@ -47,6 +47,14 @@ public class CollectionMetaInfo {
     return docPartRidGenerator.nextRid(tableRef);
   }
 
+  public int reserveRowIds(TableRef tableRef, int count) {
+    return docPartRidGenerator.reserveRids(tableRef, count);
+  }
+
+  public void releaseRowIds(TableRef tableRef, int firstRowId, int endRowId) {
+    docPartRidGenerator.releaseRids(tableRef, firstRowId, endRowId);
+  }
+
   public MutableMetaDocPart findMetaDocPart(TableRef tableRef) {
     MutableMetaDocPart metaDocPart = metaCollection.getMetaDocPartByTableRef(tableRef);
     if (metaDocPart == null) {
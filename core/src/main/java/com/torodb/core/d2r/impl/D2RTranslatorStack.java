@@ -41,8 +41,9 @@ public class D2RTranslatorStack implements D2RTranslator {
       @Assisted MutableMetaCollection collection) {
     this.collectionMetaInfo = new CollectionMetaInfo(database, collection, identifierFactory,
         ridGenerator);
-    this.docPartDataCollection = new DocPartDataCollection(collectionMetaInfo);
-    this.d2Relational = new D2Relational(tableRefFactory, docPartDataCollection);
+    this.docPartDataCollection = new DocPartDataCollection(collectionMetaInfo,
+        tableRefFactory);
+    this.d2Relational = new D2Relational(docPartDataCollection);
   }
 
   @Override
@@ -52,6 +53,7 @@ public class D2RTranslatorStack implements D2RTranslator {
 
   @Override
   public CollectionData getCollectionDataAccumulator() {
+    docPartDataCollection.releaseUnusedRowIds();
     return docPartDataCollection;
   }
 
@@ -18,13 +18,10 @@
 
 package com.torodb.core.d2r.impl;
 
-import com.torodb.core.TableRefFactory;
+import static com.torodb.core.transaction.metainf.impl.model.DocPartDataImpl.NO_VALUE;
+
+import com.torodb.core.d2r.impl.DocPartDataCollection.DocPartPath;
 import com.torodb.core.transaction.metainf.impl.model.DocPartDataImpl;
-import com.torodb.core.transaction.metainf.impl.model.DocPartRowImpl;
-import com.torodb.core.transaction.metainf.impl.model.PathStack;
-import com.torodb.core.transaction.metainf.impl.model.PathStack.PathArrayIdx;
-import com.torodb.core.transaction.metainf.impl.model.PathStack.PathInfo;
-import com.torodb.core.transaction.metainf.impl.model.PathStack.PathNodeType;
 import com.torodb.kvdocument.types.ArrayType;
 import com.torodb.kvdocument.types.DocumentType;
 import com.torodb.kvdocument.types.KvType;
@@ -35,90 +32,56 @@ import com.torodb.kvdocument.values.KvValue;
 
 public class D2Relational {
 
-  private static final DocumentVisitor visitor = new DocumentVisitor();
-
-  private final ConsumerFromArrayIdx fromArrayIdx = new ConsumerFromArrayIdx();
-  private final DocConsumer docComsumer = new DocConsumer();
-  private final PathStack pathStack;
   private final DocPartDataCollection docPartDataCollection;
 
-  public D2Relational(TableRefFactory tableRefFactory,
-      DocPartDataCollection docPartDataCollection) {
-    this.pathStack = new PathStack(tableRefFactory);
+  public D2Relational(DocPartDataCollection docPartDataCollection) {
     this.docPartDataCollection = docPartDataCollection;
   }
 
   public void translate(KvDocument document) {
-    docComsumer.consume(document);
+    consumeDocument(document, docPartDataCollection.getRootPath(), NO_VALUE, NO_VALUE);
   }
 
-  public class DocConsumer {
-
-    public void consume(KvDocument value) {
-      PathInfo parentPath = pathStack.peek();
-      DocPartDataImpl docPartData = docPartDataCollection.findDocPartData(parentPath);
-      DocPartRowImpl docPartRow = docPartData.newRowObject(getDocumentIndex(parentPath), parentPath
-          .findParentRowInfo());
-      pathStack.pushObject(docPartRow);
-      for (DocEntry<?> entry : value) {
-        String key = entry.getKey();
-        KvValue<?> entryValue = entry.getValue();
-        if (isScalar(entryValue.getType())) {
-          docPartRow.addScalar(key, entryValue);
-        } else {
-          docPartRow.addChild(key, entryValue);
-          pathStack.pushField(key);
-          entryValue.accept(visitor, docComsumer);
-          pathStack.pop();
-        }
-      }
-      pathStack.pop();
-    }
-
-    public void consume(KvArray value) {
-      int i = 0;
-      pathStack.pushArray();
-      PathInfo current = pathStack.peek();
-      DocPartDataImpl table = docPartDataCollection.findDocPartData(current);
-      for (KvValue<?> val : value) {
-        if (isScalar(val.getType())) {
-          DocPartRowImpl rowInfo = table.newRowObject(i++, current.findParentRowInfo());
-          rowInfo.addArrayItem(val);
+  private void consumeDocument(KvDocument document, DocPartPath path, int seq, int parentRow) {
+    DocPartDataImpl docPartData = path.getDocPartData();
+    int row = docPartData.appendRow(seq, parentRow);
+    for (DocEntry<?> entry : document) {
+      String key = entry.getKey();
+      KvValue<?> value = entry.getValue();
+      if (isScalar(value.getType())) {
+        docPartData.addScalar(row, key, value);
+      } else {
+        docPartData.addChild(row, key, value);
+        DocPartPath childPath = path.getFieldChild(key);
+        if (value instanceof KvArray) {
+          consumeArray((KvArray) value, childPath, row);
         } else {
-          pathStack.pushArrayIdx(i++);
-          val.accept(visitor, fromArrayIdx);
-          pathStack.pop();
+          consumeDocument((KvDocument) value, childPath, NO_VALUE, row);
         }
       }
-      pathStack.pop();
     }
-
   }
 
-  private class ConsumerFromArrayIdx extends DocConsumer {
-
-    @Override
-    public void consume(KvArray value) {
-      PathArrayIdx current = (PathArrayIdx) pathStack.pop();
-      DocPartDataImpl docPartData = docPartDataCollection.findDocPartData(current);
-      DocPartRowImpl docPartRow = docPartData.newRowObject(current.getIdx(), pathStack.peek()
-          .findParentRowInfo());
-      docPartRow.addChildToArray(value);
-      pathStack.pushArrayIdx(current.getIdx(), docPartRow);
-      super.consume(value);
+  private void consumeArray(KvArray array, DocPartPath path, int parentRow) {
+    DocPartDataImpl docPartData = path.getDocPartData();
+    int seq = 0;
+    for (KvValue<?> value : array) {
+      if (isScalar(value.getType())) {
+        int row = docPartData.appendRow(seq, parentRow);
+        docPartData.addArrayItem(row, value);
+      } else if (value instanceof KvArray) {
+        int row = docPartData.appendRow(seq, parentRow);
+        docPartData.addChildToArray(row, value);
+        consumeArray((KvArray) value, path.getArrayChild(), row);
+      } else {
+        consumeDocument((KvDocument) value, path, seq, parentRow);
+      }
+      seq++;
     }
-
   }
 
   private boolean isScalar(KvType kvType) {
     return (kvType != DocumentType.INSTANCE) && !(kvType instanceof ArrayType);
   }
 
-  private Integer getDocumentIndex(PathInfo path) {
-    if (path.is(PathNodeType.Idx)) {
-      return ((PathArrayIdx) path).getIdx();
-    }
-    return null;
-  }
-
 }
@@ -18,10 +18,11 @@
 
 package com.torodb.core.d2r.impl;
 
+import com.torodb.core.TableRef;
+import com.torodb.core.TableRefFactory;
 import com.torodb.core.d2r.CollectionData;
 import com.torodb.core.d2r.DocPartData;
 import com.torodb.core.transaction.metainf.impl.model.DocPartDataImpl;
-import com.torodb.core.transaction.metainf.impl.model.PathStack.PathInfo;
 import com.torodb.core.transaction.metainf.impl.model.TableMetadata;
 
 import java.util.ArrayList;
@@ -31,36 +32,33 @@ import java.util.Map;
 
 public class DocPartDataCollection implements CollectionData {
 
-  private final Map<PathInfo, DocPartDataImpl> docPartDataMap = new HashMap<>();
   private final List<DocPartDataImpl> docPartDataList = new ArrayList<>();
   private final CollectionMetaInfo collectionMetaInfo;
+  private final TableRefFactory tableRefFactory;
+  private final DocPartPath rootPath;
 
-  public DocPartDataCollection(CollectionMetaInfo collectionMetaInfo) {
+  public DocPartDataCollection(CollectionMetaInfo collectionMetaInfo,
+      TableRefFactory tableRefFactory) {
     this.collectionMetaInfo = collectionMetaInfo;
+    this.tableRefFactory = tableRefFactory;
+    this.rootPath = new DocPartPath(null, tableRefFactory.createRoot(), 1);
   }
 
-  public DocPartDataImpl findDocPartData(PathInfo path) {
-    DocPartDataImpl docPartData = docPartDataMap.get(path);
-    if (docPartData == null) {
-      TableMetadata metadata = new TableMetadata(collectionMetaInfo, path.getTableRef());
-      DocPartDataImpl parentDocPartData = findParent(path);
-      docPartData = new DocPartDataImpl(metadata, parentDocPartData);
-      docPartDataMap.put(path, docPartData);
-      docPartDataList.add(docPartData);
-    }
+  DocPartPath getRootPath() {
+    return rootPath;
+  }
+
+  private DocPartDataImpl createDocPartData(TableRef tableRef, DocPartDataImpl parentDocPartData) {
+    TableMetadata metadata = new TableMetadata(collectionMetaInfo, tableRef);
+    DocPartDataImpl docPartData = new DocPartDataImpl(metadata, parentDocPartData);
+    docPartDataList.add(docPartData);
     return docPartData;
   }
 
-  private DocPartDataImpl findParent(PathInfo path) {
-    PathInfo it = path.getParent();
-    while (it != null) {
-      DocPartDataImpl tableInfo = docPartDataMap.get(it);
-      if (tableInfo != null) {
-        return tableInfo;
-      }
-      it = it.getParent();
+  void releaseUnusedRowIds() {
+    for (DocPartDataImpl docPartData : docPartDataList) {
+      docPartData.releaseUnusedRowIds();
     }
-    return null;
   }
 
   @Override
@@ -85,4 +83,61 @@ public class DocPartDataCollection implements CollectionData {
       }
     }
   }
+
+  /**
+   * A path of the collection that is stored on its own doc part.
+   *
+   * <p>Each path resolves its {@link TableRef}, its children and its {@link DocPartDataImpl} the
+   * first time they are needed, so translating a document just walks the already known paths.
+   */
+  class DocPartPath {
+
+    private final DocPartPath parent;
+    private final TableRef tableRef;
+    private final int arrayDimension;
+    private Map<String, DocPartPath> fieldChilds = null;
+    private DocPartPath arrayChild = null;
+    private DocPartDataImpl docPartData = null;
+
+    private DocPartPath(DocPartPath parent, TableRef tableRef, int arrayDimension) {
+      this.parent = parent;
+      this.tableRef = tableRef;
+      this.arrayDimension = arrayDimension;
+    }
+
+    DocPartDataImpl getDocPartData() {
+      if (docPartData == null) {
+        docPartData = createDocPartData(tableRef, parent == null ? null : parent.getDocPartData());
+      }
+      return docPartData;
+    }
+
+    /**
+     * Returns the path of the documents and arrays stored on the given key of the documents of
+     * this path.
+     */
+    DocPartPath getFieldChild(String key) {
+      if (fieldChilds == null) {
+        fieldChilds = new HashMap<>();
+      }
+      DocPartPath child = fieldChilds.get(key);
+      if (child == null) {
+        child = new DocPartPath(this, tableRefFactory.createChild(tableRef, key), 1);
+        fieldChilds.put(key, child);
+      }
+      return child;
+    }
+
+    /**
+     * Returns the path of the arrays that are elements of the arrays of this path.
+     */
+    DocPartPath getArrayChild() {
+      if (arrayChild == null) {
+        int dimension = arrayDimension + 1;
+        arrayChild = new DocPartPath(this, tableRefFactory.createChild(tableRef, dimension),
+            dimension);
+      }
+      return arrayChild;
+    }
+  }
 }
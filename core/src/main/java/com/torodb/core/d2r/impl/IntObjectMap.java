@@ -0,0 +1,98 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.d2r.impl;
+
+import javax.annotation.Nullable;
+
+/**
+ * A minimal open addressing hash map whose keys are primitive ints, used to index rows by their
+ * rid without boxing them.
+ *
+ * <p>Null values are not supported.
+ */
+final class IntObjectMap<V> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  IntObjectMap() {
+    this.keys = new int[INITIAL_CAPACITY];
+    this.values = new Object[INITIAL_CAPACITY];
+    this.mask = INITIAL_CAPACITY - 1;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  V get(int key) {
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  void put(int key, V value) {
+    assert value != null;
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+    if (size * 2 > values.length) {
+      rehash();
+    }
+  }
+
+  private int slot(int key) {
+    int hash = key * 0x9E3779B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private void rehash() {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new int[oldKeys.length * 2];
+    values = new Object[oldValues.length * 2];
+    mask = values.length - 1;
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slot(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+}
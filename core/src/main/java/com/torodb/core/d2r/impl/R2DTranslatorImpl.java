@@ -18,9 +18,7 @@
 
 package com.torodb.core.d2r.impl;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Table;
 import com.torodb.core.TableRef;
 import com.torodb.core.d2r.DocPartResult;
 import com.torodb.core.d2r.DocPartResultRow;
@@ -37,185 +35,233 @@ import com.torodb.kvdocument.values.KvValue;
 import com.torodb.kvdocument.values.heap.ListKvArray;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Translates doc part results into documents.
+ *
+ * <p>Doc parts must be read from the deepest to the root. The values built from the rows of a doc
+ * part are kept, indexed by the rid of their parent row, until the doc part of the parent rows is
+ * read. Only the values of two consecutive depths are kept at the same time.
+ */
 public class R2DTranslatorImpl implements R2DTranslator {
 
   @Override
   public List<ToroDocument> translate(Iterator<DocPartResult> docPartResultIt) {
     ImmutableList.Builder<ToroDocument> readedDocuments = ImmutableList.builder();
 
-    Table<TableRef, Integer, Map<String, List<KvValue<?>>>> currentFieldDocPartTable =
-        HashBasedTable.<TableRef, Integer, Map<String, List<KvValue<?>>>>create();
-    Table<TableRef, Integer, Map<String, List<KvValue<?>>>> childFieldDocPartTable =
-        HashBasedTable.<TableRef, Integer, Map<String, List<KvValue<?>>>>create();
+    Map<TableRef, IntObjectMap<ChildCell>> currentLevelCells = new HashMap<>();
+    Map<TableRef, IntObjectMap<ChildCell>> childLevelCells = new HashMap<>();
 
     int previousDepth = -1;
 
     while (docPartResultIt.hasNext()) {
       DocPartResult docPartResult = docPartResultIt.next();
-      MetaDocPart metaDocPart = docPartResult.getMetaDocPart();
-      TableRef tableRef = metaDocPart.getTableRef();
+      DocPartReadPlan plan = new DocPartReadPlan(docPartResult.getMetaDocPart());
+      TableRef tableRef = plan.tableRef;
 
       if (previousDepth != -1 && previousDepth != tableRef.getDepth()) {
-        Table<TableRef, Integer, Map<String, List<KvValue<?>>>> previousFieldChildDocPartTable =
-            childFieldDocPartTable;
-        childFieldDocPartTable = currentFieldDocPartTable;
-        currentFieldDocPartTable = previousFieldChildDocPartTable;
+        Map<TableRef, IntObjectMap<ChildCell>> previousChildLevelCells = childLevelCells;
+        childLevelCells = currentLevelCells;
+        currentLevelCells = previousChildLevelCells;
 
         if (!tableRef.isRoot()) {
-          currentFieldDocPartTable.clear();
+          currentLevelCells.clear();
         }
       }
       previousDepth = tableRef.getDepth();
 
-      Map<Integer, Map<String, List<KvValue<?>>>> childFieldDocPartRow =
-          childFieldDocPartTable.row(tableRef);
-      Map<Integer, Map<String, List<KvValue<?>>>> currentFieldDocPartRow;
+      IntObjectMap<ChildCell> childCells = childLevelCells.get(tableRef);
+      IntObjectMap<ChildCell> parentCells;
 
       if (tableRef.isRoot()) {
-        currentFieldDocPartRow = null;
+        parentCells = null;
       } else {
-        currentFieldDocPartRow = currentFieldDocPartTable.row(tableRef.getParent().get());
+        parentCells = currentLevelCells.computeIfAbsent(tableRef.getParent().get(),
+            parent -> new IntObjectMap<>());
       }
 
-      readResult(metaDocPart, tableRef, docPartResult,
-          currentFieldDocPartRow, childFieldDocPartRow, readedDocuments);
+      readResult(plan, docPartResult, parentCells, childCells, readedDocuments);
     }
 
     return readedDocuments.build();
   }
 
-  private void readResult(MetaDocPart metaDocPart, TableRef tableRef, DocPartResult docPartResult,
-      Map<Integer, Map<String, List<KvValue<?>>>> currentFieldDocPartRow,
-      Map<Integer, Map<String, List<KvValue<?>>>> childFieldDocPartRow,
+  private void readResult(DocPartReadPlan plan, DocPartResult docPartResult,
+      IntObjectMap<ChildCell> parentCells, IntObjectMap<ChildCell> childCells,
       ImmutableList.Builder<ToroDocument> readedDocuments) {
     while (docPartResult.hasNext()) {
-      KvDocument.Builder documentBuilder = new KvDocument.Builder();
-
       DocPartResultRow row = docPartResult.next();
 
-      Integer did = row.getDid();
-      Integer rid = row.getRid();
-      Integer pid = row.getPid();
+      int rid = row.getRid();
+      int pid = row.getPid();
       Integer seq = row.getSeq();
 
-      Map<String, List<KvValue<?>>> childFieldDocPartCell = childFieldDocPartRow.get(rid);
+      ChildCell childCell = childCells == null ? null : childCells.get(rid);
       //TODO: ensure MetaField order using ResultSet meta data
-      Iterator<? extends MetaScalar> metaScalarIterator = metaDocPart
-          .streamScalars().iterator();
-
-      boolean wasScalar = false;
-      int fieldIndex = 0;
-      while (metaScalarIterator.hasNext() && !wasScalar) {
+      KvValue<?> scalarValue = null;
+      for (int fieldIndex = 0; fieldIndex < plan.scalarTypes.length; fieldIndex++) {
         assert seq != null : "found scalar value outside of an array";
 
-        MetaScalar metaScalar = metaScalarIterator.next();
-        KvValue<?> value = row.getUserValue(fieldIndex, metaScalar.getType());
-        fieldIndex++;
+        FieldType scalarType = plan.scalarTypes[fieldIndex];
+        KvValue<?> value = row.getUserValue(fieldIndex, scalarType);
 
         if (value != null) {
-          if (metaScalar.getType() == FieldType.CHILD) {
-            value = getChildValue(value, getDocPartCellName(tableRef), childFieldDocPartCell);
+          if (scalarType == FieldType.CHILD) {
+            value = getChildValue(value, plan.cellName, childCell);
           }
-          addValueToDocPartRow(currentFieldDocPartRow, tableRef, pid, seq, value);
-          wasScalar = true;
+          scalarValue = value;
+          break;
         }
       }
 
-      if (wasScalar) {
+      if (scalarValue != null) {
+        addValueToParentCell(parentCells, plan.cellName, pid, seq, scalarValue);
         continue;
       }
 
-      Iterator<? extends MetaField> metaFieldIterator = metaDocPart
-          .streamFields().iterator();
-      while (metaFieldIterator.hasNext()) {
-        MetaField metaField = metaFieldIterator.next();
-        KvValue<?> value = row.getUserValue(fieldIndex, metaField.getType());
-        fieldIndex++;
+      KvDocument.Builder documentBuilder = new KvDocument.Builder();
+      int firstFieldIndex = plan.scalarTypes.length;
+      for (int fieldIndex = 0; fieldIndex < plan.fieldTypes.length; fieldIndex++) {
+        FieldType fieldType = plan.fieldTypes[fieldIndex];
+        KvValue<?> value = row.getUserValue(firstFieldIndex + fieldIndex, fieldType);
+        if (value != null && fieldType == FieldType.CHILD) {
+          value = getChildValue(value, plan.fieldNames[fieldIndex], childCell);
+        }
         if (value != null) {
-          if (metaField.getType() == FieldType.CHILD) {
-            value = getChildValue(value, metaField.getName(), childFieldDocPartCell);
-          }
-          documentBuilder.putValue(metaField.getName(), value);
+          documentBuilder.putValue(plan.fieldNames[fieldIndex], value);
         }
       }
 
-      if (tableRef.isRoot()) {
-        readedDocuments.add(new ToroDocument(did, documentBuilder.build()));
+      if (plan.tableRef.isRoot()) {
+        readedDocuments.add(new ToroDocument(row.getDid(), documentBuilder.build()));
       } else {
-        addValueToDocPartRow(currentFieldDocPartRow, tableRef, pid, seq, documentBuilder.build());
+        addValueToParentCell(parentCells, plan.cellName, pid, seq, documentBuilder.build());
       }
     }
   }
 
-  private KvValue<?> getChildValue(KvValue<?> value, String key,
-      Map<String, List<KvValue<?>>> childDocPartCell) {
+  private KvValue<?> getChildValue(KvValue<?> value, String key, ChildCell childCell) {
     KvBoolean child = (KvBoolean) value;
+    List<KvValue<?>> elements = childCell == null ? null : childCell.get(key);
     if (child.getValue() == InternalFields.CHILD_ARRAY_VALUE) {
-      List<KvValue<?>> elements;
-      if (childDocPartCell == null || (elements = childDocPartCell.get(key)) == null) {
+      if (elements == null) {
         value = new ListKvArray(ImmutableList.of());
       } else {
         value = new ListKvArray(elements);
       }
     } else {
-      value = childDocPartCell.get(key).get(0);
+      if (elements == null) {
+        //the doc part of the subdocument has not been read
+        return null;
+      }
+      value = elements.get(0);
     }
     return value;
   }
 
-  private void addValueToDocPartRow(Map<Integer, Map<String, List<KvValue<?>>>> currentDocPartRow,
-      TableRef tableRef,
-      Integer pid, Integer seq, KvValue<?> value) {
+  private void addValueToParentCell(IntObjectMap<ChildCell> parentCells, String name, int pid,
+      Integer seq, KvValue<?> value) {
+    ChildCell cell = parentCells.get(pid);
+    if (cell == null) {
+      cell = new ChildCell();
+      parentCells.put(pid, cell);
+    }
     if (seq == null) {
-      setDocPartRowValue(currentDocPartRow, tableRef, pid, null, ImmutableList.of(value));
+      cell.put(name, ImmutableList.of(value));
     } else {
-      addToDocPartRow(currentDocPartRow, tableRef, pid, seq, value);
+      List<KvValue<?>> elements = cell.get(name);
+      if (elements == null) {
+        elements = new ArrayList<>();
+        cell.put(name, elements);
+      }
+      final int size = elements.size();
+      if (seq < size) {
+        elements.set(seq, value);
+      } else {
+        for (int i = size; i < seq; i++) {
+          elements.add(null);
+        }
+        elements.add(value);
+      }
     }
   }
 
-  private void setDocPartRowValue(
-      Map<Integer, Map<String, List<KvValue<?>>>> docPartRow, TableRef tableRef, Integer pid,
-      Integer seq, ImmutableList<KvValue<?>> elements) {
-    Map<String, List<KvValue<?>>> docPartCell = getDocPartCell(docPartRow, pid);
-    String name = getDocPartCellName(tableRef);
-    docPartCell.put(name, elements);
-  }
-
-  private void addToDocPartRow(
-      Map<Integer, Map<String, List<KvValue<?>>>> docPartRow, TableRef tableRef, Integer pid,
-      Integer seq, KvValue<?> value) {
-    String name = getDocPartCellName(tableRef);
-
-    Map<String, List<KvValue<?>>> docPartCell = getDocPartCell(docPartRow, pid);
+  /**
+   * The columns of a doc part, resolved once for all its rows.
+   */
+  private static class DocPartReadPlan {
+
+    private final TableRef tableRef;
+    private final String cellName;
+    private final FieldType[] scalarTypes;
+    private final FieldType[] fieldTypes;
+    private final String[] fieldNames;
+
+    private DocPartReadPlan(MetaDocPart metaDocPart) {
+      this.tableRef = metaDocPart.getTableRef();
+      this.cellName = getDocPartCellName(tableRef);
+      this.scalarTypes = metaDocPart.streamScalars()
+          .map(MetaScalar::getType)
+          .toArray(FieldType[]::new);
+      List<? extends MetaField> fields = metaDocPart.streamFields()
+          .collect(Collectors.toList());
+      this.fieldTypes = new FieldType[fields.size()];
+      this.fieldNames = new String[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        fieldTypes[i] = fields.get(i).getType();
+        fieldNames[i] = fields.get(i).getName();
+      }
+    }
 
-    List<KvValue<?>> elements = docPartCell
-        .computeIfAbsent(name, n -> new ArrayList<KvValue<?>>());
-    final int size = elements.size();
-    if (seq < size) {
-      elements.set(seq, value);
-    } else {
-      for (int i = elements.size(); i < seq; i++) {
-        elements.add(null);
+    private static String getDocPartCellName(TableRef tableRef) {
+      while (tableRef.isInArray()) {
+        tableRef = tableRef.getParent().get();
       }
-      elements.add(value);
+      return tableRef.getName();
     }
   }
 
-  private String getDocPartCellName(TableRef tableRef) {
-    while (tableRef.isInArray()) {
-      tableRef = tableRef.getParent().get();
+  /**
+   * The values of the child doc parts of a row, by the name of the field they belong to.
+   *
+   * <p>Rows usually have very few children, so they are stored on small arrays instead of a map.
+   */
+  private static class ChildCell {
+
+    private String[] names = new String[2];
+    private Object[] elements = new Object[2];
+    private int size = 0;
+
+    @SuppressWarnings("unchecked")
+    private List<KvValue<?>> get(String name) {
+      for (int i = 0; i < size; i++) {
+        if (names[i].equals(name)) {
+          return (List<KvValue<?>>) elements[i];
+        }
+      }
+      return null;
     }
-    return tableRef.getName();
-  }
 
-  private Map<String, List<KvValue<?>>> getDocPartCell(
-      Map<Integer, Map<String, List<KvValue<?>>>> docPartRow,
-      Integer pid) {
-    return docPartRow.computeIfAbsent(pid, p -> new HashMap<String, List<KvValue<?>>>());
+    private void put(String name, List<KvValue<?>> values) {
+      for (int i = 0; i < size; i++) {
+        if (names[i].equals(name)) {
+          elements[i] = values;
+          return;
+        }
+      }
+      if (size == names.length) {
+        names = Arrays.copyOf(names, size * 2);
+        elements = Arrays.copyOf(elements, size * 2);
+      }
+      names[size] = name;
+      elements[size] = values;
+      size++;
+    }
   }
 }
@@ -0,0 +1,152 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.language;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.torodb.kvdocument.values.KvValue;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A condition on the value of the attribute of a document.
+ *
+ * <p>Queries are expressed as lists of predicates, which are fulfilled by the documents that
+ * fulfill all of them.
+ */
+@Immutable
+public class AttributePredicate {
+
+  private final AttributeReference attRef;
+  private final Operator operator;
+  private final List<KvValue<?>> values;
+
+  private AttributePredicate(AttributeReference attRef, Operator operator,
+      List<KvValue<?>> values) {
+    this.attRef = attRef;
+    this.operator = operator;
+    this.values = values;
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when the attribute is equal to the given value.
+   */
+  public static AttributePredicate eq(AttributeReference attRef, KvValue<?> value) {
+    return new AttributePredicate(attRef, Operator.IN, ImmutableList.of(value));
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when the attribute is equal to one of the given values.
+   */
+  public static AttributePredicate in(AttributeReference attRef,
+      Collection<? extends KvValue<?>> values) {
+    return new AttributePredicate(attRef, Operator.IN, ImmutableList.copyOf(values));
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when the attribute has the same type as the given value
+   * and it is compared with it as the given range operator says.
+   */
+  public static AttributePredicate range(AttributeReference attRef, Operator operator,
+      KvValue<?> value) {
+    Preconditions.checkArgument(operator.isRange(), operator + " is not a range operator");
+    return new AttributePredicate(attRef, operator, ImmutableList.of(value));
+  }
+
+  /**
+   * Creates a predicate that is fulfilled when the attribute exists (or not) with any type.
+   */
+  public static AttributePredicate exists(AttributeReference attRef, boolean exists) {
+    return new AttributePredicate(attRef, exists ? Operator.EXISTS : Operator.NOT_EXISTS,
+        ImmutableList.of());
+  }
+
+  @Nonnull
+  public AttributeReference getAttributeReference() {
+    return attRef;
+  }
+
+  @Nonnull
+  public Operator getOperator() {
+    return operator;
+  }
+
+  /**
+   * Returns the values this predicate compares with, which is empty if the operator is
+   * {@link Operator#EXISTS} or {@link Operator#NOT_EXISTS} and contains a single value if the
+   * operator is a range one.
+   */
+  @Nonnull
+  public List<KvValue<?>> getValues() {
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return attRef + " " + operator + " " + values;
+  }
+
+  public static enum Operator {
+    IN,
+    GT,
+    GTE,
+    LT,
+    LTE,
+    EXISTS,
+    NOT_EXISTS;
+
+    public boolean isRange() {
+      switch (this) {
+        case GT:
+        case GTE:
+        case LT:
+        case LTE:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    /**
+     * Returns true iff a comparison whose result is the given one fulfills this range operator.
+     *
+     * @param comparison the result of comparing the attribute value with the predicate value, as
+     *                   {@link Comparable#compareTo(java.lang.Object)} does
+     */
+    public boolean fulfills(int comparison) {
+      switch (this) {
+        case GT:
+          return comparison > 0;
+        case GTE:
+          return comparison >= 0;
+        case LT:
+          return comparison < 0;
+        case LTE:
+          return comparison <= 0;
+        default:
+          throw new IllegalStateException(this + " is not a range operator");
+      }
+    }
+  }
+
+}
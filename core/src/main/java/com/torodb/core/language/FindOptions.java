@@ -0,0 +1,276 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.core.language;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.torodb.core.transaction.metainf.FieldType;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.kvdocument.values.KvDocument.DocEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The modifiers that can be applied to the documents found by a query: the order in which they
+ * are returned, how many of them are skipped or returned and which of their top level attributes
+ * are returned.
+ */
+@Immutable
+public class FindOptions {
+
+  public static final FindOptions DEFAULT = new Builder().build();
+
+  /**
+   * The order in which values of different types are sorted, which follows the one used by
+   * MongoDB. Values of the same group are compared by value, even if their types are different,
+   * while values of different groups are never compared by value.
+   *
+   * <p>Decimals have their own group, as backends do not store them in a way that can be compared
+   * with the other numbers.
+   */
+  public static final ImmutableList<ImmutableSet<FieldType>> SORT_TYPE_ORDER = ImmutableList.of(
+      ImmutableSet.of(FieldType.MIN_KEY),
+      ImmutableSet.of(FieldType.UNDEFINED),
+      ImmutableSet.of(FieldType.NULL),
+      ImmutableSet.of(FieldType.INTEGER, FieldType.LONG, FieldType.DOUBLE),
+      ImmutableSet.of(FieldType.DECIMAL128),
+      ImmutableSet.of(FieldType.STRING),
+      ImmutableSet.of(FieldType.CHILD),
+      ImmutableSet.of(FieldType.BINARY),
+      ImmutableSet.of(FieldType.MONGO_OBJECT_ID),
+      ImmutableSet.of(FieldType.BOOLEAN),
+      ImmutableSet.of(FieldType.DATE),
+      ImmutableSet.of(FieldType.INSTANT),
+      ImmutableSet.of(FieldType.TIME),
+      ImmutableSet.of(FieldType.MONGO_TIME_STAMP),
+      ImmutableSet.of(FieldType.MONGO_REGEX),
+      ImmutableSet.of(FieldType.MONGO_DB_POINTER),
+      ImmutableSet.of(FieldType.JAVASCRIPT),
+      ImmutableSet.of(FieldType.JAVASCRIPT_WITH_SCOPE),
+      ImmutableSet.of(FieldType.DEPRECATED),
+      ImmutableSet.of(FieldType.MAX_KEY)
+  );
+
+  private final ImmutableList<SortKey> sort;
+  private final long skip;
+  private final long limit;
+  private final Projection projection;
+
+  private FindOptions(ImmutableList<SortKey> sort, long skip, long limit, Projection projection) {
+    this.sort = sort;
+    this.skip = skip;
+    this.limit = limit;
+    this.projection = projection;
+  }
+
+  /**
+   * Returns the keys documents are sorted by, in order of precedence. If it is empty, the order is
+   * undefined.
+   */
+  @Nonnull
+  public List<SortKey> getSort() {
+    return sort;
+  }
+
+  public long getSkip() {
+    return skip;
+  }
+
+  /**
+   * Returns the max number of documents to return, or 0 if there is no limit.
+   */
+  public long getLimit() {
+    return limit;
+  }
+
+  @Nonnull
+  public Projection getProjection() {
+    return projection;
+  }
+
+  /**
+   * Returns the index on {@link #SORT_TYPE_ORDER} of the group that contains the given type.
+   */
+  public static int getSortTypeGroup(FieldType type) {
+    for (int i = 0; i < SORT_TYPE_ORDER.size(); i++) {
+      if (SORT_TYPE_ORDER.get(i).contains(type)) {
+        return i;
+      }
+    }
+    throw new AssertionError("Type " + type + " is not contained on any sort group");
+  }
+
+  public boolean isDefault() {
+    return sort.isEmpty() && skip == 0 && limit == 0 && projection.isAll();
+  }
+
+  @Override
+  public String toString() {
+    return "{sort: " + sort + ", skip: " + skip + ", limit: " + limit + ", projection: "
+        + projection + '}';
+  }
+
+  @Immutable
+  public static class SortKey {
+
+    private final AttributeReference attRef;
+    private final boolean ascending;
+
+    public SortKey(AttributeReference attRef, boolean ascending) {
+      this.attRef = attRef;
+      this.ascending = ascending;
+    }
+
+    @Nonnull
+    public AttributeReference getAttributeReference() {
+      return attRef;
+    }
+
+    public boolean isAscending() {
+      return ascending;
+    }
+
+    @Override
+    public String toString() {
+      return attRef + (ascending ? " ASC" : " DESC");
+    }
+  }
+
+  /**
+   * The top level attributes that are returned.
+   */
+  @Immutable
+  public static class Projection {
+
+    private static final Projection ALL = new Projection(ImmutableSet.of(), false);
+
+    private final ImmutableSet<String> keys;
+    private final boolean inclusive;
+
+    private Projection(ImmutableSet<String> keys, boolean inclusive) {
+      this.keys = keys;
+      this.inclusive = inclusive;
+    }
+
+    public static Projection all() {
+      return ALL;
+    }
+
+    /**
+     * Creates a projection that only returns the given top level attributes.
+     */
+    public static Projection including(Collection<String> keys) {
+      return new Projection(ImmutableSet.copyOf(keys), true);
+    }
+
+    /**
+     * Creates a projection that returns all top level attributes except the given ones.
+     */
+    public static Projection excluding(Collection<String> keys) {
+      if (keys.isEmpty()) {
+        return ALL;
+      }
+      return new Projection(ImmutableSet.copyOf(keys), false);
+    }
+
+    public boolean isAll() {
+      return !inclusive && keys.isEmpty();
+    }
+
+    public boolean isInclusive() {
+      return inclusive;
+    }
+
+    /**
+     * Returns the included top level attributes if this projection is inclusive or the excluded
+     * ones otherwise.
+     */
+    @Nonnull
+    public ImmutableSet<String> getKeys() {
+      return keys;
+    }
+
+    public boolean isProjected(String topLevelKey) {
+      return keys.contains(topLevelKey) == inclusive;
+    }
+
+    @Nonnull
+    public KvDocument apply(KvDocument doc) {
+      if (isAll()) {
+        return doc;
+      }
+      KvDocument.Builder builder = new KvDocument.Builder();
+      for (DocEntry<?> entry : doc) {
+        if (isProjected(entry.getKey())) {
+          builder.putValue(entry.getKey(), entry.getValue());
+        }
+      }
+      return builder.build();
+    }
+
+    @Override
+    public String toString() {
+      if (isAll()) {
+        return "all";
+      }
+      return (inclusive ? "including " : "excluding ") + keys;
+    }
+  }
+
+  public static class Builder {
+
+    private final ImmutableList.Builder<SortKey> sort = ImmutableList.builder();
+    private long skip = 0;
+    private long limit = 0;
+    private Projection projection = Projection.all();
+
+    public Builder addSortKey(AttributeReference attRef, boolean ascending) {
+      sort.add(new SortKey(attRef, ascending));
+      return this;
+    }
+
+    public Builder setSkip(long skip) {
+      Preconditions.checkArgument(skip >= 0, "skip must be non negative, but " + skip
+          + " was recived");
+      this.skip = skip;
+      return this;
+    }
+
+    public Builder setLimit(long limit) {
+      Preconditions.checkArgument(limit >= 0, "limit must be non negative, but " + limit
+          + " was recived");
+      this.limit = limit;
+      return this;
+    }
+
+    public Builder setProjection(@Nonnull Projection projection) {
+      this.projection = projection;
+      return this;
+    }
+
+    public FindOptions build() {
+      return new FindOptions(sort.build(), skip, limit, projection);
+    }
+  }
+
+}
@@ -26,9 +26,15 @@ import java.util.Iterator;
 public abstract class AbstractMetaDocPartIndex implements MetaDocPartIndex {
 
   private final boolean unique;
+  private final boolean sparse;
 
   public AbstractMetaDocPartIndex(boolean unique) {
+    this(unique, false);
+  }
+
+  public AbstractMetaDocPartIndex(boolean unique, boolean sparse) {
     this.unique = unique;
+    this.sparse = sparse;
   }
 
   @Override
@@ -36,6 +42,11 @@ public abstract class AbstractMetaDocPartIndex implements MetaDocPartIndex {
     return unique;
   }
 
+  @Override
+  public boolean isSparse() {
+    return sparse;
+  }
+
   @Override
   public boolean hasSameColumns(MetaDocPartIndex docPartIndex) {
     return hasSameColumns(docPartIndex, iteratorColumns());
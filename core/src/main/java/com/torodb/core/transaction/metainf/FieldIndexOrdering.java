@@ -20,7 +20,13 @@ package com.torodb.core.transaction.metainf;
 
 public enum FieldIndexOrdering {
   ASC(true),
-  DESC(false);
+  DESC(false),
+  /**
+   * The values are indexed by their hash, so the index can only be used on equality lookups.
+   *
+   * <p>Hashed indexes have no order, so they are considered ascending.
+   */
+  HASHED(true);
 
   private final boolean ascending;
 
@@ -41,17 +41,28 @@ public class ImmutableMetaIndex implements MetaIndex {
 
   private final String name;
   private final boolean unique;
+  private final boolean sparse;
   private final List<ImmutableMetaIndexField> fieldsByPosition;
   private final Map<TableRef, List<ImmutableMetaIndexField>> fieldsByTableRefAndPosition;
   private final Table<TableRef, String, ImmutableMetaIndexField> fieldsByTableRefAndName;
 
   public ImmutableMetaIndex(String name, boolean unique) {
-    this(name, unique, Collections.emptyList());
+    this(name, unique, false);
+  }
+
+  public ImmutableMetaIndex(String name, boolean unique, boolean sparse) {
+    this(name, unique, sparse, Collections.emptyList());
   }
 
   public ImmutableMetaIndex(String name, boolean unique, Iterable<ImmutableMetaIndexField> fields) {
+    this(name, unique, false, fields);
+  }
+
+  public ImmutableMetaIndex(String name, boolean unique, boolean sparse,
+      Iterable<ImmutableMetaIndexField> fields) {
     this.name = name;
     this.unique = unique;
+    this.sparse = sparse;
 
     fieldsByTableRefAndName = HashBasedTable.create();
     fieldsByPosition = new ArrayList<>(fieldsByTableRefAndName.size());
@@ -67,8 +78,14 @@ public class ImmutableMetaIndex implements MetaIndex {
 
   public ImmutableMetaIndex(String name, boolean unique,
       List<ImmutableMetaIndexField> fieldsByPosition) {
+    this(name, unique, false, fieldsByPosition);
+  }
+
+  public ImmutableMetaIndex(String name, boolean unique, boolean sparse,
+      List<ImmutableMetaIndexField> fieldsByPosition) {
     this.name = name;
     this.unique = unique;
+    this.sparse = sparse;
     this.fieldsByPosition = fieldsByPosition;
     this.fieldsByTableRefAndPosition = new HashMap<>();
     this.fieldsByTableRefAndName = HashBasedTable.create();
@@ -89,6 +106,11 @@ public class ImmutableMetaIndex implements MetaIndex {
     return unique;
   }
 
+  @Override
+  public boolean isSparse() {
+    return sparse;
+  }
+
   @Override
   public int size() {
     return fieldsByPosition.size();
@@ -164,7 +186,7 @@ public class ImmutableMetaIndex implements MetaIndex {
 
   protected boolean isCompatible(MetaDocPart docPart, MetaDocPartIndex docPartIndex,
       Iterator<? extends MetaIndexField> indexFieldIterator) {
-    if (unique != docPartIndex.isUnique()) {
+    if (unique != docPartIndex.isUnique() || sparse != docPartIndex.isSparse()) {
       return false;
     }
 
@@ -195,7 +217,7 @@ public class ImmutableMetaIndex implements MetaIndex {
   protected boolean isMatch(MetaDocPart docPart, List<String> identifiers,
       MetaDocPartIndex docPartIndex, Iterator<? extends MetaIndexField> indexFieldIterator,
       boolean isSubMatch) {
-    if (isUnique() != docPartIndex.isUnique()) {
+    if (isUnique() != docPartIndex.isUnique() || isSparse() != docPartIndex.isSparse()) {
       return false;
     }
 
@@ -250,6 +272,7 @@ public class ImmutableMetaIndex implements MetaIndex {
     }
 
     return index.isUnique() == isUnique()
+        && index.isSparse() == isSparse()
         && index.size() == size()
         && Seq.seq(iteratorFields).allMatch(indexField -> {
           MetaIndexField otherIndexField = index.getMetaIndexFieldByPosition(indexField
@@ -332,23 +355,35 @@ public class ImmutableMetaIndex implements MetaIndex {
     private boolean built = false;
     private final String name;
     private final boolean unique;
+    private final boolean sparse;
     private final List<ImmutableMetaIndexField> fieldsByPosition;
 
     public Builder(String name, boolean unique) {
+      this(name, unique, false);
+    }
+
+    public Builder(String name, boolean unique, boolean sparse) {
       this.name = name;
       this.unique = unique;
+      this.sparse = sparse;
       fieldsByPosition = new ArrayList<>();
     }
 
     public Builder(String name, boolean unique, int expectedFields) {
+      this(name, unique, false, expectedFields);
+    }
+
+    public Builder(String name, boolean unique, boolean sparse, int expectedFields) {
       this.name = name;
       this.unique = unique;
+      this.sparse = sparse;
       fieldsByPosition = new ArrayList<>(expectedFields);
     }
 
     public Builder(ImmutableMetaIndex other) {
       this.name = other.name;
       this.unique = other.isUnique();
+      this.sparse = other.isSparse();
       fieldsByPosition = new ArrayList<>(other.fieldsByPosition);
     }
 
@@ -367,7 +402,7 @@ public class ImmutableMetaIndex implements MetaIndex {
     public ImmutableMetaIndex build() {
       Preconditions.checkState(!built, "This builder has already been built");
       built = true;
-      return new ImmutableMetaIndex(name, unique, fieldsByPosition);
+      return new ImmutableMetaIndex(name, unique, sparse, fieldsByPosition);
     }
   }
 
@@ -29,6 +29,11 @@ public interface MetaDocPartIndex {
 
   public abstract boolean isUnique();
 
+  /**
+   * Returns true iff the rows whose indexed columns are all null are not indexed.
+   */
+  public abstract boolean isSparse();
+
   public abstract int size();
 
   public abstract Stream<? extends MetaDocPartIndexColumn> streamColumns();
@@ -46,7 +51,7 @@ public interface MetaDocPartIndex {
   public abstract boolean hasSameColumns(MetaDocPartIndex docPartIndex);
 
   public default String defautToString() {
-    return "docPartIndex{" + "unique:" + isUnique() + '}';
+    return "docPartIndex{" + "unique:" + isUnique() + ", sparse:" + isSparse() + '}';
   }
 
   /**
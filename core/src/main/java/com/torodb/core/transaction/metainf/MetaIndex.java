@@ -39,6 +39,11 @@ public interface MetaIndex {
 
   public abstract boolean isUnique();
 
+  /**
+   * Returns true iff the documents that do not contain any of the indexed fields are not indexed.
+   */
+  public abstract boolean isSparse();
+
   public abstract int size();
 
   public abstract Iterator<? extends MetaIndexField> iteratorFields();
@@ -80,7 +85,8 @@ public interface MetaIndex {
       MetaDocPartIndex docPartIndex);
 
   public default String defautToString() {
-    return "index{" + "name:" + getName() + ", unique:" + isUnique() + '}';
+    return "index{" + "name:" + getName() + ", unique:" + isUnique() + ", sparse:" + isSparse()
+        + '}';
   }
 
   public abstract ImmutableMetaIndex immutableCopy();
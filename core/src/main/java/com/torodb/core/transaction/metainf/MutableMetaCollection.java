@@ -53,7 +53,13 @@ public interface MutableMetaCollection extends MetaCollection {
   @Override
   public Stream<? extends MutableMetaIndex> streamContainedMetaIndexes();
 
-  public MutableMetaIndex addMetaIndex(String name, boolean unique) throws IllegalArgumentException;
+  public default MutableMetaIndex addMetaIndex(String name, boolean unique)
+      throws IllegalArgumentException {
+    return addMetaIndex(name, unique, false);
+  }
+
+  public MutableMetaIndex addMetaIndex(String name, boolean unique, boolean sparse)
+      throws IllegalArgumentException;
 
   public boolean removeMetaIndexByName(String indexName);
 
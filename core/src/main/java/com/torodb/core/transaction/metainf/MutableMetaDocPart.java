@@ -81,7 +81,18 @@ public interface MutableMetaDocPart extends MetaDocPart {
    * @param unique
    * @return
    */
-  public abstract MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique);
+  public default MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique) {
+    return addMetaDocPartIndex(unique, false);
+  }
+
+  /**
+   * Add a non existent index to this doc part
+   *
+   * @param unique
+   * @param sparse
+   * @return
+   */
+  public abstract MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique, boolean sparse);
 
   /**
    * Remove an index from this doc part
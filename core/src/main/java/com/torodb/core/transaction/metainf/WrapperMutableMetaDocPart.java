@@ -132,8 +132,8 @@ public class WrapperMutableMetaDocPart implements MutableMetaDocPart {
 
 
   @Override
-  public MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique) {
-    MutableMetaDocPartIndex newIndex = new WrapperMutableMetaDocPartIndex(unique,
+  public MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique, boolean sparse) {
+    MutableMetaDocPartIndex newIndex = new WrapperMutableMetaDocPartIndex(unique, sparse,
         this::onDocPartIndexChange);
     addedMutableIndexes.add(newIndex);
     return newIndex;
@@ -285,7 +285,7 @@ public class WrapperMutableMetaDocPart implements MutableMetaDocPart {
     if (matchingMutableDocPartIndex.isPresent()) {
       docPartIndex = matchingMutableDocPartIndex.get();
     } else {
-      docPartIndex = addMetaDocPartIndex(missingIndex.isUnique());
+      docPartIndex = addMetaDocPartIndex(missingIndex.isUnique(), missingIndex.isSparse());
       int index = 0;
       for (String identifier : identifiers) {
         if (getAddedFieldByIdentifier(identifier) == null) {
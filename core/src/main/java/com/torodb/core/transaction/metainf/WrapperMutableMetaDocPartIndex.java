@@ -52,7 +52,15 @@ public class WrapperMutableMetaDocPartIndex extends AbstractMetaDocPartIndex imp
       boolean unique,
       BiConsumer<WrapperMutableMetaDocPartIndex,
       ImmutableMetaIdentifiedDocPartIndex> changeConsumer) {
-    super(unique);
+    this(unique, false, changeConsumer);
+  }
+
+  public WrapperMutableMetaDocPartIndex(
+      boolean unique,
+      boolean sparse,
+      BiConsumer<WrapperMutableMetaDocPartIndex,
+      ImmutableMetaIdentifiedDocPartIndex> changeConsumer) {
+    super(unique, sparse);
     addedColumnsByIdentifier = new HashMap<>();
     addedColumns = new ArrayList<>();
     this.changeConsumer = changeConsumer;
@@ -107,7 +115,8 @@ public class WrapperMutableMetaDocPartIndex extends AbstractMetaDocPartIndex imp
     Preconditions.checkArgument(addedColumnsByIdentifier.size() == addedColumns.size(),
         "Some columns are missing. Found %s but they should be %s",
         addedColumnsByIdentifier.size(), addedColumns.size());
-    ImmutableMetaIdentifiedDocPartIndex.Builder builder = new Builder(identifier, isUnique());
+    ImmutableMetaIdentifiedDocPartIndex.Builder builder = new Builder(identifier, isUnique(),
+        isSparse());
     for (ImmutableMetaDocPartIndexColumn addedField : addedColumns) {
       builder.add(addedField);
     }
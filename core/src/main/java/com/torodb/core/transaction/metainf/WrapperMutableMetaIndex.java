@@ -108,6 +108,11 @@ public class WrapperMutableMetaIndex implements MutableMetaIndex {
     return wrapped.isUnique();
   }
 
+  @Override
+  public boolean isSparse() {
+    return wrapped.isSparse();
+  }
+
   @Override
   public int size() {
     return newFields.values().stream()
@@ -20,21 +20,55 @@ package com.torodb.core.transaction.metainf.impl.model;
 
 import com.torodb.core.d2r.DocPartData;
 import com.torodb.core.d2r.DocPartRow;
+import com.torodb.core.d2r.InternalFields;
+import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.MetaDocPart;
 import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.core.transaction.metainf.MetaScalar;
+import com.torodb.kvdocument.values.KvArray;
+import com.torodb.kvdocument.values.KvBoolean;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.kvdocument.values.KvValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
-public class  DocPartDataImpl implements DocPartData {
+/**
+ * The rows of a doc part, stored by columns.
+ *
+ * <p>Internal fields are stored on primitive arrays and each value column on its own array, all
+ * of them growing as rows are appended. Rows are identified by their index and the
+ * {@link DocPartRow} returned by {@link #iterator()} are just views over these columns.
+ */
+public class DocPartDataImpl implements DocPartData {
+
+  /**
+   * The value used as seq of the rows that are not array elements and as parent row of the rows
+   * of the root doc part.
+   */
+  public static final int NO_VALUE = -1;
+
+  private static final int INITIAL_ROW_CAPACITY = 16;
+  private static final int INITIAL_COLUMN_CAPACITY = 8;
 
-  private List<DocPartRow> docPartRows = new ArrayList<>();
-  private TableMetadata metadata;
-  private DocPartDataImpl parent;
+  private static final KvBoolean IS_ARRAY = KvBoolean.from(InternalFields.CHILD_ARRAY_VALUE);
+  private static final KvBoolean IS_SUBDOCUMENT = KvBoolean.from(InternalFields.CHILD_OBJECT_VALUE);
+
+  private final TableMetadata metadata;
+  private final DocPartDataImpl parent;
   private List<DocPartDataImpl> childs = null;
 
+  private int rowCount = 0;
+  private int[] dids = new int[INITIAL_ROW_CAPACITY];
+  private int[] rids = new int[INITIAL_ROW_CAPACITY];
+  private int[] pids = new int[INITIAL_ROW_CAPACITY];
+  private int[] seqs = new int[INITIAL_ROW_CAPACITY];
+  private KvValue<?>[][] fieldColumns = new KvValue<?>[INITIAL_COLUMN_CAPACITY][];
+  private KvValue<?>[][] scalarColumns = new KvValue<?>[INITIAL_COLUMN_CAPACITY][];
+
   public DocPartDataImpl(TableMetadata metadata, DocPartDataImpl parent) {
     this.metadata = metadata;
     this.parent = parent;
@@ -43,10 +77,127 @@ public class  DocPartDataImpl implements DocPartData {
     }
   }
 
-  public DocPartRowImpl newRowObject(Integer index, DocPartRowImpl parentRow) {
-    DocPartRowImpl docPartRow = new DocPartRowImpl(metadata, index, parentRow, this);
-    docPartRows.add(docPartRow);
-    return docPartRow;
+  /**
+   * Appends a new row to this doc part.
+   *
+   * @param seq       the position of the row on its array or {@link #NO_VALUE} if the row is not
+   *                  an array element
+   * @param parentRow the index of the parent row on the parent doc part or {@link #NO_VALUE} if
+   *                  this is the root doc part
+   * @return the index of the new row
+   */
+  public int appendRow(int seq, int parentRow) {
+    if (rowCount == rids.length) {
+      growRows();
+    }
+    int row = rowCount++;
+    int rid = metadata.getNextRowId();
+    rids[row] = rid;
+    seqs[row] = seq;
+    if (parentRow == NO_VALUE) {
+      dids[row] = rid;
+      pids[row] = NO_VALUE;
+    } else {
+      dids[row] = parent.dids[parentRow];
+      pids[row] = parent.rids[parentRow];
+    }
+    return row;
+  }
+
+  public void addScalar(int row, String key, KvValue<?> value) {
+    int position = metadata.findFieldPosition(key, FieldType.from(value.getType()));
+    fieldColumns = setValue(fieldColumns, position, row, value);
+  }
+
+  public void addChild(int row, String key, KvValue<?> value) {
+    int position = metadata.findFieldPosition(key, FieldType.from(value.getType()));
+    fieldColumns = setValue(fieldColumns, position, row, childValue(value));
+  }
+
+  public void addArrayItem(int row, KvValue<?> value) {
+    int position = metadata.findScalarPosition(FieldType.from(value.getType()));
+    scalarColumns = setValue(scalarColumns, position, row, value);
+  }
+
+  public void addChildToArray(int row, KvValue<?> value) {
+    int position = metadata.findScalarPosition(FieldType.from(value.getType()));
+    scalarColumns = setValue(scalarColumns, position, row, childValue(value));
+  }
+
+  /**
+   * Gives back the rids that were reserved to append rows but have not been used.
+   */
+  public void releaseUnusedRowIds() {
+    metadata.releaseUnusedRowIds();
+  }
+
+  private KvValue<?> childValue(KvValue<?> value) {
+    if (value instanceof KvArray) {
+      return IS_ARRAY;
+    } else if (value instanceof KvDocument) {
+      return IS_SUBDOCUMENT;
+    } else {
+      throw new IllegalArgumentException("Child value is not KVArray or KVDocument");
+    }
+  }
+
+  private KvValue<?>[][] setValue(KvValue<?>[][] columns, int position, int row,
+      KvValue<?> value) {
+    KvValue<?>[][] result = columns;
+    if (position >= result.length) {
+      result = Arrays.copyOf(result, Math.max(position + 1, result.length * 2));
+    }
+    KvValue<?>[] column = result[position];
+    if (column == null) {
+      column = new KvValue<?>[rids.length];
+      result[position] = column;
+    }
+    column[row] = value;
+    return result;
+  }
+
+  private void growRows() {
+    int capacity = rids.length * 2;
+    dids = Arrays.copyOf(dids, capacity);
+    rids = Arrays.copyOf(rids, capacity);
+    pids = Arrays.copyOf(pids, capacity);
+    seqs = Arrays.copyOf(seqs, capacity);
+    growColumns(fieldColumns, capacity);
+    growColumns(scalarColumns, capacity);
+  }
+
+  private static void growColumns(KvValue<?>[][] columns, int capacity) {
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i] != null) {
+        columns[i] = Arrays.copyOf(columns[i], capacity);
+      }
+    }
+  }
+
+  int getDid(int row) {
+    return dids[row];
+  }
+
+  int getRid(int row) {
+    return rids[row];
+  }
+
+  Integer getPid(int row) {
+    int pid = pids[row];
+    return pid == NO_VALUE ? null : pid;
+  }
+
+  Integer getSeq(int row) {
+    int seq = seqs[row];
+    return seq == NO_VALUE ? null : seq;
+  }
+
+  Iterator<KvValue<?>> fieldValuesIterator(int row) {
+    return new ColumnValuesIterator(fieldColumns, fieldColumnsCount(), row);
+  }
+
+  Iterator<KvValue<?>> scalarValuesIterator(int row) {
+    return new ColumnValuesIterator(scalarColumns, scalarColumnsCount(), row);
   }
 
   public MetaDocPart getMetaDocPart() {
@@ -75,7 +226,7 @@ public class  DocPartDataImpl implements DocPartData {
 
   @Override
   public Iterator<DocPartRow> iterator() {
-    return docPartRows.iterator();
+    return new RowIterator();
   }
 
   @Override
@@ -90,7 +241,7 @@ public class  DocPartDataImpl implements DocPartData {
 
   @Override
   public int rowCount() {
-    return docPartRows.size();
+    return rowCount;
   }
 
   @Override
@@ -103,4 +254,55 @@ public class  DocPartDataImpl implements DocPartData {
     return metadata.getOrdererdScalars().iterator();
   }
 
+  private class RowIterator implements Iterator<DocPartRow> {
+
+    private int row = 0;
+
+    @Override
+    public boolean hasNext() {
+      return row < rowCount;
+    }
+
+    @Override
+    public DocPartRow next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return new DocPartRowImpl(DocPartDataImpl.this, row++);
+    }
+  }
+
+  /**
+   * Iterates over the values a row has on each column. Columns that have no value on any row yet
+   * are read as nulls.
+   */
+  private static class ColumnValuesIterator implements Iterator<KvValue<?>> {
+
+    private final KvValue<?>[][] columns;
+    private final int columnsCount;
+    private final int row;
+    private int column = 0;
+
+    public ColumnValuesIterator(KvValue<?>[][] columns, int columnsCount, int row) {
+      this.columns = columns;
+      this.columnsCount = columnsCount;
+      this.row = row;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return column < columnsCount;
+    }
+
+    @Override
+    public KvValue<?> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      KvValue<?>[] values = column < columns.length ? columns[column] : null;
+      column++;
+      return values == null ? null : values[row];
+    }
+  }
+
 }
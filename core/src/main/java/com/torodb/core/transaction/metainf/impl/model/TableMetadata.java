@@ -34,6 +34,15 @@ import java.util.Map;
 
 public class TableMetadata {
 
+  /**
+   * The max number of rids that are reserved at once.
+   *
+   * <p>Blocks start with a single rid and double each time the previous one is exhausted, so
+   * translating a single document costs the same as before while big batches only touch the
+   * shared generator a few times.
+   */
+  private static final int MAX_RID_BLOCK_SIZE = 1024;
+
   private final CollectionMetaInfo collectionMetaInfo;
   private final TableRef tableRef;
   private final MutableMetaDocPart metaDocPart;
@@ -44,6 +53,10 @@ public class TableMetadata {
   private final List<MetaField> orderedFields;
   private final List<MetaScalar> orderedScalars;
 
+  private int nextRid;
+  private int endRid;
+  private int ridBlockSize = 1;
+
   public TableMetadata(CollectionMetaInfo collectionMetaInfo, TableRef tableRef) {
     this.collectionMetaInfo = collectionMetaInfo;
     this.tableRef = tableRef;
@@ -67,7 +80,22 @@ public class TableMetadata {
   }
 
   protected int getNextRowId() {
-    return collectionMetaInfo.getNextRowId(tableRef);
+    if (nextRid == endRid) {
+      nextRid = collectionMetaInfo.reserveRowIds(tableRef, ridBlockSize);
+      endRid = nextRid + ridBlockSize;
+      ridBlockSize = Math.min(ridBlockSize * 2, MAX_RID_BLOCK_SIZE);
+    }
+    return nextRid++;
+  }
+
+  /**
+   * Gives back the rids that have been reserved but not used yet.
+   */
+  protected void releaseUnusedRowIds() {
+    if (nextRid != endRid) {
+      collectionMetaInfo.releaseRowIds(tableRef, nextRid, endRid);
+      nextRid = endRid;
+    }
   }
 
   protected int findFieldPosition(String key, FieldType type) {
@@ -0,0 +1,78 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.core.backend;
+
+import com.google.common.collect.ImmutableList;
+import com.torodb.core.TableRef;
+import com.torodb.core.impl.TableRefFactoryImpl;
+import com.torodb.core.language.FindOptions.Projection;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReadOptionsTest {
+
+  private static final TableRefFactoryImpl tableRefFactory = new TableRefFactoryImpl();
+
+  @Test
+  public void defaultReadsAllDocPartsTest() throws Exception {
+    Assert.assertTrue(ReadOptions.DEFAULT.isRead(tableRefFactory.createRoot()));
+    Assert.assertTrue(ReadOptions.DEFAULT.isRead(createTableRef("a", "b")));
+  }
+
+  @Test
+  public void inclusiveProjectionTest() throws Exception {
+    ReadOptions options = new ReadOptions.Builder()
+        .setProjection(Projection.including(ImmutableList.of("a")))
+        .build();
+
+    Assert.assertTrue(options.isRead(tableRefFactory.createRoot()));
+    Assert.assertTrue(options.isRead(createTableRef("a")));
+    Assert.assertTrue(options.isRead(createTableRef("a", "b")));
+    Assert.assertTrue(options.isRead(createTableRef("a", "2")));
+    Assert.assertFalse(options.isRead(createTableRef("b")));
+    Assert.assertFalse(options.isRead(createTableRef("b", "a")));
+  }
+
+  @Test
+  public void exclusiveProjectionTest() throws Exception {
+    ReadOptions options = new ReadOptions.Builder()
+        .setProjection(Projection.excluding(ImmutableList.of("a")))
+        .build();
+
+    Assert.assertTrue(options.isRead(tableRefFactory.createRoot()));
+    Assert.assertFalse(options.isRead(createTableRef("a")));
+    Assert.assertFalse(options.isRead(createTableRef("a", "b")));
+    Assert.assertTrue(options.isRead(createTableRef("b", "a")));
+  }
+
+  private TableRef createTableRef(String... names) {
+    TableRef tableRef = tableRefFactory.createRoot();
+
+    for (String name : names) {
+      try {
+        int index = Integer.parseInt(name);
+        tableRef = tableRefFactory.createChild(tableRef, index);
+      } catch (NumberFormatException ex) {
+        tableRef = tableRefFactory.createChild(tableRef, name);
+      }
+    }
+
+    return tableRef;
+  }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.d2r.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Lists;
+import com.torodb.core.d2r.CollectionData;
+import com.torodb.core.d2r.D2RTranslator;
+import com.torodb.core.d2r.DefaultIdentifierFactory;
+import com.torodb.core.d2r.DocPartData;
+import com.torodb.core.d2r.DocPartRow;
+import com.torodb.core.d2r.MemoryRidGenerator;
+import com.torodb.core.d2r.UniqueIdentifierGenerator;
+import com.torodb.core.impl.TableRefFactoryImpl;
+import com.torodb.core.transaction.metainf.ImmutableMetaDatabase;
+import com.torodb.core.transaction.metainf.MutableMetaCollection;
+import com.torodb.core.transaction.metainf.WrapperMutableMetaDatabase;
+import com.torodb.kvdocument.values.KvArray;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.kvdocument.values.KvInteger;
+import com.torodb.kvdocument.values.KvValue;
+import com.torodb.kvdocument.values.heap.ListKvArray;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class D2RTranslatorStackTest {
+
+  private D2RTranslator translator;
+
+  @Before
+  public void setUp() {
+    WrapperMutableMetaDatabase database = new WrapperMutableMetaDatabase(
+        new ImmutableMetaDatabase("db", "db", Collections.emptyList()), (t) -> {});
+    MutableMetaCollection collection = database.addMetaCollection("col", "col");
+    translator = new D2RTranslatorStack(new TableRefFactoryImpl(),
+        new DefaultIdentifierFactory(new UniqueIdentifierGenerator(new MockIdentifierInterface())),
+        new MemoryRidGenerator(), database, collection);
+  }
+
+  /*
+   * Document: { "a" : 1, "c" : [ 5, { "x" : 1 }, [ 7, [ 8 ] ] ] }
+   */
+  @Test
+  public void translateNestedArrays() {
+    KvDocument sub = new KvDocument.Builder()
+        .putValue("x", KvInteger.of(1))
+        .build();
+    translator.translate(new KvDocument.Builder()
+        .putValue("a", KvInteger.of(1))
+        .putValue("c", array(KvInteger.of(5), sub, array(KvInteger.of(7),
+            array(KvInteger.of(8)))))
+        .build());
+
+    List<DocPartData> docParts = Lists.newArrayList(
+        translator.getCollectionDataAccumulator().orderedDocPartData());
+    assertEquals(Arrays.asList("col", "col_c", "col_c$2", "col_c$3"), Lists.transform(docParts,
+        docPart -> docPart.getMetaDocPart().getIdentifier()));
+
+    List<DocPartRow> rootRows = Lists.newArrayList(docParts.get(0));
+    assertEquals(1, rootRows.size());
+    assertNull(rootRows.get(0).getPid());
+    assertNull(rootRows.get(0).getSeq());
+
+    List<DocPartRow> arrayRows = Lists.newArrayList(docParts.get(1));
+    assertEquals(3, arrayRows.size());
+    for (int i = 0; i < arrayRows.size(); i++) {
+      DocPartRow row = arrayRows.get(i);
+      assertEquals(i, row.getRid());
+      assertEquals(rootRows.get(0).getRid(), row.getDid());
+      assertEquals(Integer.valueOf(rootRows.get(0).getRid()), row.getPid());
+      assertEquals(Integer.valueOf(i), row.getSeq());
+    }
+    assertEquals(Collections.singletonList(KvInteger.of(1)), Lists.newArrayList(arrayRows.get(1)
+        .getFieldValues()));
+
+    DocPartRow nestedRow = docParts.get(3).iterator().next();
+    assertEquals(Integer.valueOf(docParts.get(2).iterator().next().getRid() + 1),
+        nestedRow.getPid());
+    assertEquals(Collections.singletonList(KvInteger.of(8)), Lists.newArrayList(nestedRow
+        .getScalarValues()));
+  }
+
+  /*
+   * Documents: { "f0" : 0 }, { "f0" : 1, "f1" : 1 }, ...
+   */
+  @Test
+  public void translateColumnsAddedOnLaterRows() {
+    int docs = 100;
+    for (int i = 0; i < docs; i++) {
+      KvDocument.Builder builder = new KvDocument.Builder();
+      for (int field = 0; field <= i; field++) {
+        builder.putValue("f" + field, KvInteger.of(i));
+      }
+      translator.translate(builder.build());
+    }
+
+    CollectionData collectionData = translator.getCollectionDataAccumulator();
+    DocPartData root = collectionData.orderedDocPartData().iterator().next();
+    assertEquals(docs, root.rowCount());
+    assertEquals(docs, root.fieldColumnsCount());
+    int rowIndex = 0;
+    for (DocPartRow row : root) {
+      List<KvValue<?>> values = Lists.newArrayList(row.getFieldValues());
+      assertEquals(docs, values.size());
+      for (int field = 0; field < docs; field++) {
+        if (field <= rowIndex) {
+          assertEquals(KvInteger.of(rowIndex), values.get(field));
+        } else {
+          assertNull(values.get(field));
+        }
+      }
+      rowIndex++;
+    }
+  }
+
+  private static KvArray array(KvValue<?>... values) {
+    return new ListKvArray(Arrays.asList(values));
+  }
+
+}
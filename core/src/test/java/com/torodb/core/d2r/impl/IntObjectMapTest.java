@@ -0,0 +1,49 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.d2r.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class IntObjectMapTest {
+
+  @Test
+  public void putAndGetWhileGrowing() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    int entries = 1000;
+    for (int key = -entries; key < entries; key++) {
+      map.put(key * 16, Integer.toString(key));
+    }
+    for (int key = -entries; key < entries; key++) {
+      assertEquals(Integer.toString(key), map.get(key * 16));
+      assertNull(map.get(key * 16 + 1));
+    }
+  }
+
+  @Test
+  public void putReplacesValue() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    map.put(1, "a");
+    map.put(1, "b");
+    assertEquals("b", map.get(1));
+  }
+
+}
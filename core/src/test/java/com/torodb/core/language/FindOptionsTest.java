@@ -0,0 +1,47 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.language;
+
+import com.torodb.core.transaction.metainf.FieldType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FindOptionsTest {
+
+  @Test
+  public void numbersShareSortGroupTest() throws Exception {
+    int intGroup = FindOptions.getSortTypeGroup(FieldType.INTEGER);
+
+    Assert.assertEquals(intGroup, FindOptions.getSortTypeGroup(FieldType.LONG));
+    Assert.assertEquals(intGroup, FindOptions.getSortTypeGroup(FieldType.DOUBLE));
+    Assert.assertTrue(intGroup != FindOptions.getSortTypeGroup(FieldType.DECIMAL128));
+    Assert.assertTrue(intGroup < FindOptions.getSortTypeGroup(FieldType.STRING));
+  }
+
+  @Test
+  public void everyTypeHasOneSortGroupTest() throws Exception {
+    for (FieldType type : FieldType.values()) {
+      long groups = FindOptions.SORT_TYPE_ORDER.stream()
+          .filter(group -> group.contains(type))
+          .count();
+      Assert.assertEquals("Sort groups that contain " + type, 1, groups);
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.core.transaction.metainf.impl.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.torodb.core.TableRef;
+import com.torodb.core.d2r.impl.CollectionMetaInfo;
+import com.torodb.core.impl.TableRefFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TableMetadataTest {
+
+  private final TableRef tableRef = new TableRefFactoryImpl().createRoot();
+  private CollectionMetaInfo collectionMetaInfo;
+  private TableMetadata tableMetadata;
+
+  @Before
+  public void setUp() {
+    AtomicInteger nextRid = new AtomicInteger();
+    collectionMetaInfo = mock(CollectionMetaInfo.class);
+    when(collectionMetaInfo.reserveRowIds(eq(tableRef), anyInt()))
+        .thenAnswer(invocation -> nextRid.getAndAdd(invocation.getArgument(1)));
+
+    tableMetadata = new TableMetadata(collectionMetaInfo, tableRef);
+  }
+
+  @Test
+  public void testBlockDoubling() {
+    for (int rid = 0; rid < 3071; rid++) {
+      assertEquals(rid, tableMetadata.getNextRowId());
+    }
+
+    InOrder inOrder = inOrder(collectionMetaInfo);
+    for (int blockSize = 1; blockSize <= 1024; blockSize *= 2) {
+      inOrder.verify(collectionMetaInfo).reserveRowIds(tableRef, blockSize);
+    }
+    //the block size is capped
+    inOrder.verify(collectionMetaInfo).reserveRowIds(tableRef, 1024);
+    verify(collectionMetaInfo, times(12)).reserveRowIds(eq(tableRef), anyInt());
+  }
+
+  @Test
+  public void testReleaseUnusedRowIds() {
+    //blocks of 1, 2 and 4 rids are reserved, so rids 4 to 6 are not used
+    for (int rid = 0; rid < 4; rid++) {
+      assertEquals(rid, tableMetadata.getNextRowId());
+    }
+
+    tableMetadata.releaseUnusedRowIds();
+    tableMetadata.releaseUnusedRowIds();
+
+    verify(collectionMetaInfo).releaseRowIds(tableRef, 4, 7);
+  }
+
+  @Test
+  public void testBlockDoublingAfterRelease() {
+    for (int rid = 0; rid < 4; rid++) {
+      tableMetadata.getNextRowId();
+    }
+    tableMetadata.releaseUnusedRowIds();
+
+    assertEquals(7, tableMetadata.getNextRowId());
+    verify(collectionMetaInfo).reserveRowIds(tableRef, 8);
+  }
+
+  @Test
+  public void testReleaseWithoutReservedRowIds() {
+    tableMetadata.releaseUnusedRowIds();
+
+    verify(collectionMetaInfo, never()).releaseRowIds(eq(tableRef), anyInt(), anyInt());
+  }
+
+}
@@ -27,6 +27,7 @@ import com.torodb.mongodb.commands.pojos.index.IndexOptions.KnownType;
 import com.torodb.mongodb.commands.pojos.index.type.AscIndexType;
 import com.torodb.mongodb.commands.pojos.index.type.DefaultIndexTypeVisitor;
 import com.torodb.mongodb.commands.pojos.index.type.DescIndexType;
+import com.torodb.mongodb.commands.pojos.index.type.HashedIndexType;
 import com.torodb.mongodb.commands.pojos.index.type.IndexType;
 import com.torodb.mongodb.commands.signatures.admin.CreateIndexesCommand.CreateIndexesArgument;
 import com.torodb.mongodb.commands.signatures.admin.CreateIndexesCommand.CreateIndexesResult;
@@ -78,16 +79,6 @@ public class CreateIndexesImplementation extends
           return Status.from(ErrorCode.CANNOT_CREATE_INDEX, "Index keys cannot be empty.");
         }
 
-        if (indexOptions.isBackground()) {
-          throw new CommandFailed("createIndexes",
-              "Building index in background is not supported right now");
-        }
-
-        if (indexOptions.isSparse()) {
-          throw new CommandFailed("createIndexes",
-              "Sparse index are not supported right now");
-        }
-
         List<IndexFieldInfo> fields = new ArrayList<>(indexOptions.getKeys().size());
         for (IndexOptions.Key indexKey : indexOptions.getKeys()) {
           AttributeReference.Builder attRefBuilder = new AttributeReference.Builder();
@@ -110,11 +101,23 @@ public class CreateIndexesImplementation extends
                 "Index of type " + indexType.getName() + " is not supported right now");
           }
 
-          fields.add(new IndexFieldInfo(attRefBuilder.build(), ordering.get().isAscending()));
+          if (ordering.get() == FieldIndexOrdering.HASHED) {
+            if (indexOptions.isUnique()) {
+              return Status.from(ErrorCode.CANNOT_CREATE_INDEX,
+                  "Currently hashed indexes cannot guarantee uniqueness. Use a regular index.");
+            }
+            if (indexOptions.getKeys().size() > 1) {
+              return Status.from(ErrorCode.CANNOT_CREATE_INDEX,
+                  "Currently only single field hashed index supported.");
+            }
+          }
+
+          fields.add(new IndexFieldInfo(attRefBuilder.build(), ordering.get()));
         }
 
         if (context.createIndex(req.getDatabase(), arg.getCollection(),
-            indexOptions.getName(), fields, indexOptions.isUnique())) {
+            indexOptions.getName(), fields, indexOptions.isUnique(), indexOptions.isSparse(),
+            indexOptions.isBackground())) {
           indexesAfter++;
         }
       }
@@ -152,5 +155,10 @@ public class CreateIndexesImplementation extends
     public Optional<FieldIndexOrdering> visit(DescIndexType indexType, Void arg) {
       return Optional.of(FieldIndexOrdering.DESC);
     }
+
+    @Override
+    public Optional<FieldIndexOrdering> visit(HashedIndexType indexType, Void arg) {
+      return Optional.of(FieldIndexOrdering.HASHED);
+    }
   }
 }
@@ -20,9 +20,11 @@ package com.torodb.mongodb.commands.impl.admin;
 
 import com.torodb.core.language.AttributeReference;
 import com.torodb.core.logging.LoggerFactory;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.mongodb.commands.impl.RetrierSchemaCommandImpl;
 import com.torodb.mongodb.commands.pojos.index.IndexOptions;
 import com.torodb.mongodb.commands.pojos.index.IndexOptions.KnownType;
+import com.torodb.mongodb.commands.pojos.index.type.IndexType;
 import com.torodb.mongodb.commands.signatures.admin.DropIndexesCommand.DropIndexesArgument;
 import com.torodb.mongodb.commands.signatures.admin.DropIndexesCommand.DropIndexesResult;
 import com.torodb.mongodb.utils.DefaultIdUtils;
@@ -69,7 +71,7 @@ public class DropIndexesImplementation extends
         assert arg.getKeys() != null;
         if (arg.getKeys().stream().anyMatch(key -> !(KnownType.contains(key.getType())) || (key
             .getType() != KnownType.asc.getIndexType() && key.getType() != KnownType.desc
-            .getIndexType()))) {
+            .getIndexType() && key.getType() != KnownType.hashed.getIndexType()))) {
           return getStatusForIndexNotFoundWithKeys(arg);
         }
 
@@ -133,8 +135,7 @@ public class DropIndexesImplementation extends
       IndexFieldInfo field = fieldsIterator.next();
       IndexOptions.Key key = keysIterator.next();
 
-      if ((field.isAscending() && key.getType() != KnownType.asc.getIndexType()) || (!field
-          .isAscending() && key.getType() != KnownType.desc.getIndexType()) || (field
+      if (key.getType() != toIndexType(field.getOrdering()) || (field
           .getAttributeReference().getKeys().size() != key.getKeys().size())) {
         return false;
       }
@@ -156,4 +157,17 @@ public class DropIndexesImplementation extends
     return true;
   }
 
+  private IndexType toIndexType(FieldIndexOrdering ordering) {
+    switch (ordering) {
+      case ASC:
+        return KnownType.asc.getIndexType();
+      case DESC:
+        return KnownType.desc.getIndexType();
+      case HASHED:
+        return KnownType.hashed.getIndexType();
+      default:
+        throw new AssertionError("Unexpected ordering " + ordering);
+    }
+  }
+
 }
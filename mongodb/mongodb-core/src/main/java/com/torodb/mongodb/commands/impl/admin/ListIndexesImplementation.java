@@ -57,7 +57,7 @@ public class ListIndexesImplementation implements
                         arg.getCollection(),
                         false,
                         indexInfo.isUnique(),
-                        false,
+                        indexInfo.isSparse(),
                         0,
                         indexInfo.getFields().stream()
                             .map(field -> new IndexOptions.Key(extractKeys(field), extractType(
@@ -88,8 +88,16 @@ public class ListIndexesImplementation implements
   }
 
   private IndexType extractType(IndexFieldInfo indexFieldInfo) {
-    return indexFieldInfo.isAscending() ? KnownType.asc.getIndexType() : KnownType.desc
-        .getIndexType();
+    switch (indexFieldInfo.getOrdering()) {
+      case HASHED:
+        return KnownType.hashed.getIndexType();
+      case ASC:
+        return KnownType.asc.getIndexType();
+      case DESC:
+        return KnownType.desc.getIndexType();
+      default:
+        throw new AssertionError("Unexpected ordering " + indexFieldInfo.getOrdering());
+    }
   }
 
 }
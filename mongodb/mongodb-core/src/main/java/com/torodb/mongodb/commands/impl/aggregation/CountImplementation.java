@@ -18,17 +18,25 @@
 
 package com.torodb.mongodb.commands.impl.aggregation;
 
+import com.torodb.core.language.AttributePredicate;
 import com.torodb.mongodb.commands.impl.ReadTorodbCommandImpl;
+import com.torodb.mongodb.commands.impl.general.QueryFilterTranslator;
 import com.torodb.mongodb.commands.signatures.aggregation.CountCommand.CountArgument;
 import com.torodb.mongodb.core.MongodTransaction;
 import com.torodb.mongowp.Status;
+import com.torodb.mongowp.bson.BsonDocument;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.Request;
+import com.torodb.mongowp.exceptions.CommandFailed;
+
+import java.util.Collections;
+import java.util.List;
 
 import javax.inject.Singleton;
 
 /**
- *
+ * Counts the documents that fulfill the query without reading them. Queries are evaluated by the
+ * backend and skip and limit are applied to the resulting count.
  */
 @Singleton
 public class CountImplementation implements ReadTorodbCommandImpl<CountArgument, Long> {
@@ -36,10 +44,30 @@ public class CountImplementation implements ReadTorodbCommandImpl<CountArgument,
   @Override
   public Status<Long> apply(Request req, Command<? super CountArgument, ? super Long> command,
       CountArgument arg, MongodTransaction context) {
-    return Status.ok(
-        context.getDocTransaction()
-            .countAll(req.getDatabase(), arg.getCollection())
-    );
+    BsonDocument query = arg.getQuery();
+
+    List<AttributePredicate> predicates;
+    try {
+      predicates = query == null ? Collections.emptyList() :
+          QueryFilterTranslator.translate("count", query);
+    } catch (CommandFailed ex) {
+      return Status.from(ex);
+    }
+
+    long count;
+    if (predicates.isEmpty()) {
+      count = context.getDocTransaction()
+          .countAll(req.getDatabase(), arg.getCollection());
+    } else {
+      count = context.getDocTransaction()
+          .countByPredicates(req.getDatabase(), arg.getCollection(), predicates);
+    }
+
+    count = Math.max(0, count - arg.getSkip());
+    if (arg.getLimit() > 0) {
+      count = Math.min(count, arg.getLimit());
+    }
+    return Status.ok(count);
   }
 
 }
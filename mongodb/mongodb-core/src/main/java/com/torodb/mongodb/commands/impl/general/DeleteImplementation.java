@@ -18,15 +18,13 @@
 
 package com.torodb.mongodb.commands.impl.general;
 
-import com.torodb.core.language.AttributeReference;
-import com.torodb.core.language.AttributeReference.Builder;
+import com.torodb.core.cursors.IteratorCursor;
+import com.torodb.core.language.AttributePredicate;
 import com.torodb.core.logging.LoggerFactory;
-import com.torodb.kvdocument.values.KvValue;
 import com.torodb.mongodb.commands.impl.WriteTransactionCommandImpl;
 import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteArgument;
 import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteStatement;
 import com.torodb.mongodb.core.WriteMongodTransaction;
-import com.torodb.mongowp.ErrorCode;
 import com.torodb.mongowp.Status;
 import com.torodb.mongowp.bson.BsonDocument;
 import com.torodb.mongowp.commands.Command;
@@ -35,6 +33,7 @@ import com.torodb.mongowp.exceptions.CommandFailed;
 import com.torodb.torod.WriteDocTransaction;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -58,26 +57,20 @@ public class DeleteImplementation implements WriteTransactionCommandImpl<DeleteA
     for (DeleteStatement deleteStatement : arg.getStatements()) {
       BsonDocument query = deleteStatement.getQuery();
 
-      switch (query.size()) {
-        case 0: {
-          deleted += context.getDocTransaction()
-              .deleteAll(req.getDatabase(), arg.getCollection());
-          break;
-        }
-        case 1: {
-          try {
-            logDeleteCommand(arg);
-            deleted += deleteByAttribute(context.getDocTransaction(), req.getDatabase(), arg
-                .getCollection(), query);
-          } catch (CommandFailed ex) {
-            return Status.from(ex);
-          }
-          break;
-        }
-        default: {
-          return Status.from(ErrorCode.COMMAND_FAILED,
-              "The given query is not supported right now");
-        }
+      List<AttributePredicate> predicates;
+      try {
+        predicates = QueryFilterTranslator.translate("delete", query);
+      } catch (CommandFailed ex) {
+        return Status.from(ex);
+      }
+
+      if (predicates.isEmpty()) {
+        deleted += context.getDocTransaction()
+            .deleteAll(req.getDatabase(), arg.getCollection());
+      } else {
+        logDeleteCommand(arg);
+        deleted += deleteByPredicates(context.getDocTransaction(), req.getDatabase(), arg
+            .getCollection(), predicates);
       }
     }
     context.getMetrics().getDeletes().mark(deleted);
@@ -85,11 +78,16 @@ public class DeleteImplementation implements WriteTransactionCommandImpl<DeleteA
 
   }
 
-  private long deleteByAttribute(WriteDocTransaction transaction, String db, String col,
-      BsonDocument query) throws CommandFailed {
-    Builder refBuilder = new AttributeReference.Builder();
-    KvValue<?> kvValue = AttrRefHelper.calculateValueAndAttRef(query, refBuilder);
-    return transaction.deleteByAttRef(db, col, refBuilder.build(), kvValue);
+  private long deleteByPredicates(WriteDocTransaction transaction, String db, String col,
+      List<AttributePredicate> predicates) {
+    List<Integer> dids = transaction.findByPredicates(db, col, predicates)
+        .asDidCursor()
+        .getRemaining();
+    if (dids.isEmpty()) {
+      return 0;
+    }
+    transaction.delete(db, col, new IteratorCursor<>(dids.iterator()));
+    return dids.size();
   }
 
   private void logDeleteCommand(DeleteArgument arg) {
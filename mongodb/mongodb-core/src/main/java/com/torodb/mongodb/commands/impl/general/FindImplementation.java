@@ -19,13 +19,14 @@
 package com.torodb.mongodb.commands.impl.general;
 
 import com.torodb.core.cursors.Cursor;
+import com.torodb.core.cursors.CursorId;
+import com.torodb.core.language.AttributePredicate;
 import com.torodb.core.language.AttributeReference;
-import com.torodb.core.language.AttributeReference.Builder;
+import com.torodb.core.language.FindOptions;
 import com.torodb.core.logging.LoggerFactory;
 import com.torodb.kvdocument.conversion.mongowp.ToBsonDocumentTranslator;
-import com.torodb.kvdocument.values.KvDocument;
-import com.torodb.kvdocument.values.KvValue;
 import com.torodb.mongodb.commands.impl.ReadTorodbCommandImpl;
+import com.torodb.mongodb.commands.impl.general.ProjectionTranslator.TranslatedProjection;
 import com.torodb.mongodb.commands.pojos.CursorResult;
 import com.torodb.mongodb.commands.signatures.general.FindCommand.FindArgument;
 import com.torodb.mongodb.commands.signatures.general.FindCommand.FindResult;
@@ -33,13 +34,16 @@ import com.torodb.mongodb.core.MongodTransaction;
 import com.torodb.mongowp.ErrorCode;
 import com.torodb.mongowp.Status;
 import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonDocument.Entry;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.Request;
 import com.torodb.mongowp.exceptions.CommandFailed;
-import com.torodb.torod.DocTransaction;
+import com.torodb.mongowp.exceptions.MongoException;
+import com.torodb.torod.cursors.TorodCursor;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.OptionalLong;
 
 import javax.inject.Inject;
@@ -63,29 +67,30 @@ public class FindImplementation implements ReadTorodbCommandImpl<FindArgument, F
 
     BsonDocument filter = arg.getFilter();
 
-    Cursor<BsonDocument> cursor;
+    List<AttributePredicate> predicates;
+    TranslatedProjection projection;
+    FindOptions options;
+    try {
+      predicates = QueryFilterTranslator.translate("find", filter);
+      projection = ProjectionTranslator.translate("find", arg.getProjection());
+      options = translateOptions(arg, projection);
+    } catch (CommandFailed ex) {
+      return Status.from(ex);
+    }
 
-    switch (filter.size()) {
-      case 0: {
-        cursor = context.getDocTransaction().findAll(req.getDatabase(), arg.getCollection())
-            .asDocCursor()
-            .transform(t -> t.getRoot())
-            .transform(ToBsonDocumentTranslator.getInstance());
-        break;
-      }
-      case 1: {
-        try {
-          cursor = getByAttributeCursor(context.getDocTransaction(), req.getDatabase(), arg
-              .getCollection(), filter)
-              .transform(ToBsonDocumentTranslator.getInstance());
-        } catch (CommandFailed ex) {
-          return Status.from(ex);
-        }
-        break;
-      }
-      default: {
-        return Status.from(ErrorCode.COMMAND_FAILED, "The given query is not supported right now");
-      }
+    TorodCursor torodCursor;
+    if (predicates.isEmpty() && options.isDefault()) {
+      torodCursor = context.getDocTransaction().findAll(req.getDatabase(), arg.getCollection());
+    } else {
+      torodCursor = context.getDocTransaction().findByPredicates(req.getDatabase(),
+          arg.getCollection(), predicates, options);
+    }
+    Cursor<BsonDocument> cursor = torodCursor
+        .asDocCursor()
+        .transform(t -> t.getRoot())
+        .transform(ToBsonDocumentTranslator.getInstance());
+    if (projection.hasEmbeddedExclusions()) {
+      cursor = cursor.transform(projection::applyEmbeddedExclusions);
     }
 
     if (Long.valueOf(arg.getBatchSize()) > (long) Integer.MAX_VALUE) {
@@ -96,22 +101,47 @@ public class FindImplementation implements ReadTorodbCommandImpl<FindArgument, F
     OptionalLong batchSize = arg.getEffectiveBatchSize();
     List<BsonDocument> batch = cursor.getNextBatch(batchSize.isPresent() ? (int) batchSize
         .getAsLong() : 101);
-    cursor.close();
+
+    try {
+      if (arg.isWantMore() && cursor.hasNext()) {
+        Optional<CursorId> cursorId = context.keepCursorOpen(req.getDatabase(),
+            arg.getCollection(), cursor, batch.size());
+        if (cursorId.isPresent()) {
+          return Status.ok(new FindResult(CursorResult.createCursor(req.getDatabase(), arg
+              .getCollection(), cursorId.get().getNumericId(), batch.iterator())));
+        }
+      }
+    } catch (MongoException ex) {
+      return Status.from(ex);
+    } finally {
+      cursor.close();
+    }
 
     return Status.ok(new FindResult(CursorResult.createSingleBatchCursor(req.getDatabase(), arg
         .getCollection(), batch.iterator())));
 
   }
 
-  private Cursor<KvDocument> getByAttributeCursor(DocTransaction transaction, String db,
-      String col, BsonDocument filter) throws CommandFailed {
+  private FindOptions translateOptions(FindArgument arg, TranslatedProjection projection)
+      throws CommandFailed {
+    FindOptions.Builder builder = new FindOptions.Builder()
+        .setSkip(arg.getSkip())
+        .setLimit(arg.getLimit());
 
-    Builder refBuilder = new AttributeReference.Builder();
-    KvValue<?> kvValue = AttrRefHelper.calculateValueAndAttRef(filter, refBuilder);
+    for (Entry<?> entry : arg.getSort()) {
+      if (entry.getKey().contains(".")) {
+        throw new CommandFailed("find", "Sort on embedded attributes is not supported right now");
+      }
+      if (!entry.getValue().isNumber()) {
+        throw new CommandFailed("find", "Sort on " + entry.getKey()
+            + " is not supported right now");
+      }
+      builder.addSortKey(new AttributeReference.Builder().addObjectKey(entry.getKey()).build(),
+          entry.getValue().asNumber().doubleValue() >= 0);
+    }
 
-    return transaction.findByAttRef(db, col, refBuilder.build(), kvValue)
-        .asDocCursor()
-        .transform(t -> t.getRoot());
+    builder.setProjection(projection.getTopLevelProjection());
+    return builder.build();
   }
 
   private void logFindCommand(FindArgument arg) {
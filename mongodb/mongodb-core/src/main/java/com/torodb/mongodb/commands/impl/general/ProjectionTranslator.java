@@ -0,0 +1,177 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.commands.impl.general;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.torodb.core.language.FindOptions.Projection;
+import com.torodb.mongodb.utils.DefaultIdUtils;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonDocument.Entry;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.exceptions.CommandFailed;
+import com.torodb.mongowp.utils.BsonDocumentBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Translates MongoDB projections into the top level {@link Projection} that can be pushed down to
+ * the backend.
+ *
+ * <p>Projections on embedded attributes and projection operators return the whole top level
+ * attribute, except embedded exclusions like <code>{"a.b": 0}</code>. The top level attribute of
+ * these is still read and the excluded path is removed from the reconstructed documents by
+ * {@link TranslatedProjection#applyEmbeddedExclusions(BsonDocument)}.
+ */
+public class ProjectionTranslator {
+
+  private static final Splitter PATH_SPLITTER = Splitter.on('.');
+
+  private ProjectionTranslator() {
+  }
+
+  /**
+   * Translates the given projection.
+   *
+   * @param commandName the command whose projection is translated, used on error messages
+   * @param projection  the projection to translate
+   * @throws CommandFailed if the projection mixes inclusions and exclusions
+   */
+  public static TranslatedProjection translate(String commandName, BsonDocument projection)
+      throws CommandFailed {
+    Set<String> included = new HashSet<>();
+    Set<String> excluded = new HashSet<>();
+    List<List<String>> embeddedExclusions = new ArrayList<>();
+    boolean excludeId = false;
+    for (Entry<?> entry : projection) {
+      List<String> path = PATH_SPLITTER.splitToList(entry.getKey());
+      BsonValue<?> value = entry.getValue();
+      boolean exclusion = value.isBoolean() && !value.asBoolean().getPrimitiveValue()
+          || value.isNumber() && value.asNumber().doubleValue() == 0;
+      if (entry.getKey().equals(DefaultIdUtils.ID_KEY)) {
+        excludeId = exclusion;
+      } else if (!exclusion) {
+        included.add(path.get(0));
+      } else if (path.size() == 1) {
+        excluded.add(path.get(0));
+      } else {
+        embeddedExclusions.add(path);
+      }
+    }
+    if (!included.isEmpty() && (!excluded.isEmpty() || !embeddedExclusions.isEmpty())) {
+      throw new CommandFailed(commandName,
+          "Projection cannot have a mix of inclusion and exclusion");
+    }
+    if (!included.isEmpty()) {
+      if (!excludeId) {
+        included.add(DefaultIdUtils.ID_KEY);
+      }
+      return new TranslatedProjection(Projection.including(included), ImmutableList.of());
+    }
+    if (excludeId) {
+      excluded.add(DefaultIdUtils.ID_KEY);
+    }
+    ImmutableList.Builder<List<String>> effectiveEmbeddedExclusions = ImmutableList.builder();
+    for (List<String> path : embeddedExclusions) {
+      if (!excluded.contains(path.get(0))) {
+        effectiveEmbeddedExclusions.add(ImmutableList.copyOf(path));
+      }
+    }
+    return new TranslatedProjection(Projection.excluding(excluded),
+        effectiveEmbeddedExclusions.build());
+  }
+
+  /**
+   * The result of a projection translation.
+   */
+  @Immutable
+  public static class TranslatedProjection {
+
+    private final Projection topLevelProjection;
+    private final ImmutableList<List<String>> embeddedExclusions;
+
+    private TranslatedProjection(Projection topLevelProjection,
+        ImmutableList<List<String>> embeddedExclusions) {
+      this.topLevelProjection = topLevelProjection;
+      this.embeddedExclusions = embeddedExclusions;
+    }
+
+    /**
+     * Returns the projection on the top level attributes, which can be evaluated by the backend.
+     */
+    public Projection getTopLevelProjection() {
+      return topLevelProjection;
+    }
+
+    /**
+     * Returns true iff {@link #applyEmbeddedExclusions(BsonDocument)} modifies the documents.
+     */
+    public boolean hasEmbeddedExclusions() {
+      return !embeddedExclusions.isEmpty();
+    }
+
+    /**
+     * Removes the excluded embedded attributes from the given document. As in MongoDB, paths
+     * that traverse arrays are removed from each document element of the array.
+     */
+    public BsonDocument applyEmbeddedExclusions(BsonDocument doc) {
+      BsonDocument result = doc;
+      for (List<String> path : embeddedExclusions) {
+        result = exclude(result, path, 0);
+      }
+      return result;
+    }
+
+    private static BsonDocument exclude(BsonDocument doc, List<String> path, int index) {
+      String key = path.get(index);
+      boolean last = index == path.size() - 1;
+      BsonDocumentBuilder builder = new BsonDocumentBuilder();
+      for (Entry<?> entry : doc) {
+        if (!entry.getKey().equals(key)) {
+          builder.appendUnsafe(entry.getKey(), entry.getValue());
+        } else if (!last) {
+          builder.appendUnsafe(entry.getKey(), exclude(entry.getValue(), path, index + 1));
+        }
+      }
+      return builder.build();
+    }
+
+    private static BsonValue<?> exclude(BsonValue<?> value, List<String> path, int index) {
+      if (value.isDocument()) {
+        return exclude(value.asDocument(), path, index);
+      }
+      if (value.isArray()) {
+        List<BsonValue<?>> newElements = new ArrayList<>();
+        for (BsonValue<?> element : value.asArray()) {
+          newElements.add(element.isDocument() ?
+              exclude(element.asDocument(), path, index) : element);
+        }
+        return DefaultBsonValues.newArray(newElements);
+      }
+      return value;
+    }
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.commands.impl.general;
+
+import com.google.common.base.Splitter;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.AttributePredicate.Operator;
+import com.torodb.core.language.AttributeReference;
+import com.torodb.kvdocument.conversion.mongowp.MongoWpConverter;
+import com.torodb.kvdocument.values.KvValue;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonDocument.Entry;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.exceptions.CommandFailed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates MongoDB query filters into lists of {@link AttributePredicate}.
+ *
+ * <p>Supported filters are conjunctions of equalities and the {@code $eq}, {@code $gt},
+ * {@code $gte}, {@code $lt}, {@code $lte}, {@code $in} and {@code $exists} operators on scalar
+ * values, optionally grouped with {@code $and}.
+ */
+public class QueryFilterTranslator {
+
+  private QueryFilterTranslator() {
+  }
+
+  /**
+   * Translates the given filter.
+   *
+   * @param commandName the command whose filter is translated, used on error messages
+   * @param filter      the filter to translate
+   * @return the predicates that must be fulfilled by the documents that match the filter. It is
+   *         empty if the filter matches all documents
+   * @throws CommandFailed if the filter is not supported
+   */
+  public static List<AttributePredicate> translate(String commandName, BsonDocument filter)
+      throws CommandFailed {
+    List<AttributePredicate> predicates = new ArrayList<>();
+    translate(commandName, filter, predicates);
+    return predicates;
+  }
+
+  private static void translate(String commandName, BsonDocument filter,
+      List<AttributePredicate> predicates) throws CommandFailed {
+    for (Entry<?> entry : filter) {
+      if (entry.getKey().equals("$and")) {
+        if (!entry.getValue().isArray()) {
+          throw new CommandFailed(commandName, "$and needs an array");
+        }
+        for (BsonValue<?> clause : entry.getValue().asArray()) {
+          if (!clause.isDocument()) {
+            throw new CommandFailed(commandName, "$and elements must be documents");
+          }
+          translate(commandName, clause.asDocument(), predicates);
+        }
+      } else if (entry.getKey().startsWith("$")) {
+        throw unsupported(commandName);
+      } else {
+        AttributeReference.Builder refBuilder = new AttributeReference.Builder();
+        translateAttribute(commandName, entry.getKey(), entry.getValue(), refBuilder,
+            predicates);
+      }
+    }
+  }
+
+  private static void translateAttribute(String commandName, String key, BsonValue<?> value,
+      AttributeReference.Builder refBuilder, List<AttributePredicate> predicates)
+      throws CommandFailed {
+    for (String subKey : Splitter.on('.').split(key)) {
+      refBuilder.addObjectKey(subKey);
+    }
+
+    if (value.isArray()) {
+      throw new CommandFailed(commandName, "Filters with arrays are not supported right now");
+    }
+    if (!value.isDocument()) {
+      predicates.add(AttributePredicate.eq(refBuilder.build(), MongoWpConverter.translate(value)));
+      return;
+    }
+
+    BsonDocument doc = value.asDocument();
+    if (doc.isEmpty()) {
+      throw unsupported(commandName);
+    }
+    if (!doc.getFirstEntry().getKey().startsWith("$")) {
+      //embedded documents are compared by their only attribute
+      if (doc.size() != 1) {
+        throw unsupported(commandName);
+      }
+      Entry<?> entry = doc.getFirstEntry();
+      translateAttribute(commandName, entry.getKey(), entry.getValue(), refBuilder, predicates);
+      return;
+    }
+
+    AttributeReference attRef = refBuilder.build();
+    for (Entry<?> entry : doc) {
+      predicates.add(translateOperator(commandName, attRef, entry.getKey(), entry.getValue()));
+    }
+  }
+
+  private static AttributePredicate translateOperator(String commandName,
+      AttributeReference attRef, String operator, BsonValue<?> value) throws CommandFailed {
+    switch (operator) {
+      case "$eq":
+        return AttributePredicate.eq(attRef, translateScalar(commandName, value));
+      case "$gt":
+        return AttributePredicate.range(attRef, Operator.GT, translateScalar(commandName, value));
+      case "$gte":
+        return AttributePredicate.range(attRef, Operator.GTE, translateScalar(commandName, value));
+      case "$lt":
+        return AttributePredicate.range(attRef, Operator.LT, translateScalar(commandName, value));
+      case "$lte":
+        return AttributePredicate.range(attRef, Operator.LTE, translateScalar(commandName, value));
+      case "$in": {
+        if (!value.isArray()) {
+          throw new CommandFailed(commandName, "$in needs an array");
+        }
+        List<KvValue<?>> values = new ArrayList<>();
+        for (BsonValue<?> element : value.asArray()) {
+          values.add(translateScalar(commandName, element));
+        }
+        return AttributePredicate.in(attRef, values);
+      }
+      case "$exists": {
+        boolean exists;
+        if (value.isBoolean()) {
+          exists = value.asBoolean().getPrimitiveValue();
+        } else if (value.isNumber()) {
+          exists = value.asNumber().doubleValue() != 0;
+        } else {
+          exists = true;
+        }
+        return AttributePredicate.exists(attRef, exists);
+      }
+      default:
+        throw new CommandFailed(commandName, "Operator " + operator
+            + " is not supported right now");
+    }
+  }
+
+  private static KvValue<?> translateScalar(String commandName, BsonValue<?> value)
+      throws CommandFailed {
+    if (value.isArray() || value.isDocument()) {
+      throw new CommandFailed(commandName,
+          "Filters with arrays or documents are not supported right now");
+    }
+    return MongoWpConverter.translate(value);
+  }
+
+  private static CommandFailed unsupported(String commandName) {
+    return new CommandFailed(commandName, "The given query is not supported right now");
+  }
+
+}
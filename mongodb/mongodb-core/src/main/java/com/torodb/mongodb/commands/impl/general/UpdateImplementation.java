@@ -24,8 +24,7 @@ import com.torodb.core.document.ToroDocument;
 import com.torodb.core.exceptions.UserWrappedException;
 import com.torodb.core.exceptions.user.UpdateException;
 import com.torodb.core.exceptions.user.UserException;
-import com.torodb.core.language.AttributeReference;
-import com.torodb.core.language.AttributeReference.Builder;
+import com.torodb.core.language.AttributePredicate;
 import com.torodb.kvdocument.conversion.mongowp.MongoWpConverter;
 import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.kvdocument.values.KvDocument.DocEntry;
@@ -48,12 +47,13 @@ import com.torodb.mongowp.bson.BsonDocument;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.Request;
 import com.torodb.mongowp.exceptions.CommandFailed;
-import com.torodb.torod.WriteDocTransaction;
+import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -76,27 +76,21 @@ public class UpdateImplementation
       for (UpdateStatement updateStatement : arg.getStatements()) {
         BsonDocument query = updateStatement.getQuery();
         UpdateAction updateAction = UpdateActionTranslator.translate(updateStatement.getUpdate());
+        List<AttributePredicate> predicates;
+        try {
+          predicates = QueryFilterTranslator.translate("update", query);
+        } catch (CommandFailed ex) {
+          return Status.from(ex);
+        }
         Cursor<ToroDocument> candidatesCursor;
-        switch (query.size()) {
-          case 0: {
-            candidatesCursor = context.getDocTransaction()
-                .findAll(req.getDatabase(), arg.getCollection())
-                .asDocCursor();
-            break;
-          }
-          case 1: {
-            try {
-              candidatesCursor = findByAttribute(context.getDocTransaction(), req.getDatabase(),
-                  arg.getCollection(), query);
-            } catch (CommandFailed ex) {
-              return Status.from(ex);
-            }
-            break;
-          }
-          default: {
-            return Status.from(ErrorCode.COMMAND_FAILED,
-                "The given query is not supported right now");
-          }
+        if (predicates.isEmpty()) {
+          candidatesCursor = context.getDocTransaction()
+              .findAll(req.getDatabase(), arg.getCollection())
+              .asDocCursor();
+        } else {
+          candidatesCursor = context.getDocTransaction()
+              .findByPredicates(req.getDatabase(), arg.getCollection(), predicates)
+              .asDocCursor();
         }
 
         if (candidatesCursor.hasNext()) {
@@ -112,19 +106,25 @@ public class UpdateImplementation
             Stream<KvDocument> updatedCandidates = candidatesbatchStream
                 .map(candidates -> {
                   updateStatus.increaseCandidates(candidates.size());
-                  context.getDocTransaction().delete(req.getDatabase(), arg.getCollection(),
-                      candidates);
-                  return candidates;
-                })
-                .flatMap(l -> l.stream())
-                .map(candidate -> {
                   try {
-                    updateStatus.increaseUpdated();
-                    return update(updateAction, candidate);
+                    List<Tuple2<ToroDocument, KvDocument>> updates =
+                        new ArrayList<>(candidates.size());
+                    for (ToroDocument candidate : candidates) {
+                      updateStatus.increaseUpdated();
+                      updates.add(new Tuple2<>(candidate, update(updateAction, candidate)));
+                    }
+                    List<Tuple2<ToroDocument, KvDocument>> toReplace = context
+                        .getDocTransaction()
+                        .updateInPlace(req.getDatabase(), arg.getCollection(), updates);
+                    context.getDocTransaction().delete(req.getDatabase(), arg.getCollection(),
+                        toReplace.stream().map(Tuple2::v1).collect(Collectors.toList()));
+                    return toReplace;
                   } catch (UserException userException) {
                     throw new UserWrappedException(userException);
                   }
-                });
+                })
+                .flatMap(l -> l.stream())
+                .map(Tuple2::v2);
             context.getDocTransaction().insert(req.getDatabase(), arg.getCollection(),
                 updatedCandidates);
           } catch (UserWrappedException userWrappedException) {
@@ -198,12 +198,4 @@ public class UpdateImplementation
     return builder.build();
   }
 
-  private Cursor<ToroDocument> findByAttribute(WriteDocTransaction transaction, String db,
-      String col, BsonDocument query) throws CommandFailed, UserException {
-    Builder refBuilder = new AttributeReference.Builder();
-    KvValue<?> kvValue = AttrRefHelper.calculateValueAndAttRef(query, refBuilder);
-
-    return transaction.findByAttRef(db, col, refBuilder.build(), kvValue).asDocCursor();
-  }
-
 }
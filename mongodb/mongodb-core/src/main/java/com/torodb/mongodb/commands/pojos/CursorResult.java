@@ -64,6 +64,11 @@ public abstract class CursorResult<E> {
     return new DefaultCursorResult<>(db, col, 0, stream.iterator());
   }
 
+  public static <E> CursorResult<E> createCursor(String db, String col, long cursorId,
+      Iterator<E> firstBatch) {
+    return new DefaultCursorResult<>(db, col, cursorId, firstBatch);
+  }
+
   public static <E> CursorResult<E> unmarshall(BsonDocument doc,
       Function<BsonValue<?>, E> transformation)
       throws BadValueException, TypesMismatchException, NoSuchKeyException {
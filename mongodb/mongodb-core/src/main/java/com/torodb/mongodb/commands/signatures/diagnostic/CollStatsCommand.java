@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableMap;
 import com.torodb.mongodb.commands.signatures.diagnostic.CollStatsCommand.CollStatsArgument;
 import com.torodb.mongodb.commands.signatures.diagnostic.CollStatsCommand.CollStatsReply;
 import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonNumber;
 import com.torodb.mongowp.bson.utils.DefaultBsonValues;
 import com.torodb.mongowp.commands.impl.AbstractNotAliasableCommand;
 import com.torodb.mongowp.exceptions.BadValueException;
@@ -75,7 +76,7 @@ public class CollStatsCommand
 
   @Override
   public BsonDocument marshallArg(CollStatsArgument request) {
-    throw new UnsupportedOperationException("Not supported yet."); //TODO
+    return request.marshall();
   }
 
   @Override
@@ -91,7 +92,7 @@ public class CollStatsCommand
   @Override
   public CollStatsReply unmarshallResult(BsonDocument resultDoc) throws
       BadValueException, TypesMismatchException, NoSuchKeyException {
-    throw new UnsupportedOperationException("Not supported yet."); //TODO
+    return CollStatsReply.unmarshall(resultDoc);
   }
 
   @Immutable
@@ -150,6 +151,14 @@ public class CollStatsCommand
       return new CollStatsArgument(collection, scale, verbose);
     }
 
+    private BsonDocument marshall() {
+      return new BsonDocumentBuilder()
+          .append(COLLECTION_FIELD, collection)
+          .appendNumber(SCALE_FIELD, scale)
+          .append(VERBOSE_FIELD, verbose)
+          .build();
+    }
+
     public String getCollection() {
       return collection;
     }
@@ -218,6 +227,62 @@ public class CollStatsCommand
       this.sizeByIndex = sizeByIndex;
     }
 
+    @Nonnull
+    public Number getCount() {
+      return count;
+    }
+
+    /**
+     * The total size of all records in the collection, affected by the scale argument.
+     */
+    @Nonnull
+    public Number getSize() {
+      return size;
+    }
+
+    @Nonnull
+    public Number getStorageSize() {
+      return storageSize;
+    }
+
+    public boolean isCapped() {
+      return capped;
+    }
+
+    private static CollStatsReply unmarshall(BsonDocument doc)
+        throws TypesMismatchException, BadValueException, NoSuchKeyException {
+      String ns = BsonReaderTool.getString(doc, NS_FIELD);
+      int dotIndex = ns.indexOf('.');
+      if (dotIndex <= 0) {
+        throw new BadValueException("Invalid namespace " + ns);
+      }
+      BsonNumber max = BsonReaderTool.getNumeric(doc, MAX_FIELD, null);
+
+      ImmutableMap.Builder<String, Long> sizeByIndex = ImmutableMap.builder();
+      BsonDocument indexSizes = BsonReaderTool.getDocument(doc, INDEX_SIZES_FIELD,
+          DefaultBsonValues.EMPTY_DOC);
+      for (BsonDocument.Entry<?> entry : indexSizes) {
+        if (entry.getValue().isNumber()) {
+          sizeByIndex.put(entry.getKey(), entry.getValue().asNumber().longValue());
+        }
+      }
+
+      return new CollStatsReply(
+          1,
+          ns.substring(0, dotIndex),
+          ns.substring(dotIndex + 1),
+          BsonReaderTool.getNumeric(doc, COUNT_FIELD, DefaultBsonValues.INT32_ZERO).longValue(),
+          BsonReaderTool.getNumeric(doc, SIZE_FIELD, DefaultBsonValues.INT32_ZERO).longValue(),
+          BsonReaderTool.getNumeric(doc, STORAGE_SIZE_FIELD, DefaultBsonValues.INT32_ZERO)
+              .longValue(),
+          null,
+          BsonReaderTool.getBoolean(doc, CAPPED_FIELD, false),
+          max == null ? null : max.longValue(),
+          BsonReaderTool.getDocument(doc, INDEX_DETAILS_FIELD, DefaultBsonValues.EMPTY_DOC),
+          sizeByIndex.build()
+      );
+    }
+
     private BsonDocument marshall() {
       BsonDocumentBuilder builder = new BsonDocumentBuilder();
       builder.append(NS_FIELD, database + '.' + collection);
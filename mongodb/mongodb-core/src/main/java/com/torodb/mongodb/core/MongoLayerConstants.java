@@ -63,6 +63,18 @@ public final class MongoLayerConstants {
    */
   public static final int MONGO_CURSOR_LIMIT = 101;
 
+  /**
+   * The time a cursor can be inactive before the server closes it. Obtained from
+   * <a href="https://docs.mongodb.com/manual/reference/parameters/#param.cursorTimeoutMillis">
+   * cursorTimeoutMillis</a>.
+   */
+  public static final long CURSOR_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
+  /**
+   * The max number of cursors a single connection can keep open at the same time.
+   */
+  public static final int MAX_CURSORS_PER_CONNECTION = 100;
+
   private MongoLayerConstants() {
   }
 
@@ -38,6 +38,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -131,9 +132,11 @@ class MongoSchemaOperationExecutor implements SchemaOperationExecutor {
 
   @Override
   public boolean createIndex(String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) throws UnexistentDatabaseException,
-      UnexistentCollectionException, UnsupportedIndexException {
-    return delegate.createIndex(dbName, colName, indexName, fields, unique);
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
+      throws UnexistentDatabaseException, UnexistentCollectionException,
+      UnsupportedIndexException {
+    return delegate.createIndex(dbName, colName, indexName, fields, unique, sparse,
+        background);
   }
 
   @Override
@@ -142,6 +145,11 @@ class MongoSchemaOperationExecutor implements SchemaOperationExecutor {
     return delegate.dropIndex(dbName, colName, indexName);
   }
 
+  @Override
+  public CompletableFuture<Void> getBackgroundIndexBuilds() {
+    return delegate.getBackgroundIndexBuilds();
+  }
+
   @Override
   public void close() {
     delegate.close();
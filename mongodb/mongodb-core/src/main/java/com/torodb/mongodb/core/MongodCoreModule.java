@@ -31,6 +31,8 @@ import com.torodb.mongodb.language.ObjectIdFactory;
 import com.torodb.mongowp.commands.CommandLibrary;
 import com.torodb.torod.TorodServer;
 
+import java.time.Clock;
+
 public class MongodCoreModule extends PrivateModule {
 
   private final MongoDbCoreConfig config;
@@ -63,13 +65,28 @@ public class MongodCoreModule extends PrivateModule {
         .toInstance(config.getSupervisor());
   }
 
+  @Provides
+  @Singleton
+  MongodCursorRegistry createMongodCursorRegistry(LoggerFactory loggerFactory, Clock clock,
+      MongodMetrics metrics) {
+    return new MongodCursorRegistry(
+        loggerFactory,
+        clock,
+        metrics,
+        MongoLayerConstants.CURSOR_TIMEOUT_MILLIS,
+        MongoLayerConstants.MAX_CURSORS_PER_CONNECTION
+    );
+  }
+
   @Provides
   ReadMongodTransactionFactory createReadMongodTransactionFactory(LoggerFactory loggerFactory,
-      CommandClassifier commandClassifier) {
-    return (docTrans) -> new ReadOnlyMongodTransactionImpl(
+      CommandClassifier commandClassifier, MongodCursorRegistry cursorRegistry) {
+    return (docTrans, connectionId) -> new ReadOnlyMongodTransactionImpl(
         loggerFactory,
         docTrans,
-        commandClassifier
+        commandClassifier,
+        cursorRegistry,
+        connectionId
     );
   }
 
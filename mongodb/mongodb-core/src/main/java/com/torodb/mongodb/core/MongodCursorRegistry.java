@@ -0,0 +1,324 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.core;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.torodb.core.cursors.Cursor;
+import com.torodb.core.cursors.CursorId;
+import com.torodb.core.logging.LoggerFactory;
+import com.torodb.mongowp.ErrorCode;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.exceptions.MongoException;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps the cursors that have not been fully consumed by the first batch of a query, so they can
+ * be read by later getMore requests.
+ *
+ * <p>Registered cursors must not depend on any open transaction, as open read transactions delay
+ * schema changes and a client can keep a cursor for a long time without consuming it. Cursors are
+ * closed once they are exhausted, killed or have been idle for more than the configured timeout.
+ */
+@ThreadSafe
+public class MongodCursorRegistry {
+
+  private final Logger logger;
+  private final Clock clock;
+  private final MongodMetrics metrics;
+  private final long cursorTimeoutMillis;
+  private final int maxCursorsPerConnection;
+  @GuardedBy("this")
+  private final Map<CursorId, OpenCursor> cursors = new HashMap<>();
+  @GuardedBy("this")
+  private final SetMultimap<Integer, CursorId> cursorsByConnection = HashMultimap.create();
+
+  public MongodCursorRegistry(LoggerFactory loggerFactory, Clock clock, MongodMetrics metrics,
+      long cursorTimeoutMillis, int maxCursorsPerConnection) {
+    this.logger = loggerFactory.apply(this.getClass());
+    this.clock = clock;
+    this.metrics = metrics;
+    this.cursorTimeoutMillis = cursorTimeoutMillis;
+    this.maxCursorsPerConnection = maxCursorsPerConnection;
+  }
+
+  /**
+   * Registers a cursor whose first batch has already been returned to the client.
+   *
+   * <p>If the cursor is registered, the registry takes the ownership of the cursor. Otherwise it
+   * is still owned by the caller.
+   *
+   * @param connectionId  the connection that opened the cursor
+   * @param db            the database the cursor reads from
+   * @param col           the collection the cursor reads from
+   * @param cursor        the cursor to register, which must not read from any transaction
+   * @param returnedSoFar the number of documents already returned by the cursor
+   * @return the id that identifies the cursor on getMore and killCursors requests
+   * @throws MongoException if the connection has too many open cursors
+   */
+  public CursorId register(int connectionId, String db, String col, Cursor<BsonDocument> cursor,
+      int returnedSoFar) throws MongoException {
+    OpenCursor openCursor;
+    synchronized (this) {
+      if (cursorsByConnection.get(connectionId).size() >= maxCursorsPerConnection) {
+        throw new MongoException(ErrorCode.COMMAND_FAILED, "Connection " + connectionId
+            + " cannot open more than " + maxCursorsPerConnection + " cursors");
+      }
+      CursorId cursorId = generateCursorId();
+      openCursor = new OpenCursor(cursorId, connectionId, db, col, cursor, returnedSoFar,
+          clock.millis());
+      cursors.put(cursorId, openCursor);
+      cursorsByConnection.put(connectionId, cursorId);
+    }
+    metrics.getOpenCursors().inc();
+    logger.trace("Registered cursor {} on {}.{}", openCursor.cursorId.getNumericId(), db, col);
+    return openCursor.cursorId;
+  }
+
+  /**
+   * Reads the next batch of the given cursor.
+   *
+   * <p>The cursor is closed and unregistered once it is exhausted or if there is an error while
+   * it is read.
+   *
+   * @param cursorId the cursor to read
+   * @param db       the database the request expects the cursor to read from
+   * @param col      the collection the request expects the cursor to read from
+   * @param maxSize  the maximum number of documents to read
+   * @return the read batch or an empty optional if there is no cursor with the given id
+   * @throws MongoException if the cursor reads from a different namespace than the requested one
+   */
+  public Optional<CursorBatch> getMore(CursorId cursorId, String db, String col, int maxSize)
+      throws MongoException {
+    metrics.getGetMores().mark();
+    OpenCursor openCursor;
+    synchronized (this) {
+      openCursor = cursors.get(cursorId);
+    }
+    if (openCursor == null) {
+      return Optional.empty();
+    }
+    if (!openCursor.db.equals(db) || !openCursor.col.equals(col)) {
+      throw new MongoException(ErrorCode.UNAUTHORIZED, "Requested getMore on namespace " + db
+          + "." + col + ", but cursor " + cursorId.getNumericId() + " belongs to a different "
+          + "namespace");
+    }
+    openCursor.lock.lock();
+    try {
+      if (openCursor.closed) {
+        return Optional.empty();
+      }
+      int startingFrom = openCursor.returned;
+      List<BsonDocument> docs;
+      boolean exhausted;
+      try {
+        docs = openCursor.cursor.getNextBatch(maxSize);
+        exhausted = !openCursor.cursor.hasNext();
+      } catch (RuntimeException ex) {
+        remove(openCursor);
+        throw ex;
+      }
+      openCursor.returned += docs.size();
+      openCursor.lastUse = clock.millis();
+      if (exhausted) {
+        remove(openCursor);
+        return Optional.of(new CursorBatch(0, startingFrom, docs));
+      }
+      return Optional.of(new CursorBatch(cursorId.getNumericId(), startingFrom, docs));
+    } finally {
+      openCursor.lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the given cursor.
+   *
+   * @return true iff there was a cursor with the given id
+   */
+  public boolean kill(CursorId cursorId) {
+    OpenCursor openCursor;
+    synchronized (this) {
+      openCursor = cursors.get(cursorId);
+    }
+    if (openCursor == null) {
+      return false;
+    }
+    openCursor.lock.lock();
+    try {
+      return remove(openCursor);
+    } finally {
+      openCursor.lock.unlock();
+    }
+  }
+
+  /**
+   * Closes all cursors opened by the given connection.
+   */
+  public void killAll(int connectionId) {
+    List<CursorId> toKill;
+    synchronized (this) {
+      toKill = new ArrayList<>(cursorsByConnection.get(connectionId));
+    }
+    toKill.forEach(this::kill);
+  }
+
+  /**
+   * Closes the cursors that have not been used on the configured timeout.
+   *
+   * <p>Cursors that are being read at the time this method is called are ignored.
+   */
+  public void evictIdle() {
+    long limit = clock.millis() - cursorTimeoutMillis;
+    List<OpenCursor> candidates = new ArrayList<>();
+    synchronized (this) {
+      for (OpenCursor openCursor : cursors.values()) {
+        if (openCursor.lastUse < limit) {
+          candidates.add(openCursor);
+        }
+      }
+    }
+    for (OpenCursor openCursor : candidates) {
+      if (openCursor.lock.tryLock()) {
+        try {
+          if (openCursor.lastUse < limit && remove(openCursor)) {
+            logger.debug("Cursor {} on {}.{} timed out", openCursor.cursorId.getNumericId(),
+                openCursor.db, openCursor.col);
+            metrics.getTimedOutCursors().mark();
+          }
+        } finally {
+          openCursor.lock.unlock();
+        }
+      }
+    }
+  }
+
+  /**
+   * Closes all registered cursors.
+   */
+  public void closeAll() {
+    List<CursorId> toKill;
+    synchronized (this) {
+      toKill = new ArrayList<>(cursors.keySet());
+    }
+    toKill.forEach(this::kill);
+  }
+
+  @GuardedBy("this")
+  private CursorId generateCursorId() {
+    CursorId cursorId;
+    do {
+      //ids must be positive and 0 is reserved to notify exhausted cursors
+      long id = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+      cursorId = new CursorId(id);
+    } while (cursorId.getNumericId() == 0 || cursors.containsKey(cursorId));
+    return cursorId;
+  }
+
+  /**
+   * Unregisters and closes the given cursor. It must be called while the cursor lock is held.
+   *
+   * @return false iff the cursor was already closed
+   */
+  private boolean remove(OpenCursor openCursor) {
+    assert openCursor.lock.isHeldByCurrentThread();
+    if (openCursor.closed) {
+      return false;
+    }
+    openCursor.closed = true;
+    synchronized (this) {
+      cursors.remove(openCursor.cursorId);
+      cursorsByConnection.remove(openCursor.connectionId, openCursor.cursorId);
+    }
+    metrics.getOpenCursors().dec();
+    openCursor.cursor.close();
+    return true;
+  }
+
+  /**
+   * A batch read from a registered cursor.
+   */
+  public static class CursorBatch {
+
+    private final long cursorId;
+    private final int startingFrom;
+    private final List<BsonDocument> docs;
+
+    public CursorBatch(long cursorId, int startingFrom, List<BsonDocument> docs) {
+      this.cursorId = cursorId;
+      this.startingFrom = startingFrom;
+      this.docs = docs;
+    }
+
+    /**
+     * Returns the id of the cursor or 0 if the cursor has been exhausted and closed.
+     */
+    public long getCursorId() {
+      return cursorId;
+    }
+
+    /**
+     * Returns the position of the first document of this batch on the cursor.
+     */
+    public int getStartingFrom() {
+      return startingFrom;
+    }
+
+    public List<BsonDocument> getDocs() {
+      return docs;
+    }
+  }
+
+  private static class OpenCursor {
+
+    private final CursorId cursorId;
+    private final int connectionId;
+    private final String db;
+    private final String col;
+    private final Cursor<BsonDocument> cursor;
+    private final ReentrantLock lock = new ReentrantLock();
+    @GuardedBy("lock")
+    private int returned;
+    @GuardedBy("lock")
+    private boolean closed = false;
+    private volatile long lastUse;
+
+    public OpenCursor(CursorId cursorId, int connectionId, String db, String col,
+        Cursor<BsonDocument> cursor, int returned, long lastUse) {
+      this.cursorId = cursorId;
+      this.connectionId = connectionId;
+      this.db = db;
+      this.col = col;
+      this.cursor = cursor;
+      this.returned = returned;
+      this.lastUse = lastUse;
+    }
+  }
+}
@@ -18,6 +18,7 @@
 
 package com.torodb.mongodb.core;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.torodb.core.metrics.ToroMetricRegistry;
@@ -40,6 +41,9 @@ public class MongodMetrics {
   private final Meter updateModified;
   private final Meter updateMatched;
   private final Meter updateUpserted;
+  private final Counter openCursors;
+  private final Meter getMores;
+  private final Meter timedOutCursors;
 
   @Inject
   public MongodMetrics(ToroMetricRegistry parentRegistry) {
@@ -52,6 +56,10 @@ public class MongodMetrics {
     updateModified = registry.meter("updateModified");
     updateMatched = registry.meter("updateMatched");
     updateUpserted = registry.meter("updateUpserted");
+
+    openCursors = registry.counter("openCursors");
+    getMores = registry.meter("getMores");
+    timedOutCursors = registry.meter("timedOutCursors");
   }
 
   public Timer getTimer(Command<?, ?> command) {
@@ -82,4 +90,16 @@ public class MongodMetrics {
   public Meter getUpdateUpserted() {
     return updateUpserted;
   }
+
+  public Counter getOpenCursors() {
+    return openCursors;
+  }
+
+  public Meter getGetMores() {
+    return getMores;
+  }
+
+  public Meter getTimedOutCursors() {
+    return timedOutCursors;
+  }
 }
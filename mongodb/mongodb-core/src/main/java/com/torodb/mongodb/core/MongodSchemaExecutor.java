@@ -19,12 +19,15 @@
 package com.torodb.mongodb.core;
 
 import com.google.common.base.Preconditions;
+import com.torodb.mongowp.ErrorCode;
 import com.torodb.mongowp.Status;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.CommandExecutor;
 import com.torodb.mongowp.commands.Request;
 import com.torodb.torod.SchemaOperationExecutor;
 
+import java.util.concurrent.CompletionException;
+
 /**
  *
  */
@@ -45,6 +48,28 @@ public class MongodSchemaExecutor implements AutoCloseable {
     return commandsExecutor.execute(request, command, arg, schemaOperationExecutor);
   }
 
+  /**
+   * Waits until the indexes created on background by the commands executed on this executor have
+   * been built.
+   *
+   * <p>Background builds start once this executor is closed, so this method must be called after
+   * {@link #close()}.
+   *
+   * @param result the result of the executed command
+   * @return the given result or an error if one of the background builds failed
+   */
+  public <R> Status<R> awaitBackgroundIndexBuilds(Status<R> result) {
+    Preconditions.checkState(schemaOperationExecutor.isClosed(), "This executor is not closed");
+    try {
+      schemaOperationExecutor.getBackgroundIndexBuilds().join();
+      return result;
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+      return Status.from(ErrorCode.CANNOT_CREATE_INDEX, "Background index build failed: "
+          + cause.getLocalizedMessage());
+    }
+  }
+
   public SchemaOperationExecutor getDocSchemaExecutor() {
     return schemaOperationExecutor;
   }
@@ -19,6 +19,7 @@
 package com.torodb.mongodb.core;
 
 import com.torodb.core.annotations.TorodbIdleService;
+import com.torodb.core.concurrent.ConcurrentToolsFactory;
 import com.torodb.core.logging.LoggerFactory;
 import com.torodb.core.services.IdleTorodbService;
 import com.torodb.core.supervision.Supervisor;
@@ -33,6 +34,8 @@ import com.torodb.torod.TorodServer;
 import com.torodb.torod.WriteDocTransaction;
 import org.apache.logging.log4j.Logger;
 
+import java.util.OptionalInt;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -43,6 +46,7 @@ import javax.inject.Singleton;
 @Singleton
 public class MongodServer extends IdleTorodbService {
 
+  private static final long CURSOR_EVICTION_PERIOD_SECONDS = 4;
   private final Logger logger;
   private final TorodServer torodServer;
   private final ReadMongodTransactionFactory readTransFactory;
@@ -50,6 +54,9 @@ public class MongodServer extends IdleTorodbService {
   private final MongodSchemaExecutorFactory executorFactory;
   private final Supervisor supervisor;
   private final CommandExecutor<? super MongodServer> serverExecutor;
+  private final MongodCursorRegistry cursorRegistry;
+  private final ConcurrentToolsFactory concurrentToolsFactory;
+  private ScheduledExecutorService cursorEvictionExecutor;
 
   @Inject
   public MongodServer(@TorodbIdleService ThreadFactory threadFactory,
@@ -59,7 +66,9 @@ public class MongodServer extends IdleTorodbService {
       WriteMongodTransactionFactory writeMongodTransactionFactory,
       MongodSchemaExecutorFactory executorFactory,
       CommandClassifier commandClassifier,
-      Supervisor supervisor) {
+      Supervisor supervisor,
+      MongodCursorRegistry cursorRegistry,
+      ConcurrentToolsFactory concurrentToolsFactory) {
     super(threadFactory);
     this.logger = loggerFactory.apply(this.getClass());
     this.torodServer = torodServer;
@@ -68,22 +77,41 @@ public class MongodServer extends IdleTorodbService {
     this.executorFactory = executorFactory;
     this.supervisor = supervisor;
     this.serverExecutor = commandClassifier.getServerCommandsExecutor();
+    this.cursorRegistry = cursorRegistry;
+    this.concurrentToolsFactory = concurrentToolsFactory;
   }
 
   public TorodServer getTorodServer() {
     return torodServer;
   }
 
+  public MongodCursorRegistry getCursorRegistry() {
+    return cursorRegistry;
+  }
+
   public MongodTransaction openReadTransaction(long timeout, TimeUnit timeUnit)
       throws TimeoutException {
     return readTransFactory.createReadTransaction(
-        torodServer.openReadTransaction(timeout, timeUnit)
+        torodServer.openReadTransaction(timeout, timeUnit),
+        OptionalInt.empty()
     );
   }
 
   public MongodTransaction openReadTransaction() throws TimeoutException {
     return readTransFactory.createReadTransaction(
-        torodServer.openReadTransaction()
+        torodServer.openReadTransaction(),
+        OptionalInt.empty()
+    );
+  }
+
+  /**
+   * Like {@link #openReadTransaction()}, but the returned transaction can keep its cursors open on
+   * the {@link MongodCursorRegistry} on behalf of the given connection.
+   */
+  public MongodTransaction openReadTransaction(int connectionId) throws TimeoutException {
+    return readTransFactory.createReadTransaction(
+        torodServer.openReadTransaction(),
+        OptionalInt.of(connectionId)
     );
   }
 
@@ -121,11 +149,19 @@ public class MongodServer extends IdleTorodbService {
   protected void startUp() throws Exception {
     logger.debug("Waiting for Torod server to be running");
     torodServer.awaitRunning();
+    cursorEvictionExecutor = concurrentToolsFactory
+        .createScheduledExecutorServiceWithMaxThreads("cursor-eviction", 1);
+    cursorEvictionExecutor.scheduleWithFixedDelay(cursorRegistry::evictIdle,
+        CURSOR_EVICTION_PERIOD_SECONDS, CURSOR_EVICTION_PERIOD_SECONDS, TimeUnit.SECONDS);
     logger.debug("MongodServer ready to run");
   }
 
   @Override
   protected void shutDown() throws Exception {
+    if (cursorEvictionExecutor != null) {
+      cursorEvictionExecutor.shutdownNow();
+    }
+    cursorRegistry.closeAll();
   }
 
   public <A, R> Status<R> execute(Request req, Command<? super A, ? super R> command, A arg) {
@@ -133,7 +169,7 @@ public class MongodServer extends IdleTorodbService {
   }
 
   static interface ReadMongodTransactionFactory {
-    MongodTransaction createReadTransaction(DocTransaction docTrans);
+    MongodTransaction createReadTransaction(DocTransaction docTrans, OptionalInt connectionId);
   }
 
   static interface WriteMongodTransactionFactory {
@@ -18,12 +18,18 @@
 
 package com.torodb.mongodb.core;
 
+import com.torodb.core.cursors.Cursor;
+import com.torodb.core.cursors.CursorId;
 import com.torodb.core.transaction.RollbackException;
 import com.torodb.mongowp.Status;
+import com.torodb.mongowp.bson.BsonDocument;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.Request;
+import com.torodb.mongowp.exceptions.MongoException;
 import com.torodb.torod.DocTransaction;
 
+import java.util.Optional;
+
 /**
  *
  */
@@ -36,6 +42,21 @@ public interface MongodTransaction extends AutoCloseable {
 
   public void rollback();
 
+  /**
+   * Keeps the remaining documents of the given cursor on the {@link MongodCursorRegistry}, so
+   * they can be consumed by later getMore requests once this transaction is closed.
+   *
+   * <p>The documents are read before this method returns, so the kept cursor does not depend on
+   * the underlying {@link DocTransaction}. The given cursor is still owned by the caller, who must
+   * close it.
+   *
+   * @return the id of the kept cursor or an empty optional if this transaction cannot keep
+   *         cursors open
+   * @throws MongoException if the cursor cannot be kept because there are too many open cursors
+   */
+  public Optional<CursorId> keepCursorOpen(String db, String col, Cursor<BsonDocument> cursor,
+      int returnedSoFar) throws MongoException;
+
   @Override
   public void close();
 
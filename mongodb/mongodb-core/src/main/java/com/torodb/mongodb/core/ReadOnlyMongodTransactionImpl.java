@@ -18,14 +18,22 @@
 
 package com.torodb.mongodb.core;
 
+import com.torodb.core.cursors.Cursor;
+import com.torodb.core.cursors.CursorId;
+import com.torodb.core.cursors.IteratorCursor;
 import com.torodb.mongodb.commands.CommandClassifier;
 import com.torodb.mongowp.Status;
+import com.torodb.mongowp.bson.BsonDocument;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.CommandExecutor;
 import com.torodb.mongowp.commands.Request;
+import com.torodb.mongowp.exceptions.MongoException;
 import com.torodb.torod.DocTransaction;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
 
 class ReadOnlyMongodTransactionImpl extends MongodTransactionImpl implements
@@ -33,12 +41,17 @@ class ReadOnlyMongodTransactionImpl extends MongodTransactionImpl implements
 
   private final DocTransaction docTransaction;
   private final CommandExecutor<? super ReadOnlyMongodTransactionImpl> commandsExecutor;
+  private final MongodCursorRegistry cursorRegistry;
+  private final OptionalInt connectionId;
 
   public ReadOnlyMongodTransactionImpl(Function<Class<?>, Logger> loggerFactory,
-      DocTransaction docTransaction, CommandClassifier commandClassifier) {
+      DocTransaction docTransaction, CommandClassifier commandClassifier,
+      MongodCursorRegistry cursorRegistry, OptionalInt connectionId) {
     super(loggerFactory);
     this.docTransaction = docTransaction;
     this.commandsExecutor = commandClassifier.getReadCommandsExecutor();
+    this.cursorRegistry = cursorRegistry;
+    this.connectionId = connectionId;
   }
 
   @Override
@@ -46,6 +59,18 @@ class ReadOnlyMongodTransactionImpl extends MongodTransactionImpl implements
     return docTransaction;
   }
 
+  @Override
+  public Optional<CursorId> keepCursorOpen(String db, String col, Cursor<BsonDocument> cursor,
+      int returnedSoFar) throws MongoException {
+    if (!connectionId.isPresent()) {
+      return Optional.empty();
+    }
+    //the documents are read now, so the cursor does not keep this transaction open
+    List<BsonDocument> remaining = cursor.getRemaining();
+    return Optional.of(cursorRegistry.register(connectionId.getAsInt(), db, col,
+        new IteratorCursor<>(remaining.iterator()), returnedSoFar));
+  }
+
   @Override
   protected <A, R> Status<R> executeProtected(Request req,
       Command<? super A, ? super R> command, A arg) {
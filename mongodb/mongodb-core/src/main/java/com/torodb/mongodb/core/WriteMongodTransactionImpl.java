@@ -18,17 +18,21 @@
 
 package com.torodb.mongodb.core;
 
+import com.torodb.core.cursors.Cursor;
+import com.torodb.core.cursors.CursorId;
 import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.transaction.RollbackException;
 import com.torodb.mongodb.commands.CommandClassifier;
 import com.torodb.mongodb.language.ObjectIdFactory;
 import com.torodb.mongowp.Status;
+import com.torodb.mongowp.bson.BsonDocument;
 import com.torodb.mongowp.commands.Command;
 import com.torodb.mongowp.commands.CommandExecutor;
 import com.torodb.mongowp.commands.Request;
 import com.torodb.torod.WriteDocTransaction;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
@@ -74,6 +78,13 @@ class WriteMongodTransactionImpl extends MongodTransactionImpl implements WriteM
     return commandsExecutor.execute(req, command, arg, this);
   }
 
+  @Override
+  public Optional<CursorId> keepCursorOpen(String db, String col, Cursor<BsonDocument> cursor,
+      int returnedSoFar) {
+    //cursors cannot outlive a write transaction, as it must be committed or rolled back
+    return Optional.empty();
+  }
+
   @Override
   public void commit() throws RollbackException, UserException {
     torodTransaction.commit();
@@ -0,0 +1,161 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.torodb.mongodb.utils.DbCloner.CloningException;
+import com.torodb.mongowp.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Stores the progress of a {@link DbCloner}, so an interrupted clone can be resumed.
+ *
+ * <p>When a checkpoint is used, collections are read sorted by {@code _id}, so the progress of
+ * each of their ranges is the last {@code _id} whose document has been cloned.
+ */
+@ThreadSafe
+public interface CloneCheckpoint {
+
+  /**
+   * Returns the stored progress of the given collection or null if it was not started.
+   */
+  @Nullable
+  public CollectionCheckpoint getCollection(String database, String collection);
+
+  /**
+   * Stores the progress of a collection, replacing the one that was stored before.
+   *
+   * @throws CloningException if the progress cannot be stored
+   */
+  public void storeCollection(CollectionCheckpoint checkpoint) throws CloningException;
+
+  @Immutable
+  public static class CollectionCheckpoint {
+
+    private final String database;
+    private final String collection;
+    private final boolean resumable;
+    private final ImmutableList<RangeCheckpoint> ranges;
+
+    /**
+     * @param resumable true iff the collection can be resumed from the last cloned {@code _id} of
+     *                  each range. That is only possible when all its {@code _id} values are
+     *                  object ids, as queries on {@code _id} only match values of the same type
+     *                  and other types may not be compared by the local backend as MongoDB does.
+     */
+    public CollectionCheckpoint(String database, String collection, boolean resumable,
+        List<RangeCheckpoint> ranges) {
+      Preconditions.checkArgument(!ranges.isEmpty(), "At least one range is required");
+      this.database = database;
+      this.collection = collection;
+      this.resumable = resumable;
+      this.ranges = ImmutableList.copyOf(ranges);
+    }
+
+    public String getDatabase() {
+      return database;
+    }
+
+    public String getCollection() {
+      return collection;
+    }
+
+    public boolean isResumable() {
+      return resumable;
+    }
+
+    public ImmutableList<RangeCheckpoint> getRanges() {
+      return ranges;
+    }
+
+    public boolean isFinished() {
+      return ranges.stream().allMatch(RangeCheckpoint::isFinished);
+    }
+
+    public CollectionCheckpoint withRange(int index, RangeCheckpoint range) {
+      List<RangeCheckpoint> newRanges = new ArrayList<>(ranges);
+      newRanges.set(index, range);
+      return new CollectionCheckpoint(database, collection, resumable, newRanges);
+    }
+  }
+
+  /**
+   * The progress of a range of {@code _id} values of a collection.
+   */
+  @Immutable
+  public static class RangeCheckpoint {
+
+    @Nullable
+    private final BsonValue<?> lowerBound;
+    @Nullable
+    private final BsonValue<?> upperBound;
+    @Nullable
+    private final BsonValue<?> lastId;
+    private final boolean finished;
+
+    /**
+     * @param lowerBound the inclusive lower bound or null if the range is not lower bounded
+     * @param upperBound the exclusive upper bound or null if the range is not upper bounded
+     * @param lastId     the highest {@code _id} such that it and all lower ones on the range have
+     *                   been cloned or null if none has been cloned
+     * @param finished   true iff all documents on the range have been cloned
+     */
+    public RangeCheckpoint(@Nullable BsonValue<?> lowerBound, @Nullable BsonValue<?> upperBound,
+        @Nullable BsonValue<?> lastId, boolean finished) {
+      this.lowerBound = lowerBound;
+      this.upperBound = upperBound;
+      this.lastId = lastId;
+      this.finished = finished;
+    }
+
+    @Nullable
+    public BsonValue<?> getLowerBound() {
+      return lowerBound;
+    }
+
+    @Nullable
+    public BsonValue<?> getUpperBound() {
+      return upperBound;
+    }
+
+    @Nullable
+    public BsonValue<?> getLastId() {
+      return lastId;
+    }
+
+    public boolean isFinished() {
+      return finished;
+    }
+
+    public RangeCheckpoint withLastId(BsonValue<?> newLastId) {
+      return new RangeCheckpoint(lowerBound, upperBound, newLastId, finished);
+    }
+
+    public RangeCheckpoint asFinished() {
+      return new RangeCheckpoint(lowerBound, upperBound, lastId, true);
+    }
+  }
+}
@@ -27,10 +27,12 @@ import com.torodb.mongowp.client.core.MongoClient;
 import com.torodb.mongowp.exceptions.MongoException;
 import com.torodb.mongowp.exceptions.NotMasterException;
 
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public interface DbCloner extends Service {
 
@@ -48,6 +50,23 @@ public interface DbCloner extends Service {
       MongodServer localServer, @Nonnull CloneOptions opts)
       throws CloningException, NotMasterException, MongoException;
 
+  /**
+   * Clones several databases, each one on a local database with the same name.
+   *
+   * <p>Collections of all databases are cloned at the same time, so implementations can use the
+   * local resources better than when {@link #cloneDatabase(String, MongoClient, MongodServer,
+   * CloneOptions) cloneDatabase} is called once per database. The iteration order of
+   * {@code opts} is used as a hint of which databases should be cloned first.
+   *
+   * @throws CloningException
+   * @throws NotMasterException if {@link CloneOptions#getWritePermissionSupplier()
+   *                            opts.getWritePermissionSupplier().get()} is evaluated to false on
+   *                            any of the given options
+   */
+  public void cloneDatabases(@Nonnull MongoClient remoteClient, MongodServer localServer,
+      @Nonnull List<CloneOptions> opts)
+      throws CloningException, NotMasterException, MongoException;
+
   public static class CloneOptions {
 
     private final boolean cloneData;
@@ -59,6 +78,8 @@ public interface DbCloner extends Service {
     private final Supplier<Boolean> writePermissionSupplier;
     private final Predicate<String> collectionFilter;
     private final IndexFilter indexFilter;
+    @Nullable
+    private final CloneCheckpoint checkpoint;
 
     public CloneOptions(
         boolean cloneData,
@@ -70,6 +91,21 @@ public interface DbCloner extends Service {
         Supplier<Boolean> writePermissionSupplier,
         Predicate<String> collectionFilter,
         IndexFilter indexFilter) {
+      this(cloneData, cloneIndexes, slaveOk, snapshot, dbToClone, collsToIgnore,
+          writePermissionSupplier, collectionFilter, indexFilter, null);
+    }
+
+    public CloneOptions(
+        boolean cloneData,
+        boolean cloneIndexes,
+        boolean slaveOk,
+        boolean snapshot,
+        String dbToClone,
+        Set<String> collsToIgnore,
+        Supplier<Boolean> writePermissionSupplier,
+        Predicate<String> collectionFilter,
+        IndexFilter indexFilter,
+        @Nullable CloneCheckpoint checkpoint) {
       this.cloneData = cloneData;
       this.cloneIndexes = cloneIndexes;
       this.slaveOk = slaveOk;
@@ -79,6 +115,7 @@ public interface DbCloner extends Service {
       this.writePermissionSupplier = writePermissionSupplier;
       this.collectionFilter = collectionFilter;
       this.indexFilter = indexFilter;
+      this.checkpoint = checkpoint;
     }
 
     /**
@@ -144,6 +181,15 @@ public interface DbCloner extends Service {
     public IndexFilter getIndexFilter() {
       return indexFilter;
     }
+
+    /**
+     * @return the checkpoint where the progress is stored and from which interrupted collections
+     *         are resumed or null if the clone cannot be resumed
+     */
+    @Nullable
+    public CloneCheckpoint getCheckpoint() {
+      return checkpoint;
+    }
   }
 
   public static class CloningException extends ToroRuntimeException {
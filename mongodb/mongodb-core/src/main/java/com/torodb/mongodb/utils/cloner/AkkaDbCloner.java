@@ -58,6 +58,7 @@ import com.torodb.mongodb.commands.pojos.index.IndexOptions.KnownType;
 import com.torodb.mongodb.commands.pojos.index.type.AscIndexType;
 import com.torodb.mongodb.commands.pojos.index.type.DefaultIndexTypeVisitor;
 import com.torodb.mongodb.commands.pojos.index.type.DescIndexType;
+import com.torodb.mongodb.commands.pojos.index.type.HashedIndexType;
 import com.torodb.mongodb.commands.pojos.index.type.IndexType;
 import com.torodb.mongodb.commands.signatures.admin.CreateCollectionCommand;
 import com.torodb.mongodb.commands.signatures.admin.CreateCollectionCommand.CreateCollectionArgument;
@@ -66,28 +67,44 @@ import com.torodb.mongodb.commands.signatures.admin.CreateIndexesCommand.CreateI
 import com.torodb.mongodb.commands.signatures.admin.CreateIndexesCommand.CreateIndexesResult;
 import com.torodb.mongodb.commands.signatures.admin.DropCollectionCommand;
 import com.torodb.mongodb.commands.signatures.admin.ListCollectionsCommand.ListCollectionsResult.Entry;
+import com.torodb.mongodb.commands.signatures.diagnostic.CollStatsCommand;
+import com.torodb.mongodb.commands.signatures.diagnostic.CollStatsCommand.CollStatsArgument;
+import com.torodb.mongodb.commands.signatures.diagnostic.CollStatsCommand.CollStatsReply;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteArgument;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteStatement;
 import com.torodb.mongodb.commands.signatures.general.InsertCommand;
 import com.torodb.mongodb.commands.signatures.general.InsertCommand.InsertArgument;
 import com.torodb.mongodb.commands.signatures.general.InsertCommand.InsertResult;
 import com.torodb.mongodb.core.MongodSchemaExecutor;
 import com.torodb.mongodb.core.MongodServer;
 import com.torodb.mongodb.core.WriteMongodTransaction;
+import com.torodb.mongodb.utils.CloneCheckpoint;
+import com.torodb.mongodb.utils.CloneCheckpoint.CollectionCheckpoint;
+import com.torodb.mongodb.utils.CloneCheckpoint.RangeCheckpoint;
 import com.torodb.mongodb.utils.DbCloner;
 import com.torodb.mongodb.utils.ListCollectionsRequester;
 import com.torodb.mongodb.utils.ListIndexesRequester;
+import com.torodb.mongodb.utils.DefaultIdUtils;
 import com.torodb.mongodb.utils.NamespaceUtil;
 import com.torodb.mongowp.Status;
 import com.torodb.mongowp.WriteConcern;
 import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonType;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
 import com.torodb.mongowp.client.core.MongoClient;
 import com.torodb.mongowp.client.core.MongoConnection;
+import com.torodb.mongowp.client.core.MongoConnection.RemoteCommandResponse;
 import com.torodb.mongowp.commands.Request;
 import com.torodb.mongowp.commands.impl.CollectionCommandArgument;
 import com.torodb.mongowp.commands.pojos.MongoCursor;
+import com.torodb.mongowp.commands.pojos.MongoCursor.Batch;
 import com.torodb.mongowp.exceptions.MongoException;
 import com.torodb.mongowp.exceptions.NotMasterException;
 import com.torodb.mongowp.messages.request.QueryMessage.QueryOption;
 import com.torodb.mongowp.messages.request.QueryMessage.QueryOptions;
+import com.torodb.mongowp.utils.BsonDocumentBuilder;
 import com.torodb.torod.SchemaOperationExecutor;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.logging.log4j.Logger;
@@ -95,18 +112,33 @@ import org.apache.logging.log4j.Logger;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
 /**
  * This class is used to clone databases using a client, so remote and local databases can be
  * cloned.
@@ -126,6 +158,21 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
   private static final FieldIndexOrderingConverterVisitor fieldIndexOrderingConverterVisitor =
       new FieldIndexOrderingConverterVisitor();
   
+  /**
+   * The minimum number of documents a collection must have on each {@code _id} range when it is
+   * split to be cloned in parallel.
+   */
+  private static final long MIN_DOCS_PER_RANGE = 1_000_000;
+  private static final BsonDocument ID_ASC_SORT =
+      DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY, DefaultBsonValues.newInt(1));
+  private static final BsonDocument ID_DESC_SORT =
+      DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY, DefaultBsonValues.newInt(-1));
+  private static final BsonDocument ID_PROJECTION = ID_ASC_SORT;
+  /**
+   * The minimum time between two stores of the progress of a range.
+   */
+  private static final long CHECKPOINT_MILLIS = 10_000;
+
   private final Logger logger;
   /**
    * The number of parallel task that can be used to clone each collection.
@@ -139,6 +186,7 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
   private final CommitHeuristic commitHeuristic;
   private final Clock clock;
   private final Retrier retrier;
+  private final ConcurrentToolsFactory concurrentToolsFactory;
 
   public AkkaDbCloner(ThreadFactory threadFactory,
       ConcurrentToolsFactory concurrentToolsFactory,
@@ -159,6 +207,7 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     this.commitHeuristic = commitHeuristic;
     this.clock = clock;
     this.retrier = retrier;
+    this.concurrentToolsFactory = concurrentToolsFactory;
   }
 
   @Override
@@ -179,44 +228,76 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
       logger.warn("Trying to clone a database to itself! Ignoring it");
       return;
     }
-    String fromDb = opts.getDbToClone();
 
-    CursorResult<Entry> listCollections = getRemoteCollections(remoteClient, fromDb);
-
-    if (!opts.getWritePermissionSupplier().get()) {
-      throw new NotMasterException("Destiny database cannot be written");
-    }
+    cloneDatabases(Collections.singletonList(new Pair<>(dstDb, opts)), remoteClient,
+        localServer);
+  }
 
-    List<Entry> collsToClone = getCollsToClone(listCollections, fromDb, opts);
+  @Override
+  public void cloneDatabases(MongoClient remoteClient, MongodServer localServer,
+      List<CloneOptions> optsList) throws CloningException, NotMasterException,
+      MongoException {
+    Preconditions.checkState(isRunning(), "This db cloner is not running");
 
-    if (!opts.getWritePermissionSupplier().get()) {
-      throw new NotMasterException("Destiny database cannot be written "
-          + "after get collections info");
+    List<Pair<String, CloneOptions>> dbsToClone = new ArrayList<>(optsList.size());
+    for (CloneOptions opts : optsList) {
+      if (!remoteClient.isRemote()) {
+        logger.warn("Trying to clone database {} to itself! Ignoring it", opts.getDbToClone());
+        continue;
+      }
+      dbsToClone.add(new Pair<>(opts.getDbToClone(), opts));
     }
 
-    cloneDatabase(collsToClone, dstDb, remoteClient, localServer, opts);
+    cloneDatabases(dbsToClone, remoteClient, localServer);
   }
 
-  private void cloneDatabase(List<Entry> collsToClone, String dstDb, MongoClient remoteClient,
-      MongodServer localServer, CloneOptions opts) throws MongoException {
+  private void cloneDatabases(List<Pair<String, CloneOptions>> dbsToClone,
+      MongoClient remoteClient, MongodServer localServer) throws MongoException {
 
-    if (collsToClone.isEmpty()) {
+    Map<String, List<CollectionToClone>> collsByDb = new LinkedHashMap<>();
+    for (Pair<String, CloneOptions> dbToClone : dbsToClone) {
+      List<CollectionToClone> collsToClone = getCollectionsToClone(remoteClient,
+          dbToClone.first(), dbToClone.second());
+      if (!collsToClone.isEmpty()) {
+        collsByDb.put(dbToClone.first(), collsToClone);
+      }
+    }
+
+    if (collsByDb.isEmpty()) {
       return;
     }
 
-    prepareCollections(collsToClone, localServer, dstDb);
+    for (String dstDb : collsByDb.keySet()) {
+      List<Entry> collsToPrepare = new ArrayList<>();
+      for (CollectionToClone collToClone : collsByDb.get(dstDb)) {
+        if (collToClone.getPreviousCheckpoint() == null) {
+          collsToPrepare.add(collToClone.getEntry());
+        }
+      }
+      if (!collsToPrepare.isEmpty()) {
+        prepareCollections(collsToPrepare, localServer, dstDb);
+      }
+    }
 
-    enableImportMode(localServer, dstDb);
-    
-    try (MongoConnection remoteConnection = remoteClient.openConnection()) {
-      if (opts.isCloneData()) {
-        cloneData(collsToClone, remoteConnection, dstDb, localServer, opts);
+    List<String> dbsOnImportMode = new ArrayList<>(collsByDb.size());
+    try {
+      for (String dstDb : collsByDb.keySet()) {
+        enableImportMode(localServer, dstDb);
+        dbsOnImportMode.add(dstDb);
       }
-      if (opts.isCloneIndexes()) {
-        cloneIndexes(collsToClone, remoteConnection, dstDb, localServer, opts);
+
+      List<CollectionToClone> allColls = new ArrayList<>();
+      collsByDb.values().forEach(allColls::addAll);
+
+      cloneData(allColls, remoteClient, localServer);
+
+      try (MongoConnection remoteConnection = remoteClient.openConnection()) {
+        cloneIndexes(allColls, remoteConnection, localServer);
       }
     } finally {
-      disableImportMode(localServer, dstDb);
+      for (String dstDb : dbsOnImportMode) {
+        disableImportMode(localServer, dstDb);
+      }
     }
   }
 
@@ -235,43 +316,295 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     }
   }
 
-  private void cloneData(List<Entry> collsToClone, MongoConnection remoteConnection, String dstDb,
-      MongodServer localServer, CloneOptions opts) throws MongoException {
+  /**
+   * Returns the {@code collStats} of the given remote collection or null if they cannot be
+   * obtained.
+   */
+  @Nullable
+  private CollStatsReply getRemoteStats(MongoConnection remoteConnection, String fromDb,
+      String collName) {
+    try {
+      RemoteCommandResponse<CollStatsReply> response = remoteConnection.execute(
+          CollStatsCommand.INSTANCE,
+          fromDb,
+          true,
+          new CollStatsArgument(collName, 1, false)
+      );
+      if (response.isOk()) {
+        return response.getCommandReply().get();
+      }
+      logger.debug("It was impossible to get the stats of {}.{}: {}", fromDb, collName,
+          response.getErrorMsg());
+    } catch (MongoException ex) {
+      logger.debug("It was impossible to get the stats of " + fromDb + "." + collName, ex);
+    }
+    return null;
+  }
+
+  /**
+   * Clones the data of the given collections.
+   *
+   * <p>Collections are cloned in parallel, starting with the biggest ones, so the largest
+   * collection does not start when all others have already finished. The number of collections
+   * cloned at the same time is limited by the number of write transactions the local server can
+   * execute concurrently, as each collection uses up to {@link #maxParallelInsertTasks} of them.
+   *
+   * <p>Collections with more than {@link #MIN_DOCS_PER_RANGE} documents are split in
+   * {@code _id} ranges that are read with their own remote cursors, so a single remote cursor
+   * does not limit the throughput of the biggest collections.
+   */
+  private void cloneData(List<CollectionToClone> collsToClone, MongoClient remoteClient,
+      MongodServer localServer) throws MongoException {
+
+    List<CollectionToClone> sortedColls = new ArrayList<>(collsToClone.size());
+    for (CollectionToClone collToClone : collsToClone) {
+      CollectionCheckpoint previousCheckpoint = collToClone.getPreviousCheckpoint();
+      if (collToClone.getOptions().isCloneData()
+          && (previousCheckpoint == null || !previousCheckpoint.isFinished())) {
+        sortedColls.add(collToClone);
+      }
+    }
+    if (sortedColls.isEmpty()) {
+      return;
+    }
+    sortedColls.sort(Comparator.comparingLong(CollectionToClone::getSize).reversed());
+
+    int writeBudget = localServer.getTorodServer().getMaxConcurrentWriteTransactions();
+    int maxParallelTasks = Math.max(1, writeBudget / maxParallelInsertTasks);
+
+    List<CollectionRange> rangesToClone = new ArrayList<>(sortedColls.size());
+    try (MongoConnection remoteConnection = remoteClient.openConnection()) {
+      for (CollectionToClone collToClone : sortedColls) {
+        rangesToClone.addAll(getRangesToClone(remoteConnection, collToClone, maxParallelTasks));
+      }
+    }
+
+    int parallelTasks = Math.min(rangesToClone.size(), maxParallelTasks);
+    logger.info("Cloning {} collections split in {} ranges, {} at the same time",
+        sortedColls.size(), rangesToClone.size(), parallelTasks);
 
-    String fromDb = opts.getDbToClone();
     Materializer materializer = ActorMaterializer.create(getActorSystem());
-    
-    for (Entry entry : collsToClone) {
-      logger.info("Cloning collection data {}.{} into {}.{}",
-          fromDb, entry.getCollectionName(), dstDb,
-          entry.getCollectionName());
+    AtomicBoolean aborted = new AtomicBoolean(false);
+    ExecutorService executor = concurrentToolsFactory.createExecutorServiceWithMaxThreads(
+        "db-cloner-collection", parallelTasks);
+    try {
+      List<Future<?>> futures = new ArrayList<>(rangesToClone.size());
+      for (CollectionRange range : rangesToClone) {
+        futures.add(executor.submit(() -> {
+          if (!aborted.get()) {
+            cloneCollection(remoteClient, localServer, materializer, range, aborted);
+          }
+          return null;
+        }));
+      }
 
-      try {
-        cloneCollection(localServer, remoteConnection, dstDb,
-            opts, materializer, entry);
-      } catch (CompletionException completionException) {
-        Throwable cause = completionException.getCause();
-        if (cause instanceof RollbackException) {
-          throw (RollbackException) cause;
+      //all tasks are waited, so no collection is being cloned once this method finishes
+      Throwable firstError = null;
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException ex) {
+          aborted.set(true);
+          if (firstError == null) {
+            firstError = ex.getCause();
+          }
         }
+      }
+      if (firstError != null) {
+        throwCloningError(firstError);
+      }
+    } catch (InterruptedException ex) {
+      aborted.set(true);
+      Thread.currentThread().interrupt();
+      throw new CloningException("Interrupted while cloning collections", ex);
+    } finally {
+      executor.shutdown();
+    }
+  }
 
-        throw completionException;
+  private List<CollectionRange> getRangesToClone(MongoConnection remoteConnection,
+      CollectionToClone collToClone, int maxRanges) throws MongoException {
+    CollectionCheckpoint collCheckpoint = collToClone.getPreviousCheckpoint();
+    boolean resumed = collCheckpoint != null;
+    if (!resumed) {
+      collCheckpoint = splitInRanges(remoteConnection, collToClone, maxRanges);
+    }
+
+    CheckpointTracker tracker = null;
+    CloneCheckpoint checkpoint = collToClone.getOptions().getCheckpoint();
+    if (checkpoint != null) {
+      tracker = new CheckpointTracker(checkpoint, collCheckpoint);
+      if (!resumed) {
+        tracker.store();
       }
     }
+
+    List<RangeCheckpoint> rangeCheckpoints = collCheckpoint.getRanges();
+    List<CollectionRange> ranges = new ArrayList<>(rangeCheckpoints.size());
+    for (int i = 0; i < rangeCheckpoints.size(); i++) {
+      RangeCheckpoint rangeCheckpoint = rangeCheckpoints.get(i);
+      if (!rangeCheckpoint.isFinished()) {
+        ranges.add(new CollectionRange(collToClone, rangeCheckpoint, i, rangeCheckpoints.size(),
+            tracker, collCheckpoint.isResumable(), resumed));
+      }
+    }
+    return ranges;
   }
 
-  private void cloneIndexes(List<Entry> collsToClone, MongoConnection remoteConnection, 
-      String dstDb, MongodServer localServer, CloneOptions opts) {
-    String fromDb = opts.getDbToClone();
-    for (Entry entry : collsToClone) {
+  /**
+   * Splits the given collection in up to {@code maxRanges} {@code _id} ranges of, at least,
+   * {@link #MIN_DOCS_PER_RANGE} documents.
+   *
+   * <p>Range bounds are found by probing the remote collection sorted by {@code _id}. As queries
+   * on {@code _id} only match values of the same type as the bound, collections whose lowest and
+   * highest {@code _id} have different types are not split and cannot be resumed.
+   *
+   * <p>Collections are only resumable when all their {@code _id} are object ids. Values of other
+   * types can be mixed on the same type bracket (like integers and doubles) or can be compared
+   * differently by the local backend (like strings), so the documents that must be deleted to
+   * resume a range would not be found.
+   */
+  private CollectionCheckpoint splitInRanges(MongoConnection remoteConnection,
+      CollectionToClone collToClone, int maxRanges) throws MongoException {
+    String dstDb = collToClone.getDstDb();
+    String collName = collToClone.getEntry().getCollectionName();
+    int numRanges = (int) Math.min(maxRanges, collToClone.getCount() / MIN_DOCS_PER_RANGE);
+    if (numRanges <= 1 && collToClone.getOptions().getCheckpoint() == null) {
+      return createSingleRange(dstDb, collName, false);
+    }
+
+    BsonValue<?> min = probeId(remoteConnection, collToClone, null, 0, ID_ASC_SORT);
+    BsonValue<?> max = probeId(remoteConnection, collToClone, null, 0, ID_DESC_SORT);
+    if (min == null || max == null) {
+      return createSingleRange(dstDb, collName, true);
+    }
+    if (!haveSameTypeBracket(min, max)) {
+      logger.info("{}.{} won't be split nor resumed because its _id values have different types",
+          collToClone.getOptions().getDbToClone(), collName);
+      return createSingleRange(dstDb, collName, false);
+    }
+    //the object id bracket only contains object ids, so all _id values are object ids too
+    boolean resumable = isObjectId(min) && isObjectId(max);
+    if (numRanges <= 1) {
+      return createSingleRange(dstDb, collName, resumable);
+    }
+
+    //each bound is searched after the previous one, so they are always increasing
+    int docsPerRange = (int) Math.min(collToClone.getCount() / numRanges, Integer.MAX_VALUE);
+    List<BsonValue<?>> bounds = new ArrayList<>(numRanges - 1);
+    BsonValue<?> lastBound = null;
+    for (int i = 1; i < numRanges; i++) {
+      BsonValue<?> bound = probeId(remoteConnection, collToClone, lastBound, docsPerRange,
+          ID_ASC_SORT);
+      if (bound == null) {
+        break;
+      }
+      bounds.add(bound);
+      lastBound = bound;
+    }
+
+    List<RangeCheckpoint> ranges = new ArrayList<>(bounds.size() + 1);
+    BsonValue<?> lowerBound = null;
+    for (BsonValue<?> bound : bounds) {
+      ranges.add(new RangeCheckpoint(lowerBound, bound, null, false));
+      lowerBound = bound;
+    }
+    ranges.add(new RangeCheckpoint(lowerBound, null, null, false));
+
+    logger.info("{}.{} will be cloned in {} ranges of around {} documents",
+        collToClone.getOptions().getDbToClone(), collName, ranges.size(), docsPerRange);
+    return new CollectionCheckpoint(dstDb, collName, resumable, ranges);
+  }
+
+  private CollectionCheckpoint createSingleRange(String dstDb, String collName,
+      boolean resumable) {
+    return new CollectionCheckpoint(dstDb, collName, resumable,
+        Collections.singletonList(new RangeCheckpoint(null, null, null, false)));
+  }
+
+  /**
+   * Returns the {@code _id} of the document that is found after skipping {@code skip} documents
+   * whose {@code _id} is higher than {@code after} or null if there is no such document.
+   */
+  @Nullable
+  private BsonValue<?> probeId(MongoConnection remoteConnection, CollectionToClone collToClone,
+      @Nullable BsonValue<?> after, int skip, BsonDocument sortBy) throws MongoException {
+    BsonDocument query = after == null
+        ? DefaultBsonValues.EMPTY_DOC
+        : DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY,
+            DefaultBsonValues.newDocument("$gt", after));
+    EnumSet<QueryOption> queryFlags = EnumSet.noneOf(QueryOption.class);
+    if (collToClone.getOptions().isSlaveOk()) {
+      queryFlags.add(QueryOption.SLAVE_OK);
+    }
+
+    MongoCursor<BsonDocument> cursor = remoteConnection.query(
+        collToClone.getOptions().getDbToClone(),
+        collToClone.getEntry().getCollectionName(),
+        query,
+        skip,
+        1,
+        new QueryOptions(queryFlags),
+        sortBy,
+        ID_PROJECTION
+    );
+    try {
+      Batch<BsonDocument> batch = cursor.fetchBatch();
+      try {
+        if (!batch.hasNext()) {
+          return null;
+        }
+        return batch.next().get(DefaultIdUtils.ID_KEY);
+      } finally {
+        batch.close();
+      }
+    } finally {
+      cursor.close();
+    }
+  }
+
+  private static boolean isObjectId(BsonValue<?> value) {
+    return value.getType() == BsonType.OBJECT_ID;
+  }
+
+  private static boolean haveSameTypeBracket(BsonValue<?> value1, BsonValue<?> value2) {
+    if (value1.isNumber() || value2.isNumber()) {
+      return value1.isNumber() && value2.isNumber();
+    }
+    return value1.getType().equals(value2.getType());
+  }
+
+  private void throwCloningError(Throwable error) throws MongoException {
+    if (error instanceof CompletionException && error.getCause() instanceof RollbackException) {
+      throw (RollbackException) error.getCause();
+    }
+    if (error instanceof MongoException) {
+      throw (MongoException) error;
+    }
+    if (error instanceof RuntimeException) {
+      throw (RuntimeException) error;
+    }
+    if (error instanceof Error) {
+      throw (Error) error;
+    }
+    throw new CloningException(error);
+  }
+
+  private void cloneIndexes(List<CollectionToClone> collsToClone,
+      MongoConnection remoteConnection, MongodServer localServer) {
+    for (CollectionToClone collToClone : collsToClone) {
+      CloneOptions opts = collToClone.getOptions();
+      if (!opts.isCloneIndexes()) {
+        continue;
+      }
+      String dstDb = collToClone.getDstDb();
+      String collName = collToClone.getEntry().getCollectionName();
       logger.info("Cloning collection indexes {}.{} into {}.{}",
-          fromDb, entry.getCollectionName(), dstDb,
-          entry.getCollectionName());
+          opts.getDbToClone(), collName, dstDb, collName);
 
       try {
         cloneIndex(localServer, dstDb, dstDb, remoteConnection,
-            opts, entry.getCollectionName(),
-            entry.getCollectionName());
+            opts, collName, collName);
       } catch (CompletionException completionException) {
         Throwable cause = completionException.getCause();
         if (cause instanceof RollbackException) {
@@ -283,30 +616,59 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     }
   }
 
+  private void cloneCollection(MongoClient remoteClient, MongodServer localServer,
+      Materializer materializer, CollectionRange range, AtomicBoolean aborted)
+      throws MongoException {
+    logger.info("Cloning collection data {}.{} into {}",
+        range.getCollection().getOptions().getDbToClone(),
+        range.getCollection().getEntry().getCollectionName(), range.getDescription());
+
+    try (MongoConnection remoteConnection = remoteClient.openConnection()) {
+      cloneCollection(localServer, remoteConnection, materializer, range, aborted);
+    }
+  }
+
   private void cloneCollection(MongodServer localServer,
-      MongoConnection remoteConnection, String toDb, CloneOptions opts,
-      Materializer materializer, Entry collToClone) throws MongoException {
+      MongoConnection remoteConnection, Materializer materializer, CollectionRange range,
+      AtomicBoolean aborted) throws MongoException {
+
+    String toDb = range.getCollection().getDstDb();
+    String collName = range.getCollection().getEntry().getCollectionName();
+    String description = range.getDescription();
 
-    String collName = collToClone.getCollectionName();
+    if (range.isResumed()) {
+      //documents after the last checkpoint may have been cloned, so they are cloned again
+      deleteDocuments(localServer, toDb, collName, range.getQuery());
+    }
 
-    MongoCursor<BsonDocument> cursor = openCursor(remoteConnection, collName, opts);
+    MongoCursor<BsonDocument> cursor = openCursor(remoteConnection, collName,
+        range.getQuery(), range.isSortedById() ? ID_ASC_SORT : null,
+        range.getCollection().getOptions());
 
     CollectionIterator iterator = new CollectionIterator(cursor, retrier);
 
-    Source<BsonDocument, NotUsed> source = Source.fromIterator(() -> iterator)
+    AtomicLong batchCounter = new AtomicLong();
+    Source<DocBatch, NotUsed> source = Source.fromIterator(() -> iterator)
+        .takeWhile(doc -> !aborted.get())
         .buffer(cursorBatchBufferSize, OverflowStrategy.backpressure())
-        .async();
+        .async()
+        //TODO(gortiz): This is not the best way to use the heuristic,
+        //as it only be asked once per collection, but there is no
+        //builtin stage that groupes using a dynamic function. This kind
+        //of stage is very useful and should be implemented.
+        .grouped(commitHeuristic.getDocumentsPerCommit())
+        .map(docs -> new DocBatch(batchCounter.getAndIncrement(), docs));
 
-    Flow<BsonDocument, Pair<Integer, Integer>, NotUsed> inserterFlow;
+    Flow<DocBatch, InsertedBatch, NotUsed> inserterFlow;
     if (maxParallelInsertTasks == 1) {
       inserterFlow = createCloneDocsWorker(localServer, toDb, collName);
     } else {
-      Graph<FlowShape<BsonDocument, Pair<Integer, Integer>>, NotUsed> graph = GraphDSL.create(
+      Graph<FlowShape<DocBatch, InsertedBatch>, NotUsed> graph = GraphDSL.create(
           builder -> {
-            UniformFanOutShape<BsonDocument, BsonDocument> balance = builder.add(
+            UniformFanOutShape<DocBatch, DocBatch> balance = builder.add(
                 Balance.create(maxParallelInsertTasks, false)
             );
-            UniformFanInShape<Pair<Integer, Integer>, Pair<Integer, Integer>> merge = builder.add(
+            UniformFanInShape<InsertedBatch, InsertedBatch> merge = builder.add(
                 Merge.create(maxParallelInsertTasks, false)
             );
 
@@ -323,11 +685,10 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     }
     try {
       source.via(inserterFlow)
-          .fold(new Tuple3<>(0, 0, clock.instant()), (acum, batch) ->
-              postInsertFold(toDb, collName, acum, batch))
+          .fold(new RangeProgress(clock.instant()), (progress, batch) ->
+              postInsertFold(range, progress, batch))
           .toMat(
-              Sink.foreach(tuple -> logCollectionCloning(
-                  toDb, collName, tuple.t1(), tuple.t2())),
+              Sink.foreach(progress -> finishRange(range, progress, aborted.get())),
               Keep.right())
           .run(materializer)
           .toCompletableFuture()
@@ -335,56 +696,69 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     } catch (CompletionException ex) {
       Throwable cause = ex.getCause();
       if (cause != null) {
-        throw new CloningException("Error while cloning " + toDb + "." + collName, cause);
+        throw new CloningException("Error while cloning " + description, cause);
       }
       throw ex;
     }
   }
 
-  private Tuple3<Integer, Integer, Instant> postInsertFold(String toDb,
-      String toCol, Tuple3<Integer, Integer, Instant> acum,
-      Pair<Integer, Integer> newBatch) {
-    Instant lastLogInstant = acum.t3();
-
+  private RangeProgress postInsertFold(CollectionRange range, RangeProgress progress,
+      InsertedBatch newBatch) {
     long now = clock.millis();
-    long millisSinceLastLog = now - lastLogInstant.toEpochMilli();
+    long millisSinceLastLog = now - progress.getLastLogInstant().toEpochMilli();
     if (shouldLogCollectionCloning(millisSinceLastLog)) {
-      logCollectionCloning(toDb, toCol, acum.t1(), acum.t2());
-      lastLogInstant = Instant.ofEpochMilli(now);
+      logCollectionCloning(range.getDescription(), progress.getInsertedDocs(),
+          progress.getRequestedDocs());
+      progress.setLastLogInstant(Instant.ofEpochMilli(now));
+    }
+
+    progress.add(newBatch);
+
+    CheckpointTracker tracker = range.getTracker();
+    if (tracker != null && range.isSortedById() && progress.getLastId() != null
+        && now - progress.getLastCheckpointInstant().toEpochMilli() > CHECKPOINT_MILLIS) {
+      tracker.storeProgress(range.getIndex(), progress.getLastId());
+      progress.setLastCheckpointInstant(Instant.ofEpochMilli(now));
+    }
+    return progress;
+  }
+
+  private void finishRange(CollectionRange range, RangeProgress progress, boolean aborted) {
+    logCollectionCloning(range.getDescription(), progress.getInsertedDocs(),
+        progress.getRequestedDocs());
+
+    CheckpointTracker tracker = range.getTracker();
+    if (tracker == null) {
+      return;
+    }
+    if (!aborted) {
+      tracker.storeFinished(range.getIndex());
+    } else if (range.isSortedById() && progress.getLastId() != null) {
+      tracker.storeProgress(range.getIndex(), progress.getLastId());
     }
-    return new Tuple3<>(
-        acum.t1() + newBatch.first(),
-        acum.t2() + newBatch.second(),
-        lastLogInstant
-    );
   }
 
   private boolean shouldLogCollectionCloning(long millisSinceLog) {
     return millisSinceLog > 10000;
   }
 
-  private void logCollectionCloning(String toDb, String toCol, int insertedDocs,
+  private void logCollectionCloning(String description, int insertedDocs,
       int requestedDocs) {
     if (insertedDocs != requestedDocs) {
       throw new AssertionError("Detected an inconsistency between inserted documents ( "
           + insertedDocs + ") andrequested documents to insert (" + requestedDocs + ")");
     }
-    logger.info("{} documents have been cloned to {}.{}", insertedDocs, toDb, toCol);
+    logger.info("{} documents have been cloned to {}", insertedDocs, description);
   }
 
-  private Flow<BsonDocument, Pair<Integer, Integer>, NotUsed> createCloneDocsWorker(
+  private Flow<DocBatch, InsertedBatch, NotUsed> createCloneDocsWorker(
       MongodServer localServer, String toDb, String collection) {
-    return Flow.of(BsonDocument.class)
-        //TODO(gortiz): This is not the best way to use the heuristic,
-        //as it only be asked once per collection, but there is no
-        //builtin stage that groupes using a dynamic function. This kind
-        //of stage is very useful and should be implemented.
-        .grouped(commitHeuristic.getDocumentsPerCommit())
-        .map(docs -> retrier.retry(
+    return Flow.of(DocBatch.class)
+        .map(batch -> retrier.retry(
             () -> new Tuple3<>(
                 clock.instant(),
-                insertDocuments(localServer, toDb, collection, docs),
-                docs.size()
+                insertDocuments(localServer, toDb, collection, batch.getDocs()),
+                batch
             ),
             Hint.FREQUENT_ROLLBACK, Hint.TIME_SENSIBLE
         ))
@@ -393,7 +767,7 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
               tuple.t2(),
               clock.millis() - tuple.t1().toEpochMilli()
           );
-          return new Pair<>(tuple.t2(), tuple.t3());
+          return new InsertedBatch(tuple.t3(), tuple.t2());
         });
   }
 
@@ -432,8 +806,39 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     }
   }
 
+  private void deleteDocuments(MongodServer localServer, String toDb, String collection,
+      @Nullable BsonDocument query) {
+    try {
+      retrier.retry(() -> {
+        try (WriteMongodTransaction transaction = localServer.openWriteTransaction()) {
+          Status<Long> deleteResult = transaction.execute(
+              new Request(toDb, null, true, null),
+              DeleteCommand.INSTANCE,
+              new DeleteArgument.Builder(collection)
+                  .addStatement(new DeleteStatement(
+                      query == null ? DefaultBsonValues.EMPTY_DOC : query, false))
+                  .build()
+          );
+          if (!deleteResult.isOk()) {
+            throw new CloningException("Error while deleting documents to resume "
+                + toDb + "." + collection + ": " + deleteResult.getErrorMsg());
+          }
+          transaction.commit();
+          return null;
+        } catch (UserException ex) {
+          throw new CloningException("Unexpected error while deleting documents", ex);
+        } catch (TimeoutException ex) {
+          throw new RollbackException(ex);
+        }
+      }, Hint.INFREQUENT_ROLLBACK);
+    } catch (RetrierGiveUpException ex) {
+      throw new CloningException(ex);
+    }
+  }
+
   private MongoCursor<BsonDocument> openCursor(MongoConnection remoteConnection, String collection,
-      CloneOptions opts) throws MongoException {
+      @Nullable BsonDocument query, @Nullable BsonDocument sortBy, CloneOptions opts)
+      throws MongoException {
     //TODO: enable exhaust?
     EnumSet<QueryOption> queryFlags = EnumSet.of(QueryOption.NO_CURSOR_TIMEOUT);
     if (opts.isSlaveOk()) {
@@ -442,15 +847,82 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     return remoteConnection.query(
         opts.getDbToClone(),
         collection,
-        null,
+        query,
         0,
         0,
         new QueryOptions(queryFlags),
-        null,
+        sortBy,
         null
     );
   }
 
+  private List<CollectionToClone> getCollectionsToClone(MongoClient remoteClient,
+      String dstDb, CloneOptions opts) throws MongoException {
+    String fromDb = opts.getDbToClone();
+
+    CursorResult<Entry> listCollections = getRemoteCollections(remoteClient, fromDb);
+
+    if (!opts.getWritePermissionSupplier().get()) {
+      throw new NotMasterException("Destiny database cannot be written");
+    }
+
+    List<Entry> entries = getCollsToClone(listCollections, fromDb, opts);
+
+    if (!opts.getWritePermissionSupplier().get()) {
+      throw new NotMasterException("Destiny database cannot be written "
+          + "after get collections info");
+    }
+
+    List<CollectionToClone> collsToClone = new ArrayList<>(entries.size());
+    if (entries.isEmpty()) {
+      return collsToClone;
+    }
+    try (MongoConnection remoteConnection = remoteClient.openConnection()) {
+      for (Entry entry : entries) {
+        CollStatsReply stats = opts.isCloneData()
+            ? getRemoteStats(remoteConnection, fromDb, entry.getCollectionName())
+            : null;
+        CollectionCheckpoint previousCheckpoint = getPreviousCheckpoint(dstDb, entry, opts);
+        if (stats == null) {
+          collsToClone.add(new CollectionToClone(dstDb, opts, entry, 0, 0,
+              previousCheckpoint));
+        } else {
+          collsToClone.add(new CollectionToClone(dstDb, opts, entry,
+              stats.getSize().longValue(), stats.getCount().longValue(), previousCheckpoint));
+        }
+      }
+    }
+    return collsToClone;
+  }
+
+  /**
+   * Returns the checkpoint from which the given collection can be resumed or null if it must be
+   * cloned from scratch.
+   */
+  @Nullable
+  private CollectionCheckpoint getPreviousCheckpoint(String dstDb, Entry entry,
+      CloneOptions opts) {
+    if (opts.getCheckpoint() == null) {
+      return null;
+    }
+    String collName = entry.getCollectionName();
+    CollectionCheckpoint previous = opts.getCheckpoint().getCollection(dstDb, collName);
+    if (previous == null) {
+      return null;
+    }
+    if (previous.isFinished()) {
+      logger.info("Collection {}.{} was already cloned", dstDb, collName);
+      return previous;
+    }
+    if (!previous.isResumable()) {
+      logger.info("Collection {}.{} cannot be resumed and will be cloned again", dstDb,
+          collName);
+      return null;
+    }
+    logger.info("Collection {}.{} will be resumed", dstDb, collName);
+    return previous;
+  }
+
   private List<Entry> getCollsToClone(CursorResult<Entry> listCollections, String fromDb,
       CloneOptions opts) {
     List<Entry> collsToClone = new ArrayList<>();
@@ -615,22 +1087,6 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
             indexEntry.getOtherProps());
       }
 
-      if (indexEntry.isSparse()) {
-        logger.info("Sparse index are not supported. Ignoring option");
-        indexEntry = new IndexOptions(
-            indexEntry.getVersion(), 
-            indexEntry.getName(), 
-            indexEntry.getDatabase(), 
-            indexEntry.getCollection(), 
-            indexEntry.isBackground(),
-            indexEntry.isUnique(),
-            false,
-            indexEntry.getExpireAfterSeconds(), 
-            indexEntry.getKeys(), 
-            indexEntry.getStorageEngine(), 
-            indexEntry.getOtherProps());
-      }
-
       boolean skipIndex = false;
       for (IndexOptions.Key indexKey : indexEntry.getKeys()) {
         AttributeReference.Builder attRefBuilder = new AttributeReference.Builder();
@@ -693,6 +1149,305 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     );
   }
 
+  private static class CollectionToClone {
+
+    private final String dstDb;
+    private final CloneOptions options;
+    private final Entry entry;
+    private final long size;
+    private final long count;
+    @Nullable
+    private final CollectionCheckpoint previousCheckpoint;
+
+    public CollectionToClone(String dstDb, CloneOptions options, Entry entry, long size,
+        long count, @Nullable CollectionCheckpoint previousCheckpoint) {
+      this.dstDb = dstDb;
+      this.options = options;
+      this.entry = entry;
+      this.size = size;
+      this.count = count;
+      this.previousCheckpoint = previousCheckpoint;
+    }
+
+    public String getDstDb() {
+      return dstDb;
+    }
+
+    public CloneOptions getOptions() {
+      return options;
+    }
+
+    public Entry getEntry() {
+      return entry;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Returns the checkpoint stored by a previous clone of this collection or null if the
+     * collection must be cloned from scratch.
+     */
+    @Nullable
+    public CollectionCheckpoint getPreviousCheckpoint() {
+      return previousCheckpoint;
+    }
+  }
+
+  /**
+   * A range of {@code _id} values of a collection, which is cloned with its own remote cursor.
+   */
+  private static class CollectionRange {
+
+    private final CollectionToClone collection;
+    private final RangeCheckpoint checkpoint;
+    private final int index;
+    private final int total;
+    @Nullable
+    private final CheckpointTracker tracker;
+    private final boolean resumable;
+    private final boolean resumed;
+
+    public CollectionRange(CollectionToClone collection, RangeCheckpoint checkpoint, int index,
+        int total, @Nullable CheckpointTracker tracker, boolean resumable, boolean resumed) {
+      this.collection = collection;
+      this.checkpoint = checkpoint;
+      this.index = index;
+      this.total = total;
+      this.tracker = tracker;
+      this.resumable = resumable;
+      this.resumed = resumed;
+    }
+
+    public CollectionToClone getCollection() {
+      return collection;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    @Nullable
+    public CheckpointTracker getTracker() {
+      return tracker;
+    }
+
+    /**
+     * Returns true iff the documents of this range must be read sorted by {@code _id}, which is
+     * required to track its progress.
+     */
+    public boolean isSortedById() {
+      return tracker != null && resumable;
+    }
+
+    /**
+     * Returns true iff this range was started by a previous clone, so some of its documents could
+     * be already stored.
+     */
+    public boolean isResumed() {
+      return resumed;
+    }
+
+    /**
+     * Returns the query that selects the documents on this range that have not been cloned yet or
+     * null if all documents of the collection are selected.
+     */
+    @Nullable
+    public BsonDocument getQuery() {
+      return createRangeQuery(checkpoint);
+    }
+
+    public String getDescription() {
+      String collName = collection.getDstDb() + '.' + collection.getEntry().getCollectionName();
+      if (total == 1) {
+        return collName;
+      }
+      return collName + " (range " + (index + 1) + '/' + total + ')';
+    }
+  }
+
+  /**
+   * Returns the query that selects the documents on the given range that have not been cloned yet
+   * or null if all documents of the collection are selected.
+   *
+   * <p>The same query is used to read the remote documents and to delete the local ones that may
+   * have been cloned after the last checkpoint.
+   */
+  @Nullable
+  static BsonDocument createRangeQuery(RangeCheckpoint checkpoint) {
+    BsonValue<?> lastId = checkpoint.getLastId();
+    if (checkpoint.getLowerBound() == null && checkpoint.getUpperBound() == null
+        && lastId == null) {
+      return null;
+    }
+    BsonDocumentBuilder condition = new BsonDocumentBuilder();
+    if (lastId != null) {
+      condition.appendUnsafe("$gt", lastId);
+    } else if (checkpoint.getLowerBound() != null) {
+      condition.appendUnsafe("$gte", checkpoint.getLowerBound());
+    }
+    if (checkpoint.getUpperBound() != null) {
+      condition.appendUnsafe("$lt", checkpoint.getUpperBound());
+    }
+    return DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY, condition.build());
+  }
+
+  /**
+   * Keeps the progress of the ranges of a collection and stores it on a {@link CloneCheckpoint}.
+   */
+  @ThreadSafe
+  private static class CheckpointTracker {
+
+    private final CloneCheckpoint checkpoint;
+    @GuardedBy("this")
+    private CollectionCheckpoint current;
+
+    public CheckpointTracker(CloneCheckpoint checkpoint, CollectionCheckpoint current) {
+      this.checkpoint = checkpoint;
+      this.current = current;
+    }
+
+    public synchronized void store() {
+      checkpoint.storeCollection(current);
+    }
+
+    public synchronized void storeProgress(int rangeIndex, BsonValue<?> lastId) {
+      RangeCheckpoint range = current.getRanges().get(rangeIndex);
+      current = current.withRange(rangeIndex, range.withLastId(lastId));
+      checkpoint.storeCollection(current);
+    }
+
+    public synchronized void storeFinished(int rangeIndex) {
+      RangeCheckpoint range = current.getRanges().get(rangeIndex);
+      current = current.withRange(rangeIndex, range.asFinished());
+      checkpoint.storeCollection(current);
+    }
+  }
+
+  /**
+   * A group of consecutive documents read from a range, which are inserted on the same
+   * transaction.
+   */
+  static class DocBatch {
+
+    private final long index;
+    private final List<BsonDocument> docs;
+
+    public DocBatch(long index, List<BsonDocument> docs) {
+      this.index = index;
+      this.docs = docs;
+    }
+
+    public long getIndex() {
+      return index;
+    }
+
+    public List<BsonDocument> getDocs() {
+      return docs;
+    }
+
+    @Nullable
+    public BsonValue<?> getLastId() {
+      if (docs.isEmpty()) {
+        return null;
+      }
+      return docs.get(docs.size() - 1).get(DefaultIdUtils.ID_KEY);
+    }
+  }
+
+  static class InsertedBatch {
+
+    private final DocBatch batch;
+    private final int insertedDocs;
+
+    public InsertedBatch(DocBatch batch, int insertedDocs) {
+      this.batch = batch;
+      this.insertedDocs = insertedDocs;
+    }
+
+    public DocBatch getBatch() {
+      return batch;
+    }
+
+    public int getInsertedDocs() {
+      return insertedDocs;
+    }
+  }
+
+  /**
+   * The progress of the clone of a range.
+   *
+   * <p>As batches can be inserted out of order, the last cloned {@code _id} is the last one of the
+   * highest batch whose predecessors have been inserted too.
+   */
+  @NotThreadSafe
+  static class RangeProgress {
+
+    private final Map<Long, DocBatch> pendingBatches = new HashMap<>();
+    private long nextBatch = 0;
+    private int insertedDocs = 0;
+    private int requestedDocs = 0;
+    @Nullable
+    private BsonValue<?> lastId;
+    private Instant lastLogInstant;
+    private Instant lastCheckpointInstant;
+
+    public RangeProgress(Instant now) {
+      this.lastLogInstant = now;
+      this.lastCheckpointInstant = now;
+    }
+
+    public void add(InsertedBatch inserted) {
+      insertedDocs += inserted.getInsertedDocs();
+      requestedDocs += inserted.getBatch().getDocs().size();
+
+      pendingBatches.put(inserted.getBatch().getIndex(), inserted.getBatch());
+      DocBatch next = pendingBatches.remove(nextBatch);
+      while (next != null) {
+        BsonValue<?> batchLastId = next.getLastId();
+        if (batchLastId != null) {
+          lastId = batchLastId;
+        }
+        nextBatch++;
+        next = pendingBatches.remove(nextBatch);
+      }
+    }
+
+    public int getInsertedDocs() {
+      return insertedDocs;
+    }
+
+    public int getRequestedDocs() {
+      return requestedDocs;
+    }
+
+    @Nullable
+    public BsonValue<?> getLastId() {
+      return lastId;
+    }
+
+    public Instant getLastLogInstant() {
+      return lastLogInstant;
+    }
+
+    public void setLastLogInstant(Instant lastLogInstant) {
+      this.lastLogInstant = lastLogInstant;
+    }
+
+    public Instant getLastCheckpointInstant() {
+      return lastCheckpointInstant;
+    }
+
+    public void setLastCheckpointInstant(Instant lastCheckpointInstant) {
+      this.lastCheckpointInstant = lastCheckpointInstant;
+    }
+  }
+
   private static class CollectionIterator implements Iterator<BsonDocument> {
 
     private final MongoCursor<BsonDocument> cursor;
@@ -759,5 +1514,10 @@ public class AkkaDbCloner extends ActorSystemTorodbService implements DbCloner {
     public Optional<FieldIndexOrdering> visit(DescIndexType indexType, Void arg) {
       return Optional.of(FieldIndexOrdering.DESC);
     }
+
+    @Override
+    public Optional<FieldIndexOrdering> visit(HashedIndexType indexType, Void arg) {
+      return Optional.of(FieldIndexOrdering.HASHED);
+    }
   }
 }
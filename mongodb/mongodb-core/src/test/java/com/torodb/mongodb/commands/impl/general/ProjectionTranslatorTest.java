@@ -0,0 +1,128 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.commands.impl.general;
+
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newArray;
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newDocument;
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newInt;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.torodb.core.language.FindOptions.Projection;
+import com.torodb.mongodb.commands.impl.general.ProjectionTranslator.TranslatedProjection;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.exceptions.CommandFailed;
+import com.torodb.mongowp.utils.BsonDocumentBuilder;
+import org.junit.Test;
+
+public class ProjectionTranslatorTest {
+
+  @Test
+  public void testEmptyProjection() throws CommandFailed {
+    TranslatedProjection projection = ProjectionTranslator.translate("find",
+        new BsonDocumentBuilder().build());
+
+    assertTrue(projection.getTopLevelProjection().isAll());
+    assertFalse(projection.hasEmbeddedExclusions());
+  }
+
+  @Test
+  public void testEmbeddedInclusion() throws CommandFailed {
+    TranslatedProjection projection = ProjectionTranslator.translate("find",
+        newDocument("a.b", newInt(1)));
+
+    Projection topLevel = projection.getTopLevelProjection();
+    assertTrue(topLevel.isInclusive());
+    assertEquals(ImmutableSet.of("a", "_id"), topLevel.getKeys());
+    assertFalse(projection.hasEmbeddedExclusions());
+  }
+
+  @Test
+  public void testEmbeddedExclusion() throws CommandFailed {
+    TranslatedProjection projection = ProjectionTranslator.translate("find",
+        new BsonDocumentBuilder()
+            .appendUnsafe("a.b", newInt(0))
+            .appendUnsafe("c", newInt(0))
+            .build());
+
+    Projection topLevel = projection.getTopLevelProjection();
+    assertFalse(topLevel.isInclusive());
+    assertEquals("The top level attribute of an embedded exclusion must still be read",
+        ImmutableSet.of("c"), topLevel.getKeys());
+    assertTrue(topLevel.isProjected("a"));
+    assertTrue(projection.hasEmbeddedExclusions());
+
+    BsonDocument doc = new BsonDocumentBuilder()
+        .appendUnsafe("_id", newInt(1))
+        .appendUnsafe("a", new BsonDocumentBuilder()
+            .appendUnsafe("b", newInt(2))
+            .appendUnsafe("d", newInt(3))
+            .build())
+        .build();
+    BsonDocument expected = new BsonDocumentBuilder()
+        .appendUnsafe("_id", newInt(1))
+        .appendUnsafe("a", newDocument("d", newInt(3)))
+        .build();
+    assertEquals(expected, projection.applyEmbeddedExclusions(doc));
+  }
+
+  @Test
+  public void testEmbeddedExclusionOnArray() throws CommandFailed {
+    TranslatedProjection projection = ProjectionTranslator.translate("find",
+        newDocument("a.b", newInt(0)));
+
+    BsonDocument doc = newDocument("a", newArray(Lists.<BsonValue<?>>newArrayList(
+        new BsonDocumentBuilder()
+            .appendUnsafe("b", newInt(1))
+            .appendUnsafe("c", newInt(2))
+            .build(),
+        newInt(3)
+    )));
+    BsonDocument expected = newDocument("a", newArray(Lists.<BsonValue<?>>newArrayList(
+        newDocument("c", newInt(2)),
+        newInt(3)
+    )));
+    assertEquals(expected, projection.applyEmbeddedExclusions(doc));
+  }
+
+  @Test
+  public void testEmbeddedExclusionOnExcludedAttribute() throws CommandFailed {
+    TranslatedProjection projection = ProjectionTranslator.translate("find",
+        new BsonDocumentBuilder()
+            .appendUnsafe("a", newInt(0))
+            .appendUnsafe("a.b", newInt(0))
+            .build());
+
+    assertEquals(ImmutableSet.of("a"), projection.getTopLevelProjection().getKeys());
+    assertFalse(projection.hasEmbeddedExclusions());
+  }
+
+  @Test(expected = CommandFailed.class)
+  public void testMixedProjection() throws CommandFailed {
+    ProjectionTranslator.translate("find", new BsonDocumentBuilder()
+        .appendUnsafe("a", newInt(1))
+        .appendUnsafe("b.c", newInt(0))
+        .build());
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.mongodb.commands.impl.general;
+
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newArray;
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newDocument;
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newInt;
+import static com.torodb.mongowp.bson.utils.DefaultBsonValues.newString;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Lists;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.AttributePredicate.Operator;
+import com.torodb.core.language.AttributeReference;
+import com.torodb.kvdocument.values.KvInteger;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.exceptions.CommandFailed;
+import com.torodb.mongowp.utils.BsonDocumentBuilder;
+import org.junit.Test;
+
+import java.util.List;
+
+public class QueryFilterTranslatorTest {
+
+  @Test
+  public void testEmptyFilter() throws CommandFailed {
+    List<AttributePredicate> predicates = QueryFilterTranslator.translate("find",
+        new BsonDocumentBuilder().build());
+
+    assertEquals(0, predicates.size());
+  }
+
+  @Test
+  public void testConjunction() throws CommandFailed {
+    BsonDocument filter = new BsonDocumentBuilder()
+        .appendUnsafe("a", newInt(1))
+        .appendUnsafe("b.c", newDocument("$gte", newInt(2)))
+        .appendUnsafe("d", newDocument("$in", newArray(Lists.<BsonValue<?>>newArrayList(
+            newInt(3), newInt(4)))))
+        .build();
+
+    List<AttributePredicate> predicates = QueryFilterTranslator.translate("find", filter);
+
+    assertEquals(3, predicates.size());
+    assertEquals(Operator.IN, predicates.get(0).getOperator());
+    assertEquals(Lists.newArrayList(KvInteger.of(1)), predicates.get(0).getValues());
+    assertEquals(Operator.GTE, predicates.get(1).getOperator());
+    assertEquals(new AttributeReference.Builder().addObjectKey("b").addObjectKey("c").build(),
+        predicates.get(1).getAttributeReference());
+    assertEquals(Operator.IN, predicates.get(2).getOperator());
+    assertEquals(2, predicates.get(2).getValues().size());
+  }
+
+  @Test
+  public void testAndAndExists() throws CommandFailed {
+    BsonDocument filter = newDocument("$and", newArray(Lists.<BsonValue<?>>newArrayList(
+        newDocument("a", newDocument("$exists", newInt(0))),
+        newDocument("b", newDocument("$lt", newString("z")))
+    )));
+
+    List<AttributePredicate> predicates = QueryFilterTranslator.translate("find", filter);
+
+    assertEquals(2, predicates.size());
+    assertEquals(Operator.NOT_EXISTS, predicates.get(0).getOperator());
+    assertEquals(Operator.LT, predicates.get(1).getOperator());
+  }
+
+  @Test(expected = CommandFailed.class)
+  public void testUnsupportedOperator() throws CommandFailed {
+    QueryFilterTranslator.translate("find", newDocument("a", newDocument("$ne", newInt(1))));
+  }
+
+}
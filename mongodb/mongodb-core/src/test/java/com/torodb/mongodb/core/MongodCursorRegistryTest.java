@@ -0,0 +1,287 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.core;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.torodb.core.bundle.BundleConfig;
+import com.torodb.core.bundle.BundleConfigImpl;
+import com.torodb.core.cursors.CursorId;
+import com.torodb.core.cursors.IteratorCursor;
+import com.torodb.core.guice.EssentialModule;
+import com.torodb.core.logging.DefaultLoggerFactory;
+import com.torodb.core.metrics.DisabledMetricRegistry;
+import com.torodb.core.supervision.Supervisor;
+import com.torodb.core.supervision.SupervisorDecision;
+import com.torodb.mongodb.commands.impl.EmptyCommandClassifier;
+import com.torodb.mongodb.core.MongodCursorRegistry.CursorBatch;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.exceptions.MongoException;
+import com.torodb.torod.DocTransaction;
+import com.torodb.torod.TorodBundle;
+import com.torodb.torod.impl.memory.MemoryTorodBundle;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+public class MongodCursorRegistryTest {
+
+  private static final long TIMEOUT_MILLIS = 1000;
+  private static final int MAX_CURSORS = 2;
+
+  private TorodBundle torodBundle;
+  private MutableClock clock;
+  private MongodCursorRegistry registry;
+
+  @Before
+  public void setUp() {
+    Supervisor supervisor = new Supervisor() {
+      @Override
+      public SupervisorDecision onError(Object supervised, Throwable error) {
+        throw new AssertionError("error on " + supervised, error);
+      }
+    };
+    Injector essentialInjector = Guice.createInjector(
+        new EssentialModule(
+            DefaultLoggerFactory.getInstance(),
+            () -> true,
+            Clock.systemUTC()
+        )
+    );
+    BundleConfig generalConfig = new BundleConfigImpl(essentialInjector, supervisor);
+    torodBundle = new MemoryTorodBundle(generalConfig);
+
+    torodBundle.startAsync();
+    torodBundle.awaitRunning();
+
+    clock = new MutableClock();
+    MongodMetrics metrics = new MongodMetrics(new DisabledMetricRegistry());
+    registry = new MongodCursorRegistry(DefaultLoggerFactory.getInstance(), clock, metrics,
+        TIMEOUT_MILLIS, MAX_CURSORS);
+  }
+
+  @After
+  public void tearDown() {
+    registry.closeAll();
+    if (torodBundle != null && torodBundle.isRunning()) {
+      torodBundle.stopAsync();
+    }
+  }
+
+  @Test
+  public void testGetMoreUntilExhausted() throws Exception {
+    ClosableCursor cursor = createCursor(5);
+    CursorId cursorId = registry.register(1, "db", "col", cursor, 0);
+
+    Optional<CursorBatch> batch = registry.getMore(cursorId, "db", "col", 3);
+    assertTrue(batch.isPresent());
+    assertThat(batch.get().getDocs().size(), is(3));
+    assertThat(batch.get().getStartingFrom(), is(0));
+    assertThat(batch.get().getCursorId(), is(cursorId.getNumericId()));
+    assertFalse(cursor.isClosed());
+
+    batch = registry.getMore(cursorId, "db", "col", 3);
+    assertTrue(batch.isPresent());
+    assertThat(batch.get().getDocs().size(), is(2));
+    assertThat(batch.get().getStartingFrom(), is(3));
+    assertThat("An exhausted cursor must be notified with id 0",
+        batch.get().getCursorId(), is(0L));
+    assertTrue("An exhausted cursor must be closed", cursor.isClosed());
+
+    assertFalse(registry.getMore(cursorId, "db", "col", 3).isPresent());
+  }
+
+  @Test
+  public void testKill() throws Exception {
+    ClosableCursor cursor = createCursor(5);
+    CursorId cursorId = registry.register(1, "db", "col", cursor, 0);
+
+    assertTrue(registry.kill(cursorId));
+    assertTrue(cursor.isClosed());
+    assertFalse(registry.kill(cursorId));
+    assertFalse(registry.getMore(cursorId, "db", "col", 3).isPresent());
+  }
+
+  @Test
+  public void testKillAll() throws Exception {
+    ClosableCursor cursor1 = createCursor(5);
+    ClosableCursor cursor2 = createCursor(5);
+    ClosableCursor otherConnCursor = createCursor(5);
+    registry.register(1, "db", "col", cursor1, 0);
+    registry.register(1, "db", "col", cursor2, 0);
+    CursorId otherConnCursorId = registry.register(2, "db", "col", otherConnCursor, 0);
+
+    registry.killAll(1);
+
+    assertTrue(cursor1.isClosed());
+    assertTrue(cursor2.isClosed());
+    assertFalse(otherConnCursor.isClosed());
+    assertTrue(registry.getMore(otherConnCursorId, "db", "col", 1).isPresent());
+  }
+
+  @Test
+  public void testGetMoreOnOtherNamespace() throws Exception {
+    ClosableCursor cursor = createCursor(5);
+    CursorId cursorId = registry.register(1, "db", "col", cursor, 0);
+
+    try {
+      registry.getMore(cursorId, "db", "otherCol", 1);
+      fail("A getMore on a different namespace must be rejected");
+    } catch (MongoException ex) {
+      //expected
+    }
+    try {
+      registry.getMore(cursorId, "otherDb", "col", 1);
+      fail("A getMore on a different namespace must be rejected");
+    } catch (MongoException ex) {
+      //expected
+    }
+    assertFalse("A rejected getMore must not close the cursor", cursor.isClosed());
+    Optional<CursorBatch> batch = registry.getMore(cursorId, "db", "col", 1);
+    assertTrue(batch.isPresent());
+    assertThat(batch.get().getStartingFrom(), is(0));
+  }
+
+  @Test(expected = MongoException.class)
+  public void testMaxCursorsPerConnection() throws Exception {
+    for (int i = 0; i <= MAX_CURSORS; i++) {
+      registry.register(1, "db", "col", createCursor(5), 0);
+    }
+  }
+
+  @Test
+  public void testEvictIdle() throws Exception {
+    ClosableCursor idleCursor = createCursor(5);
+    ClosableCursor usedCursor = createCursor(5);
+    CursorId idleCursorId = registry.register(1, "db", "col", idleCursor, 0);
+    CursorId usedCursorId = registry.register(1, "db", "col", usedCursor, 0);
+
+    clock.advance(TIMEOUT_MILLIS);
+    registry.getMore(usedCursorId, "db", "col", 1);
+    clock.advance(1);
+    registry.evictIdle();
+
+    assertTrue(idleCursor.isClosed());
+    assertFalse(registry.getMore(idleCursorId, "db", "col", 1).isPresent());
+    assertFalse(usedCursor.isClosed());
+  }
+
+  @Test
+  public void testKeptCursorDoesNotHoldTheTransaction() throws Exception {
+    DocTransaction docTrans = openTransaction();
+    ClosableCursor cursor = createCursor(5);
+    Optional<CursorId> cursorId;
+    try (MongodTransaction trans = new ReadOnlyMongodTransactionImpl(
+        DefaultLoggerFactory.getInstance(), docTrans, new EmptyCommandClassifier(), registry,
+        OptionalInt.of(1))) {
+      cursor.next();
+      cursorId = trans.keepCursorOpen("db", "col", cursor, 1);
+      cursor.close();
+    }
+
+    assertTrue(cursorId.isPresent());
+    assertTrue("The transaction must be closed by its creator", docTrans.isClosed());
+    Optional<CursorBatch> batch = registry.getMore(cursorId.get(), "db", "col", 10);
+    assertTrue(batch.isPresent());
+    assertThat(batch.get().getDocs().size(), is(4));
+    assertThat(batch.get().getStartingFrom(), is(1));
+    assertThat(batch.get().getCursorId(), is(0L));
+  }
+
+  @Test
+  public void testKeepCursorOpenWithoutConnection() throws Exception {
+    DocTransaction docTrans = openTransaction();
+    try (MongodTransaction trans = new ReadOnlyMongodTransactionImpl(
+        DefaultLoggerFactory.getInstance(), docTrans, new EmptyCommandClassifier(), registry,
+        OptionalInt.empty())) {
+      assertFalse(trans.keepCursorOpen("db", "col", createCursor(5), 0).isPresent());
+    }
+  }
+
+  private DocTransaction openTransaction() throws Exception {
+    return torodBundle.getExternalInterface().getTorodServer().openReadTransaction();
+  }
+
+  private ClosableCursor createCursor(int size) {
+    List<BsonDocument> docs = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      docs.add(DefaultBsonValues.newDocument("_id", DefaultBsonValues.newInt(i)));
+    }
+    return new ClosableCursor(docs);
+  }
+
+  private static class ClosableCursor extends IteratorCursor<BsonDocument> {
+
+    private boolean closed = false;
+
+    ClosableCursor(List<BsonDocument> docs) {
+      super(docs.iterator());
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      super.close();
+    }
+
+    boolean isClosed() {
+      return closed;
+    }
+  }
+
+  private static class MutableClock extends Clock {
+
+    private long millis = 0;
+
+    void advance(long delta) {
+      millis += delta;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.utils.cloner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.torodb.core.bundle.BundleConfig;
+import com.torodb.core.bundle.BundleConfigImpl;
+import com.torodb.core.guice.EssentialModule;
+import com.torodb.core.logging.DefaultLoggerFactory;
+import com.torodb.core.supervision.Supervisor;
+import com.torodb.core.supervision.SupervisorDecision;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteArgument;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteStatement;
+import com.torodb.mongodb.commands.signatures.general.FindCommand;
+import com.torodb.mongodb.commands.signatures.general.InsertCommand;
+import com.torodb.mongodb.core.MongoDbCoreBundle;
+import com.torodb.mongodb.core.MongoDbCoreConfig;
+import com.torodb.mongodb.core.WriteMongodTransaction;
+import com.torodb.mongodb.utils.CloneCheckpoint.RangeCheckpoint;
+import com.torodb.mongodb.utils.cloner.AkkaDbCloner.DocBatch;
+import com.torodb.mongodb.utils.cloner.AkkaDbCloner.InsertedBatch;
+import com.torodb.mongodb.utils.cloner.AkkaDbCloner.RangeProgress;
+import com.torodb.mongowp.Status;
+import com.torodb.mongowp.bson.BsonArray;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.bson.impl.IntBasedBsonObjectId;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.commands.Request;
+import com.torodb.mongowp.utils.BsonDocumentBuilder;
+import com.torodb.torod.TorodBundle;
+import com.torodb.torod.impl.memory.MemoryTorodBundle;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+public class AkkaDbClonerTest {
+
+  private static final String DB_NAME = "test";
+  private static final String COL_NAME = "col";
+
+  @Test
+  public void testRangeProgressWithOutOfOrderBatches() {
+    RangeProgress progress = new RangeProgress(Instant.now());
+
+    progress.add(new InsertedBatch(new DocBatch(1, createDocs(3, 4)), 2));
+    progress.add(new InsertedBatch(new DocBatch(2, createDocs(5, 6)), 2));
+    assertNull("The last id must not advance while a previous batch is not inserted",
+        progress.getLastId());
+
+    progress.add(new InsertedBatch(new DocBatch(0, createDocs(1, 2)), 1));
+    assertEquals(createObjectId(6), progress.getLastId());
+    assertEquals(5, progress.getInsertedDocs());
+    assertEquals(6, progress.getRequestedDocs());
+
+    progress.add(new InsertedBatch(new DocBatch(3, Collections.emptyList()), 0));
+    assertEquals("An empty batch must not reset the last id",
+        createObjectId(6), progress.getLastId());
+  }
+
+  @Test
+  public void testUnboundedRangeQuery() {
+    assertNull(AkkaDbCloner.createRangeQuery(new RangeCheckpoint(null, null, null, false)));
+  }
+
+  @Test
+  public void testBoundedRangeQuery() {
+    BsonDocument query = AkkaDbCloner.createRangeQuery(
+        new RangeCheckpoint(createObjectId(1), createObjectId(5), null, false));
+
+    BsonDocument expected = DefaultBsonValues.newDocument("_id", new BsonDocumentBuilder()
+        .appendUnsafe("$gte", createObjectId(1))
+        .appendUnsafe("$lt", createObjectId(5))
+        .build());
+    assertEquals(expected, query);
+  }
+
+  @Test
+  public void testResumedRangeQuery() {
+    BsonDocument query = AkkaDbCloner.createRangeQuery(
+        new RangeCheckpoint(createObjectId(1), null, createObjectId(3), false));
+
+    BsonDocument expected = DefaultBsonValues.newDocument("_id",
+        DefaultBsonValues.newDocument("$gt", createObjectId(3)));
+    assertEquals(expected, query);
+  }
+
+  @Test
+  public void testResumedRangeQueryDeletesNotCheckpointedDocs() throws Exception {
+    Supervisor supervisor = new Supervisor() {
+      @Override
+      public SupervisorDecision onError(Object supervised, Throwable error) {
+        throw new AssertionError("error on " + supervised, error);
+      }
+    };
+    Injector essentialInjector = Guice.createInjector(
+        new EssentialModule(
+            DefaultLoggerFactory.getInstance(),
+            () -> true,
+            Clock.systemUTC()
+        )
+    );
+    BundleConfig generalConfig = new BundleConfigImpl(essentialInjector, supervisor);
+    TorodBundle torodBundle = new MemoryTorodBundle(generalConfig);
+    torodBundle.startAsync();
+    torodBundle.awaitRunning();
+    MongoDbCoreBundle bundle = new MongoDbCoreBundle(MongoDbCoreConfig.simpleNonServerConfig(
+        torodBundle,
+        DefaultLoggerFactory.getInstance(),
+        Optional.empty(),
+        generalConfig
+    ));
+    bundle.start().join();
+    try (WriteMongodTransaction transaction = bundle.getExternalInterface()
+        .getMongodServer()
+        .openWriteTransaction(1, TimeUnit.MINUTES)) {
+      Request request = new Request(DB_NAME, null, true, null);
+
+      transaction.execute(request, InsertCommand.INSTANCE,
+          new InsertCommand.InsertArgument.Builder(COL_NAME)
+              .addDocuments(createDocs(1, 2, 3, 4, 5, 6))
+              .build());
+
+      //the range [1, 5) was cloned up to 2, so 3 and 4 must be deleted before resuming it
+      BsonDocument query = AkkaDbCloner.createRangeQuery(
+          new RangeCheckpoint(createObjectId(1), createObjectId(5), createObjectId(2), false));
+      Status<Long> deleteStatus = transaction.execute(request, DeleteCommand.INSTANCE,
+          new DeleteArgument.Builder(COL_NAME)
+              .addStatement(new DeleteStatement(query, false))
+              .build());
+      assertTrue(deleteStatus.getErrorMsg(), deleteStatus.isOk());
+      assertEquals(2L, deleteStatus.getResult().longValue());
+
+      Status<FindCommand.FindResult> findStatus = transaction.execute(request,
+          FindCommand.INSTANCE, new FindCommand.FindArgument.Builder()
+              .setCollection(COL_NAME)
+              .build());
+      assertTrue(findStatus.getErrorMsg(), findStatus.isOk());
+      BsonArray result = findStatus.getResult()
+          .getCursor()
+          .marshall(elm -> elm)
+          .get("firstBatch")
+          .asArray();
+      Set<BsonValue<?>> remainingIds = new HashSet<>();
+      result.forEach(doc -> remainingIds.add(doc.asDocument().get("_id")));
+      assertEquals(new HashSet<>(Lists.newArrayList(createObjectId(1), createObjectId(2),
+          createObjectId(5), createObjectId(6))), remainingIds);
+    } finally {
+      bundle.stop().join();
+      torodBundle.stopAsync();
+      torodBundle.awaitTerminated();
+    }
+  }
+
+  private static BsonValue<?> createObjectId(int value) {
+    return new IntBasedBsonObjectId(0, 0, 0, value);
+  }
+
+  private static List<BsonDocument> createDocs(int... ids) {
+    List<BsonDocument> docs = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      docs.add(DefaultBsonValues.newDocument("_id", createObjectId(id)));
+    }
+    return docs;
+  }
+}
@@ -31,9 +31,11 @@ import com.torodb.mongodb.repl.oplogreplier.fetcher.ContinuousOplogFetcher;
 import com.torodb.mongodb.repl.oplogreplier.fetcher.ContinuousOplogFetcher.ContinuousOplogFetcherFactory;
 import com.torodb.mongodb.repl.oplogreplier.fetcher.OplogFetcher;
 import com.torodb.mongowp.OpTime;
+import com.torodb.mongowp.commands.oplog.OplogOperation;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -158,6 +160,14 @@ public class DefaultOplogApplierService extends IdleTorodbService implements Opl
       lastAppliedHash = oplogReadTrans.getLastAppliedHash();
     }
 
+    Optional<OplogOperation> lastBufferedOp = oplogApplier.getLastBufferedOperation(
+        lastAppliedHash, lastAppliedOptime);
+    if (lastBufferedOp.isPresent()) {
+      logger.info("Fetching operations after {}, as previous ones are buffered",
+          lastBufferedOp.get().getOpTime());
+      return oplogFetcherFactory.createFetcher(lastBufferedOp.get().getHash(),
+          lastBufferedOp.get().getOpTime());
+    }
     return oplogFetcherFactory.createFetcher(lastAppliedHash, lastAppliedOptime);
   }
 }
@@ -0,0 +1,366 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.repl;
+
+import com.torodb.common.util.Empty;
+import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.logging.LoggerFactory;
+import com.torodb.core.retrier.Retrier;
+import com.torodb.core.retrier.Retrier.Hint;
+import com.torodb.core.retrier.RetrierAbortException;
+import com.torodb.core.retrier.RetrierGiveUpException;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteArgument;
+import com.torodb.mongodb.commands.signatures.general.DeleteCommand.DeleteStatement;
+import com.torodb.mongodb.commands.signatures.general.FindCommand;
+import com.torodb.mongodb.commands.signatures.general.FindCommand.FindArgument;
+import com.torodb.mongodb.commands.signatures.general.FindCommand.FindResult;
+import com.torodb.mongodb.commands.signatures.general.InsertCommand;
+import com.torodb.mongodb.commands.signatures.general.InsertCommand.InsertArgument;
+import com.torodb.mongodb.commands.signatures.general.InsertCommand.InsertResult;
+import com.torodb.mongodb.core.MongodServer;
+import com.torodb.mongodb.core.MongodTransaction;
+import com.torodb.mongodb.core.WriteMongodTransaction;
+import com.torodb.mongodb.utils.CloneCheckpoint;
+import com.torodb.mongodb.utils.DbCloner.CloningException;
+import com.torodb.mongowp.ErrorCode;
+import com.torodb.mongowp.OpTime;
+import com.torodb.mongowp.Status;
+import com.torodb.mongowp.bson.BsonArray;
+import com.torodb.mongowp.bson.BsonDateTime;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.bson.utils.TimestampToDateTime;
+import com.torodb.mongowp.commands.Request;
+import com.torodb.mongowp.exceptions.MongoException;
+import com.torodb.mongowp.utils.BsonArrayBuilder;
+import com.torodb.mongowp.utils.BsonDocumentBuilder;
+import com.torodb.mongowp.utils.BsonReaderTool;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+/**
+ * The {@link CloneCheckpoint} used by the initial sync, which is stored on the same database
+ * where the {@link OplogManager} stores its state.
+ *
+ * <p>Besides the progress of each cloned collection, it stores the remote operation that was the
+ * last one when the initial sync started, as the oplog must be replayed from it once the
+ * interrupted clone is resumed.
+ */
+@ThreadSafe
+public class InitialSyncCheckpoint implements CloneCheckpoint {
+
+  private static final String CHECKPOINT_DB = "torodb";
+  private static final String CHECKPOINT_COL = "initialsync.checkpoint";
+  private static final String ID_KEY = "_id";
+  private static final String SYNC_ID = "sync";
+  private static final String COLLECTION_ID_PREFIX = "collection:";
+
+  private final Logger logger;
+  private final MongodServer server;
+  private final Retrier retrier;
+  private final Map<String, CollectionCheckpoint> collections = new ConcurrentHashMap<>();
+  @Nullable
+  private volatile SyncStart syncStart;
+
+  @Inject
+  public InitialSyncCheckpoint(LoggerFactory lf, MongodServer server, Retrier retrier) {
+    this.logger = lf.apply(this.getClass());
+    this.server = server;
+    this.retrier = retrier;
+  }
+
+  /**
+   * Returns the point where the stored initial sync started or null if there is no initial sync
+   * to resume.
+   */
+  @Nullable
+  public SyncStart getSyncStart() {
+    return syncStart;
+  }
+
+  @Override
+  @Nullable
+  public CollectionCheckpoint getCollection(String database, String collection) {
+    return collections.get(getCollectionId(database, collection));
+  }
+
+  @Override
+  public void storeCollection(CollectionCheckpoint checkpoint) throws CloningException {
+    String id = getCollectionId(checkpoint.getDatabase(), checkpoint.getCollection());
+    try {
+      replaceDoc(id, toBson(id, checkpoint));
+    } catch (CheckpointPersistException ex) {
+      throw new CloningException("Error while storing the progress of "
+          + checkpoint.getDatabase() + "." + checkpoint.getCollection(), ex);
+    }
+    collections.put(id, checkpoint);
+  }
+
+  /**
+   * Loads the stored checkpoint.
+   */
+  public void load() throws CheckpointPersistException {
+    collections.clear();
+    syncStart = null;
+    try {
+      retrier.retry(() -> {
+        try (MongodTransaction transaction = server.openReadTransaction()) {
+          Status<FindResult> status = transaction.execute(
+              new Request(CHECKPOINT_DB, null, true, null),
+              FindCommand.INSTANCE,
+              new FindArgument.Builder()
+                  .setCollection(CHECKPOINT_COL)
+                  .setBatchSize(Integer.MAX_VALUE)
+                  .setSlaveOk(true)
+                  .build()
+          );
+          if (!status.isOk()) {
+            throw new RetrierAbortException(new MongoException(status));
+          }
+
+          Iterator<BsonDocument> batch = status.getResult().getCursor().getFirstBatch();
+          while (batch.hasNext()) {
+            BsonDocument doc = batch.next();
+            String id = BsonReaderTool.getString(doc, ID_KEY);
+            if (id.equals(SYNC_ID)) {
+              syncStart = syncStartFromBson(doc);
+            } else {
+              collections.put(id, collectionFromBson(doc));
+            }
+          }
+          return Empty.getInstance();
+        }
+      }, Hint.INFREQUENT_ROLLBACK);
+    } catch (RetrierGiveUpException ex) {
+      throw new CheckpointPersistException(ex);
+    }
+    if (syncStart == null) {
+      collections.clear();
+    } else {
+      logger.info("Found an interrupted initial sync with {} started collections",
+          collections.size());
+    }
+  }
+
+  /**
+   * Starts a new checkpoint, discarding the previous one.
+   *
+   * @param hash   the hash of the last remote operation when the initial sync started
+   * @param opTime the optime of the last remote operation when the initial sync started
+   */
+  public void start(long hash, OpTime opTime) throws CheckpointPersistException {
+    clear();
+    //TODO: This should be stored as timestamp once TORODB-189 is resolved
+    long optimeAsLong = opTime.toOldBson().getMillisFromUnix();
+    replaceDoc(SYNC_ID, new BsonDocumentBuilder()
+        .appendUnsafe(ID_KEY, DefaultBsonValues.newString(SYNC_ID))
+        .appendUnsafe("hash", DefaultBsonValues.newLong(hash))
+        .appendUnsafe("optime_i", DefaultBsonValues.newLong(optimeAsLong))
+        .appendUnsafe("optime_t", DefaultBsonValues.newLong(opTime.getTerm()))
+        .build()
+    );
+    syncStart = new SyncStart(hash, opTime);
+  }
+
+  /**
+   * Discards the stored checkpoint, so the next initial sync starts from scratch.
+   */
+  public void clear() throws CheckpointPersistException {
+    delete(DefaultBsonValues.EMPTY_DOC);
+    collections.clear();
+    syncStart = null;
+  }
+
+  private void replaceDoc(String id, BsonDocument doc) throws CheckpointPersistException {
+    try {
+      retrier.retry(() -> {
+        try (WriteMongodTransaction transaction = server.openWriteTransaction()) {
+          executeDelete(transaction,
+              DefaultBsonValues.newDocument(ID_KEY, DefaultBsonValues.newString(id)));
+
+          Status<InsertResult> insertResult = transaction.execute(
+              new Request(CHECKPOINT_DB, null, true, null),
+              InsertCommand.INSTANCE,
+              new InsertArgument.Builder(CHECKPOINT_COL)
+                  .addDocument(doc)
+                  .build()
+          );
+          if (insertResult.isOk() && insertResult.getResult().getN() != 1) {
+            throw new RetrierAbortException(new MongoException(ErrorCode.OPERATION_FAILED,
+                "More than one element inserted"));
+          }
+          if (!insertResult.isOk()) {
+            throw new RetrierAbortException(new MongoException(insertResult));
+          }
+          transaction.commit();
+          return Empty.getInstance();
+        } catch (UserException ex) {
+          throw new RetrierAbortException(ex);
+        }
+      }, Hint.INFREQUENT_ROLLBACK);
+    } catch (RetrierGiveUpException ex) {
+      throw new CheckpointPersistException(ex);
+    }
+  }
+
+  private void delete(BsonDocument query) throws CheckpointPersistException {
+    try {
+      retrier.retry(() -> {
+        try (WriteMongodTransaction transaction = server.openWriteTransaction()) {
+          executeDelete(transaction, query);
+          transaction.commit();
+          return Empty.getInstance();
+        } catch (UserException ex) {
+          throw new RetrierAbortException(ex);
+        }
+      }, Hint.INFREQUENT_ROLLBACK);
+    } catch (RetrierGiveUpException ex) {
+      throw new CheckpointPersistException(ex);
+    }
+  }
+
+  private void executeDelete(WriteMongodTransaction transaction, BsonDocument query) {
+    Status<Long> deleteResult = transaction.execute(
+        new Request(CHECKPOINT_DB, null, true, null),
+        DeleteCommand.INSTANCE,
+        new DeleteArgument.Builder(CHECKPOINT_COL)
+            .addStatement(new DeleteStatement(query, false))
+            .build()
+    );
+    if (!deleteResult.isOk()) {
+      throw new RetrierAbortException(new MongoException(deleteResult));
+    }
+  }
+
+  private static String getCollectionId(String database, String collection) {
+    return COLLECTION_ID_PREFIX + database + '.' + collection;
+  }
+
+  private static BsonDocument toBson(String id, CollectionCheckpoint checkpoint) {
+    BsonArrayBuilder ranges = new BsonArrayBuilder();
+    for (RangeCheckpoint range : checkpoint.getRanges()) {
+      BsonDocumentBuilder rangeDoc = new BsonDocumentBuilder();
+      if (range.getLowerBound() != null) {
+        rangeDoc.appendUnsafe("lower", range.getLowerBound());
+      }
+      if (range.getUpperBound() != null) {
+        rangeDoc.appendUnsafe("upper", range.getUpperBound());
+      }
+      if (range.getLastId() != null) {
+        rangeDoc.appendUnsafe("lastId", range.getLastId());
+      }
+      rangeDoc.appendUnsafe("finished", DefaultBsonValues.newBoolean(range.isFinished()));
+      ranges.add(rangeDoc.build());
+    }
+    return new BsonDocumentBuilder()
+        .appendUnsafe(ID_KEY, DefaultBsonValues.newString(id))
+        .appendUnsafe("db", DefaultBsonValues.newString(checkpoint.getDatabase()))
+        .appendUnsafe("col", DefaultBsonValues.newString(checkpoint.getCollection()))
+        .appendUnsafe("resumable", DefaultBsonValues.newBoolean(checkpoint.isResumable()))
+        .appendUnsafe("ranges", ranges.build())
+        .build();
+  }
+
+  private static CollectionCheckpoint collectionFromBson(BsonDocument doc) throws
+      MongoException {
+    BsonArray rangesArray = BsonReaderTool.getArray(doc, "ranges");
+    List<RangeCheckpoint> ranges = new ArrayList<>();
+    for (BsonValue<?> value : rangesArray) {
+      BsonDocument rangeDoc = value.asDocument();
+      ranges.add(new RangeCheckpoint(
+          rangeDoc.get("lower"),
+          rangeDoc.get("upper"),
+          rangeDoc.get("lastId"),
+          BsonReaderTool.getBoolean(rangeDoc, "finished")
+      ));
+    }
+    return new CollectionCheckpoint(
+        BsonReaderTool.getString(doc, "db"),
+        BsonReaderTool.getString(doc, "col"),
+        BsonReaderTool.getBoolean(doc, "resumable"),
+        ranges
+    );
+  }
+
+  private static SyncStart syncStartFromBson(BsonDocument doc) throws MongoException {
+    long optimeAsLong = BsonReaderTool.getLong(doc, "optime_i");
+    BsonDateTime optimeAsDateTime = DefaultBsonValues.newDateTime(optimeAsLong);
+
+    return new SyncStart(
+        BsonReaderTool.getLong(doc, "hash"),
+        new OpTime(
+            TimestampToDateTime.toTimestamp(optimeAsDateTime, DefaultBsonValues::newTimestamp),
+            BsonReaderTool.getLong(doc, "optime_t")
+        )
+    );
+  }
+
+  /**
+   * The last remote operation when a stored initial sync started.
+   */
+  @Immutable
+  public static class SyncStart {
+
+    private final long hash;
+    private final OpTime opTime;
+
+    public SyncStart(long hash, OpTime opTime) {
+      this.hash = hash;
+      this.opTime = opTime;
+    }
+
+    public long getHash() {
+      return hash;
+    }
+
+    public OpTime getOpTime() {
+      return opTime;
+    }
+  }
+
+  public static class CheckpointPersistException extends Exception {
+
+    private static final long serialVersionUID = 6251284717358238711L;
+
+    public CheckpointPersistException(String message) {
+      super(message);
+    }
+
+    public CheckpointPersistException(String message, Throwable cause) {
+      super(message, cause);
+    }
+
+    public CheckpointPersistException(Throwable cause) {
+      super(cause);
+    }
+
+  }
+}
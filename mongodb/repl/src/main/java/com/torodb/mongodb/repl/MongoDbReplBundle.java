@@ -46,6 +46,7 @@ import com.torodb.mongodb.repl.guice.ReplSetName;
 import com.torodb.mongodb.repl.oplogreplier.DefaultOplogApplierBundle;
 import com.torodb.mongodb.repl.oplogreplier.DefaultOplogApplierBundleConfig;
 import com.torodb.mongodb.repl.oplogreplier.OplogApplier;
+import com.torodb.mongodb.repl.oplogreplier.fetcher.ContinuousOplogFetcher.FetchLimits;
 import com.torodb.mongodb.repl.topology.RemoteSeed;
 import com.torodb.mongodb.repl.topology.TopologyBundle;
 import com.torodb.mongodb.repl.topology.TopologyBundleConfig;
@@ -111,7 +112,7 @@ public class MongoDbReplBundle extends AbstractBundle<MongoDbReplExtInt> {
         essentialOverrideModule,
         new HubModule(),
         new MongoDbReplModule(),
-        new OplogApplierServiceModule()
+        new OplogApplierServiceModule(new FetchLimits(config.getFetchMaxAwaitTime()))
     );
     this.replCoordinator = replInjector.getInstance(ReplCoordinator.class);
     this.dbCloner = replInjector.getInstance(Key.get(DbCloner.class, MongoDbRepl.class));
@@ -30,6 +30,7 @@ import com.torodb.mongodb.repl.filters.ReplicationFilters;
 import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.OffHeapBufferConfig;
 import com.torodb.mongowp.client.wrapper.MongoClientConfigurationProperties;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
@@ -48,6 +49,7 @@ public class MongoDbReplConfig implements BundleConfig {
   private final LoggerFactory loggerFactory;
   private final BundleConfig generalConfig;
   private final OffHeapBufferConfig offHeapBufferConfig;
+  private final Duration fetchMaxAwaitTime;
 
   public MongoDbReplConfig(MongoDbCoreBundle coreBundle, ImmutableList<HostAndPort> seeds,
       MongoClientConfigurationProperties mongoClientConfigurationProperties,
@@ -55,7 +57,7 @@ public class MongoDbReplConfig implements BundleConfig {
       String replSetName, ConsistencyHandler consistencyHandler, 
       Optional<ToroMetricRegistry> metricRegistry,
       LoggerFactory loggerFactory, BundleConfig generalConfig,
-      OffHeapBufferConfig offHeapBufferConfig) {
+      OffHeapBufferConfig offHeapBufferConfig, Duration fetchMaxAwaitTime) {
     this.coreBundle = coreBundle;
     this.seeds = seeds;
     this.mongoClientConfigurationProperties = mongoClientConfigurationProperties;
@@ -66,6 +68,7 @@ public class MongoDbReplConfig implements BundleConfig {
     this.loggerFactory = loggerFactory;
     this.generalConfig = generalConfig;
     this.offHeapBufferConfig = offHeapBufferConfig;
+    this.fetchMaxAwaitTime = fetchMaxAwaitTime;
   }
 
   public MongoDbCoreBundle getMongoDbCoreBundle() {
@@ -119,4 +122,12 @@ public class MongoDbReplConfig implements BundleConfig {
     return offHeapBufferConfig;
   }
 
+  /**
+   * Returns the maximum time a fetch of the remote oplog waits for new operations before the
+   * fetched ones are applied.
+   */
+  public Duration getFetchMaxAwaitTime() {
+    return fetchMaxAwaitTime;
+  }
+
 }
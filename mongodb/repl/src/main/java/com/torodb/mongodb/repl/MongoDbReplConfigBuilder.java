@@ -29,10 +29,13 @@ import com.torodb.mongodb.repl.filters.ReplicationFilters;
 import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.OffHeapBufferConfig;
 import com.torodb.mongowp.client.wrapper.MongoClientConfigurationProperties;
 
+import java.time.Duration;
 import java.util.Optional;
 
 public class MongoDbReplConfigBuilder {
 
+  private static final Duration DEFAULT_FETCH_MAX_AWAIT_TIME = Duration.ofSeconds(1);
+
   private final BundleConfig generalConfig;
   private MongoDbCoreBundle coreBundle;
   private ImmutableList<HostAndPort> seeds;
@@ -43,6 +46,7 @@ public class MongoDbReplConfigBuilder {
   private Optional<ToroMetricRegistry> metricRegistry;
   private LoggerFactory loggerFactory;
   private OffHeapBufferConfig offHeapBufferConfig;
+  private Duration fetchMaxAwaitTime = DEFAULT_FETCH_MAX_AWAIT_TIME;
 
   public MongoDbReplConfigBuilder(BundleConfig generalConfig) {
     this.generalConfig = generalConfig;
@@ -95,6 +99,11 @@ public class MongoDbReplConfigBuilder {
     return this;
   }
 
+  public MongoDbReplConfigBuilder setFetchMaxAwaitTime(Duration fetchMaxAwaitTime) {
+    this.fetchMaxAwaitTime = fetchMaxAwaitTime;
+    return this;
+  }
+
   public MongoDbReplConfig build() {
     Preconditions.checkNotNull(coreBundle, "core bundle must be not null");
     Preconditions.checkNotNull(seeds, "seeds must be not null");
@@ -107,11 +116,14 @@ public class MongoDbReplConfigBuilder {
     Preconditions.checkNotNull(metricRegistry, "metric registry must be not null");
     Preconditions.checkNotNull(loggerFactory, "logger factory must be not null");
     Preconditions.checkNotNull(offHeapBufferConfig, "off heap buffer config must be not null");
+    Preconditions.checkNotNull(fetchMaxAwaitTime, "fetch max await time must be not null");
+    Preconditions.checkArgument(!fetchMaxAwaitTime.isNegative() && !fetchMaxAwaitTime.isZero(),
+        "fetch max await time must be positive");
 
     return new MongoDbReplConfig(coreBundle, seeds,
         mongoClientConfigurationProperties, replicationFilters,
         replSetName, consistencyHandler, metricRegistry, loggerFactory, generalConfig,
-        offHeapBufferConfig);
+        offHeapBufferConfig, fetchMaxAwaitTime);
   }
 
 }
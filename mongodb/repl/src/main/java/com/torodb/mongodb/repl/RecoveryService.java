@@ -35,6 +35,8 @@ import com.torodb.mongodb.core.MongodServer;
 import com.torodb.mongodb.filters.IndexFilter;
 import com.torodb.mongodb.filters.NamespaceFilter;
 import com.torodb.mongodb.language.Namespace;
+import com.torodb.mongodb.repl.InitialSyncCheckpoint.CheckpointPersistException;
+import com.torodb.mongodb.repl.InitialSyncCheckpoint.SyncStart;
 import com.torodb.mongodb.repl.OplogManager.OplogManagerPersistException;
 import com.torodb.mongodb.repl.OplogManager.ReadOplogTransaction;
 import com.torodb.mongodb.repl.OplogManager.WriteOplogTransaction;
@@ -67,9 +69,12 @@ import com.torodb.torod.SchemaOperationExecutor;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -82,6 +87,7 @@ public class RecoveryService extends RunnableTorodbService {
   private final Logger logger;
   private final Callback callback;
   private final OplogManager oplogManager;
+  private final InitialSyncCheckpoint checkpoint;
   private final SyncSourceProvider syncSourceProvider;
   private final OplogReaderProvider oplogReaderProvider;
   private final DbCloner cloner;
@@ -96,6 +102,7 @@ public class RecoveryService extends RunnableTorodbService {
       @TorodbRunnableService ThreadFactory threadFactory,
       @Assisted Callback callback,
       OplogManager oplogManager,
+      InitialSyncCheckpoint checkpoint,
       SyncSourceProvider syncSourceProvider,
       OplogReaderProvider oplogReaderProvider,
       @MongoDbRepl DbCloner cloner,
@@ -109,6 +116,7 @@ public class RecoveryService extends RunnableTorodbService {
     this.logger = lf.apply(this.getClass());
     this.callback = callback;
     this.oplogManager = oplogManager;
+    this.checkpoint = checkpoint;
     this.syncSourceProvider = syncSourceProvider;
     this.oplogReaderProvider = oplogReaderProvider;
     this.cloner = cloner;
@@ -205,19 +213,32 @@ public class RecoveryService extends RunnableTorodbService {
 
       try (OplogReader reader = oplogReaderProvider.newReader(remoteConnection)) {
 
-        OplogOperation lastClonedOp = reader.getLastOp();
-        final OpTime lastRemoteOptime1 = lastClonedOp.getOpTime();
+        checkpoint.load();
+        SyncStart syncStart = checkpoint.getSyncStart();
 
+        final OpTime lastRemoteOptime1;
+        final long lastClonedHash;
         try (WriteOplogTransaction oplogTransaction = oplogManager.createWriteTransaction()) {
-          logger.info("Remote database cloning started");
-          oplogTransaction.truncate();
-          logger.info("Local databases dropping started");
-          Status<?> status = dropDatabases();
-          if (!status.isOk()) {
-            throw new TryAgainException("Error while trying to drop collections: "
-                + status);
+          if (syncStart != null) {
+            //the oplog is replayed from the point where the interrupted clone started
+            lastRemoteOptime1 = syncStart.getOpTime();
+            lastClonedHash = syncStart.getHash();
+            logger.info("Resuming the initial sync started at {}", lastRemoteOptime1);
+          } else {
+            OplogOperation lastClonedOp = reader.getLastOp();
+            lastRemoteOptime1 = lastClonedOp.getOpTime();
+            lastClonedHash = lastClonedOp.getHash();
+
+            oplogTransaction.truncate();
+            logger.info("Local databases dropping started");
+            Status<?> status = dropDatabases();
+            if (!status.isOk()) {
+              throw new TryAgainException("Error while trying to drop collections: "
+                  + status);
+            }
+            logger.info("Local databases dropping finished");
+            checkpoint.start(lastClonedHash, lastRemoteOptime1);
           }
-          logger.info("Local databases dropping finished");
           if (!isRunning()) {
             logger.warn("Recovery stopped before it can finish");
             return false;
@@ -226,7 +247,7 @@ public class RecoveryService extends RunnableTorodbService {
           cloneDatabases(remoteClient);
           logger.info("Remote database cloning finished");
 
-          oplogTransaction.forceNewValue(lastClonedOp.getHash(), lastClonedOp.getOpTime());
+          oplogTransaction.forceNewValue(lastClonedHash, lastRemoteOptime1);
         }
 
         if (!isRunning()) {
@@ -262,7 +283,11 @@ public class RecoveryService extends RunnableTorodbService {
           logger.warn("Recovery stopped before it can finish");
           return false;
         }
+
+        checkpoint.clear();
       } catch (OplogStartMissingException ex) {
+        //the oplog cannot be replayed from the checkpoint, so the next attempt starts from scratch
+        clearCheckpoint();
         throw new TryAgainException(ex);
       } catch (OplogOperationUnsupported ex) {
         throw new TryAgainException(ex);
@@ -270,6 +295,8 @@ public class RecoveryService extends RunnableTorodbService {
         throw new TryAgainException(ex);
       } catch (OplogManagerPersistException ex) {
         throw new FatalErrorException();
+      } catch (CheckpointPersistException ex) {
+        throw new FatalErrorException(ex);
       } catch (UserException ex) {
         throw new FatalErrorException(ex);
       }
@@ -288,6 +315,14 @@ public class RecoveryService extends RunnableTorodbService {
     logger.info("Recived a request to stop the recovering service");
   }
 
+  private void clearCheckpoint() throws FatalErrorException {
+    try {
+      checkpoint.clear();
+    } catch (CheckpointPersistException ex) {
+      throw new FatalErrorException(ex);
+    }
+  }
+
   private Status<?> dropDatabases() throws TryAgainException {
     try (MongodSchemaExecutor schemaExecutor = server.openSchemaExecutor()) {
       SchemaOperationExecutor docSchemaEx = schemaExecutor.getDocSchemaExecutor();
@@ -302,10 +337,19 @@ public class RecoveryService extends RunnableTorodbService {
   private void cloneDatabases(@Nonnull MongoClient remoteClient) throws CloningException,
       MongoException, UserException {
 
-    streamRemoteDatabases(remoteClient)
-        .map(ListDatabasesReply.DatabaseEntry::getName)
-        .filter(this::isReplicable)
-        .forEach(databaseName -> cloneDatabase(databaseName, remoteClient));
+    //biggest databases go first, so their collections are not the last ones to be cloned
+    List<CloneOptions> dbsToClone = streamRemoteDatabases(remoteClient)
+        .filter(db -> isReplicable(db.getName()))
+        .sorted(Comparator.comparingLong(ListDatabasesReply.DatabaseEntry::getSizeOnDisk)
+            .reversed())
+        .map(db -> createCloneOptions(db.getName()))
+        .collect(Collectors.toList());
+
+    try {
+      cloner.cloneDatabases(remoteClient, server, dbsToClone);
+    } catch (MongoException ex) {
+      throw new CloningException(ex);
+    }
   }
 
   private Stream<ListDatabasesReply.DatabaseEntry> streamRemoteDatabases(MongoClient remoteClient)
@@ -327,11 +371,11 @@ public class RecoveryService extends RunnableTorodbService {
     }
   }
 
-  private void cloneDatabase(String databaseName, MongoClient remoteClient) {
+  private CloneOptions createCloneOptions(String databaseName) {
     MyWritePermissionSupplier writePermissionSupplier =
         new MyWritePermissionSupplier(databaseName);
 
-    CloneOptions options = new CloneOptions(
+    return new CloneOptions(
         true,
         true,
         true,
@@ -340,14 +384,9 @@ public class RecoveryService extends RunnableTorodbService {
         Collections.<String>emptySet(),
         writePermissionSupplier,
         (colName) -> namespaceFilter.filter(new Namespace(databaseName, colName)),
-        indexFilter
+        indexFilter,
+        checkpoint
     );
-
-    try {
-      cloner.cloneDatabase(databaseName, remoteClient, server, options);
-    } catch (MongoException ex) {
-      throw new CloningException(ex);
-    }
   }
 
   /**
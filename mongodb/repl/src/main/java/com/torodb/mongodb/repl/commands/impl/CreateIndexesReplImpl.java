@@ -26,6 +26,7 @@ import com.torodb.mongodb.commands.pojos.index.IndexOptions.KnownType;
 import com.torodb.mongodb.commands.pojos.index.type.AscIndexType;
 import com.torodb.mongodb.commands.pojos.index.type.DefaultIndexTypeVisitor;
 import com.torodb.mongodb.commands.pojos.index.type.DescIndexType;
+import com.torodb.mongodb.commands.pojos.index.type.HashedIndexType;
 import com.torodb.mongodb.commands.pojos.index.type.IndexType;
 import com.torodb.mongodb.commands.signatures.admin.CreateIndexesCommand.CreateIndexesArgument;
 import com.torodb.mongodb.commands.signatures.admin.CreateIndexesCommand.CreateIndexesResult;
@@ -102,14 +103,6 @@ public class CreateIndexesReplImpl
           return Status.from(ErrorCode.CANNOT_CREATE_INDEX, "Index keys cannot be empty.");
         }
 
-        if (indexOptions.isBackground()) {
-          logger.info("Building index in background is not supported. Ignoring option");
-        }
-
-        if (indexOptions.isSparse()) {
-          logger.info("Sparse index are not supported. Ignoring option");
-        }
-
         boolean skipIndex = false;
         List<IndexFieldInfo> fields = new ArrayList<>(indexOptions.getKeys().size());
         for (IndexOptions.Key indexKey : indexOptions.getKeys()) {
@@ -138,7 +131,7 @@ public class CreateIndexesReplImpl
             break;
           }
 
-          fields.add(new IndexFieldInfo(attRefBuilder.build(), ordering.get().isAscending()));
+          fields.add(new IndexFieldInfo(attRefBuilder.build(), ordering.get()));
         }
 
         if (skipIndex) {
@@ -150,7 +143,8 @@ public class CreateIndexesReplImpl
               indexOptions.getName(), req.getDatabase(), arg.getCollection());
 
           if (schemaEx.createIndex(req.getDatabase(), arg.getCollection(), indexOptions.getName(),
-              fields, indexOptions.isUnique())) {
+              fields, indexOptions.isUnique(), indexOptions.isSparse(),
+              indexOptions.isBackground())) {
             indexesAfter++;
           }
         } catch (UnsupportedIndexException ex) {
@@ -191,6 +185,11 @@ public class CreateIndexesReplImpl
     public Optional<FieldIndexOrdering> visit(DescIndexType indexType, Void arg) {
       return Optional.of(FieldIndexOrdering.DESC);
     }
+
+    @Override
+    public Optional<FieldIndexOrdering> visit(HashedIndexType indexType, Void arg) {
+      return Optional.of(FieldIndexOrdering.HASHED);
+    }
   }
 
 }
@@ -20,8 +20,10 @@ package com.torodb.mongodb.repl.commands.impl;
 
 import com.torodb.core.language.AttributeReference;
 import com.torodb.core.logging.LoggerFactory;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.mongodb.commands.pojos.index.IndexOptions;
 import com.torodb.mongodb.commands.pojos.index.IndexOptions.KnownType;
+import com.torodb.mongodb.commands.pojos.index.type.IndexType;
 import com.torodb.mongodb.commands.signatures.admin.DropIndexesCommand.DropIndexesArgument;
 import com.torodb.mongodb.commands.signatures.admin.DropIndexesCommand.DropIndexesResult;
 import com.torodb.mongodb.utils.DefaultIdUtils;
@@ -127,8 +129,7 @@ public class DropIndexesReplImpl extends ReplCommandImpl<DropIndexesArgument, Dr
       IndexFieldInfo field = fieldsIterator.next();
       IndexOptions.Key key = keysIterator.next();
 
-      if ((field.isAscending() && key.getType() != KnownType.asc.getIndexType()) || (!field
-          .isAscending() && key.getType() != KnownType.desc.getIndexType()) || (field
+      if (key.getType() != toIndexType(field.getOrdering()) || (field
           .getAttributeReference().getKeys().size() != key.getKeys().size())) {
         return false;
       }
@@ -150,4 +151,17 @@ public class DropIndexesReplImpl extends ReplCommandImpl<DropIndexesArgument, Dr
     return true;
   }
 
+  private IndexType toIndexType(FieldIndexOrdering ordering) {
+    switch (ordering) {
+      case ASC:
+        return KnownType.asc.getIndexType();
+      case DESC:
+        return KnownType.desc.getIndexType();
+      case HASHED:
+        return KnownType.hashed.getIndexType();
+      default:
+        throw new AssertionError("Unexpected ordering " + ordering);
+    }
+  }
+
 }
@@ -28,10 +28,17 @@ import com.torodb.mongodb.repl.ReplMetrics;
 import com.torodb.mongodb.repl.SyncSourceProvider;
 import com.torodb.mongodb.repl.oplogreplier.OplogApplier;
 import com.torodb.mongodb.repl.oplogreplier.fetcher.ContinuousOplogFetcher;
+import com.torodb.mongodb.repl.oplogreplier.fetcher.ContinuousOplogFetcher.FetchLimits;
 
 
 public class OplogApplierServiceModule extends PrivateModule {
-  
+
+  private final FetchLimits fetchLimits;
+
+  public OplogApplierServiceModule(FetchLimits fetchLimits) {
+    this.fetchLimits = fetchLimits;
+  }
+
   @Override
   protected void configure() {
     expose(OplogApplierService.OplogApplierServiceFactory.class);
@@ -51,6 +58,9 @@ public class OplogApplierServiceModule extends PrivateModule {
     );
     
 
+    bind(FetchLimits.class)
+        .toInstance(fetchLimits);
+
     install(new FactoryModuleBuilder()
         .implement(ContinuousOplogFetcher.class, ContinuousOplogFetcher.class)
         .build(ContinuousOplogFetcher.ContinuousOplogFetcherFactory.class)
@@ -23,6 +23,7 @@ import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
 import com.torodb.core.supervision.Supervisor;
 import com.torodb.mongodb.core.MongodServer;
+import com.torodb.mongodb.repl.InitialSyncCheckpoint;
 import com.torodb.mongodb.repl.OplogManager;
 import com.torodb.mongodb.repl.OplogReaderProvider;
 import com.torodb.mongodb.repl.ReplCoreConfig;
@@ -50,6 +51,7 @@ public class ReplCoreModule extends PrivateModule {
   @Override
   protected void configure() {
     expose(OplogManager.class);
+    expose(InitialSyncCheckpoint.class);
     expose(CachedMongoClientFactory.class);
     expose(OplogReaderProvider.class);
     expose(ReplMetrics.class);
@@ -66,6 +68,8 @@ public class ReplCoreModule extends PrivateModule {
 
     bind(OplogManager.class)
         .in(Singleton.class);
+    bind(InitialSyncCheckpoint.class)
+        .in(Singleton.class);
     bind(ReplMetrics.class)
         .in(Singleton.class);
 
@@ -67,9 +67,12 @@ public abstract class AbstractMongoOplogReader implements OplogReader {
         DefaultBsonValues.newDocument("$gte", lastFetchedOpTime.getTimestamp())
     );
 
+    //the sync source waits until there are new operations before it answers each batch request
+    //and the ts condition is used to skip to the first entry without scanning the oplog
     EnumSet<QueryOption> flags = EnumSet.of(
         QueryOption.AWAIT_DATA,
-        QueryOption.TAILABLE_CURSOR
+        QueryOption.TAILABLE_CURSOR,
+        QueryOption.OPLOG_REPLAY
     );
 
     return query(query, flags, NATURAL_ORDER_SORT);
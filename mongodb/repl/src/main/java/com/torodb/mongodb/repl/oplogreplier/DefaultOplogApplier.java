@@ -43,6 +43,7 @@ import com.torodb.core.concurrent.akka.BatchFlow;
 import com.torodb.core.logging.LoggerFactory;
 import com.torodb.mongodb.repl.OplogManager;
 import com.torodb.mongodb.repl.OplogManager.OplogManagerPersistException;
+import com.torodb.mongodb.repl.OplogManager.ReadOplogTransaction;
 import com.torodb.mongodb.repl.OplogManager.WriteOplogTransaction;
 import com.torodb.mongodb.repl.oplogreplier.batch.AnalyzedOplogBatch;
 import com.torodb.mongodb.repl.oplogreplier.batch.AnalyzedOplogBatchExecutor;
@@ -52,8 +53,12 @@ import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatch;
 import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatchChecker;
 import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatchFilter;
 import com.torodb.mongodb.repl.oplogreplier.fetcher.OplogFetcher;
+import com.torodb.mongodb.repl.oplogreplier.fetcher.PrefetchingOplogFetcher;
+import com.torodb.mongodb.repl.oplogreplier.fetcher.PrefetchingOplogFetcher.PrefetchLimits;
+import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.DurableOplogBuffer;
 import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.OffHeapBufferConfig;
 import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.OffHeapBufferUtils;
+import com.torodb.mongowp.OpTime;
 import com.torodb.mongowp.commands.oplog.OplogOperation;
 
 import org.apache.logging.log4j.Logger;
@@ -74,10 +79,12 @@ import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 public class DefaultOplogApplier implements OplogApplier {
 
+  private static final long BUFFER_POLL_MILLIS = 10;
   private final Logger logger;
   private final BatchLimits batchLimits;
   private final AnalyzedOplogBatchExecutor batchExecutor;
@@ -89,6 +96,16 @@ public class DefaultOplogApplier implements OplogApplier {
   private final OplogBatchFilter batchFilter;
   private final OplogBatchChecker batchChecker;
   private final OffHeapBufferConfig offHeapConfig;
+  private final PrefetchLimits prefetchLimits;
+  private final ExecutorService prefetchExecutor;
+  /**
+   * The buffer used on steady replication if the off-heap buffer is durable. It is null if the
+   * buffer is not durable.
+   */
+  @Nullable
+  private final DurableOplogBuffer durableBuffer;
+  @Nullable
+  private final ExecutorService bufferReaderExecutor;
 
   @Inject
   public DefaultOplogApplier(
@@ -102,7 +119,8 @@ public class DefaultOplogApplier implements OplogApplier {
       OplogApplierMetrics metrics,
       OplogBatchFilter batchFilter,
       OplogBatchChecker batchChecker,
-      OffHeapBufferConfig offHeapConfig) {
+      OffHeapBufferConfig offHeapConfig,
+      PrefetchLimits prefetchLimits) {
     this.logger = lf.apply(this.getClass());
     this.batchExecutor = batchExecutor;
     this.batchLimits = batchLimits;
@@ -117,18 +135,50 @@ public class DefaultOplogApplier implements OplogApplier {
     this.batchFilter = batchFilter;
     this.batchChecker = batchChecker;
     this.offHeapConfig = offHeapConfig;
+    this.prefetchLimits = prefetchLimits;
+    this.prefetchExecutor = concurrentToolsFactory.createExecutorService("oplog-prefetcher", true);
+    if (OffHeapBufferUtils.isDurable(offHeapConfig)) {
+      this.durableBuffer = OffHeapBufferUtils.createDurableBuffer(offHeapConfig);
+      this.bufferReaderExecutor = concurrentToolsFactory.createExecutorServiceWithMaxThreads(
+          "oplog-buffer-reader", 1);
+    } else {
+      this.durableBuffer = null;
+      this.bufferReaderExecutor = null;
+    }
     shutdowner.addCloseShutdownListener(this);
   }
 
   @Override
-  public ApplyingJob apply(OplogFetcher fetcher, ApplierContext applierContext) {
+  public ApplyingJob apply(OplogFetcher remoteFetcher, ApplierContext applierContext) {
+
+    final OplogFetcher fetcher;
+    if (offHeapConfig.getEnabled()) {
+      fetcher = remoteFetcher;
+    } else {
+      //without a buffer, the next batch would be requested only when the last one is applied
+      fetcher = new PrefetchingOplogFetcher(remoteFetcher, prefetchLimits, prefetchExecutor,
+          metrics, logger);
+    }
 
     Materializer materializer = ActorMaterializer.create(actorSystem);
 
+    Source<OplogBatch, NotUsed> bufferedSource;
+    final KillSwitch bufferWriterKillSwitch;
+    final boolean durable = durableBuffer != null && isSteadyReplication(applierContext);
+    if (durable) {
+      Pair<KillSwitch, Source<OplogBatch, NotUsed>> durablePair =
+          createDurableBufferSource(fetcher, materializer);
+      bufferWriterKillSwitch = durablePair.first();
+      bufferedSource = durablePair.second();
+    } else {
+      bufferWriterKillSwitch = null;
+      bufferedSource = createOplogSource(fetcher)
+          .async()
+          .via(createNonDurableBuffer());
+    }
+
     RunnableGraph<Pair<UniqueKillSwitch, CompletionStage<Done>>> graph =
-        createOplogSource(fetcher)
-            .async()
-            .via(createOffheapBuffer(this.offHeapConfig))
+        bufferedSource
             .async()
             .map(batchFilter)
             .map(batchChecker)
@@ -157,6 +207,9 @@ public class DefaultOplogApplier implements OplogApplier {
             .whenComplete(
                 (done, t) -> {
                   fetcher.close();
+                  if (bufferWriterKillSwitch != null) {
+                    bufferWriterKillSwitch.shutdown();
+                  }
                   if (done != null) {
                     logger.trace("Oplog replication stream finished normally");
                   } else {
@@ -176,6 +229,9 @@ public class DefaultOplogApplier implements OplogApplier {
                           "Oplog replication stream finished exceptionally: "
                               + cause.getLocalizedMessage(),
                           cause);
+                      if (durable && cause instanceof RollbackReplicationException) {
+                        truncateDurableBuffer();
+                      }
                       //the stream should be finished exceptionally, but just in case we
                       //notify the kill switch to stop the stream.
                       killSwitch.shutdown();
@@ -186,17 +242,148 @@ public class DefaultOplogApplier implements OplogApplier {
     return new DefaultApplyingJob(killSwitch, whenComplete);
   }
 
-  private Flow<OplogBatch, OplogBatch, NotUsed> createOffheapBuffer(
-      OffHeapBufferConfig offHeapConfig) {
+  @Override
+  public Optional<OplogOperation> getLastBufferedOperation(long lastAppliedHash,
+      OpTime lastAppliedOptime) {
+    if (durableBuffer == null) {
+      return Optional.empty();
+    }
+    return durableBuffer.getLastBufferedOperation(lastAppliedHash, lastAppliedOptime);
+  }
+
+  /**
+   * Discards the batches stored on the durable buffer, as the ones that have not been applied may
+   * not be on the sync source after a rollback.
+   */
+  private void truncateDurableBuffer() {
+    assert durableBuffer != null;
+    assert bufferReaderExecutor != null;
+    logger.info("Discarding the buffered operations, as the sync source has rolled back");
+    //the buffer is truncated on the reader thread, which could still be reading it
+    CompletableFuture.runAsync(durableBuffer::truncate, bufferReaderExecutor).join();
+  }
+
+  private Flow<OplogBatch, OplogBatch, NotUsed> createNonDurableBuffer() {
+    if (durableBuffer != null) {
+      //the durable buffer path cannot be shared with a volatile buffer, which deletes it
+      return Flow.of(OplogBatch.class);
+    }
     return OffHeapBufferUtils.createOffheapBuffer(offHeapConfig);
   }
 
+  /**
+   * Returns true iff the given context is the one used to apply the oplog once the node is
+   * consistent, which is the only case where the durable buffer is used.
+   */
+  private boolean isSteadyReplication(ApplierContext context) {
+    return !context.isReapplying().orElse(true);
+  }
+
+  /**
+   * Creates a source that emits the batches stored on the durable buffer after the last applied
+   * operation.
+   *
+   * <p>The batches fetched by the given fetcher are appended to the buffer by another stream,
+   * which is stopped by the returned kill switch. The returned source finishes once that stream
+   * finishes and all its batches have been read.
+   *
+   * <p>The fetcher starts after the last buffered operation, so no batch is read from the buffer
+   * until the fetcher returns its first batch, which confirms that operation is still on the sync
+   * source. If the fetcher detects a rollback instead, the buffered operations are not applied.
+   */
+  private Pair<KillSwitch, Source<OplogBatch, NotUsed>> createDurableBufferSource(
+      OplogFetcher fetcher, Materializer materializer) {
+    assert durableBuffer != null;
+    assert bufferReaderExecutor != null;
+
+    long lastAppliedHash;
+    OpTime lastAppliedOptime;
+    try (ReadOplogTransaction oplogReadTrans = oplogManager.createReadTransaction()) {
+      lastAppliedHash = oplogReadTrans.getLastAppliedHash();
+      lastAppliedOptime = oplogReadTrans.getLastAppliedOptime();
+    }
+    DurableOplogBuffer.Reader reader = durableBuffer.createReader(lastAppliedHash,
+        lastAppliedOptime);
+    OpTime lastBufferedOptime = durableBuffer
+        .getLastBufferedOperation(lastAppliedHash, lastAppliedOptime)
+        .map(OplogOperation::getOpTime)
+        .orElse(lastAppliedOptime);
+    if (lastBufferedOptime.compareTo(lastAppliedOptime) > 0) {
+      logger.info("Replaying buffered operations from {} to {}", lastAppliedOptime,
+          lastBufferedOptime);
+    }
+
+    CompletableFuture<Done> sourceConfirmed = new CompletableFuture<>();
+    //the fetcher could start before the last buffered operation, which must not be stored twice
+    Pair<UniqueKillSwitch, CompletionStage<Done>> writer = createOplogSource(fetcher)
+        .viaMat(KillSwitches.single(), Keep.right())
+        .map(batch -> {
+          //the fetcher only returns batches once it has checked where it starts from
+          sourceConfirmed.complete(Done.getInstance());
+          return batch.filter(op -> op.getOpTime().compareTo(lastBufferedOptime) > 0);
+        })
+        .toMat(Sink.foreach(durableBuffer::append), Keep.both())
+        .run(materializer);
+
+    CompletableFuture<Done> writerFinish = writer.second().toCompletableFuture();
+    Source<OplogBatch, NotUsed> source = Source.unfoldAsync(
+        new BufferReadState(reader),
+        state -> CompletableFuture.supplyAsync(
+            () -> readBuffered(state, sourceConfirmed, writerFinish),
+            bufferReaderExecutor
+        )
+    );
+    return new Pair<>(writer.first(), source);
+  }
+
+  /**
+   * Returns the next batch on the durable buffer, blocking until there is one or the stream that
+   * writes on the buffer finishes.
+   *
+   * <p>When there is no batch to read, a batch that is not {@link OplogBatch#isReadyForMore()
+   * ready for more} is returned before blocking, as the fetcher does when the remote oplog has no
+   * new operations.
+   *
+   * <p>Nothing is read until the given source confirmation is completed.
+   */
+  private Optional<Pair<BufferReadState, OplogBatch>> readBuffered(BufferReadState state,
+      CompletableFuture<Done> sourceConfirmed, CompletableFuture<Done> writerFinish) {
+    while (true) {
+      boolean writerFinished = writerFinish.isDone();
+      OplogBatch batch = sourceConfirmed.isDone() ? state.reader.next() : null;
+      if (batch != null) {
+        state.waiting = false;
+        return Optional.of(new Pair<>(state, batch));
+      }
+      if (writerFinished) {
+        //throws the exception that finished the writer, if any
+        writerFinish.join();
+        return Optional.empty();
+      }
+      if (!state.waiting) {
+        state.waiting = true;
+        return Optional.of(new Pair<>(state, NotReadyForMoreOplogBatch.getInstance()));
+      }
+      try {
+        Thread.sleep(BUFFER_POLL_MILLIS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(ex);
+      }
+    }
+  }
+
   @Override
   public void close() throws Exception {
     logger.trace("Waiting until actor system terminates");
     Await.result(actorSystem.terminate(), Duration.Inf());
     logger.trace("Actor system terminated");
     executorService.shutdown();
+    prefetchExecutor.shutdownNow();
+    if (durableBuffer != null) {
+      bufferReaderExecutor.shutdownNow();
+      durableBuffer.close();
+    }
   }
 
   private Source<OplogBatch, NotUsed> createOplogSource(OplogFetcher fetcher) {
@@ -286,6 +473,19 @@ public class DefaultOplogApplier implements OplogApplier {
     metrics.getApplicationCost().update((1000L * batchExecutionMillis) / rawBatchSize);
   }
 
+  private static class BufferReadState {
+
+    private final DurableOplogBuffer.Reader reader;
+    /**
+     * True iff there were no batches to read on the last call.
+     */
+    private boolean waiting = false;
+
+    private BufferReadState(DurableOplogBuffer.Reader reader) {
+      this.reader = reader;
+    }
+  }
+
   private static class DefaultApplyingJob extends AbstractApplyingJob {
 
     private final KillSwitch killSwitch;
@@ -38,6 +38,7 @@ import com.torodb.mongodb.repl.oplogreplier.batch.ConcurrentOplogBatchExecutor;
 import com.torodb.mongodb.repl.oplogreplier.batch.NamespaceJobExecutor;
 import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatchChecker;
 import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatchFilter;
+import com.torodb.mongodb.repl.oplogreplier.fetcher.PrefetchingOplogFetcher;
 import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.OffHeapBufferConfig;
 
 import java.time.Duration;
@@ -64,6 +65,8 @@ public class DefaultOplogApplierGuiceModule extends PrivateModule {
         .in(Singleton.class);
     bind(DefaultOplogApplier.BatchLimits.class)
         .toInstance(new DefaultOplogApplier.BatchLimits(1000, Duration.ofSeconds(2)));
+    bind(PrefetchingOplogFetcher.PrefetchLimits.class)
+        .toInstance(new PrefetchingOplogFetcher.PrefetchLimits(4, 10000));
     bind(OplogApplierMetrics.class)
         .in(Singleton.class);
     bind(OffHeapBufferConfig.class)
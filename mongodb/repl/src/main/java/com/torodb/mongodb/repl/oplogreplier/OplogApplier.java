@@ -20,9 +20,12 @@ package com.torodb.mongodb.repl.oplogreplier;
 
 import com.torodb.mongodb.repl.OplogManager;
 import com.torodb.mongodb.repl.oplogreplier.fetcher.OplogFetcher;
+import com.torodb.mongowp.OpTime;
+import com.torodb.mongowp.commands.oplog.OplogOperation;
 
 import org.jooq.lambda.tuple.Tuple2;
 
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 
@@ -41,6 +44,18 @@ public interface OplogApplier extends AutoCloseable {
    */
   public ApplyingJob apply(OplogFetcher fetcher, ApplierContext context);
 
+  /**
+   * Returns the buffered operation a new {@link OplogFetcher} should continue from.
+   *
+   * <p>Appliers that keep fetched operations between restarts apply them before the ones returned
+   * by the fetcher, so these operations do not need to be fetched again. An empty optional is
+   * returned when there is no buffered operation after the given last applied one.
+   */
+  public default Optional<OplogOperation> getLastBufferedOperation(long lastAppliedHash,
+      OpTime lastAppliedOptime) {
+    return Optional.empty();
+  }
+
   public static interface ApplyingJob {
 
     default boolean hasFinished() {
@@ -18,6 +18,7 @@
 
 package com.torodb.mongodb.repl.oplogreplier;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Meter;
 import com.torodb.core.metrics.ToroMetricRegistry;
@@ -32,6 +33,8 @@ public class OplogApplierMetrics {
   private final Meter applied;
   private final Histogram batchSize;
   private final Histogram applicationCost;
+  private final Counter prefetchedOps;
+  private final Counter prefetchedBatches;
 
   @Inject
   public OplogApplierMetrics(ToroMetricRegistry parentRegistry) {
@@ -48,6 +51,12 @@ public class OplogApplierMetrics {
 
     applicationCost = registry.histogram("applicationCost");
     registry.gauge("applicationCostUnit").setValue("microseconds/op");
+
+    prefetchedOps = registry.counter("prefetchedOps");
+    registry.gauge("prefetchedOpsUnit").setValue("ops");
+
+    prefetchedBatches = registry.counter("prefetchedBatches");
+    registry.gauge("prefetchedBatchesUnit").setValue("batches");
   }
 
   public Histogram getMaxDelay() {
@@ -65,4 +74,15 @@ public class OplogApplierMetrics {
   public Histogram getApplicationCost() {
     return applicationCost;
   }
+
+  /**
+   * The number of operations that have been fetched from the sync source but not consumed yet.
+   */
+  public Counter getPrefetchedOps() {
+    return prefetchedOps;
+  }
+
+  public Counter getPrefetchedBatches() {
+    return prefetchedBatches;
+  }
 }
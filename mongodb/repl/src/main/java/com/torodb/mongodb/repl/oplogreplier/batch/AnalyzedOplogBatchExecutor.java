@@ -61,6 +61,7 @@ public interface AnalyzedOplogBatchExecutor extends Service,
     private final Histogram cudBatchSize;
     private final Timer cudBatchTimer;
     private final Timer namespaceBatchTimer;
+    private final Timer schemaPreparationTimer;
 
     @Inject
     public AnalyzedOplogBatchExecutorMetrics(ToroMetricRegistry parentRegistry) {
@@ -68,6 +69,7 @@ public interface AnalyzedOplogBatchExecutor extends Service,
       this.cudBatchSize = registry.histogram("batchSize");
       this.cudBatchTimer = registry.timer("cudTimer");
       this.namespaceBatchTimer = registry.timer("namespaceTimer");
+      this.schemaPreparationTimer = registry.timer("schemaPreparationTimer");
     }
 
     protected ToroMetricRegistry getRegistry() {
@@ -98,6 +100,10 @@ public interface AnalyzedOplogBatchExecutor extends Service,
       return namespaceBatchTimer;
     }
 
+    public Timer getSchemaPreparationTimer() {
+      return schemaPreparationTimer;
+    }
+
     @Nonnull
     private String getMapKey(OplogOperation oplogOp) {
       if (oplogOp instanceof DbCmdOplogOperation) {
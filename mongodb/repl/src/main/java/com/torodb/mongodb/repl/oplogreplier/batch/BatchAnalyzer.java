@@ -35,9 +35,11 @@ import com.torodb.mongowp.commands.oplog.OplogOperation;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 public class BatchAnalyzer implements Function<List<OplogOperation>, List<AnalyzedOplogBatch>> {
@@ -60,32 +62,38 @@ public class BatchAnalyzer implements Function<List<OplogOperation>, List<Analyz
     this.analyzedOpReducer = analyzedOpReducer;
   }
 
+  /**
+   * Splits the given operations into batches that must be executed sequentially.
+   *
+   * <p>Commands and CUD operations on system collections are barriers that must be executed
+   * alone, but a CUD operation is only ordered after the barriers whose
+   * {@link NamespaceScope scope} contains its namespace. Operations on other namespaces are moved
+   * before these barriers, so they can be executed concurrently with the operations that precede
+   * them. The order between operations on the same namespace and the order between barriers is
+   * always preserved.
+   */
   @Override
   public List<AnalyzedOplogBatch> apply(List<OplogOperation> oplogOps) {
-    List<AnalyzedOplogBatch> result = new ArrayList<>();
+    List<Segment> segments = new ArrayList<>();
 
-    int fromExcluded = -1;
-
-    for (int i = 0; i < oplogOps.size(); i++) {
-      OplogOperation op = oplogOps.get(i);
+    for (OplogOperation op : oplogOps) {
       switch (op.getType()) {
         case DB:
         case NOOP:
           logger.debug("Ignoring operation {}", op);
           break;
         case DB_CMD:
-          addParallelToBatch(oplogOps, fromExcluded, i, result);
-          fromExcluded = i;
-          result.add(new SingleOpAnalyzedOplogBatch((DbCmdOplogOperation) op));
+          segments.add(new Segment(op, NamespaceScope.fromCommand((DbCmdOplogOperation) op)));
           break;
         case DELETE:
         case INSERT:
         case UPDATE: {
+          CollectionOplogOperation colOp = (CollectionOplogOperation) op;
           //CUD operations on system collection must be addressed sequentially
-          if (SYSTEM_COLLECTIONS.contains(((CollectionOplogOperation) op).getCollection())) {
-            addParallelToBatch(oplogOps, fromExcluded, i, result);
-            fromExcluded = i;
-            result.add(new SingleOpAnalyzedOplogBatch(op));
+          if (SYSTEM_COLLECTIONS.contains(colOp.getCollection())) {
+            segments.add(new Segment(op, NamespaceScope.database(colOp.getDatabase())));
+          } else {
+            addCudOperation(colOp, segments);
           }
           break;
         }
@@ -93,19 +101,64 @@ public class BatchAnalyzer implements Function<List<OplogOperation>, List<Analyz
           throw new AssertionError("Found an unknown oplog operation " + op);
       }
     }
-    addParallelToBatch(oplogOps, fromExcluded, oplogOps.size(), result);
 
+    List<AnalyzedOplogBatch> result = new ArrayList<>(segments.size());
+    for (Segment segment : segments) {
+      if (segment.isBarrier()) {
+        result.add(new SingleOpAnalyzedOplogBatch(segment.barrier));
+      } else {
+        result.add(new CudAnalyzedOplogBatch(segment.cudOps, context, analyzedOpReducer));
+      }
+    }
     return result;
   }
 
-  private void addParallelToBatch(List<OplogOperation> allOperations, int fromExcluded,
-      int toExcluded, List<AnalyzedOplogBatch> batches) {
-    int from = fromExcluded + 1;
-    if (from == toExcluded) {
-      return;
+  private void addCudOperation(CollectionOplogOperation op, List<Segment> segments) {
+    int firstCandidate = 0;
+    for (int i = segments.size() - 1; i >= 0; i--) {
+      Segment segment = segments.get(i);
+      if (segment.isBarrier() && segment.scope.contains(op.getDatabase(), op.getCollection())) {
+        firstCandidate = i + 1;
+        break;
+      }
+    }
+    //new cud segments are only appended, so previous operations on the same namespace are
+    //always on the first cud segment after the last barrier that affects it
+    for (int i = firstCandidate; i < segments.size(); i++) {
+      Segment segment = segments.get(i);
+      if (!segment.isBarrier()) {
+        segment.cudOps.add(op);
+        return;
+      }
+    }
+    Segment newSegment = new Segment();
+    newSegment.cudOps.add(op);
+    segments.add(newSegment);
+  }
+
+  private static class Segment {
+
+    @Nullable
+    private final OplogOperation barrier;
+    @Nullable
+    private final NamespaceScope scope;
+    private final List<OplogOperation> cudOps;
+
+    private Segment() {
+      this.barrier = null;
+      this.scope = null;
+      this.cudOps = new ArrayList<>();
+    }
+
+    private Segment(OplogOperation barrier, NamespaceScope scope) {
+      this.barrier = barrier;
+      this.scope = scope;
+      this.cudOps = Collections.emptyList();
+    }
+
+    private boolean isBarrier() {
+      return barrier != null;
     }
-    batches.add(new CudAnalyzedOplogBatch(allOperations.subList(from, toExcluded), context,
-        analyzedOpReducer));
   }
 
   public static interface BatchAnalyzerFactory {
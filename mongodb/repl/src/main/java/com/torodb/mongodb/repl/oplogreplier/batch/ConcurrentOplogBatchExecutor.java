@@ -56,7 +56,7 @@ public class ConcurrentOplogBatchExecutor extends SimpleAnalyzedOplogBatchExecut
       MongodServer server, Retrier retrier, ConcurrentToolsFactory concurrentToolsFactory,
       NamespaceJobExecutor namespaceJobExecutor, LoggerFactory lf,
       ConcurrentOplogBatchExecutorMetrics concurrentMetrics, SubBatchHeuristic subBatchHeuristic) {
-    super(concurrentMetrics, oplogOperationApplier, server, retrier, namespaceJobExecutor);
+    super(concurrentMetrics, oplogOperationApplier, server, retrier, namespaceJobExecutor, lf);
     this.streamExecutor = concurrentToolsFactory.createStreamExecutor(
         lf.apply(this.getClass()), "concurrent-oplog-batch-executor", true);
     this.concurrentMetrics = concurrentMetrics;
@@ -82,7 +82,11 @@ public class ConcurrentOplogBatchExecutor extends SimpleAnalyzedOplogBatchExecut
   @Override
   public void execute(CudAnalyzedOplogBatch cudBatch, ApplierContext context) throws UserException {
     assert isRunning() : "The service is on state " + state() + " instead of RUNNING";
-    List<NamespaceJob> namespaceJobList = cudBatch.streamNamespaceJobs()
+    List<NamespaceJob> jobs = cudBatch.streamNamespaceJobs()
+        .collect(Collectors.toList());
+    prepareSchema(jobs);
+
+    List<NamespaceJob> namespaceJobList = jobs.stream()
         .flatMap(this::split)
         .collect(Collectors.toList());
     concurrentMetrics.getSubBatchSizeMeter().mark(namespaceJobList.size());
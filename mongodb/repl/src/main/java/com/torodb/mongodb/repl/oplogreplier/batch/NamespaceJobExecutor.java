@@ -35,8 +35,13 @@ import com.torodb.mongodb.utils.DefaultIdUtils;
 import com.torodb.mongowp.Status;
 import org.jooq.lambda.tuple.Tuple2;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -87,8 +92,9 @@ public class NamespaceJobExecutor {
     }
     if (errors.isEmpty()) {
       Map<AnalyzedOp, ToroDocument> fetchDocs = fetchDocs(job, trans, fetchDids);
-      deleteDocs(job, trans, fetchDids);
-      insertDocs(job, trans, fetchDocs);
+      Set<AnalyzedOp> updatedInPlace = updateInPlace(job, trans, fetchDocs);
+      deleteDocs(job, trans, fetchDids, updatedInPlace);
+      insertDocs(job, trans, fetchDocs, updatedInPlace);
     }
   }
 
@@ -163,14 +169,50 @@ public class NamespaceJobExecutor {
         );
   }
 
+  /**
+   * Applies the ops whose fetched document can be modified in place and returns them.
+   *
+   * <p>The returned ops must not delete or insert their documents, as they have already been
+   * updated.
+   *
+   * @see com.torodb.torod.WriteDocTransaction#updateInPlace(String, String, List)
+   */
+  private Set<AnalyzedOp> updateInPlace(NamespaceJob job, WriteMongodTransaction transaction,
+      Map<AnalyzedOp, ToroDocument> fetchDocs) throws UserException {
+    if (fetchDocs.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    Map<Integer, AnalyzedOp> didToOps = new HashMap<>();
+    List<Tuple2<ToroDocument, KvDocument>> updates = new ArrayList<>(fetchDocs.size());
+    for (Map.Entry<AnalyzedOp, ToroDocument> entry : fetchDocs.entrySet()) {
+      ToroDocument fetchedDoc = entry.getValue();
+      KvDocument newDoc = entry.getKey().calculateDocToInsert(op -> fetchedDoc.getRoot());
+      if (newDoc != null) {
+        didToOps.put(fetchedDoc.getId(), entry.getKey());
+        updates.add(new Tuple2<>(fetchedDoc, newDoc));
+      }
+    }
+
+    List<Tuple2<ToroDocument, KvDocument>> notApplied = transaction.getDocTransaction()
+        .updateInPlace(job.getDatabase(), job.getCollection(), updates);
+
+    Set<AnalyzedOp> result = new HashSet<>(didToOps.values());
+    for (Tuple2<ToroDocument, KvDocument> update : notApplied) {
+      result.remove(didToOps.get(update.v1().getId()));
+    }
+    return result;
+  }
+
   private void deleteDocs(NamespaceJob job, WriteMongodTransaction transaction,
-      Map<AnalyzedOp, Integer> fetchDids) {
+      Map<AnalyzedOp, Integer> fetchDids, Set<AnalyzedOp> updatedInPlace) {
     if (fetchDids.isEmpty()) {
       return;
     }
 
     Stream<Integer> didsToDelete = job.getJobs().stream()
         .filter(AnalyzedOp::deletes)
+        .filter(op -> !updatedInPlace.contains(op))
         .map(op -> fetchDids.get(op))
         .filter(did -> did != null);
 
@@ -179,7 +221,8 @@ public class NamespaceJobExecutor {
   }
 
   private void insertDocs(NamespaceJob job, WriteMongodTransaction transaction,
-      Map<AnalyzedOp, ToroDocument> fetchDocs) throws UserException {
+      Map<AnalyzedOp, ToroDocument> fetchDocs, Set<AnalyzedOp> updatedInPlace)
+      throws UserException {
     Function<AnalyzedOp, KvDocument> getFetchDocFun = op -> {
       ToroDocument fetchToroDoc = fetchDocs.get(op);
       if (fetchToroDoc == null) {
@@ -189,6 +232,7 @@ public class NamespaceJobExecutor {
       }
     };
     Stream<KvDocument> docsToInsert = job.getJobs().stream()
+        .filter(op -> !updatedInPlace.contains(op))
         .map(op -> op.calculateDocToInsert(getFetchDocFun))
         .filter(doc -> doc != null);
 
@@ -0,0 +1,125 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.mongodb.repl.oplogreplier.batch;
+
+import com.google.common.collect.ImmutableSet;
+import com.torodb.mongowp.bson.BsonDocument;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.commands.oplog.DbCmdOplogOperation;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The set of namespaces that can be affected by an oplog operation that must be applied
+ * sequentially, like a command.
+ *
+ * <p>A scope can contain a single collection, all collections on a database or all namespaces.
+ */
+@Immutable
+public class NamespaceScope {
+
+  private static final NamespaceScope ALL = new NamespaceScope(null, null);
+  /**
+   * The commands whose first value is the name of the only collection they modify.
+   */
+  private static final ImmutableSet<String> COLLECTION_COMMANDS = ImmutableSet.<String>builder()
+      .add("create")
+      .add("drop")
+      .add("createIndexes")
+      .add("deleteIndex")
+      .add("deleteIndexes")
+      .add("dropIndex")
+      .add("dropIndexes")
+      .add("collMod")
+      .add("convertToCapped")
+      .add("emptycapped")
+      .build();
+
+  @Nullable
+  private final String database;
+  @Nullable
+  private final String collection;
+
+  private NamespaceScope(@Nullable String database, @Nullable String collection) {
+    assert database != null || collection == null;
+    this.database = database;
+    this.collection = collection;
+  }
+
+  public static NamespaceScope all() {
+    return ALL;
+  }
+
+  public static NamespaceScope database(String database) {
+    return new NamespaceScope(database, null);
+  }
+
+  public static NamespaceScope collection(String database, String collection) {
+    return new NamespaceScope(database, collection);
+  }
+
+  /**
+   * Returns the scope of the given command.
+   *
+   * <p>Unknown commands and commands that can affect more than one database, like
+   * {@code renameCollection} or {@code applyOps}, affect all namespaces.
+   */
+  public static NamespaceScope fromCommand(DbCmdOplogOperation op) {
+    BsonDocument request = op.getRequest();
+    if (request.isEmpty()) {
+      return all();
+    }
+    BsonValue<?> firstValue = request.getFirstEntry().getValue();
+    String collection = firstValue.isString() ? firstValue.asString().getValue() : null;
+    return fromCommand(op.getDatabase(), request.getFirstEntry().getKey(), collection);
+  }
+
+  static NamespaceScope fromCommand(String database, String commandName,
+      @Nullable String collection) {
+    if (COLLECTION_COMMANDS.contains(commandName)) {
+      if (collection == null) {
+        return database(database);
+      }
+      return collection(database, collection);
+    }
+    if ("dropDatabase".equals(commandName)) {
+      return database(database);
+    }
+    return all();
+  }
+
+  public boolean contains(String database, String collection) {
+    if (this.database == null) {
+      return true;
+    }
+    if (!this.database.equals(database)) {
+      return false;
+    }
+    return this.collection == null || this.collection.equals(collection);
+  }
+
+  @Override
+  public String toString() {
+    if (database == null) {
+      return "*";
+    }
+    return database + '.' + (collection == null ? "*" : collection);
+  }
+
+}
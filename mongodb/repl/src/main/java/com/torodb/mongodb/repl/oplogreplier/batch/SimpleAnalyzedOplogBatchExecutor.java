@@ -23,20 +23,30 @@ import com.google.common.util.concurrent.AbstractService;
 import com.torodb.common.util.Empty;
 import com.torodb.core.exceptions.user.UniqueIndexViolationException;
 import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.logging.LoggerFactory;
 import com.torodb.core.retrier.Retrier;
 import com.torodb.core.retrier.Retrier.Hint;
 import com.torodb.core.retrier.RetrierAbortException;
 import com.torodb.core.retrier.RetrierGiveUpException;
 import com.torodb.core.transaction.RollbackException;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.mongodb.core.MongodSchemaExecutor;
 import com.torodb.mongodb.core.MongodServer;
 import com.torodb.mongodb.repl.oplogreplier.ApplierContext;
 import com.torodb.mongodb.repl.oplogreplier.OplogOperationApplier;
 import com.torodb.mongodb.repl.oplogreplier.OplogOperationApplier.OplogApplyingException;
 import com.torodb.mongodb.repl.oplogreplier.batch.AnalyzedOplogBatchExecutor.AnalyzedOplogBatchExecutorMetrics;
 import com.torodb.mongowp.commands.oplog.OplogOperation;
+import com.torodb.torod.SchemaOperationExecutor;
+import com.torodb.torod.TorodServer;
+import com.torodb.torod.exception.UserSchemaException;
+import org.apache.logging.log4j.Logger;
 
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -52,17 +62,20 @@ public class SimpleAnalyzedOplogBatchExecutor extends AbstractService
   private final MongodServer server;
   private final Retrier retrier;
   private final NamespaceJobExecutor namespaceJobExecutor;
+  private final Logger logger;
 
   @Inject
   public SimpleAnalyzedOplogBatchExecutor(
       AnalyzedOplogBatchExecutorMetrics metrics,
       OplogOperationApplier oplogOperationApplier, MongodServer server,
-      Retrier retrier, NamespaceJobExecutor namespaceJobExecutor) {
+      Retrier retrier, NamespaceJobExecutor namespaceJobExecutor,
+      LoggerFactory loggerFactory) {
     this.metrics = metrics;
     this.oplogOperationApplier = oplogOperationApplier;
     this.server = server;
     this.retrier = retrier;
     this.namespaceJobExecutor = namespaceJobExecutor;
+    this.logger = loggerFactory.apply(this.getClass());
   }
 
   @Override
@@ -84,9 +97,55 @@ public class SimpleAnalyzedOplogBatchExecutor extends AbstractService
   @Override
   public void execute(CudAnalyzedOplogBatch cudBatch, ApplierContext context)
       throws RollbackException, UserException, NamespaceJobExecutionException {
-    Iterator<NamespaceJob> it = cudBatch.streamNamespaceJobs().iterator();
-    while (it.hasNext()) {
-      execute(it.next(), context);
+    List<NamespaceJob> jobs = cudBatch.streamNamespaceJobs()
+        .collect(Collectors.toList());
+    prepareSchema(jobs);
+    for (NamespaceJob job : jobs) {
+      execute(job, context);
+    }
+  }
+
+  /**
+   * Adds in a single schema operation the doc parts and fields required by the documents the given
+   * jobs are going to insert, so namespace jobs do not need to change the schema one by one.
+   *
+   * <p>Only documents that can be calculated without fetching the stored ones are analyzed.
+   * Documents that already fit the current metadata are ignored, so the schema executor, which
+   * requires exclusive access, is only opened when some namespace needs new doc parts or fields.
+   * Namespace jobs still change the schema by themselves if their schema cannot be prepared here.
+   */
+  protected void prepareSchema(List<NamespaceJob> jobs) {
+    TorodServer torodServer = server.getTorodServer();
+    Map<NamespaceJob, List<KvDocument>> docsByJob = new LinkedHashMap<>();
+    for (NamespaceJob job : jobs) {
+      List<KvDocument> docs = job.getJobs().stream()
+          .filter(op -> !op.requiresFetch())
+          .map(op -> op.calculateDocToInsert(fetchedOp -> null))
+          .filter(doc -> doc != null)
+          .collect(Collectors.toList());
+      if (!docs.isEmpty()
+          && !torodServer.fitsSchema(job.getDatabase(), job.getCollection(), docs)) {
+        docsByJob.put(job, docs);
+      }
+    }
+    if (docsByJob.isEmpty()) {
+      return;
+    }
+
+    try (Context timerContext = metrics.getSchemaPreparationTimer().time();
+        MongodSchemaExecutor schemaEx = server.openSchemaExecutor()) {
+      SchemaOperationExecutor docSchemaEx = schemaEx.getDocSchemaExecutor();
+      for (Map.Entry<NamespaceJob, List<KvDocument>> entry : docsByJob.entrySet()) {
+        NamespaceJob job = entry.getKey();
+        try {
+          docSchemaEx.prepareSchema(job.getDatabase(), job.getCollection(), entry.getValue());
+        } catch (UserSchemaException ex) {
+          logger.debug("The schema of {}.{} could not be prepared, its namespace job will change "
+              + "it", job.getDatabase(), job.getCollection(), ex);
+        }
+      }
+    } catch (TimeoutException ignore) {
+      //namespace jobs will change the schema by themselves
     }
   }
 
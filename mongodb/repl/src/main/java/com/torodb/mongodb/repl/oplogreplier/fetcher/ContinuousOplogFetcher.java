@@ -49,6 +49,7 @@ import com.torodb.mongowp.exceptions.OplogOperationUnsupported;
 import com.torodb.mongowp.exceptions.OplogStartMissingException;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -59,6 +60,7 @@ import javax.inject.Inject;
 @NotThreadSafe
 public class ContinuousOplogFetcher implements OplogFetcher {
 
+  private static final long MIN_TRY_MILLIS = 10;
   private final Logger logger;
 
   private final OplogReaderProvider readerProvider;
@@ -66,18 +68,20 @@ public class ContinuousOplogFetcher implements OplogFetcher {
   private final Retrier retrier;
   private final FetcherState state;
   private final ReplMetrics metrics;
+  private final FetchLimits limits;
 
   @Inject
   public ContinuousOplogFetcher(OplogReaderProvider readerProvider,
       SyncSourceProvider syncSourceProvider,
       Retrier retrier, @Assisted long lastFetchedHash, @Assisted OpTime lastFetchedOptime,
-      ReplMetrics metrics, LoggerFactory lf) {
+      ReplMetrics metrics, FetchLimits limits, LoggerFactory lf) {
     this.logger = lf.apply(this.getClass());
     this.readerProvider = readerProvider;
     this.syncSourceProvider = syncSourceProvider;
     this.retrier = retrier;
     this.state = new FetcherState(lastFetchedHash, lastFetchedOptime);
     this.metrics = metrics;
+    this.limits = limits;
   }
 
   public static interface ContinuousOplogFetcherFactory {
@@ -101,15 +105,17 @@ public class ContinuousOplogFetcher implements OplogFetcher {
           state.prepareToFetch();
 
           MongoCursor<OplogOperation> cursor = state.getLastUsedMongoCursor();
-          Batch<OplogOperation> batch = cursor.tryFetchBatch();
+          Batch<OplogOperation> batch = awaitBatch(cursor);
 
-          if (batch == null || !batch.hasNext()) {
-            Thread.sleep(1000);
-            batch = cursor.tryFetchBatch();
-            if (batch == null || !batch.hasNext()) {
-              return NotReadyForMoreOplogBatch.getInstance();
-            }
+          if (batch == null) {
+            state.tailing = true;
+            return NotReadyForMoreOplogBatch.getInstance();
           }
+          /*
+           * If we had to wait for this batch, it contains the last operations on the remote oplog,
+           * so it should be applied without waiting for more operations.
+           */
+          boolean readyForMore = !state.tailing && !state.awaited;
           List<OplogOperation> fetchedOps = null;
           long fetchTime = 0;
 
@@ -128,7 +134,7 @@ public class ContinuousOplogFetcher implements OplogFetcher {
 
             postBatchChecks(cursor, fetchedOps);
 
-            OplogBatch result = new NormalOplogBatch(fetchedOps, true);
+            OplogBatch result = new NormalOplogBatch(fetchedOps, readyForMore);
             successful = true;
             return result;
           } finally {
@@ -183,6 +189,40 @@ public class ContinuousOplogFetcher implements OplogFetcher {
     state.close();
   }
 
+  /**
+   * Returns the next non empty batch of the cursor or null if there was none after waiting
+   * {@link FetchLimits#getMaxAwaitTime()}.
+   *
+   * <p>Oplog cursors are tailable and await data, so each try blocks on the sync source until it
+   * has new operations or its own timeout expires. Tries that return faster than
+   * {@link #MIN_TRY_MILLIS} are spaced to do not busy-poll sources that do not wait.
+   */
+  @Nullable
+  private Batch<OplogOperation> awaitBatch(MongoCursor<OplogOperation> cursor)
+      throws MongoException, DeadCursorException, InterruptedException {
+    long maxAwaitMillis = limits.getMaxAwaitTime().toMillis();
+    long start = System.currentTimeMillis();
+    state.awaited = false;
+    while (!state.isClosed()) {
+      long tryStart = System.currentTimeMillis();
+      Batch<OplogOperation> batch = cursor.tryFetchBatch();
+      if (batch != null && batch.hasNext()) {
+        return batch;
+      }
+      state.awaited = true;
+
+      long now = System.currentTimeMillis();
+      if (now - start >= maxAwaitMillis) {
+        return null;
+      }
+      long tryMillis = now - tryStart;
+      if (tryMillis < MIN_TRY_MILLIS) {
+        Thread.sleep(Math.min(MIN_TRY_MILLIS - tryMillis, maxAwaitMillis - (now - start)));
+      }
+    }
+    return null;
+  }
+
   /**
    *
    * @param cursor
@@ -235,6 +275,14 @@ public class ContinuousOplogFetcher implements OplogFetcher {
   private class FetcherState implements AutoCloseable {
 
     private volatile boolean closed = false;
+    /**
+     * True iff the last fetch found no new operations on the remote oplog.
+     */
+    private boolean tailing = false;
+    /**
+     * True iff the current fetch had to wait for new operations.
+     */
+    private boolean awaited = false;
     private long lastFetchedHash;
     private OpTime lastFetchedOpTime;
     private OplogReader oplogReader;
@@ -363,6 +411,7 @@ public class ContinuousOplogFetcher implements OplogFetcher {
         return;
       }
 
+      tailing = false;
       OplogOperation lastOp = fetchedOps.get(fetchedOpsSize - 1);
       lastFetchedHash = lastOp.getHash();
       lastFetchedOpTime = lastOp.getOpTime();
@@ -372,6 +421,23 @@ public class ContinuousOplogFetcher implements OplogFetcher {
 
   }
 
+  public static class FetchLimits {
+
+    private final Duration maxAwaitTime;
+
+    /**
+     * @param maxAwaitTime the maximum time a fetch waits for new operations before it returns a
+     *                     batch that is not {@link OplogBatch#isReadyForMore() ready for more}
+     */
+    public FetchLimits(Duration maxAwaitTime) {
+      this.maxAwaitTime = maxAwaitTime;
+    }
+
+    public Duration getMaxAwaitTime() {
+      return maxAwaitTime;
+    }
+  }
+
   private static class RestartFetchException extends Exception {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,240 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.mongodb.repl.oplogreplier.fetcher;
+
+import com.google.common.base.Preconditions;
+import com.torodb.mongodb.repl.oplogreplier.FinishedOplogBatch;
+import com.torodb.mongodb.repl.oplogreplier.OplogApplierMetrics;
+import com.torodb.mongodb.repl.oplogreplier.RollbackReplicationException;
+import com.torodb.mongodb.repl.oplogreplier.StopReplicationException;
+import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatch;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An {@link OplogFetcher} that fetches batches from another fetcher on a background task, so the
+ * next remote request is in flight while the previous batches are being applied.
+ *
+ * <p>The number of prefetched batches and operations is bounded by the given
+ * {@link PrefetchLimits}. When one of these limits is reached, the background task stops fetching
+ * until the consumer takes some batches. The delegated fetcher is only used by the background task
+ * and it is closed by it once it finishes.
+ */
+@ThreadSafe
+public class PrefetchingOplogFetcher implements OplogFetcher {
+
+  private final Logger logger;
+  private final OplogFetcher delegate;
+  private final PrefetchLimits limits;
+  private final Executor executor;
+  private final OplogApplierMetrics metrics;
+  private final Lock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  @GuardedBy("lock")
+  private final Queue<Prefetched> queue = new ArrayDeque<>();
+  @GuardedBy("lock")
+  private int prefetchedOps = 0;
+  @GuardedBy("lock")
+  private boolean started = false;
+  @GuardedBy("lock")
+  private boolean producerFinished = false;
+  private volatile boolean closed = false;
+
+  public PrefetchingOplogFetcher(OplogFetcher delegate, PrefetchLimits limits,
+      Executor executor, OplogApplierMetrics metrics, Logger logger) {
+    this.delegate = delegate;
+    this.limits = limits;
+    this.executor = executor;
+    this.metrics = metrics;
+    this.logger = logger;
+  }
+
+  @Override
+  public OplogBatch fetch() throws StopReplicationException, RollbackReplicationException {
+    Prefetched prefetched;
+    lock.lock();
+    try {
+      startIfNecessary();
+      while (queue.isEmpty()) {
+        if (closed || producerFinished) {
+          return FinishedOplogBatch.getInstance();
+        }
+        notEmpty.awaitUninterruptibly();
+      }
+      prefetched = queue.poll();
+      if (prefetched.batch != null) {
+        int count = prefetched.batch.count();
+        prefetchedOps -= count;
+        metrics.getPrefetchedOps().dec(count);
+      }
+      metrics.getPrefetchedBatches().dec();
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    return prefetched.unwrap();
+  }
+
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      metrics.getPrefetchedOps().dec(prefetchedOps);
+      metrics.getPrefetchedBatches().dec(queue.size());
+      prefetchedOps = 0;
+      queue.clear();
+      notEmpty.signalAll();
+      notFull.signalAll();
+      if (!started) {
+        //there is no background task that could close the delegated fetcher
+        delegate.close();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @GuardedBy("lock")
+  private void startIfNecessary() {
+    if (!started && !closed) {
+      started = true;
+      executor.execute(this::prefetch);
+    }
+  }
+
+  private void prefetch() {
+    try {
+      boolean lastOne = false;
+      while (!closed && !lastOne) {
+        Prefetched prefetched;
+        try {
+          OplogBatch batch = delegate.fetch();
+          lastOne = batch.isLastOne();
+          prefetched = new Prefetched(batch, null);
+        } catch (Throwable ex) {
+          //errors are rethrown to the consumer, which would see a finished fetcher otherwise
+          lastOne = true;
+          prefetched = new Prefetched(null, ex);
+        }
+        offer(prefetched);
+      }
+    } finally {
+      lock.lock();
+      try {
+        producerFinished = true;
+        notEmpty.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      delegate.close();
+      logger.trace("Oplog prefetcher finished");
+    }
+  }
+
+  private void offer(Prefetched prefetched) {
+    int count = prefetched.batch != null ? prefetched.batch.count() : 0;
+    lock.lock();
+    try {
+      //a batch bigger than the limit is accepted when the queue is empty to do not block forever
+      while (!closed && !queue.isEmpty() && (queue.size() >= limits.getMaxBatches()
+          || prefetchedOps + count > limits.getMaxOps())) {
+        notFull.awaitUninterruptibly();
+      }
+      if (closed) {
+        return;
+      }
+      queue.add(prefetched);
+      prefetchedOps += count;
+      metrics.getPrefetchedOps().inc(count);
+      metrics.getPrefetchedBatches().inc();
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static class Prefetched {
+
+    private final OplogBatch batch;
+    private final Throwable error;
+
+    public Prefetched(OplogBatch batch, Throwable error) {
+      this.batch = batch;
+      this.error = error;
+    }
+
+    private OplogBatch unwrap() throws StopReplicationException, RollbackReplicationException {
+      if (error == null) {
+        return batch;
+      }
+      if (error instanceof StopReplicationException) {
+        throw (StopReplicationException) error;
+      }
+      if (error instanceof RollbackReplicationException) {
+        throw (RollbackReplicationException) error;
+      }
+      if (error instanceof Error) {
+        throw (Error) error;
+      }
+      if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      }
+      throw new StopReplicationException("Unexpected error while prefetching the oplog", error);
+    }
+  }
+
+  public static class PrefetchLimits {
+
+    private final int maxBatches;
+    private final int maxOps;
+
+    /**
+     * @param maxBatches the maximum number of fetched batches that can be waiting to be consumed
+     * @param maxOps     the maximum number of fetched operations that can be waiting to be
+     *                   consumed
+     */
+    public PrefetchLimits(int maxBatches, int maxOps) {
+      Preconditions.checkArgument(maxBatches > 0, "The max number of batches must be positive");
+      Preconditions.checkArgument(maxOps > 0, "The max number of operations must be positive");
+      this.maxBatches = maxBatches;
+      this.maxOps = maxOps;
+    }
+
+    public int getMaxBatches() {
+      return maxBatches;
+    }
+
+    public int getMaxOps() {
+      return maxOps;
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.mongodb.repl.oplogreplier.offheapbuffer;
+
+import com.torodb.mongodb.repl.OplogManager;
+import com.torodb.mongodb.repl.oplogreplier.OplogBatchMarshaller;
+import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatch;
+import com.torodb.mongowp.OpTime;
+import com.torodb.mongowp.commands.oplog.OplogOperation;
+import net.openhft.chronicle.queue.ChronicleQueue;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import net.openhft.chronicle.wire.DocumentContext;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An off-heap buffer of {@link OplogBatch oplog batches} whose content survives restarts.
+ *
+ * <p>The position of the applier is not stored on the queue. It is the last applied operation
+ * stored by the {@link OplogManager}, so the batches that follow it on the queue are the ones
+ * that were fetched but not applied. If that operation is not on the queue (for instance, after an
+ * initial sync), the buffered batches are ignored.
+ */
+@ThreadSafe
+public class DurableOplogBuffer implements AutoCloseable {
+
+  private final Path path;
+  private final Function<Path, ChronicleQueue> queueFactory;
+  private final OplogBatchMarshaller marshaller = new OplogBatchMarshaller();
+  private volatile ChronicleQueue queue;
+
+  DurableOplogBuffer(Path path, Function<Path, ChronicleQueue> queueFactory) {
+    this.path = path;
+    this.queueFactory = queueFactory;
+    this.queue = queueFactory.apply(path);
+  }
+
+  /**
+   * Appends the given batch to the buffer. Empty batches are not stored.
+   */
+  public synchronized void append(OplogBatch batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    queue.acquireAppender().writeDocument(wire -> marshaller.write(wire, batch));
+  }
+
+  /**
+   * Discards all buffered batches.
+   *
+   * <p>It must be called when the sync source rolls back, as buffered operations that have not
+   * been applied may not exist on it anymore. Readers created before this call must not be used
+   * after it.
+   */
+  public synchronized void truncate() {
+    queue.close();
+    OffHeapBufferUtils.deleteQueueFiles(path);
+    queue = queueFactory.apply(path);
+  }
+
+  /**
+   * Returns the last buffered operation if it follows the given last applied operation.
+   *
+   * <p>In that case, new operations should be fetched after the returned one, as the ones between
+   * both operations will be read from the buffer.
+   */
+  public Optional<OplogOperation> getLastBufferedOperation(long lastAppliedHash,
+      OpTime lastAppliedOptime) {
+    ExcerptTailer tailer = queue.createTailer();
+    if (!moveToOperation(tailer, lastAppliedHash, lastAppliedOptime)) {
+      return Optional.empty();
+    }
+    OplogOperation lastOp = null;
+    OplogBatch batch = read(tailer);
+    while (batch != null) {
+      if (!batch.isEmpty()) {
+        lastOp = batch.getLastOperation();
+      }
+      batch = read(tailer);
+    }
+    if (lastOp == null || lastOp.getOpTime().compareTo(lastAppliedOptime) <= 0) {
+      return Optional.empty();
+    }
+    return Optional.of(lastOp);
+  }
+
+  /**
+   * Creates a reader that returns the buffered operations that follow the given last applied
+   * operation and then the ones that are appended later.
+   */
+  public Reader createReader(long lastAppliedHash, OpTime lastAppliedOptime) {
+    ExcerptTailer tailer = queue.createTailer();
+    if (!moveToOperation(tailer, lastAppliedHash, lastAppliedOptime)) {
+      tailer.toEnd();
+    }
+    return new Reader(tailer, lastAppliedOptime);
+  }
+
+  /**
+   * Moves the tailer to the batch that contains the given operation.
+   *
+   * @return true iff the operation has been found
+   */
+  private boolean moveToOperation(ExcerptTailer tailer, long hash, OpTime opTime) {
+    tailer.toStart();
+    while (true) {
+      long index;
+      OplogBatch batch;
+      try (DocumentContext dc = tailer.readingDocument()) {
+        if (!dc.isPresent()) {
+          return false;
+        }
+        index = dc.index();
+        batch = marshaller.read(dc.wire());
+      }
+      OplogOperation lastOp = batch.getLastOperation();
+      if (lastOp != null && lastOp.getOpTime().compareTo(opTime) >= 0) {
+        boolean found = batch.getOps().stream()
+            .anyMatch(op -> op.getHash() == hash && op.getOpTime().equals(opTime));
+        return found && tailer.moveToIndex(index);
+      }
+    }
+  }
+
+  @Nullable
+  private OplogBatch read(ExcerptTailer tailer) {
+    try (DocumentContext dc = tailer.readingDocument()) {
+      if (!dc.isPresent()) {
+        return null;
+      }
+      return marshaller.read(dc.wire());
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    queue.close();
+  }
+
+  /**
+   * Reads the batches stored on a {@link DurableOplogBuffer}, skipping the operations that have
+   * been already applied.
+   */
+  @NotThreadSafe
+  public class Reader {
+
+    private final ExcerptTailer tailer;
+    private final OpTime lastAppliedOptime;
+    private boolean skipping = true;
+
+    private Reader(ExcerptTailer tailer, OpTime lastAppliedOptime) {
+      this.tailer = tailer;
+      this.lastAppliedOptime = lastAppliedOptime;
+    }
+
+    /**
+     * Returns the next buffered batch or null if there is no new batch on the buffer.
+     */
+    @Nullable
+    public OplogBatch next() {
+      OplogBatch batch = read(tailer);
+      if (batch == null || !skipping) {
+        return batch;
+      }
+      OplogOperation lastOp = batch.getLastOperation();
+      if (lastOp != null && lastOp.getOpTime().compareTo(lastAppliedOptime) > 0) {
+        skipping = false;
+      }
+      return batch.filter(op -> op.getOpTime().compareTo(lastAppliedOptime) > 0);
+    }
+  }
+}
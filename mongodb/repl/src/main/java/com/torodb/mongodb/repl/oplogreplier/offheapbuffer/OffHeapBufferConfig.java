@@ -27,4 +27,16 @@ public interface OffHeapBufferConfig {
   int getMaxFiles();
 
   BufferRollCycle getRollCycle();
+
+  /**
+   * Returns true iff the buffer must keep its content between restarts.
+   *
+   * <p>A durable buffer is not deleted on startup nor on shutdown, so fetched operations that were
+   * not applied are replayed once the replication is restarted instead of being fetched again.
+   * {@link #getMaxFiles()} still limits the files that are kept, so operations on older files
+   * will be fetched from the sync source.
+   */
+  default Boolean getDurable() {
+    return false;
+  }
 }
@@ -21,6 +21,7 @@ package com.torodb.mongodb.repl.oplogreplier.offheapbuffer;
 import akka.NotUsed;
 import akka.stream.javadsl.Flow;
 
+import com.google.common.base.Preconditions;
 import com.torodb.akka.chronicle.queue.ChronicleQueueStreamFactory;
 import com.torodb.akka.chronicle.queue.Excerpt;
 import com.torodb.core.logging.DefaultLoggerFactory;
@@ -35,6 +36,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -70,10 +73,74 @@ public class OffHeapBufferUtils {
     }
   }
 
-  private static ChronicleQueue getSingleChronicleQueue(OffHeapBufferConfig offHeapConfig) {
+  /**
+   * Opens the {@link DurableOplogBuffer} stored on the path of the given configuration, keeping
+   * the batches it already contains.
+   */
+  public static DurableOplogBuffer createDurableBuffer(OffHeapBufferConfig offHeapConfig) {
+    Preconditions.checkArgument(isDurable(offHeapConfig), "The buffer is not durable");
+    logger.debug("Durable OffHeap Buffer enabled, path: " + offHeapConfig.getPath());
+
+    Path path = createPath(offHeapConfig.getPath(), true);
+    return new DurableOplogBuffer(path, p -> createQueue(p, offHeapConfig));
+  }
+
+  /**
+   * Returns true iff the given configuration enables a durable buffer.
+   *
+   * <p>A buffer is only durable if it has a path, as it would be created on a new temporal
+   * directory otherwise.
+   */
+  public static boolean isDurable(OffHeapBufferConfig offHeapConfig) {
+    return offHeapConfig.getEnabled()
+        && Boolean.TRUE.equals(offHeapConfig.getDurable())
+        && !isTemporal(offHeapConfig.getPath());
+  }
+
+  /**
+   * Returns a configuration equal to the given one whose path is a subdirectory of the original
+   * one, so several replication shards can use durable buffers on the same path.
+   */
+  public static OffHeapBufferConfig resolvePath(OffHeapBufferConfig offHeapConfig,
+      String subdirectory) {
+    if (isTemporal(offHeapConfig.getPath())) {
+      return offHeapConfig;
+    }
+    String path = Paths.get(offHeapConfig.getPath(), subdirectory).toString();
+    return new OffHeapBufferConfig() {
+      @Override
+      public Boolean getEnabled() {
+        return offHeapConfig.getEnabled();
+      }
+
+      @Override
+      public String getPath() {
+        return path;
+      }
+
+      @Override
+      public int getMaxFiles() {
+        return offHeapConfig.getMaxFiles();
+      }
+
+      @Override
+      public BufferRollCycle getRollCycle() {
+        return offHeapConfig.getRollCycle();
+      }
 
-    Path path = createPath(offHeapConfig.getPath());
+      @Override
+      public Boolean getDurable() {
+        return offHeapConfig.getDurable();
+      }
+    };
+  }
 
+  private static ChronicleQueue getSingleChronicleQueue(OffHeapBufferConfig offHeapConfig) {
+    return createQueue(createPath(offHeapConfig.getPath(), isDurable(offHeapConfig)),
+        offHeapConfig);
+  }
+
+  private static ChronicleQueue createQueue(Path path, OffHeapBufferConfig offHeapConfig) {
     StoreFileListener sl = getStoreFileListener(offHeapConfig.getMaxFiles());
 
     return SingleChronicleQueueBuilder.binary(path)
@@ -96,13 +163,21 @@ public class OffHeapBufferUtils {
     };
   }
 
-  private static Path createPath(String offPath) {
+  private static boolean isTemporal(String offPath) {
+    return null == offPath || "".equalsIgnoreCase(offPath);
+  }
+
+  private static Path createPath(String offPath, boolean durable) {
     Path path;
     try {
-      if (null == offPath || "".equalsIgnoreCase(offPath)) {
+      if (isTemporal(offPath)) {
         path = Files.createTempDirectory("cq-akka-test");
       } else {
         path = Paths.get(offPath);
+        if (durable) {
+          //Previous files contain the batches that were not applied
+          return path;
+        }
         //Remove previous files if exist so there is no previous garbage
         deleteFolder(path);
       }
@@ -118,6 +193,21 @@ public class OffHeapBufferUtils {
     Runtime.getRuntime().addShutdownHook(new Thread(runnable, "deleteOnClose-" + path.toString()));
   }
 
+  /**
+   * Deletes the queue files stored on the given path, keeping the directory.
+   */
+  static void deleteQueueFiles(Path path) {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(path)) {
+      for (Path file : files) {
+        if (isCqFile(file)) {
+          Files.delete(file);
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   @SuppressWarnings("checkstyle:EmptyCatchBlock")
   private static void deleteFolder(Path path) {
     try {
@@ -28,6 +28,7 @@ import com.torodb.mongodb.core.MongoDbCoreConfig;
 import com.torodb.mongodb.repl.MongoDbReplBundle;
 import com.torodb.mongodb.repl.MongoDbReplConfig;
 import com.torodb.mongodb.repl.MongoDbReplConfigBuilder;
+import com.torodb.mongodb.repl.oplogreplier.offheapbuffer.OffHeapBufferUtils;
 import com.torodb.mongodb.repl.sharding.isolation.db.DbIsolatedTorodBundle;
 import com.torodb.torod.TorodBundle;
 import com.torodb.torod.TorodServer;
@@ -131,7 +132,8 @@ public class MultiShardBundle extends ShardBundle {
         .setReplicationFilters(config.getUserReplFilter())
         .setMetricRegistry(shardMetricRegistry)
         .setLoggerFactory(new ComponentLoggerFactory("REPL-" + config.getShardId()))
-        .setOffHeapBufferConfig(config.getOffHeapBufferConfig())
+        .setOffHeapBufferConfig(
+            OffHeapBufferUtils.resolvePath(config.getOffHeapBufferConfig(), config.getShardId()))
         .build();
   }
 
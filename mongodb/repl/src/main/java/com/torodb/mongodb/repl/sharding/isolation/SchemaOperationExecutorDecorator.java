@@ -32,6 +32,7 @@ import com.torodb.torod.exception.UserSchemaException;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -112,9 +113,11 @@ public class SchemaOperationExecutorDecorator
 
   @Override
   public boolean createIndex(String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) throws UnexistentDatabaseException,
-      UnexistentCollectionException, UnsupportedIndexException {
-    return decorated.createIndex(dbName, colName, indexName, fields, unique);
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
+      throws UnexistentDatabaseException, UnexistentCollectionException,
+      UnsupportedIndexException {
+    return decorated.createIndex(dbName, colName, indexName, fields, unique, sparse,
+        background);
   }
 
   @Override
@@ -123,6 +126,11 @@ public class SchemaOperationExecutorDecorator
     return decorated.dropIndex(dbName, colName, indexName);
   }
 
+  @Override
+  public CompletableFuture<Void> getBackgroundIndexBuilds() {
+    return decorated.getBackgroundIndexBuilds();
+  }
+
   @Override
   public void close() {
     decorated.close();
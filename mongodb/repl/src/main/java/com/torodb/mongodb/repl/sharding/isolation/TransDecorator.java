@@ -21,6 +21,8 @@ package com.torodb.mongodb.repl.sharding.isolation;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.exceptions.user.CollectionNotFoundException;
 import com.torodb.core.exceptions.user.IndexNotFoundException;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.FindOptions;
 import com.torodb.core.language.AttributeReference;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.CollectionInfo;
@@ -103,6 +105,18 @@ public abstract class TransDecorator<D extends DocTransaction>
     return decorated.findByAttRefIn(dbName, colName, attRef, values);
   }
 
+  @Override
+  public TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates, FindOptions options) {
+    return decorated.findByPredicates(dbName, colName, predicates, options);
+  }
+
+  @Override
+  public long countByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates) {
+    return decorated.countByPredicates(dbName, colName, predicates);
+  }
+
   @Override
   public Cursor<Tuple2<Integer, KvValue<?>>> findByAttRefInProjection(String dbName, String colName,
       AttributeReference attRef,
@@ -65,14 +65,17 @@ public class DbIsolatorSchemaOperationExecutor
 
   @Override
   public boolean createIndex(String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) throws UnexistentDatabaseException,
-      UnexistentCollectionException, UnsupportedIndexException {
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
+      throws UnexistentDatabaseException, UnexistentCollectionException,
+      UnsupportedIndexException {
     return getDecorated().createIndex(
         converter.convertDatabaseName(dbName),
         colName,
         converter.convertIndexName(indexName),
         fields,
-        unique
+        unique,
+        sparse,
+        background
     );
   }
 
@@ -20,12 +20,16 @@ package com.torodb.mongodb.repl.sharding.isolation.db;
 
 import com.torodb.core.logging.LoggerFactory;
 import com.torodb.core.services.IdleTorodbService;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.torod.DefaultTimeoutHandler;
 import com.torodb.torod.DocTransaction;
 import com.torodb.torod.SchemaOperationExecutor;
 import com.torodb.torod.TorodServer;
 import com.torodb.torod.WriteDocTransaction;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -34,8 +38,13 @@ import java.util.concurrent.TimeoutException;
 public class DbIsolatorServer extends IdleTorodbService implements TorodServer {
 
   private final Logger logger;
+  private final String shardId;
   private final Converter converter;
   private final TorodServer decorated;
+  private final DefaultTimeoutHandler timeoutHandler = new DefaultTimeoutHandler(
+      this,
+      Duration.ofSeconds(30)
+  );
 
   public DbIsolatorServer(String shardId, TorodServer decorated, ThreadFactory threadFactory,
       LoggerFactory lf) {
@@ -43,6 +52,7 @@ public class DbIsolatorServer extends IdleTorodbService implements TorodServer {
     this.logger = lf.apply(this.getClass());
     assert decorated.isRunning() : "The decorated torod server must be running";
     this.decorated = decorated;
+    this.shardId = shardId;
     this.converter = new Converter(shardId);
   }
 
@@ -61,45 +71,54 @@ public class DbIsolatorServer extends IdleTorodbService implements TorodServer {
   @Override
   public DocTransaction openReadTransaction(long timeout, TimeUnit unit) throws TimeoutException {
     checkRunning();
-    DocTransaction toDecorate = decorated.openReadTransaction(timeout, unit);
+    DocTransaction toDecorate = decorated.openReadTransaction(shardId, timeout, unit);
     return decorate(toDecorate);
   }
 
   @Override
   public DocTransaction openReadTransaction() throws TimeoutException {
     checkRunning();
-    DocTransaction toDecorate = decorated.openReadTransaction();
-    return decorate(toDecorate);
+    return timeoutHandler.openReadTransaction();
   }
 
   @Override
   public WriteDocTransaction openWriteTransaction(long timeout, TimeUnit unit) throws
       TimeoutException {
     checkRunning();
-    WriteDocTransaction toDecorate = decorated.openWriteTransaction(timeout, unit);
+    WriteDocTransaction toDecorate = decorated.openWriteTransaction(shardId, timeout, unit);
     return decorate(toDecorate);
   }
 
   @Override
   public WriteDocTransaction openWriteTransaction() throws TimeoutException {
     checkRunning();
-    WriteDocTransaction toDecorate = decorated.openWriteTransaction();
-    return decorate(toDecorate);
+    return timeoutHandler.openWriteTransaction();
   }
 
   @Override
   public SchemaOperationExecutor openSchemaOperationExecutor(long timeout, TimeUnit unit) throws
       TimeoutException {
     checkRunning();
-    SchemaOperationExecutor toDecorate = decorated.openSchemaOperationExecutor(timeout, unit);
+    SchemaOperationExecutor toDecorate = decorated.openSchemaOperationExecutor(shardId, timeout,
+        unit);
     return decorate(toDecorate);
   }
 
   @Override
   public SchemaOperationExecutor openSchemaOperationExecutor() throws TimeoutException {
     checkRunning();
-    SchemaOperationExecutor toDecorate = decorated.openSchemaOperationExecutor();
-    return decorate(toDecorate);
+    return timeoutHandler.openSchemaOperationExecutor();
+  }
+
+  @Override
+  public int getMaxConcurrentWriteTransactions() {
+    return decorated.getMaxConcurrentWriteTransactions();
+  }
+
+  @Override
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs) {
+    checkRunning();
+    return decorated.fitsSchema(converter.convertDatabaseName(dbName), colName, docs);
   }
 
   @Override
@@ -21,6 +21,8 @@ package com.torodb.mongodb.repl.sharding.isolation.db;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.exceptions.user.CollectionNotFoundException;
 import com.torodb.core.exceptions.user.IndexNotFoundException;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.FindOptions;
 import com.torodb.core.language.AttributeReference;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.mongodb.repl.sharding.isolation.TransDecorator;
@@ -95,6 +97,19 @@ public class DbIsolatorTrans<D extends DocTransaction> extends TransDecorator<D>
     return super.findByAttRef(converter.convertDatabaseName(dbName), colName, attRef, value);
   }
 
+  @Override
+  public TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates, FindOptions options) {
+    return super.findByPredicates(converter.convertDatabaseName(dbName), colName, predicates,
+        options);
+  }
+
+  @Override
+  public long countByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates) {
+    return super.countByPredicates(converter.convertDatabaseName(dbName), colName, predicates);
+  }
+
   @Override
   public TorodCursor findAll(String dbName, String colName) {
     return super.findAll(converter.convertDatabaseName(dbName), colName);
@@ -27,6 +27,7 @@ import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.WriteDocTransaction;
 import com.torodb.torod.cursors.TorodCursor;
+import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.Collection;
 import java.util.List;
@@ -84,6 +85,12 @@ public class DbIsolatorWriteTrans extends DbIsolatorTrans<WriteDocTransaction>
         attRef, value);
   }
 
+  @Override
+  public List<Tuple2<ToroDocument, KvDocument>> updateInPlace(String dbName, String colName,
+      List<Tuple2<ToroDocument, KvDocument>> updates) throws UserException {
+    return getDecorated().updateInPlace(getConverter().convertDatabaseName(dbName), colName, updates);
+  }
+
   @Override
   public void commit() throws RollbackException, UserException {
     getDecorated().commit();
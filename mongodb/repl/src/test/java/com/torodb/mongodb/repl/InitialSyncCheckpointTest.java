@@ -0,0 +1,162 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.repl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import com.torodb.core.logging.DefaultLoggerFactory;
+import com.torodb.core.retrier.NeverRetryRetrier;
+import com.torodb.mongodb.core.MongodServer;
+import com.torodb.mongodb.repl.InitialSyncCheckpoint.SyncStart;
+import com.torodb.mongodb.utils.CloneCheckpoint.CollectionCheckpoint;
+import com.torodb.mongodb.utils.CloneCheckpoint.RangeCheckpoint;
+import com.torodb.mongowp.OpTime;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.bson.impl.IntBasedBsonObjectId;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InitialSyncCheckpointTest {
+
+  private MemoryCoreMetaBundle coreBundle;
+  private MongodServer server;
+
+  @Before
+  public void setUp() {
+    coreBundle = MemoryCoreMetaBundle.createBundle();
+    coreBundle.start().join();
+    server = coreBundle.getExternalInterface().getExternalInterface().getMongodServer();
+  }
+
+  @After
+  public void tearDown() {
+    if (coreBundle != null && coreBundle.isRunning()) {
+      coreBundle.stop().join();
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    OpTime opTime = new OpTime(DefaultBsonValues.newTimestamp(100, 0), 2);
+    CollectionCheckpoint collection = new CollectionCheckpoint("db", "col", true,
+        Lists.newArrayList(
+            new RangeCheckpoint(null, createObjectId(10), createObjectId(5), false),
+            new RangeCheckpoint(createObjectId(10), null, null, true)
+        ));
+
+    InitialSyncCheckpoint checkpoint = createCheckpoint();
+    checkpoint.start(1234L, opTime);
+    checkpoint.storeCollection(collection);
+
+    InitialSyncCheckpoint loaded = createCheckpoint();
+    loaded.load();
+
+    SyncStart syncStart = loaded.getSyncStart();
+    assertNotNull(syncStart);
+    assertEquals(1234L, syncStart.getHash());
+    assertEquals(opTime.getTimestamp().getSecondsSinceEpoch(),
+        syncStart.getOpTime().getTimestamp().getSecondsSinceEpoch());
+    assertEquals(opTime.getTerm(), syncStart.getOpTime().getTerm());
+
+    CollectionCheckpoint loadedCollection = loaded.getCollection("db", "col");
+    assertNotNull(loadedCollection);
+    assertEquals("db", loadedCollection.getDatabase());
+    assertEquals("col", loadedCollection.getCollection());
+    assertTrue(loadedCollection.isResumable());
+    assertEquals(2, loadedCollection.getRanges().size());
+
+    RangeCheckpoint first = loadedCollection.getRanges().get(0);
+    assertNull(first.getLowerBound());
+    assertEquals(createObjectId(10), first.getUpperBound());
+    assertEquals(createObjectId(5), first.getLastId());
+    assertFalse(first.isFinished());
+
+    RangeCheckpoint second = loadedCollection.getRanges().get(1);
+    assertEquals(createObjectId(10), second.getLowerBound());
+    assertNull(second.getUpperBound());
+    assertNull(second.getLastId());
+    assertTrue(second.isFinished());
+  }
+
+  @Test
+  public void testStoredCollectionIsReplaced() throws Exception {
+    InitialSyncCheckpoint checkpoint = createCheckpoint();
+    checkpoint.start(1L, new OpTime(DefaultBsonValues.newTimestamp(100, 0), 1));
+    RangeCheckpoint range = new RangeCheckpoint(null, null, null, false);
+    checkpoint.storeCollection(new CollectionCheckpoint("db", "col", true,
+        Lists.newArrayList(range)));
+    checkpoint.storeCollection(new CollectionCheckpoint("db", "col", true,
+        Lists.newArrayList(range.withLastId(createObjectId(3)))));
+
+    InitialSyncCheckpoint loaded = createCheckpoint();
+    loaded.load();
+
+    CollectionCheckpoint loadedCollection = loaded.getCollection("db", "col");
+    assertNotNull(loadedCollection);
+    assertEquals(1, loadedCollection.getRanges().size());
+    assertEquals(createObjectId(3), loadedCollection.getRanges().get(0).getLastId());
+  }
+
+  @Test
+  public void testCollectionsWithoutSyncStartAreDiscarded() throws Exception {
+    InitialSyncCheckpoint checkpoint = createCheckpoint();
+    checkpoint.storeCollection(new CollectionCheckpoint("db", "col", false,
+        Lists.newArrayList(new RangeCheckpoint(null, null, null, false))));
+
+    InitialSyncCheckpoint loaded = createCheckpoint();
+    loaded.load();
+
+    assertNull(loaded.getSyncStart());
+    assertNull(loaded.getCollection("db", "col"));
+  }
+
+  @Test
+  public void testClear() throws Exception {
+    InitialSyncCheckpoint checkpoint = createCheckpoint();
+    checkpoint.start(1L, new OpTime(DefaultBsonValues.newTimestamp(100, 0), 1));
+    checkpoint.storeCollection(new CollectionCheckpoint("db", "col", true,
+        Lists.newArrayList(new RangeCheckpoint(null, null, null, true))));
+    checkpoint.clear();
+
+    assertNull(checkpoint.getSyncStart());
+    assertNull(checkpoint.getCollection("db", "col"));
+
+    InitialSyncCheckpoint loaded = createCheckpoint();
+    loaded.load();
+
+    assertNull(loaded.getSyncStart());
+    assertNull(loaded.getCollection("db", "col"));
+  }
+
+  private InitialSyncCheckpoint createCheckpoint() {
+    return new InitialSyncCheckpoint(DefaultLoggerFactory.getInstance(), server,
+        NeverRetryRetrier.getInstance());
+  }
+
+  private static BsonValue<?> createObjectId(int value) {
+    return new IntBasedBsonObjectId(0, 0, 0, value);
+  }
+}
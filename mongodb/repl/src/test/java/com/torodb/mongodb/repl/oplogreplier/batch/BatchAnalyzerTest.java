@@ -0,0 +1,223 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.repl.oplogreplier.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import com.torodb.core.logging.DefaultLoggerFactory;
+import com.torodb.mongodb.repl.oplogreplier.ApplierContext;
+import com.torodb.mongodb.repl.oplogreplier.analyzed.AnalyzedOpReducer;
+import com.torodb.mongodb.repl.oplogreplier.utils.OpTimeFactory;
+import com.torodb.mongodb.utils.DefaultIdUtils;
+import com.torodb.mongodb.utils.NamespaceUtil;
+import com.torodb.mongowp.bson.BsonValue;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.commands.oplog.DbCmdOplogOperation;
+import com.torodb.mongowp.commands.oplog.InsertOplogOperation;
+import com.torodb.mongowp.commands.oplog.OplogOperation;
+import com.torodb.mongowp.commands.oplog.OplogVersion;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+public class BatchAnalyzerTest {
+
+  private static final OpTimeFactory opTimeFactory = new OpTimeFactory();
+  private BatchAnalyzer analyzer;
+  private int nextOp;
+
+  @Before
+  public void setUp() {
+    ApplierContext context = new ApplierContext.Builder()
+        .setReapplying(false)
+        .setUpdatesAsUpserts(true)
+        .build();
+    analyzer = new BatchAnalyzer(context, DefaultLoggerFactory.getInstance(),
+        new AnalyzedOpReducer(false));
+    nextOp = 1;
+  }
+
+  @Test
+  public void testOnlyCudOperations() {
+    OplogOperation first = createInsert("db1", "col1");
+    OplogOperation second = createInsert("db2", "col2");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(Lists.newArrayList(first, second));
+
+    assertEquals(1, result.size());
+    assertCud(result.get(0), first, second);
+  }
+
+  @Test
+  public void testSameNamespaceStaysAfterBarrier() {
+    OplogOperation before = createInsert("db1", "col1");
+    OplogOperation drop = createCommand("db1", "drop", "col1");
+    OplogOperation after = createInsert("db1", "col1");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(Lists.newArrayList(before, drop, after));
+
+    assertEquals(3, result.size());
+    assertCud(result.get(0), before);
+    assertBarrier(result.get(1), drop);
+    assertCud(result.get(2), after);
+  }
+
+  @Test
+  public void testUnrelatedOperationJoinsEarlierSegment() {
+    OplogOperation before = createInsert("db1", "col1");
+    OplogOperation drop = createCommand("db1", "drop", "col1");
+    OplogOperation unrelated = createInsert("db1", "col2");
+    OplogOperation after = createInsert("db1", "col1");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(
+        Lists.newArrayList(before, drop, unrelated, after));
+
+    assertEquals(3, result.size());
+    assertCud(result.get(0), before, unrelated);
+    assertBarrier(result.get(1), drop);
+    assertCud(result.get(2), after);
+  }
+
+  @Test
+  public void testUnrelatedOperationAfterSeveralBarriers() {
+    OplogOperation before = createInsert("db1", "col1");
+    OplogOperation firstDrop = createCommand("db1", "drop", "col1");
+    OplogOperation after = createInsert("db1", "col1");
+    OplogOperation secondDrop = createCommand("db1", "drop", "col2");
+    OplogOperation onSecond = createInsert("db1", "col2");
+    OplogOperation unrelated = createInsert("db2", "col1");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(
+        Lists.newArrayList(before, firstDrop, after, secondDrop, onSecond, unrelated));
+
+    assertEquals(5, result.size());
+    assertCud(result.get(0), before, unrelated);
+    assertBarrier(result.get(1), firstDrop);
+    assertCud(result.get(2), after);
+    assertBarrier(result.get(3), secondDrop);
+    assertCud(result.get(4), onSecond);
+  }
+
+  @Test
+  public void testSystemCollectionIsDatabaseBarrier() {
+    OplogOperation before = createInsert("db1", "col1");
+    OplogOperation systemOp = createInsert("db1", NamespaceUtil.INDEXES_COLLECTION);
+    OplogOperation sameDatabase = createInsert("db1", "col2");
+    OplogOperation otherDatabase = createInsert("db2", "col1");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(
+        Lists.newArrayList(before, systemOp, sameDatabase, otherDatabase));
+
+    assertEquals(3, result.size());
+    assertCud(result.get(0), before, otherDatabase);
+    assertBarrier(result.get(1), systemOp);
+    assertCud(result.get(2), sameDatabase);
+  }
+
+  @Test
+  public void testDatabaseCommandIsDatabaseBarrier() {
+    OplogOperation before = createInsert("db1", "col1");
+    OplogOperation dropDatabase = createCommand("db1", "dropDatabase", null);
+    OplogOperation sameDatabase = createInsert("db1", "col2");
+    OplogOperation otherDatabase = createInsert("db2", "col1");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(
+        Lists.newArrayList(before, dropDatabase, sameDatabase, otherDatabase));
+
+    assertEquals(3, result.size());
+    assertCud(result.get(0), before, otherDatabase);
+    assertBarrier(result.get(1), dropDatabase);
+    assertCud(result.get(2), sameDatabase);
+  }
+
+  @Test
+  public void testUnknownCommandIsGlobalBarrier() {
+    OplogOperation before = createInsert("db1", "col1");
+    OplogOperation command = createCommand("db1", "anUnknownCommand", "col1");
+    OplogOperation otherDatabase = createInsert("db2", "col1");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(
+        Lists.newArrayList(before, command, otherDatabase));
+
+    assertEquals(3, result.size());
+    assertCud(result.get(0), before);
+    assertBarrier(result.get(1), command);
+    assertCud(result.get(2), otherDatabase);
+  }
+
+  @Test
+  public void testBarriersKeepTheirOrder() {
+    OplogOperation firstDrop = createCommand("db1", "drop", "col1");
+    OplogOperation secondDrop = createCommand("db2", "drop", "col2");
+    OplogOperation unrelated = createInsert("db3", "col3");
+
+    List<AnalyzedOplogBatch> result = analyzer.apply(
+        Lists.newArrayList(firstDrop, secondDrop, unrelated));
+
+    assertEquals(3, result.size());
+    assertBarrier(result.get(0), firstDrop);
+    assertBarrier(result.get(1), secondDrop);
+    assertCud(result.get(2), unrelated);
+  }
+
+  private static void assertCud(AnalyzedOplogBatch batch, OplogOperation... expected) {
+    assertTrue("A CUD batch was expected but " + batch + " was found",
+        batch instanceof CudAnalyzedOplogBatch);
+    assertEquals(Lists.newArrayList(expected), ((CudAnalyzedOplogBatch) batch).getOriginalBatch());
+  }
+
+  private static void assertBarrier(AnalyzedOplogBatch batch, OplogOperation expected) {
+    assertTrue("A barrier was expected but " + batch + " was found",
+        batch instanceof SingleOpAnalyzedOplogBatch);
+    assertSame(expected, ((SingleOpAnalyzedOplogBatch) batch).getOperation());
+  }
+
+  private OplogOperation createInsert(String database, String collection) {
+    int i = nextOp++;
+    return new InsertOplogOperation(
+        DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY, DefaultBsonValues.newInt(i)),
+        database,
+        collection,
+        opTimeFactory.newOpTime(i),
+        i,
+        OplogVersion.V1,
+        false);
+  }
+
+  private OplogOperation createCommand(String database, String command,
+      @Nullable String collection) {
+    int i = nextOp++;
+    BsonValue<?> argument = collection == null
+        ? DefaultBsonValues.newInt(1)
+        : DefaultBsonValues.newString(collection);
+    return new DbCmdOplogOperation(
+        DefaultBsonValues.newDocument(command, argument),
+        database,
+        opTimeFactory.newOpTime(i),
+        i,
+        OplogVersion.V1,
+        false);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.mongodb.repl.oplogreplier.batch;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NamespaceScopeTest {
+
+  @Test
+  public void testCollectionCommand() {
+    NamespaceScope scope = NamespaceScope.fromCommand("db1", "drop", "col1");
+
+    assertTrue(scope.contains("db1", "col1"));
+    assertFalse(scope.contains("db1", "col2"));
+    assertFalse(scope.contains("db2", "col1"));
+  }
+
+  @Test
+  public void testCollectionCommandWithoutCollection() {
+    NamespaceScope scope = NamespaceScope.fromCommand("db1", "createIndexes", null);
+
+    assertTrue(scope.contains("db1", "col1"));
+    assertTrue(scope.contains("db1", "col2"));
+    assertFalse(scope.contains("db2", "col1"));
+  }
+
+  @Test
+  public void testDropDatabase() {
+    NamespaceScope scope = NamespaceScope.fromCommand("db1", "dropDatabase", null);
+
+    assertTrue(scope.contains("db1", "col1"));
+    assertFalse(scope.contains("db2", "col1"));
+  }
+
+  @Test
+  public void testCrossDatabaseCommand() {
+    NamespaceScope scope = NamespaceScope.fromCommand("admin", "renameCollection", "db1.col1");
+
+    assertTrue(scope.contains("db1", "col1"));
+    assertTrue(scope.contains("db2", "col2"));
+  }
+
+  @Test
+  public void testUnknownCommand() {
+    NamespaceScope scope = NamespaceScope.fromCommand("db1", "anUnknownCommand", "col1");
+
+    assertTrue(scope.contains("db2", "col2"));
+  }
+
+}
@@ -39,20 +39,28 @@ import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
 import com.google.common.collect.Lists;
 import com.torodb.core.exceptions.user.DatabaseNotFoundException;
+import com.torodb.core.logging.DefaultLoggerFactory;
 import com.torodb.core.retrier.AlwaysRetryRetrier;
 import com.torodb.core.retrier.NeverRetryRetrier;
 import com.torodb.core.retrier.Retrier;
 import com.torodb.core.retrier.RetrierAbortException;
 import com.torodb.core.retrier.RetrierGiveUpException;
 import com.torodb.core.transaction.RollbackException;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.mongodb.core.MongodSchemaExecutor;
 import com.torodb.mongodb.core.MongodServer;
 import com.torodb.mongodb.repl.oplogreplier.ApplierContext;
 import com.torodb.mongodb.repl.oplogreplier.OplogOperationApplier;
 import com.torodb.mongodb.repl.oplogreplier.OplogOperationApplier.OplogApplyingException;
+import com.torodb.mongodb.repl.oplogreplier.analyzed.AnalyzedOp;
+import com.torodb.mongodb.repl.oplogreplier.analyzed.AnalyzedOpType;
 import com.torodb.mongodb.repl.oplogreplier.batch.AnalyzedOplogBatchExecutor.AnalyzedOplogBatchExecutorMetrics;
 import com.torodb.mongowp.ErrorCode;
 import com.torodb.mongowp.commands.oplog.OplogOperation;
 import com.torodb.mongowp.exceptions.MongoException;
+import com.torodb.torod.SchemaOperationExecutor;
+import com.torodb.torod.TorodServer;
+import com.torodb.torod.exception.UserSchemaException;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -61,6 +69,7 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.Collections;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
@@ -75,6 +84,8 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
   private Retrier retrier;
   @Mock
   private NamespaceJobExecutor namespaceJobExecutor;
+  @Mock
+  private TorodServer torodServer;
   private SimpleAnalyzedOplogBatchExecutor executor;
   private SimpleAnalyzedOplogBatchExecutor actualExecutor;
 
@@ -84,7 +95,7 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
     MockitoAnnotations.initMocks(this);
 
     actualExecutor = new SimpleAnalyzedOplogBatchExecutor(metrics, applier,
-        server, retrier, namespaceJobExecutor);
+        server, retrier, namespaceJobExecutor, DefaultLoggerFactory.getInstance());
 
     executor = spy(actualExecutor);
 
@@ -92,6 +103,7 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
     given(metrics.getCudBatchTimer()).willReturn(mock(Timer.class));
     given(metrics.getNamespaceBatchTimer()).willReturn(mock(Timer.class));
     given(metrics.getCudBatchSize()).willReturn(mock(Histogram.class));
+    given(server.getTorodServer()).willReturn(torodServer);
 
     actualExecutor.startAsync();
     actualExecutor.awaitRunning();
@@ -145,6 +157,69 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
     then(executor).should().execute(job3, applierContext);
   }
 
+  @Test
+  public void testExecute_CudAnalyzedOplogBatch_PrepareSchema() throws Exception {
+    //GIVEN
+    ApplierContext applierContext = new ApplierContext.Builder()
+        .setReapplying(true)
+        .setUpdatesAsUpserts(true)
+        .build();
+    AnalyzedOp insertOp = mock(AnalyzedOp.class);
+    KvDocument doc = mock(KvDocument.class);
+    given(insertOp.getType()).willReturn(AnalyzedOpType.DELETE_CREATE);
+    given(insertOp.calculateDocToInsert(any())).willReturn(doc);
+    NamespaceJob job = new NamespaceJob("db", "col", Lists.newArrayList(insertOp));
+
+    CudAnalyzedOplogBatch cudBatch = mock(CudAnalyzedOplogBatch.class);
+    given(cudBatch.streamNamespaceJobs())
+        .willAnswer(invocation -> Stream.of(job));
+
+    SchemaOperationExecutor docSchemaEx = givenSchemaExecutor();
+    given(torodServer.fitsSchema(eq("db"), eq("col"), any())).willReturn(false, true, false);
+    doNothing().when(executor).execute(any(NamespaceJob.class), any());
+
+    //WHEN
+    executor.execute(cudBatch, applierContext);
+    executor.execute(cudBatch, applierContext);
+    executor.execute(cudBatch, applierContext);
+
+    //THEN
+    then(torodServer).should(times(3))
+        .fitsSchema("db", "col", Collections.singletonList(doc));
+    then(server).should(times(2)).openSchemaExecutor();
+    then(docSchemaEx).should(times(2))
+        .prepareSchema("db", "col", Collections.singletonList(doc));
+    then(executor).should(times(3)).execute(job, applierContext);
+  }
+
+  @Test
+  public void testExecute_CudAnalyzedOplogBatch_PrepareSchemaUserSchemaEx() throws Exception {
+    //GIVEN
+    ApplierContext applierContext = new ApplierContext.Builder()
+        .setReapplying(true)
+        .setUpdatesAsUpserts(true)
+        .build();
+    NamespaceJob job1 = createPrepareSchemaJob("db", "col1");
+    NamespaceJob job2 = createPrepareSchemaJob("db", "col2");
+    CudAnalyzedOplogBatch cudBatch = mock(CudAnalyzedOplogBatch.class);
+    given(cudBatch.streamNamespaceJobs())
+        .willAnswer(invocation -> Stream.of(job1, job2));
+
+    SchemaOperationExecutor docSchemaEx = givenSchemaExecutor();
+    given(docSchemaEx.prepareSchema(eq("db"), eq("col1"), any()))
+        .willThrow(new UserSchemaException(new DatabaseNotFoundException("db")));
+    doNothing().when(executor).execute(any(NamespaceJob.class), any());
+
+    //WHEN
+    executor.execute(cudBatch, applierContext);
+
+    //THEN
+    then(docSchemaEx).should().prepareSchema(eq("db"), eq("col1"), any());
+    then(docSchemaEx).should().prepareSchema(eq("db"), eq("col2"), any());
+    then(executor).should().execute(job1, applierContext);
+    then(executor).should().execute(job2, applierContext);
+  }
+
   @Test
   public void testExecute_NamespaceJob() throws Exception {
     //GIVEN
@@ -279,7 +354,7 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
         .setUpdatesAsUpserts(false)
         .build();
     executor = spy(new SimpleAnalyzedOplogBatchExecutor(metrics, applier, server, myRetrier,
-        namespaceJobExecutor));
+        namespaceJobExecutor, DefaultLoggerFactory.getInstance()));
 
     Timer timer = mock(Timer.class);
     Context context = mock(Context.class);
@@ -438,7 +513,7 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
         lastOp
     ));
     executor = spy(new SimpleAnalyzedOplogBatchExecutor(metrics, applier, server, myRetrier,
-        namespaceJobExecutor));
+        namespaceJobExecutor, DefaultLoggerFactory.getInstance()));
 
     Timer timer = mock(Timer.class);
     Context context = mock(Context.class);
@@ -504,4 +579,21 @@ public class SimpleAnalyzedOplogBatchExecutorTest {
     assertFalse("It was expected that this execution fails!", succees);
   }
 
+
+  private SchemaOperationExecutor givenSchemaExecutor() throws Exception {
+    MongodSchemaExecutor schemaEx = mock(MongodSchemaExecutor.class);
+    SchemaOperationExecutor docSchemaEx = mock(SchemaOperationExecutor.class);
+    given(server.openSchemaExecutor()).willReturn(schemaEx);
+    given(schemaEx.getDocSchemaExecutor()).willReturn(docSchemaEx);
+    given(metrics.getSchemaPreparationTimer()).willReturn(mock(Timer.class));
+    return docSchemaEx;
+  }
+
+  private NamespaceJob createPrepareSchemaJob(String database, String collection) {
+    AnalyzedOp insertOp = mock(AnalyzedOp.class);
+    given(insertOp.getType()).willReturn(AnalyzedOpType.DELETE_CREATE);
+    given(insertOp.calculateDocToInsert(any())).willReturn(mock(KvDocument.class));
+    return new NamespaceJob(database, collection, Lists.newArrayList(insertOp));
+  }
+
 }
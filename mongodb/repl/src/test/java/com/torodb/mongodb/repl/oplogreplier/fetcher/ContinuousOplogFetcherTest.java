@@ -19,6 +19,12 @@
 package com.torodb.mongodb.repl.oplogreplier.fetcher;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.google.common.net.HostAndPort;
 import com.torodb.core.logging.DefaultLoggerFactory;
@@ -43,16 +49,20 @@ import com.torodb.mongowp.client.core.UnreachableMongoServerException;
 import com.torodb.mongowp.commands.oplog.InsertOplogOperation;
 import com.torodb.mongowp.commands.oplog.OplogOperation;
 import com.torodb.mongowp.commands.oplog.OplogVersion;
+import com.torodb.mongowp.commands.pojos.MongoCursor;
+import com.torodb.mongowp.commands.pojos.MongoCursor.Batch;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -78,8 +88,7 @@ public class ContinuousOplogFetcherTest {
   private final ContinuousOplogFetcherFactory factory = new ContinuousOplogFetcherFactory() {
     @Override
     public ContinuousOplogFetcher createFetcher(long lastFetchedHash, OpTime lastFetchedOptime) {
-      return new ContinuousOplogFetcher(oplogReaderProvider, syncSourceProvider, retrier,
-          lastFetchedHash, lastFetchedOptime, metrics, DefaultLoggerFactory.getInstance());
+      return newFetcher(lastFetchedHash, lastFetchedOptime, Duration.ofSeconds(1));
     }
   };
   private static final OpTimeFactory opTimeFactory = new OpTimeFactory();
@@ -192,6 +201,109 @@ public class ContinuousOplogFetcherTest {
     assertEquals(oplog.subList(1, oplog.size()), recivedOplog);
   }
 
+  @Test
+  public void testAwaitBatchTimeout() throws Exception {
+    OplogOperation lastOp = createSimpleInsert(1);
+    MongoCursor<OplogOperation> cursor = mockCursor(lastOp);
+    when(cursor.tryFetchBatch()).thenReturn(null);
+
+    ContinuousOplogFetcher fetcher = newFetcher(lastOp.getHash(), lastOp.getOpTime(),
+        Duration.ofMillis(200));
+
+    long start = System.currentTimeMillis();
+    OplogBatch batch = fetcher.fetch();
+    long waitedMillis = System.currentTimeMillis() - start;
+
+    assertTrue("The fetch must wait for new operations", waitedMillis >= 200);
+    assertTrue(batch.isEmpty());
+    assertFalse(batch.isLastOne());
+    assertFalse("An empty fetch must be applied without waiting", batch.isReadyForMore());
+  }
+
+  @Test
+  public void testAwaitedBatchIsNotReadyForMore() throws Exception {
+    OplogOperation lastOp = createSimpleInsert(1);
+    OplogOperation newOp = createSimpleInsert(2);
+    MongoCursor<OplogOperation> cursor = mockCursor(lastOp);
+    Batch<OplogOperation> newBatch = mockBatch(newOp);
+    when(cursor.tryFetchBatch()).thenReturn(null, null, newBatch);
+
+    ContinuousOplogFetcher fetcher = newFetcher(lastOp.getHash(), lastOp.getOpTime(),
+        Duration.ofSeconds(10));
+
+    OplogBatch batch = fetcher.fetch();
+
+    assertEquals(Collections.singletonList(newOp), batch.getOps());
+    assertFalse("A batch that was awaited contains the last remote operations",
+        batch.isReadyForMore());
+  }
+
+  @Test
+  public void testBatchAfterTailingIsNotReadyForMore() throws Exception {
+    OplogOperation lastOp = createSimpleInsert(1);
+    OplogOperation firstNewOp = createSimpleInsert(2);
+    OplogOperation secondNewOp = createSimpleInsert(3);
+    MongoCursor<OplogOperation> cursor = mockCursor(lastOp);
+    Batch<OplogOperation> firstBatch = mockBatch(firstNewOp);
+    Batch<OplogOperation> secondBatch = mockBatch(secondNewOp);
+    AtomicBoolean secondBatchAvailable = new AtomicBoolean(false);
+    when(cursor.tryFetchBatch()).thenReturn(firstBatch)
+        .thenAnswer(invocation -> secondBatchAvailable.get() ? secondBatch : null);
+
+    ContinuousOplogFetcher fetcher = newFetcher(lastOp.getHash(), lastOp.getOpTime(),
+        Duration.ofMillis(50));
+
+    OplogBatch first = fetcher.fetch();
+    assertEquals(Collections.singletonList(firstNewOp), first.getOps());
+    assertTrue("A batch that was immediately available can be batched with the next ones",
+        first.isReadyForMore());
+
+    OplogBatch tailing = fetcher.fetch();
+    assertTrue(tailing.isEmpty());
+    assertFalse(tailing.isReadyForMore());
+
+    secondBatchAvailable.set(true);
+    OplogBatch second = fetcher.fetch();
+    assertEquals(Collections.singletonList(secondNewOp), second.getOps());
+    assertFalse("A batch fetched while tailing contains the last remote operations",
+        second.isReadyForMore());
+  }
+
+  private ContinuousOplogFetcher newFetcher(long lastFetchedHash, OpTime lastFetchedOptime,
+      Duration maxAwaitTime) {
+    return new ContinuousOplogFetcher(oplogReaderProvider, syncSourceProvider, retrier,
+        lastFetchedHash, lastFetchedOptime, metrics,
+        new ContinuousOplogFetcher.FetchLimits(maxAwaitTime),
+        DefaultLoggerFactory.getInstance());
+  }
+
+  /**
+   * Returns a cursor whose first operation is the given one, returned by the reader the fetchers
+   * use.
+   */
+  @SuppressWarnings("unchecked")
+  private MongoCursor<OplogOperation> mockCursor(OplogOperation firstOp) throws Exception {
+    MongoCursor<OplogOperation> cursor = mock(MongoCursor.class);
+    when(cursor.hasNext()).thenReturn(true, false);
+    when(cursor.next()).thenReturn(firstOp);
+    when(cursor.isClosed()).thenReturn(false);
+
+    OplogReader reader = mock(OplogReader.class);
+    when(reader.getSyncSource()).thenReturn(HostAndPort.fromParts("localhost", 1));
+    when(reader.queryGte(any())).thenReturn(cursor);
+    doReturn(reader).when(oplogReaderProvider).newReader(any(HostAndPort.class));
+    return cursor;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Batch<OplogOperation> mockBatch(OplogOperation op) {
+    Batch<OplogOperation> batch = mock(Batch.class);
+    when(batch.hasNext()).thenReturn(true);
+    when(batch.asList()).thenReturn(Collections.singletonList(op));
+    when(batch.getFetchTime()).thenReturn(System.currentTimeMillis());
+    return batch;
+  }
+
   private class MockedOplogReaderProvider implements OplogReaderProvider {
 
     private OplogReader newReader() {
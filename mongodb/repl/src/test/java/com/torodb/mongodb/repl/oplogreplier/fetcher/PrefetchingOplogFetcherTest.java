@@ -0,0 +1,249 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.repl.oplogreplier.fetcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.torodb.core.logging.DefaultLoggerFactory;
+import com.torodb.core.metrics.DisabledMetricRegistry;
+import com.torodb.mongodb.repl.oplogreplier.NormalOplogBatch;
+import com.torodb.mongodb.repl.oplogreplier.OplogApplierMetrics;
+import com.torodb.mongodb.repl.oplogreplier.RollbackReplicationException;
+import com.torodb.mongodb.repl.oplogreplier.StopReplicationException;
+import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatch;
+import com.torodb.mongodb.repl.oplogreplier.fetcher.PrefetchingOplogFetcher.PrefetchLimits;
+import com.torodb.mongodb.repl.oplogreplier.utils.OpTimeFactory;
+import com.torodb.mongodb.utils.DefaultIdUtils;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.commands.oplog.InsertOplogOperation;
+import com.torodb.mongowp.commands.oplog.OplogOperation;
+import com.torodb.mongowp.commands.oplog.OplogVersion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PrefetchingOplogFetcherTest {
+
+  private static final OpTimeFactory opTimeFactory = new OpTimeFactory();
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testMaxBatchesLimit() throws Exception {
+    CountingFetcher delegate = new CountingFetcher(1);
+    PrefetchingOplogFetcher fetcher = createFetcher(delegate, new PrefetchLimits(2, 1000));
+
+    assertEquals(1, fetcher.fetch().count());
+
+    //one consumed, two waiting on the queue and one waiting until there is room for it
+    awaitStableFetches(delegate, 4);
+    fetcher.close();
+  }
+
+  @Test
+  public void testMaxOpsLimit() throws Exception {
+    CountingFetcher delegate = new CountingFetcher(10);
+    PrefetchingOplogFetcher fetcher = createFetcher(delegate, new PrefetchLimits(100, 25));
+
+    assertEquals(10, fetcher.fetch().count());
+
+    //one consumed, 20 operations waiting on the queue and a batch that would exceed the limit
+    awaitStableFetches(delegate, 4);
+
+    //consuming a batch makes room for the one that was waiting
+    fetcher.fetch();
+    awaitStableFetches(delegate, 5);
+    fetcher.close();
+  }
+
+  @Test
+  public void testBatchBiggerThanMaxOpsIsAccepted() throws Exception {
+    CountingFetcher delegate = new CountingFetcher(50);
+    PrefetchingOplogFetcher fetcher = createFetcher(delegate, new PrefetchLimits(100, 25));
+
+    assertEquals(50, fetcher.fetch().count());
+    assertEquals(50, fetcher.fetch().count());
+    fetcher.close();
+  }
+
+  @Test
+  public void testErrorsAreRethrown() throws Exception {
+    AssertionError error = new AssertionError("an unexpected error");
+    PrefetchingOplogFetcher fetcher = createFetcher(new OplogFetcher() {
+      @Override
+      public OplogBatch fetch() {
+        throw error;
+      }
+
+      @Override
+      public void close() {
+      }
+    }, new PrefetchLimits(2, 1000));
+
+    try {
+      fetcher.fetch();
+      fail("The error thrown by the delegated fetcher must be rethrown");
+    } catch (AssertionError ex) {
+      assertSame(error, ex);
+    }
+    assertTrue(fetcher.fetch().isLastOne());
+  }
+
+  @Test(expected = RollbackReplicationException.class)
+  public void testRollbackIsRethrown() throws Exception {
+    PrefetchingOplogFetcher fetcher = createFetcher(new OplogFetcher() {
+      @Override
+      public OplogBatch fetch() throws RollbackReplicationException {
+        throw new RollbackReplicationException("rollback");
+      }
+
+      @Override
+      public void close() {
+      }
+    }, new PrefetchLimits(2, 1000));
+
+    fetcher.fetch();
+  }
+
+  @Test
+  public void testCloseDuringInFlightFetch() throws Exception {
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    CountDownLatch delegateClosed = new CountDownLatch(1);
+    PrefetchingOplogFetcher fetcher = createFetcher(new OplogFetcher() {
+      @Override
+      public OplogBatch fetch() {
+        fetchStarted.countDown();
+        try {
+          releaseFetch.await();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+        return createBatch(1);
+      }
+
+      @Override
+      public void close() {
+        delegateClosed.countDown();
+      }
+    }, new PrefetchLimits(2, 1000));
+
+    CompletableFuture<OplogBatch> consumer = CompletableFuture.supplyAsync(() -> {
+      try {
+        return fetcher.fetch();
+      } catch (StopReplicationException | RollbackReplicationException ex) {
+        throw new AssertionError(ex);
+      }
+    }, executor);
+    assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+
+    fetcher.close();
+
+    assertTrue("A blocked consumer must see a finished fetcher once it is closed",
+        consumer.get(10, TimeUnit.SECONDS).isLastOne());
+
+    releaseFetch.countDown();
+    assertTrue("The delegated fetcher must be closed once its in flight fetch finishes",
+        delegateClosed.await(10, TimeUnit.SECONDS));
+    assertTrue(fetcher.fetch().isLastOne());
+  }
+
+  private PrefetchingOplogFetcher createFetcher(OplogFetcher delegate, PrefetchLimits limits) {
+    return new PrefetchingOplogFetcher(delegate, limits, executor,
+        new OplogApplierMetrics(new DisabledMetricRegistry()),
+        DefaultLoggerFactory.get(PrefetchingOplogFetcherTest.class));
+  }
+
+  /**
+   * Waits until the given fetcher has been called the expected times and checks it is not called
+   * again, as the prefetcher should be blocked by its limits.
+   */
+  private void awaitStableFetches(CountingFetcher delegate, int expectedFetches)
+      throws InterruptedException {
+    long timeout = System.currentTimeMillis() + 10000;
+    while (delegate.fetches.get() < expectedFetches && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(100);
+    assertEquals(expectedFetches, delegate.fetches.get());
+  }
+
+  private static OplogBatch createBatch(int size) {
+    List<OplogOperation> ops = IntStream.range(0, size)
+        .mapToObj(PrefetchingOplogFetcherTest::createOp)
+        .collect(Collectors.toList());
+    return new NormalOplogBatch(ops, true);
+  }
+
+  private static OplogOperation createOp(int i) {
+    return new InsertOplogOperation(
+        DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY, DefaultBsonValues.newInt(i)),
+        "aDb",
+        "aCol",
+        opTimeFactory.newOpTime(i + 1),
+        i,
+        OplogVersion.V1,
+        false);
+  }
+
+  /**
+   * A fetcher that returns batches of the same size forever.
+   */
+  private static class CountingFetcher implements OplogFetcher {
+
+    private final int batchSize;
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private CountingFetcher(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public OplogBatch fetch() {
+      fetches.incrementAndGet();
+      return createBatch(batchSize);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.mongodb.repl.oplogreplier.offheapbuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.torodb.mongodb.repl.oplogreplier.NormalOplogBatch;
+import com.torodb.mongodb.repl.oplogreplier.batch.OplogBatch;
+import com.torodb.mongodb.repl.oplogreplier.utils.OpTimeFactory;
+import com.torodb.mongodb.utils.DefaultIdUtils;
+import com.torodb.mongowp.bson.utils.DefaultBsonValues;
+import com.torodb.mongowp.commands.oplog.InsertOplogOperation;
+import com.torodb.mongowp.commands.oplog.OplogOperation;
+import com.torodb.mongowp.commands.oplog.OplogVersion;
+import net.openhft.chronicle.queue.impl.single.SingleChronicleQueueBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class DurableOplogBufferTest {
+
+  private static final OpTimeFactory opTimeFactory = new OpTimeFactory();
+  private Path path;
+  private DurableOplogBuffer buffer;
+
+  @Before
+  public void setUp() throws Exception {
+    path = Files.createTempDirectory("durable-oplog-buffer");
+    buffer = createBuffer();
+  }
+
+  @After
+  public void tearDown() {
+    buffer.close();
+    OffHeapBufferUtils.deleteQueueFiles(path);
+  }
+
+  @Test
+  public void testReaderSkipsAppliedOperations() {
+    buffer.append(createBatch(1, 3));
+    buffer.append(createBatch(4, 5));
+
+    OplogOperation lastApplied = createOp(2);
+    DurableOplogBuffer.Reader reader = buffer.createReader(lastApplied.getHash(),
+        lastApplied.getOpTime());
+
+    assertEquals(createOps(3, 3), reader.next().getOps());
+    assertEquals(createOps(4, 5), reader.next().getOps());
+    assertNull(reader.next());
+
+    buffer.append(createBatch(6, 6));
+    assertEquals(createOps(6, 6), reader.next().getOps());
+  }
+
+  @Test
+  public void testReaderAfterLastOperationOfABatch() {
+    buffer.append(createBatch(1, 3));
+    buffer.append(createBatch(4, 5));
+
+    OplogOperation lastApplied = createOp(3);
+    DurableOplogBuffer.Reader reader = buffer.createReader(lastApplied.getHash(),
+        lastApplied.getOpTime());
+
+    OplogBatch first = reader.next();
+    assertNotNull(first);
+    assertEquals("The batch of the last applied operation must be empty once it is filtered",
+        0, first.count());
+    assertEquals(createOps(4, 5), reader.next().getOps());
+    assertNull(reader.next());
+  }
+
+  @Test
+  public void testLastBufferedOperation() {
+    buffer.append(createBatch(1, 3));
+    buffer.append(createBatch(4, 5));
+
+    OplogOperation lastApplied = createOp(2);
+    Optional<OplogOperation> lastBuffered = buffer.getLastBufferedOperation(
+        lastApplied.getHash(), lastApplied.getOpTime());
+    assertEquals(Optional.of(createOp(5)), lastBuffered);
+
+    OplogOperation allApplied = createOp(5);
+    assertFalse("There is no buffered operation after the last one",
+        buffer.getLastBufferedOperation(allApplied.getHash(), allApplied.getOpTime())
+            .isPresent());
+  }
+
+  @Test
+  public void testLastAppliedOperationNotInQueue() {
+    buffer.append(createBatch(3, 5));
+
+    //an operation older than the buffered ones, like the one stored after an initial sync
+    OplogOperation older = createOp(1);
+    assertFalse(buffer.getLastBufferedOperation(older.getHash(), older.getOpTime())
+        .isPresent());
+    DurableOplogBuffer.Reader reader = buffer.createReader(older.getHash(), older.getOpTime());
+    assertNull("Buffered operations must be ignored", reader.next());
+
+    buffer.append(createBatch(6, 6));
+    assertEquals(createOps(6, 6), reader.next().getOps());
+  }
+
+  @Test
+  public void testLastAppliedOperationWithDifferentHash() {
+    buffer.append(createBatch(1, 5));
+
+    OplogOperation lastApplied = createOp(2);
+    long otherHash = lastApplied.getHash() + 100;
+    assertFalse(buffer.getLastBufferedOperation(otherHash, lastApplied.getOpTime())
+        .isPresent());
+    assertNull(buffer.createReader(otherHash, lastApplied.getOpTime()).next());
+  }
+
+  @Test
+  public void testBatchesSurviveRestarts() {
+    buffer.append(createBatch(1, 3));
+    buffer.close();
+    buffer = createBuffer();
+
+    OplogOperation lastApplied = createOp(1);
+    DurableOplogBuffer.Reader reader = buffer.createReader(lastApplied.getHash(),
+        lastApplied.getOpTime());
+    assertEquals(createOps(2, 3), reader.next().getOps());
+  }
+
+  @Test
+  public void testTruncate() {
+    buffer.append(createBatch(1, 5));
+    buffer.truncate();
+
+    OplogOperation lastApplied = createOp(2);
+    assertFalse(buffer.getLastBufferedOperation(lastApplied.getHash(), lastApplied.getOpTime())
+        .isPresent());
+    assertNull(buffer.createReader(lastApplied.getHash(), lastApplied.getOpTime()).next());
+
+    buffer.append(createBatch(6, 7));
+    OplogOperation newLastApplied = createOp(6);
+    DurableOplogBuffer.Reader reader = buffer.createReader(newLastApplied.getHash(),
+        newLastApplied.getOpTime());
+    assertEquals(createOps(7, 7), reader.next().getOps());
+  }
+
+  private DurableOplogBuffer createBuffer() {
+    return new DurableOplogBuffer(path, p -> SingleChronicleQueueBuilder.binary(p).build());
+  }
+
+  private static OplogBatch createBatch(int from, int to) {
+    return new NormalOplogBatch(createOps(from, to), true);
+  }
+
+  private static List<OplogOperation> createOps(int from, int to) {
+    return IntStream.rangeClosed(from, to)
+        .mapToObj(DurableOplogBufferTest::createOp)
+        .collect(Collectors.toList());
+  }
+
+  private static OplogOperation createOp(int i) {
+    return new InsertOplogOperation(
+        DefaultBsonValues.newDocument(DefaultIdUtils.ID_KEY, DefaultBsonValues.newInt(i)),
+        "aDb",
+        "aCol",
+        opTimeFactory.newOpTime(i),
+        i,
+        OplogVersion.V1,
+        false);
+  }
+}
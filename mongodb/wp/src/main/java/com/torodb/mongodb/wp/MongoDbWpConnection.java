@@ -18,6 +18,7 @@
 
 package com.torodb.mongodb.wp;
 
+import com.torodb.mongodb.core.MongodCursorRegistry;
 import com.torodb.mongowp.commands.Connection;
 
 
@@ -27,9 +28,11 @@ import com.torodb.mongowp.commands.Connection;
 public class MongoDbWpConnection implements Connection {
 
   private final int id;
+  private final MongodCursorRegistry cursorRegistry;
 
-  public MongoDbWpConnection(int id) {
+  public MongoDbWpConnection(int id, MongodCursorRegistry cursorRegistry) {
     this.id = id;
+    this.cursorRegistry = cursorRegistry;
   }
 
   @Override
@@ -39,6 +42,7 @@ public class MongoDbWpConnection implements Connection {
 
   @Override
   public void close() {
+    cursorRegistry.killAll(id);
   }
 
 }
@@ -20,6 +20,7 @@ package com.torodb.mongodb.wp;
 
 import com.codahale.metrics.Timer;
 import com.google.common.collect.Lists;
+import com.torodb.core.cursors.CursorId;
 import com.torodb.core.logging.LoggerFactory;
 import com.torodb.core.retrier.Retrier;
 import com.torodb.core.retrier.RetrierGiveUpException;
@@ -28,6 +29,8 @@ import com.torodb.mongodb.commands.RequiredTransaction;
 import com.torodb.mongodb.commands.signatures.general.FindCommand;
 import com.torodb.mongodb.commands.signatures.general.FindCommand.FindArgument;
 import com.torodb.mongodb.commands.signatures.general.FindCommand.FindResult;
+import com.torodb.mongodb.core.MongoLayerConstants;
+import com.torodb.mongodb.core.MongodCursorRegistry.CursorBatch;
 import com.torodb.mongodb.core.MongodMetrics;
 import com.torodb.mongodb.core.MongodSchemaExecutor;
 import com.torodb.mongodb.core.MongodServer;
@@ -53,6 +56,8 @@ import com.torodb.mongowp.messages.utils.IterableDocumentProvider;
 import io.netty.util.AttributeKey;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -86,7 +91,8 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
 
   @Override
   public MongoDbWpConnection openConnection() {
-    MongoDbWpConnection connection = new MongoDbWpConnection(conIdGenerator.incrementAndGet());
+    MongoDbWpConnection connection = new MongoDbWpConnection(conIdGenerator.incrementAndGet(),
+        server.getCursorRegistry());
 
     logger.info("Accepted connection {}", connection.getConnectionId());
 
@@ -96,6 +102,17 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
   @Override
   public <A, R> Status<R> execute(Request req, Command<? super A, ? super R> command,
       A arg, MongoDbWpConnection connection) {
+    //commands cannot keep cursors, as there is no getMore command to consume them
+    return execute(req, command, arg, connection, false);
+  }
+
+  /**
+   * Executes the given command.
+   *
+   * @param keepCursors true iff the read transaction can keep cursors open for the connection
+   */
+  private <A, R> Status<R> execute(Request req, Command<? super A, ? super R> command,
+      A arg, MongoDbWpConnection connection, boolean keepCursors) {
     mongodMetrics.getCommands().mark();
     Timer timer = mongodMetrics.getTimer(command);
     try (Timer.Context ctx = timer.time()) {
@@ -109,7 +126,9 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
           break;
         case READ_TRANSACTION:
           callable = () -> {
-            try (MongodTransaction trans = server.openReadTransaction()) {
+            try (MongodTransaction trans = keepCursors
+                ? server.openReadTransaction(connection.getConnectionId())
+                : server.openReadTransaction()) {
               return trans.execute(req, command, arg);
             }
           };
@@ -127,9 +146,15 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
           break;
         case EXCLUSIVE_TRANSACTION:
           callable = () -> {
-            try (MongodSchemaExecutor schemaEx = server.openSchemaExecutor()) {
-              return schemaEx.execute(req, command, arg);
+            Status<R> result;
+            MongodSchemaExecutor schemaEx = server.openSchemaExecutor();
+            try {
+              result = schemaEx.execute(req, command, arg);
+            } finally {
+              schemaEx.close();
             }
+            //as MongoDB does, background index builds only release the other connections
+            return schemaEx.awaitBackgroundIndexBuilds(result);
           };
           break;
         default:
@@ -157,13 +182,28 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
       QueryRequest queryRequest) throws
       MongoException {
 
-    FindArgument findArg = new FindArgument.Builder()
+    FindArgument.Builder findArgBuilder = new FindArgument.Builder()
         .setCollection(queryRequest.getCollection())
         .setFilter(queryRequest.getQuery() != null ? queryRequest.getQuery() :
             DefaultBsonValues.EMPTY_DOC)
-        .build();
+        .setSkip(Math.max(0, queryRequest.getNumberToSkip()));
+    if (queryRequest.getProjection() != null) {
+      findArgBuilder.setProj(queryRequest.getProjection());
+    }
+
+    //numberToReturn is the size of the first batch. A negative value or 1 ask for a single batch
+    //whose cursor is closed by the server, so no cursor (and transaction) must be kept for them
+    int numberToReturn = queryRequest.getLimit();
+    if (numberToReturn != 0) {
+      findArgBuilder.setBatchSize(Math.abs((long) numberToReturn));
+    }
+    if (numberToReturn < 0 || numberToReturn == 1 || queryRequest.isAutoclose()) {
+      findArgBuilder.setWantMore(false);
+    }
 
-    Status<FindResult> status = execute(req, FindCommand.INSTANCE, findArg, connection);
+    //the cursor is kept, as OP_GET_MORE messages can consume it
+    Status<FindResult> status = execute(req, FindCommand.INSTANCE, findArgBuilder.build(),
+        connection, true);
 
     if (!status.isOk()) {
       throw new MongoException(status.getErrorCode(), status.getErrorMsg());
@@ -180,7 +220,7 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
         false,
         false,
         result.getCursor().getCursorId(),
-        queryRequest.getNumberToSkip(),
+        0,
         IterableDocumentProvider.of(Lists.newArrayList(result.getCursor().getFirstBatch()))
     );
   }
@@ -189,14 +229,51 @@ public class TorodbSafeRequestProcessor implements SafeRequestProcessor<MongoDbW
   public ReplyMessage getMore(MongoDbWpConnection connection, Request req, int requestId,
       GetMoreMessage moreMessage)
       throws MongoException {
-    throw new UnsupportedOperationException("Not supported yet.");
+    int numberToReturn = Math.abs(moreMessage.getNumberToReturn());
+    if (numberToReturn == 0) {
+      numberToReturn = MongoLayerConstants.MONGO_CURSOR_LIMIT;
+    }
+
+    Optional<CursorBatch> batch = server.getCursorRegistry().getMore(
+        new CursorId(moreMessage.getCursorId()), moreMessage.getDatabase(),
+        moreMessage.getCollection(), numberToReturn);
+
+    if (!batch.isPresent()) {
+      logger.debug("Cursor {} requested by connection {} was not found",
+          moreMessage.getCursorId(), connection.getConnectionId());
+      return new ReplyMessage(
+          EmptyBsonContext.getInstance(),
+          requestId,
+          true,
+          false,
+          false,
+          false,
+          0,
+          0,
+          IterableDocumentProvider.of(Collections.emptyList())
+      );
+    }
+
+    return new ReplyMessage(
+        EmptyBsonContext.getInstance(),
+        requestId,
+        false,
+        false,
+        false,
+        false,
+        batch.get().getCursorId(),
+        batch.get().getStartingFrom(),
+        IterableDocumentProvider.of(batch.get().getDocs())
+    );
   }
 
   @Override
   public void killCursors(MongoDbWpConnection connection, Request req,
       KillCursorsMessage killCursorsMessage)
       throws MongoException {
-    throw new UnsupportedOperationException("Not supported yet.");
+    for (long cursorId : killCursorsMessage.getCursorIds()) {
+      server.getCursorRegistry().kill(new CursorId(cursorId));
+    }
   }
 
   @Override
@@ -21,8 +21,10 @@ package com.torodb.torod;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.torodb.core.services.IdleTorodbService;
+import com.torodb.kvdocument.values.KvDocument;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -94,6 +96,16 @@ public class DebugTorodServer extends IdleTorodbService implements ProtectedServ
     return result;
   }
 
+  @Override
+  public int getMaxConcurrentWriteTransactions() {
+    return decorated.getMaxConcurrentWriteTransactions();
+  }
+
+  @Override
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs) {
+    return decorated.fitsSchema(dbName, colName, docs);
+  }
+
   private static class ElementId {}
 
   private interface ManagedElement extends AutoCloseable {
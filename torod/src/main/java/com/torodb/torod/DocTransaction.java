@@ -21,6 +21,8 @@ package com.torodb.torod;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.exceptions.user.CollectionNotFoundException;
 import com.torodb.core.exceptions.user.IndexNotFoundException;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.FindOptions;
 import com.torodb.core.language.AttributeReference;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.cursors.TorodCursor;
@@ -69,6 +71,39 @@ public interface DocTransaction extends AutoCloseable {
   public TorodCursor findByAttRefIn(String dbName, String colName, AttributeReference attRef,
       Collection<KvValue<?>> values);
 
+  /**
+   * Returns a cursor that iterates on the documents that fulfill all the given predicates.
+   *
+   * <p>Attributes are compared with values of their same type. Predicates on attributes that are
+   * not stored with a compatible type are not fulfilled by any document.
+   *
+   * @param predicates the predicates to evaluate. If it is empty, all documents are returned
+   */
+  public default TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates) {
+    return findByPredicates(dbName, colName, predicates, FindOptions.DEFAULT);
+  }
+
+  /**
+   * Like {@link #findByPredicates(java.lang.String, java.lang.String, java.util.List)}, but the
+   * documents are sorted, skipped, limited and projected as the given options say.
+   *
+   * <p>Only sorts on top level attributes are supported. Attributes with values of different
+   * types are sorted first by type and then by value.
+   */
+  public TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates, FindOptions options);
+
+  /**
+   * Returns the number of documents that fulfill all the given predicates, with the same semantics
+   * than {@link #findByPredicates(java.lang.String, java.lang.String, java.util.List)}, but without
+   * reading them.
+   *
+   * @param predicates the predicates to evaluate. If it is empty, all documents are counted
+   */
+  public long countByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates);
+
   /**
    * Like {@link #findByAttRefIn(java.lang.String, java.lang.String,
    * com.torodb.core.language.AttributeReference, java.util.Collection)
@@ -21,6 +21,8 @@ package com.torodb.torod;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.exceptions.user.CollectionNotFoundException;
 import com.torodb.core.exceptions.user.IndexNotFoundException;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.FindOptions;
 import com.torodb.core.language.AttributeReference;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.cursors.TorodCursor;
@@ -102,6 +104,18 @@ public class DocTransactionDecorator<T extends DocTransaction> implements DocTra
     return decorated.findByAttRefIn(dbName, colName, attRef, values);
   }
 
+  @Override
+  public TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates, FindOptions options) {
+    return decorated.findByPredicates(dbName, colName, predicates, options);
+  }
+
+  @Override
+  public long countByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates) {
+    return decorated.countByPredicates(dbName, colName, predicates);
+  }
+
   @Override
   public Cursor<Tuple2<Integer, KvValue<?>>> findByAttRefInProjection(String dbName, String colName,
       AttributeReference attRef,
@@ -19,13 +19,19 @@
 package com.torodb.torod;
 
 import com.torodb.core.services.TorodbService;
+import com.torodb.kvdocument.values.KvDocument;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
  * Like a {@link TorodServer}, but implementations of this class do not need to care about
  * concurrent access between clients that open transactions and schema handlers.
+ *
+ * <p>The restrictions described on each method only apply to transactions and schema handlers
+ * that may use the same databases. Callers can open schema handlers and transactions concurrently
+ * if they use disjoint sets of databases.
  */
 public interface ProtectedServer extends TorodbService {
 
@@ -52,5 +58,15 @@ public interface ProtectedServer extends TorodbService {
   public DocTransaction openReadTransaction(long timeout, TimeUnit unit)
       throws TimeoutException;
 
+  /**
+   * As {@link TorodServer#getMaxConcurrentWriteTransactions() }.
+   */
+  public int getMaxConcurrentWriteTransactions();
+
+  /**
+   * As {@link TorodServer#fitsSchema(String, String, Collection) }.
+   */
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs);
+
 
 }
\ No newline at end of file
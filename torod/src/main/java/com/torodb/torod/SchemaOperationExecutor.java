@@ -30,6 +30,7 @@ import com.torodb.torod.exception.UserSchemaException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -179,8 +180,29 @@ public interface SchemaOperationExecutor extends AutoCloseable {
    * @throws UnsupportedIndexException     if the index is not supported
    *
    */
-  public boolean createIndex(String dbName, String colName, String indexName,
+  public default boolean createIndex(String dbName, String colName, String indexName,
       List<IndexFieldInfo> fields, boolean unique)
+      throws UnexistentDatabaseException, UnexistentCollectionException, UnsupportedIndexException {
+    return createIndex(dbName, colName, indexName, fields, unique, false, false);
+  }
+
+  /**
+   * Like {@link #createIndex(java.lang.String, java.lang.String, java.lang.String, java.util.List,
+   * boolean) }, but the index can be sparse and it can be built on background.
+   *
+   * <p>A sparse index does not contain the documents that do not have any of the indexed fields.
+   *
+   * <p>When an index is built on background, this method returns once the index has been
+   * registered and the index is built without blocking other transactions. The index is dropped if
+   * the build fails (for example, because an unique index is violated). Callers can wait for the
+   * build with {@link #getBackgroundIndexBuilds()}. Implementations that do not support background
+   * builds can build the index on foreground.
+   *
+   * @param sparse     If the index should be sparse
+   * @param background If the index should be built on background
+   */
+  public boolean createIndex(String dbName, String colName, String indexName,
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
       throws UnexistentDatabaseException, UnexistentCollectionException, UnsupportedIndexException;
 
 
@@ -201,6 +223,18 @@ public interface SchemaOperationExecutor extends AutoCloseable {
   public boolean dropIndex(String dbName, String colName,
       String indexName) throws UnexistentDatabaseException, UnexistentCollectionException;
 
+  /**
+   * Returns a future that is completed once the indexes created on background by this executor
+   * have been built.
+   *
+   * <p>Background builds start once this executor is closed, so callers must not wait for the
+   * returned future while it is open. The future is completed exceptionally if a build fails, in
+   * which case its index has been dropped.
+   */
+  public default CompletableFuture<Void> getBackgroundIndexBuilds() {
+    return CompletableFuture.completedFuture(null);
+  }
+
   @Override
   void close();
 
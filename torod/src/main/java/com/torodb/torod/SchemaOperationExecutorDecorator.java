@@ -27,6 +27,7 @@ import com.torodb.torod.exception.UnsupportedIndexException;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -87,9 +88,11 @@ public class SchemaOperationExecutorDecorator implements SchemaOperationExecutor
 
   @Override
   public boolean createIndex(String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) throws UnexistentDatabaseException,
-          UnexistentCollectionException, UnsupportedIndexException {
-    return decorated.createIndex(dbName, colName, indexName, fields, unique);
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
+      throws UnexistentDatabaseException, UnexistentCollectionException,
+      UnsupportedIndexException {
+    return decorated.createIndex(dbName, colName, indexName, fields, unique, sparse,
+        background);
   }
 
   @Override
@@ -107,6 +110,11 @@ public class SchemaOperationExecutorDecorator implements SchemaOperationExecutor
     return decorated.getIndexesInfo(database, collection);
   }
 
+  @Override
+  public CompletableFuture<Void> getBackgroundIndexBuilds() {
+    return decorated.getBackgroundIndexBuilds();
+  }
+
   @Override
   public void close() {
     decorated.close();
@@ -19,7 +19,9 @@
 package com.torodb.torod;
 
 import com.torodb.core.services.TorodbService;
+import com.torodb.kvdocument.values.KvDocument;
 
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -55,4 +57,57 @@ public interface TorodServer extends TorodbService {
    */
   public SchemaOperationExecutor openSchemaOperationExecutor() throws TimeoutException;
 
+  /**
+   * Like {@link #openReadTransaction(long, java.util.concurrent.TimeUnit)}, but the transaction is
+   * only excluded with schema operation executors opened on the same lock scope or without lock
+   * scope.
+   *
+   * <p>Callers must guarantee that the databases used on a lock scope are not used on other lock
+   * scopes. Implementations that do not support lock scopes may ignore it.
+   */
+  public default DocTransaction openReadTransaction(String lockScope, long timeout,
+      TimeUnit unit) throws TimeoutException {
+    return openReadTransaction(timeout, unit);
+  }
+
+  /**
+   * Like {@link #openReadTransaction(java.lang.String, long, java.util.concurrent.TimeUnit) }, but
+   * opens a write transaction.
+   */
+  public default WriteDocTransaction openWriteTransaction(String lockScope, long timeout,
+      TimeUnit unit) throws TimeoutException {
+    return openWriteTransaction(timeout, unit);
+  }
+
+  /**
+   * Like {@link #openSchemaOperationExecutor(long, java.util.concurrent.TimeUnit) }, but the
+   * executor is only excluded with transactions and executors opened on the same lock scope or
+   * without lock scope.
+   *
+   * @see #openReadTransaction(java.lang.String, long, java.util.concurrent.TimeUnit)
+   */
+  public default SchemaOperationExecutor openSchemaOperationExecutor(String lockScope,
+      long timeout, TimeUnit unit) throws TimeoutException {
+    return openSchemaOperationExecutor(timeout, unit);
+  }
+
+  /**
+   * Returns the number of write transactions that can be executed in parallel before they start
+   * to wait for backend resources.
+   *
+   * <p>Clients that execute heavy writes in parallel (like the initial sync) can use this value
+   * to bound their own parallelism.
+   */
+  public int getMaxConcurrentWriteTransactions();
+
+  /**
+   * Returns true iff the given documents can be inserted on the given collection without changing
+   * its schema.
+   *
+   * <p>This method does not need exclusive access, so clients can use it to skip opening a schema
+   * operation executor. The schema may be changed by other clients before the documents are
+   * inserted, in which case write transactions change it again as usual.
+   */
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs);
+
 }
@@ -27,6 +27,7 @@ import com.torodb.core.transaction.RollbackException;
 import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.cursors.TorodCursor;
+import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -87,6 +88,26 @@ public interface WriteDocTransaction extends DocTransaction {
   public long deleteByAttRef(String dbName, String colName, AttributeReference attRef,
       KvValue<?> value);
 
+  /**
+   * Tries to replace the stored version of the given documents with their new versions by
+   * modifying the stored values instead of deleting and inserting the documents again.
+   *
+   * <p>This can only be done when the new version differs from the stored one on root level
+   * scalar values whose types are already known by the collection. The updates that cannot be
+   * applied this way are returned and must be applied by the caller, usually deleting the old
+   * version and inserting the new one.
+   *
+   * @param dbName  the database that contains the given collection
+   * @param colName the collection that contains the documents
+   * @param updates tuples whose first element is the stored document and the second is its new
+   *                version
+   * @return the updates that have not been applied
+   * @throws UserException if there is a bussiness problem with the operation (like a unique index
+   *                       violation)
+   */
+  public List<Tuple2<ToroDocument, KvDocument>> updateInPlace(String dbName, String colName,
+      List<Tuple2<ToroDocument, KvDocument>> updates) throws UserException;
+
   public void commit() throws RollbackException, UserException;
 
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ import com.torodb.core.transaction.RollbackException;
 import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.cursors.TorodCursor;
+import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.Collection;
 import java.util.List;
@@ -72,6 +73,12 @@ public class WriteDocTransactionDecorator extends DocTransactionDecorator<WriteD
     return getDecorated().deleteByAttRef(dbName, colName, attRef, value);
   }
 
+  @Override
+  public List<Tuple2<ToroDocument, KvDocument>> updateInPlace(String dbName, String colName,
+      List<Tuple2<ToroDocument, KvDocument>> updates) throws UserException {
+    return getDecorated().updateInPlace(dbName, colName, updates);
+  }
+
   @Override
   public void commit() throws RollbackException, UserException {
     getDecorated().commit();
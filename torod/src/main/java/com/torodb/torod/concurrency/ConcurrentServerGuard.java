@@ -26,6 +26,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 /**
  * A concurrency utility used to control the document transactions and schema handlers construction.
  *
@@ -34,6 +36,10 @@ import java.util.function.Supplier;
  * principle</a>. ConcurrentTorodServer is responsible for how to open and close transactions and
  * handlers and this object is responsible for the concurrency exclusion between transactions and
  * handlers.
+ *
+ * <p>Transactions and handlers can be created on a <em>lock scope</em>. Transactions and handlers
+ * on different lock scopes are not excluded between them, but the ones created without a lock
+ * scope are excluded with all of them.
  */
 interface ConcurrentServerGuard {
 
@@ -42,7 +48,15 @@ interface ConcurrentServerGuard {
    * closed.
    * @throws IllegalStateException If the guard thinks there are no open transactions.
    */
-  void notifyTransactionClosed() throws IllegalStateException;
+  default void notifyTransactionClosed() throws IllegalStateException {
+    notifyScopedTransactionClosed(null);
+  }
+
+  /**
+   * Like {@link #notifyTransactionClosed() }, but for transactions created on the given lock
+   * scope.
+   */
+  void notifyScopedTransactionClosed(@Nullable String lockScope) throws IllegalStateException;
 
   /**
    * This method must be called each time a {@link SchemaOperationExecutor} returned by this class
@@ -50,7 +64,15 @@ interface ConcurrentServerGuard {
    *
    * @throws IllegalStateException If the guard thinks there are no open schema handlers.
    */
-  void notifySchemaHandlerClosed() throws IllegalStateException;
+  default void notifySchemaHandlerClosed() throws IllegalStateException {
+    notifyScopedSchemaHandlerClosed(null);
+  }
+
+  /**
+   * Like {@link #notifySchemaHandlerClosed() }, but for schema handlers created on the given lock
+   * scope.
+   */
+  void notifyScopedSchemaHandlerClosed(@Nullable String lockScope) throws IllegalStateException;
 
   /**
    * Creates a transaction by using the supplier.
@@ -67,15 +89,34 @@ interface ConcurrentServerGuard {
    *                              time
    * @throws InterruptedException if the thread is interrupted
    */
-  <T extends DocTransaction> T createTransaction(
+  default <T extends DocTransaction> T createTransaction(
+      long timeout, TimeUnit unit, Supplier<T> supplier) throws TimeoutException {
+    return createTransaction(null, timeout, unit, supplier);
+  }
+
+  /**
+   * Like {@link #createTransaction(long, java.util.concurrent.TimeUnit,
+   * java.util.function.Supplier) }, but the supplier will only wait for the schema handlers
+   * created on the same lock scope or without lock scope.
+   *
+   * @param lockScope the lock scope or null if the transaction must be excluded with all schema
+   *                  handlers
+   */
+  <T extends DocTransaction> T createTransaction(@Nullable String lockScope,
       long timeout, TimeUnit unit, Supplier<T> supplier) throws TimeoutException;
 
   /**
    * Like {@link #createTransaction(java.time.Duration, java.util.function.Supplier) }, but creates
    * a {@link WriteDocTransaction}.
    */
+  default <T extends WriteDocTransaction> WriteDocTransaction createWriteTransaction(
+      long timeout, TimeUnit unit, Supplier<T> supplier) throws TimeoutException {
+    return createWriteTransaction(null, timeout, unit, supplier);
+  }
+
   <T extends WriteDocTransaction> WriteDocTransaction createWriteTransaction(
-      long timeout, TimeUnit unit, Supplier<T> supplier) throws TimeoutException;
+      @Nullable String lockScope, long timeout, TimeUnit unit, Supplier<T> supplier)
+      throws TimeoutException;
 
   /**
    * Creates a schema handler by using the supplier.
@@ -92,7 +133,21 @@ interface ConcurrentServerGuard {
    *                              time
    * @throws InterruptedException if the thread is interrupted
    */
+  default <S extends SchemaOperationExecutor> SchemaOperationExecutor createSchemaHandler(
+      long timeout, TimeUnit unit, Supplier<S> supplier) throws TimeoutException {
+    return createSchemaHandler(null, timeout, unit, supplier);
+  }
+
+  /**
+   * Like {@link #createSchemaHandler(long, java.util.concurrent.TimeUnit,
+   * java.util.function.Supplier) }, but the supplier will only wait for the transactions and
+   * schema handlers created on the same lock scope or without lock scope.
+   *
+   * @param lockScope the lock scope or null if the schema handler must be excluded with all
+   *                  transactions and schema handlers
+   */
   <S extends SchemaOperationExecutor> SchemaOperationExecutor createSchemaHandler(
-      long timeout, TimeUnit unit, Supplier<S> supplier) throws TimeoutException;
+      @Nullable String lockScope, long timeout, TimeUnit unit, Supplier<S> supplier)
+      throws TimeoutException;
 
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import com.google.inject.Exposed;
 import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
 import com.torodb.core.annotations.TorodbIdleService;
+import com.torodb.core.guice.Essential;
+import com.torodb.core.metrics.ToroMetricRegistry;
 import com.torodb.torod.ProtectedServer;
 import com.torodb.torod.TorodServer;
 
@@ -40,8 +42,9 @@ public class ConcurrentTorodModule extends PrivateModule {
   @Provides
   @Singleton
   public TorodServer createConcurrentTorodServer(
-      @TorodbIdleService ThreadFactory threadFactory, ProtectedServer decorated) {
-    ConcurrentServerGuard guard = new MonitorConcurrentServerGuard(true);
+      @TorodbIdleService ThreadFactory threadFactory, ProtectedServer decorated,
+      @Essential ToroMetricRegistry metricRegistry) {
+    ConcurrentServerGuard guard = new MonitorConcurrentServerGuard(true, metricRegistry);
     return new ConcurrentTorodServer(threadFactory, decorated, guard);
   }
 
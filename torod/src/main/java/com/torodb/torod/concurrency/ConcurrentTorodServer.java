@@ -20,6 +20,7 @@ package com.torodb.torod.concurrency;
 
 import com.torodb.core.annotations.TorodbIdleService;
 import com.torodb.core.services.IdleTorodbService;
+import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.torod.DefaultTimeoutHandler;
 import com.torodb.torod.DocTransaction;
 import com.torodb.torod.DocTransactionDecorator;
@@ -33,10 +34,12 @@ import com.torodb.torod.WriteDocTransactionDecorator;
 import org.apache.logging.log4j.Logger;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 /**
@@ -74,14 +77,21 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
   @Override
   public DocTransaction openReadTransaction(long timeout, TimeUnit unit)
       throws TimeoutException {
+    return openReadTransaction(null, timeout, unit);
+  }
+
+  @Override
+  public DocTransaction openReadTransaction(@Nullable String lockScope, long timeout,
+      TimeUnit unit) throws TimeoutException {
     checkRunning();
     DocTransaction decoratedTrans = decorated.openReadTransaction(timeout, unit);
     boolean correct = false;
     try {
       DocTransaction result = guard.createTransaction(
+          lockScope,
           timeout,
           unit,
-          () -> new ManagedReadTransaction(decoratedTrans)
+          () -> new ManagedReadTransaction(decoratedTrans, lockScope)
       );
       correct = true;
 
@@ -102,14 +112,21 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
   @Override
   public WriteDocTransaction openWriteTransaction(long timeout, TimeUnit unit)
       throws TimeoutException {
+    return openWriteTransaction(null, timeout, unit);
+  }
+
+  @Override
+  public WriteDocTransaction openWriteTransaction(@Nullable String lockScope, long timeout,
+      TimeUnit unit) throws TimeoutException {
     checkRunning();
     WriteDocTransaction decoratedTrans = decorated.openWriteTransaction(timeout, unit);
     boolean correct = false;
     try {
       WriteDocTransaction result = guard.createWriteTransaction(
+          lockScope,
           timeout,
           unit,
-          () -> new ManagedWriteTransaction(decoratedTrans)
+          () -> new ManagedWriteTransaction(decoratedTrans, lockScope)
       );
       correct = true;
 
@@ -130,15 +147,22 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
   @Override
   public SchemaOperationExecutor openSchemaOperationExecutor(long timeout, TimeUnit unit)
       throws TimeoutException {
+    return openSchemaOperationExecutor(null, timeout, unit);
+  }
+
+  @Override
+  public SchemaOperationExecutor openSchemaOperationExecutor(@Nullable String lockScope,
+      long timeout, TimeUnit unit) throws TimeoutException {
     checkRunning();
     SchemaOperationExecutor decoratedSchemaHandler =
         decorated.openSchemaOperationExecutor(timeout, unit);
     boolean correct = false;
     try {
       SchemaOperationExecutor result = guard.createSchemaHandler(
+          lockScope,
           timeout,
           unit,
-          () -> new ManagedSchemaHandler(decoratedSchemaHandler)
+          () -> new ManagedSchemaHandler(decoratedSchemaHandler, lockScope)
       );
       correct = true;
 
@@ -156,6 +180,18 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
     return timeoutHandler.openSchemaOperationExecutor();
   }
 
+  @Override
+  public int getMaxConcurrentWriteTransactions() {
+    return decorated.getMaxConcurrentWriteTransactions();
+  }
+
+  @Override
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs) {
+    checkRunning();
+    //it does not change the schema, so it does not need to be guarded
+    return decorated.fitsSchema(dbName, colName, docs);
+  }
+
   private void checkRunning() {
     if (!isRunning()) {
       throw new IllegalStateException("This service is not running");
@@ -164,10 +200,13 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
 
   private class ManagedReadTransaction extends DocTransactionDecorator<DocTransaction> {
 
+    @Nullable
+    private final String lockScope;
     private boolean closed = false;
 
-    public ManagedReadTransaction(DocTransaction trans) {
+    public ManagedReadTransaction(DocTransaction trans, @Nullable String lockScope) {
       super(trans);
+      this.lockScope = lockScope;
     }
 
     @Override
@@ -175,7 +214,7 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
       if (!closed) {
         closed = true;
         getDecorated().close();
-        guard.notifyTransactionClosed();
+        guard.notifyScopedTransactionClosed(lockScope);
       }
     }
 
@@ -191,10 +230,13 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
 
   private class ManagedWriteTransaction extends WriteDocTransactionDecorator {
 
+    @Nullable
+    private final String lockScope;
     private boolean closed = false;
 
-    public ManagedWriteTransaction(WriteDocTransaction trans) {
+    public ManagedWriteTransaction(WriteDocTransaction trans, @Nullable String lockScope) {
       super(trans);
+      this.lockScope = lockScope;
     }
 
     @Override
@@ -202,7 +244,7 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
       if (!closed) {
         closed = true;
         getDecorated().close();
-        guard.notifyTransactionClosed();
+        guard.notifyScopedTransactionClosed(lockScope);
       }
     }
 
@@ -218,10 +260,13 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
   }
 
   private class ManagedSchemaHandler extends SchemaOperationExecutorDecorator {
+    @Nullable
+    private final String lockScope;
     private boolean closed = false;
 
-    public ManagedSchemaHandler(SchemaOperationExecutor decorated) {
+    public ManagedSchemaHandler(SchemaOperationExecutor decorated, @Nullable String lockScope) {
       super(decorated);
+      this.lockScope = lockScope;
     }
 
     @Override
@@ -229,7 +274,7 @@ public class ConcurrentTorodServer extends IdleTorodbService implements TorodSer
       if (!getDecorated().isClosed()) {
         closed = true;
         getDecorated().close();
-        guard.notifySchemaHandlerClosed();
+        guard.notifyScopedSchemaHandlerClosed(lockScope);
       }
     }
 
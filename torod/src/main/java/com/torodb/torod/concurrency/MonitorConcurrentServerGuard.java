@@ -18,75 +18,112 @@
 
 package com.torodb.torod.concurrency;
 
+import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.Monitor;
+import com.torodb.core.metrics.DisabledMetricRegistry;
+import com.torodb.core.metrics.ToroMetricRegistry;
 import com.torodb.torod.DocTransaction;
 import com.torodb.torod.SchemaOperationExecutor;
 import com.torodb.torod.WriteDocTransaction;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
 /**
+ * A {@link ConcurrentServerGuard} that uses a {@link Monitor} to count the open transactions and
+ * schema handlers on each lock scope.
  *
+ * <p>The time spent waiting to create transactions and schema handlers is measured per lock scope.
  */
 class MonitorConcurrentServerGuard implements ConcurrentServerGuard {
 
+  private static final String SERVER_SCOPE_NAME = "server";
   private final Monitor monitor;
-  private final Monitor.Guard readyToTransaction;
-  private final Monitor.Guard readyToSchema;
+  private final ToroMetricRegistry metricRegistry;
+  private final ConcurrentMap<String, ScopeMetrics> metricsByScope = new ConcurrentHashMap<>();
 
-  private int openTransactions = 0;
-  private int openSchemas = 0;
+  /**
+   * The transactions and schema handlers created without lock scope.
+   */
+  @GuardedBy("monitor")
+  private final ScopeCounters serverCounters = new ScopeCounters();
+  @GuardedBy("monitor")
+  private final Map<String, ScopeCounters> countersByScope = new HashMap<>();
+  @GuardedBy("monitor")
+  private int scopedTransactions = 0;
+  @GuardedBy("monitor")
+  private int scopedSchemas = 0;
 
   public MonitorConcurrentServerGuard(boolean fair) {
-    this.monitor = new Monitor(fair);
-    readyToTransaction = new Monitor.Guard(monitor) {
-      @Override
-      public boolean isSatisfied() {
-        return openSchemas == 0;
-      }
-    };
-    readyToSchema = new Monitor.Guard(monitor) {
-      @Override
-      public boolean isSatisfied() {
-        return openTransactions == 0 && openSchemas == 0;
-      }
-    };
+    this(fair, new DisabledMetricRegistry());
   }
 
+  public MonitorConcurrentServerGuard(boolean fair, ToroMetricRegistry parentRegistry) {
+    this.monitor = new Monitor(fair);
+    this.metricRegistry = parentRegistry.createSubRegistry("ConcurrentServerGuard");
+  }
 
   @Override
-  public void notifyTransactionClosed() {
-    Preconditions.checkState(openTransactions > 0, "Trying to close transactions when there are "
-        + "no open transactions");
+  public void notifyScopedTransactionClosed(@Nullable String lockScope) {
     monitor.enter();
     try {
-      openTransactions--;
+      ScopeCounters counters = getCounters(lockScope);
+      Preconditions.checkState(counters != null && counters.transactions > 0, "Trying to close "
+          + "transactions when there are no open transactions");
+      counters.transactions--;
+      if (lockScope != null) {
+        scopedTransactions--;
+        removeIfUnused(lockScope, counters);
+      }
     } finally {
       monitor.leave();
     }
   }
 
   @Override
-  public void notifySchemaHandlerClosed() {
-    Preconditions.checkState(openSchemas > 0, "Trying to close a schema handler when there are "
-        + "no open schema handlers");
+  public void notifyScopedSchemaHandlerClosed(@Nullable String lockScope) {
     monitor.enter();
     try {
-      openSchemas--;
+      ScopeCounters counters = getCounters(lockScope);
+      Preconditions.checkState(counters != null && counters.schemas > 0, "Trying to close a "
+          + "schema handler when there are no open schema handlers");
+      counters.schemas--;
+      if (lockScope != null) {
+        scopedSchemas--;
+        removeIfUnused(lockScope, counters);
+      }
     } finally {
       monitor.leave();
     }
   }
 
   @Override
-  public <T extends DocTransaction> T createTransaction(
+  public <T extends DocTransaction> T createTransaction(@Nullable String lockScope,
       long timeout, TimeUnit unit, Supplier<T> supplier) throws TimeoutException {
-    if (monitor.enterWhenUninterruptibly(readyToTransaction, timeout, unit)) {
+    BooleanSupplier readyToTransaction;
+    if (lockScope == null) {
+      readyToTransaction = () -> serverCounters.schemas == 0 && scopedSchemas == 0;
+    } else {
+      readyToTransaction = () -> serverCounters.schemas == 0
+          && getCounters(lockScope, ScopeCounters.EMPTY).schemas == 0;
+    }
+    Timer waitTimer = getMetrics(lockScope).transactionWait;
+    if (enterWhen(readyToTransaction, timeout, unit, waitTimer)) {
       try {
-        openTransactions++;
+        getOrCreateCounters(lockScope).transactions++;
+        if (lockScope != null) {
+          scopedTransactions++;
+        }
       } finally {
         monitor.leave();
       }
@@ -98,16 +135,29 @@ class MonitorConcurrentServerGuard implements ConcurrentServerGuard {
 
   @Override
   public <T extends WriteDocTransaction> WriteDocTransaction createWriteTransaction(
-      long timeout, TimeUnit unit, Supplier<T> supplier) throws TimeoutException {
-    return createTransaction(timeout, unit, supplier);
+      @Nullable String lockScope, long timeout, TimeUnit unit, Supplier<T> supplier)
+      throws TimeoutException {
+    return createTransaction(lockScope, timeout, unit, supplier);
   }
 
   @Override
-  public <S extends SchemaOperationExecutor> S createSchemaHandler(
+  public <S extends SchemaOperationExecutor> S createSchemaHandler(@Nullable String lockScope,
       long timeout, TimeUnit unit, Supplier<S> supplier) throws TimeoutException {
-    if (monitor.enterWhenUninterruptibly(readyToSchema, timeout, unit)) {
+    BooleanSupplier readyToSchema;
+    if (lockScope == null) {
+      readyToSchema = () -> serverCounters.isEmpty()
+          && scopedTransactions == 0 && scopedSchemas == 0;
+    } else {
+      readyToSchema = () -> serverCounters.isEmpty()
+          && getCounters(lockScope, ScopeCounters.EMPTY).isEmpty();
+    }
+    Timer waitTimer = getMetrics(lockScope).schemaWait;
+    if (enterWhen(readyToSchema, timeout, unit, waitTimer)) {
       try {
-        openSchemas++;
+        getOrCreateCounters(lockScope).schemas++;
+        if (lockScope != null) {
+          scopedSchemas++;
+        }
       } finally {
         monitor.leave();
       }
@@ -117,4 +167,76 @@ class MonitorConcurrentServerGuard implements ConcurrentServerGuard {
     }
   }
 
-}
\ No newline at end of file
+  private boolean enterWhen(BooleanSupplier condition, long timeout, TimeUnit unit,
+      Timer waitTimer) {
+    Monitor.Guard guard = new Monitor.Guard(monitor) {
+      @Override
+      public boolean isSatisfied() {
+        return condition.getAsBoolean();
+      }
+    };
+    long start = System.nanoTime();
+    boolean entered = monitor.enterWhenUninterruptibly(guard, timeout, unit);
+    waitTimer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return entered;
+  }
+
+  @GuardedBy("monitor")
+  @Nullable
+  private ScopeCounters getCounters(@Nullable String lockScope) {
+    if (lockScope == null) {
+      return serverCounters;
+    }
+    return countersByScope.get(lockScope);
+  }
+
+  @GuardedBy("monitor")
+  private ScopeCounters getCounters(String lockScope, ScopeCounters defaultValue) {
+    return countersByScope.getOrDefault(lockScope, defaultValue);
+  }
+
+  @GuardedBy("monitor")
+  private ScopeCounters getOrCreateCounters(@Nullable String lockScope) {
+    if (lockScope == null) {
+      return serverCounters;
+    }
+    return countersByScope.computeIfAbsent(lockScope, scope -> new ScopeCounters());
+  }
+
+  @GuardedBy("monitor")
+  private void removeIfUnused(String lockScope, ScopeCounters counters) {
+    if (counters.isEmpty()) {
+      countersByScope.remove(lockScope);
+    }
+  }
+
+  private ScopeMetrics getMetrics(@Nullable String lockScope) {
+    String scopeName = lockScope != null ? lockScope : SERVER_SCOPE_NAME;
+    return metricsByScope.computeIfAbsent(scopeName, name ->
+        new ScopeMetrics(metricRegistry.createSubRegistry("lockScope", name)));
+  }
+
+  private static class ScopeCounters {
+
+    private static final ScopeCounters EMPTY = new ScopeCounters();
+
+    private int transactions = 0;
+    private int schemas = 0;
+
+    private boolean isEmpty() {
+      return transactions == 0 && schemas == 0;
+    }
+  }
+
+  private static class ScopeMetrics {
+
+    private final Timer transactionWait;
+    private final Timer schemaWait;
+
+    public ScopeMetrics(ToroMetricRegistry registry) {
+      transactionWait = registry.timer("transactionWait");
+      schemaWait = registry.timer("schemaWait");
+    }
+  }
+
+}
@@ -92,7 +92,7 @@ class MemorySchemaOperationExecutor implements SchemaOperationExecutor {
 
   @Override
   public boolean createIndex(String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) {
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background) {
     //Indexes are ignored on this mode
     return false;
   }
@@ -20,11 +20,13 @@ package com.torodb.torod.impl.memory;
 
 import com.google.inject.Singleton;
 import com.torodb.core.services.IdleTorodbService;
+import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.torod.DocTransaction;
 import com.torodb.torod.ProtectedServer;
 import com.torodb.torod.SchemaOperationExecutor;
 import com.torodb.torod.WriteDocTransaction;
 
+import java.util.Collection;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
@@ -55,6 +57,17 @@ class MemoryTorodServer extends IdleTorodbService implements ProtectedServer {
     return new MemorySchemaOperationExecutor(this);
   }
 
+  @Override
+  public int getMaxConcurrentWriteTransactions() {
+    return 1;
+  }
+
+  @Override
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs) {
+    //documents are stored without schema
+    return true;
+  }
+
   @Override
   protected void startUp() throws Exception {
   }
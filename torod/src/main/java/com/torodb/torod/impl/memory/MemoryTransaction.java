@@ -18,15 +18,24 @@
 
 package com.torodb.torod.impl.memory;
 
+import com.google.common.primitives.UnsignedBytes;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.cursors.IteratorCursor;
 import com.torodb.core.cursors.TransformCursor;
 import com.torodb.core.document.ToroDocument;
 import com.torodb.core.exceptions.user.CollectionNotFoundException;
 import com.torodb.core.exceptions.user.IndexNotFoundException;
+import com.torodb.core.language.AttributePredicate;
 import com.torodb.core.language.AttributeReference;
+import com.torodb.core.language.FindOptions;
+import com.torodb.core.language.FindOptions.Projection;
+import com.torodb.core.language.FindOptions.SortKey;
+import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.util.AttributeRefKvDocResolver;
 import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.kvdocument.values.KvDouble;
+import com.torodb.kvdocument.values.KvMongoObjectId;
+import com.torodb.kvdocument.values.KvNumeric;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.CollectionInfo;
 import com.torodb.torod.CollectionInfo.Type;
@@ -37,6 +46,7 @@ import com.torodb.torod.cursors.TorodCursor;
 import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -112,6 +122,126 @@ abstract class MemoryTransaction implements DocTransaction {
     );
   }
 
+  @Override
+  public TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates, FindOptions options) {
+    Stream<ToroDocument> docs = getTransaction().streamCollection(dbName, colName)
+        .filter(doc -> predicates.stream()
+            .allMatch(predicate -> fulfills(doc.getRoot(), predicate))
+        );
+    if (!options.getSort().isEmpty()) {
+      docs = docs.sorted(createComparator(options.getSort()));
+    }
+    if (options.getSkip() > 0) {
+      docs = docs.skip(options.getSkip());
+    }
+    if (options.getLimit() > 0) {
+      docs = docs.limit(options.getLimit());
+    }
+    Projection projection = options.getProjection();
+    if (!projection.isAll()) {
+      docs = docs.map(doc -> new ToroDocument(doc.getId(), projection.apply(doc.getRoot())));
+    }
+    return createCursor(docs);
+  }
+
+  @Override
+  public long countByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates) {
+    return getTransaction().streamCollection(dbName, colName)
+        .filter(doc -> predicates.stream()
+            .allMatch(predicate -> fulfills(doc.getRoot(), predicate))
+        )
+        .count();
+  }
+
+  private Comparator<ToroDocument> createComparator(List<SortKey> sort) {
+    Comparator<ToroDocument> comparator = null;
+    for (SortKey sortKey : sort) {
+      Comparator<ToroDocument> keyComparator = (doc1, doc2) -> compareSortValues(
+          AttributeRefKvDocResolver.resolve(sortKey.getAttributeReference(), doc1.getRoot()),
+          AttributeRefKvDocResolver.resolve(sortKey.getAttributeReference(), doc2.getRoot()));
+      if (!sortKey.isAscending()) {
+        keyComparator = keyComparator.reversed();
+      }
+      comparator = comparator == null ? keyComparator : comparator.thenComparing(keyComparator);
+    }
+    assert comparator != null;
+    return comparator.thenComparingInt(ToroDocument::getId);
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private int compareSortValues(Optional<KvValue<?>> value1, Optional<KvValue<?>> value2) {
+    int typeComparison = Integer.compare(getSortTypeGroup(value1), getSortTypeGroup(value2));
+    if (typeComparison != 0 || !value1.isPresent()) {
+      return typeComparison;
+    }
+    if (value1.get() instanceof KvNumeric && value2.get() instanceof KvNumeric) {
+      return compareNumerics((KvNumeric<?>) value1.get(), (KvNumeric<?>) value2.get());
+    }
+    if (!(value1.get().getValue() instanceof Comparable)) {
+      return 0;
+    }
+    return ((Comparable) value1.get().getValue()).compareTo(value2.get().getValue());
+  }
+
+  private int getSortTypeGroup(Optional<KvValue<?>> value) {
+    if (!value.isPresent()) {
+      return -1;
+    }
+    return FindOptions.getSortTypeGroup(FieldType.from(value.get().getType()));
+  }
+
+  /**
+   * Compares two numbers by value, whatever their types are.
+   */
+  private static int compareNumerics(KvNumeric<?> value1, KvNumeric<?> value2) {
+    if (value1 instanceof KvDouble || value2 instanceof KvDouble) {
+      return Double.compare(value1.doubleValue(), value2.doubleValue());
+    }
+    return Long.compare(value1.longValue(), value2.longValue());
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private boolean fulfills(KvDocument doc, AttributePredicate predicate) {
+    Optional<KvValue<?>> resolved = AttributeRefKvDocResolver.resolve(
+        predicate.getAttributeReference(), doc);
+    switch (predicate.getOperator()) {
+      case IN:
+        return resolved.isPresent() && predicate.getValues().contains(resolved.get());
+      case GT:
+      case GTE:
+      case LT:
+      case LTE: {
+        if (!resolved.isPresent()) {
+          return false;
+        }
+        KvValue<?> value = predicate.getValues().get(0);
+        if (!value.getType().equals(resolved.get().getType())) {
+          return false;
+        }
+        int comparison;
+        if (value instanceof KvMongoObjectId) {
+          //object ids are compared as MongoDB does, by their unsigned bytes
+          comparison = UnsignedBytes.lexicographicalComparator().compare(
+              ((KvMongoObjectId) resolved.get()).getArrayValue(),
+              ((KvMongoObjectId) value).getArrayValue());
+        } else if (value.getValue() instanceof Comparable) {
+          comparison = ((Comparable) resolved.get().getValue()).compareTo(value.getValue());
+        } else {
+          return false;
+        }
+        return predicate.getOperator().fulfills(comparison);
+      }
+      case EXISTS:
+        return resolved.isPresent();
+      case NOT_EXISTS:
+        return !resolved.isPresent();
+      default:
+        throw new AssertionError("Unexpected operator " + predicate.getOperator());
+    }
+  }
+
   @Override
   public Cursor<Tuple2<Integer, KvValue<?>>> findByAttRefInProjection(String dbName,
       String colName, AttributeReference attRef, Collection<KvValue<?>> values) {
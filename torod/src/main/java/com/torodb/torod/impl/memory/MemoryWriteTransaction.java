@@ -27,8 +27,10 @@ import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.WriteDocTransaction;
 import com.torodb.torod.impl.memory.MemoryData.MdTransaction;
+import org.jooq.lambda.tuple.Tuple2;
 
 import java.util.Collection;
+import java.util.List;
 
 
 /**
@@ -72,6 +74,13 @@ class MemoryWriteTransaction extends MemoryTransaction implements WriteDocTransa
     trans.delete(dbName, colName, cursor.getRemaining().stream());
   }
 
+  @Override
+  public List<Tuple2<ToroDocument, KvDocument>> updateInPlace(String dbName, String colName,
+      List<Tuple2<ToroDocument, KvDocument>> updates) throws UserException {
+    //documents are not decomposed in memory, so there is nothing to gain modifying them in place
+    return updates;
+  }
+
   @Override
   public void rollback() {
     trans.rollback();
@@ -0,0 +1,233 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.torod.impl.sql;
+
+import com.torodb.core.backend.BackendService;
+import com.torodb.core.backend.DdlOperationExecutor;
+import com.torodb.core.backend.DocPartIndexBuilder;
+import com.torodb.core.concurrent.ConcurrentToolsFactory;
+import com.torodb.core.exceptions.user.UserException;
+import com.torodb.core.services.ExecutorTorodbService;
+import com.torodb.torod.SchemaOperationExecutor;
+import com.torodb.torod.TorodLoggerFactory;
+import com.torodb.torod.TorodServer;
+import com.torodb.torod.exception.UnexistentCollectionException;
+import com.torodb.torod.exception.UnexistentDatabaseException;
+import com.torodb.torod.impl.sql.schema.PendingDocPartIndex;
+import com.torodb.torod.impl.sql.schema.SchemaManager;
+import org.apache.logging.log4j.Logger;
+import org.jooq.lambda.tuple.Tuple3;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.inject.Provider;
+
+/**
+ * A service that builds the {@link SchemaManager#getPendingDocPartIndexes() pending doc part
+ * indexes} of the logical indexes created on background.
+ *
+ * <p>Indexes are built one by one on its own thread, out of the schema manager and without holding
+ * the schema lock, so transactions can read and write the collection meanwhile. Once an index is
+ * built it is published on the metainformation. If the build fails, the logical index is dropped.
+ * Both changes on the metainformation are done while holding a schema operation executor of the
+ * {@link TorodServer}, so they are excluded with the transactions and schema operations opened by
+ * its clients.
+ *
+ * <p>Callers can {@link #watchBuild(String, String, String) watch} the build of a logical index to
+ * know when it finishes and whether it failed.
+ *
+ * <p>A build that is interrupted by a shutdown is resumed when the service is started again,
+ * as the logical index will still have pending doc part indexes.
+ */
+class BackgroundIndexBuilder extends ExecutorTorodbService<ExecutorService> {
+
+  private static final Logger LOGGER = TorodLoggerFactory.get(BackgroundIndexBuilder.class);
+  private final BackendService backend;
+  private final SchemaManager schemaManager;
+  private final Provider<TorodServer> torodServerProvider;
+  private final ConcurrentMap<Tuple3<String, String, String>, CompletableFuture<Void>> watched =
+      new ConcurrentHashMap<>();
+  private volatile boolean stopping = false;
+
+  BackgroundIndexBuilder(ThreadFactory threadFactory,
+      ConcurrentToolsFactory concurrentToolsFactory, BackendService backend,
+      SchemaManager schemaManager, Provider<TorodServer> torodServerProvider) {
+    super(threadFactory, () -> concurrentToolsFactory.createExecutorServiceWithMaxThreads(
+        "background-index-builder", 1)
+    );
+    this.backend = backend;
+    this.schemaManager = schemaManager;
+    this.torodServerProvider = torodServerProvider;
+  }
+
+  /**
+   * Returns a future that is completed once the given logical index has no pending doc part
+   * indexes.
+   *
+   * <p>The future is completed by the next executions of {@link #buildPendingIndexes()}, so the
+   * index must have been registered before that method is called. It is completed exceptionally
+   * if the build fails, in which case the logical index has been dropped, or if the service is
+   * stopped before the build finishes, in which case the build is resumed on the next start.
+   */
+  CompletableFuture<Void> watchBuild(String dbName, String colName, String indexName) {
+    return watched.computeIfAbsent(new Tuple3<>(dbName, colName, indexName),
+        key -> new CompletableFuture<>());
+  }
+
+  /**
+   * Builds all doc part indexes that are pending when the returned future is executed.
+   */
+  CompletableFuture<Void> buildPendingIndexes() {
+    return execute(() -> {
+      List<PendingDocPartIndex> pendingIndexes = schemaManager.getPendingDocPartIndexes().join();
+      Map<Tuple3<String, String, String>, Throwable> failed = new HashMap<>();
+      for (PendingDocPartIndex pendingIndex : pendingIndexes) {
+        if (stopping) {
+          LOGGER.info("Background index builds will be resumed on the next start");
+          return;
+        }
+        Tuple3<String, String, String> key = getKey(pendingIndex);
+        if (failed.containsKey(key)) {
+          continue;
+        }
+        try {
+          build(pendingIndex);
+        } catch (UserException ex) {
+          LOGGER.error("Background build of index " + pendingIndex.getIndex().getName() + " on "
+              + pendingIndex.getDatabase().getName() + "." + pendingIndex.getCollection().getName()
+              + " failed. The index has been dropped", ex);
+          failed.put(key, ex);
+        } catch (RuntimeException ex) {
+          LOGGER.warn("Error while building index " + pendingIndex + " on background. It will be "
+              + "resumed on the next start", ex);
+          failed.put(key, ex);
+        }
+      }
+      completeWatchedBuilds(failed);
+    });
+  }
+
+  private void build(PendingDocPartIndex pendingIndex) throws UserException {
+    try (DocPartIndexBuilder indexBuilder = backend.openDocPartIndexBuilder()) {
+      try {
+        indexBuilder.buildDocPartIndex(pendingIndex.getDatabase(), pendingIndex.getDocPart(),
+            pendingIndex.getDocPartIndex());
+      } catch (UserException ex) {
+        executeGuarded(schemaEx -> {
+          try {
+            return schemaEx.dropIndex(pendingIndex.getDatabase().getName(),
+                pendingIndex.getCollection().getName(), pendingIndex.getIndex().getName());
+          } catch (UnexistentDatabaseException | UnexistentCollectionException dropped) {
+            return false;
+          }
+        });
+        throw ex;
+      }
+
+      boolean published = executeGuarded(schemaEx -> {
+        try (DdlOperationExecutor ops = backend.openDdlOperationExecutor()) {
+          return schemaManager.publishDocPartIndex(ops, pendingIndex).join();
+        }
+      });
+      if (!published) {
+        LOGGER.debug("Index {} is not used anymore", pendingIndex);
+        indexBuilder.dropDocPartIndex(pendingIndex.getDatabase(), pendingIndex.getDocPart(),
+            pendingIndex.getDocPartIndex().getIdentifier());
+      }
+    }
+  }
+
+  /**
+   * Executes the given function while a schema operation executor of the torod server is open.
+   */
+  private <R> R executeGuarded(Function<SchemaOperationExecutor, R> fun) {
+    TorodServer torodServer = torodServerProvider.get();
+    torodServer.awaitRunning();
+    while (true) {
+      try (SchemaOperationExecutor schemaEx = torodServer.openSchemaOperationExecutor()) {
+        return fun.apply(schemaEx);
+      } catch (TimeoutException ex) {
+        if (stopping) {
+          throw new IllegalStateException("The service is stopping", ex);
+        }
+        LOGGER.info("Waiting for the open transactions to finish to change the schema");
+      }
+    }
+  }
+
+  private void completeWatchedBuilds(Map<Tuple3<String, String, String>, Throwable> failed) {
+    //indexes registered meanwhile this execution was running may still be pending
+    Set<Tuple3<String, String, String>> stillPending = schemaManager.getPendingDocPartIndexes()
+        .join()
+        .stream()
+        .map(this::getKey)
+        .collect(Collectors.toSet());
+
+    Iterator<Map.Entry<Tuple3<String, String, String>, CompletableFuture<Void>>> it =
+        watched.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Tuple3<String, String, String>, CompletableFuture<Void>> entry = it.next();
+      Throwable error = failed.get(entry.getKey());
+      if (error != null) {
+        it.remove();
+        entry.getValue().completeExceptionally(error);
+      } else if (!stillPending.contains(entry.getKey())) {
+        it.remove();
+        entry.getValue().complete(null);
+      }
+    }
+  }
+
+  private Tuple3<String, String, String> getKey(PendingDocPartIndex pendingIndex) {
+    return new Tuple3<>(pendingIndex.getDatabase().getName(),
+        pendingIndex.getCollection().getName(), pendingIndex.getIndex().getName());
+  }
+
+  @Override
+  protected void shutDown() throws Exception {
+    stopping = true;
+    super.shutDown();
+    Iterator<CompletableFuture<Void>> it = watched.values().iterator();
+    while (it.hasNext()) {
+      it.next().completeExceptionally(new IllegalStateException("The background index build "
+          + "was interrupted by a shutdown. It will be resumed on the next start"));
+      it.remove();
+    }
+  }
+
+  @Override
+  protected boolean ignoreTermination(Duration waitingDuration) {
+    LOGGER.info("Waiting for a background index build to finish since {}", waitingDuration);
+    return false;
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.torod.impl.sql;
+
+import com.torodb.core.concurrent.ConcurrentToolsFactory;
+import com.torodb.core.d2r.CollectionData;
+import com.torodb.core.services.ExecutorTorodbService;
+import com.torodb.core.transaction.metainf.ImmutableMetaSnapshot;
+import com.torodb.kvdocument.values.KvDocument;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A service that executes {@link InsertD2RTranslator insert translations} on its own threads, so
+ * the thread that owns a write transaction can be sending the rows of a batch to the backend
+ * while the next batch is being translated.
+ */
+class InsertD2RExecutor extends ExecutorTorodbService<ExecutorService> {
+
+  private final InsertD2RTranslator insertAnalyzer;
+
+  InsertD2RExecutor(ThreadFactory threadFactory, ConcurrentToolsFactory concurrentToolsFactory,
+      InsertD2RTranslator insertAnalyzer) {
+    super(threadFactory, () -> concurrentToolsFactory.createExecutorService(
+        "insert-d2r", false)
+    );
+    this.insertAnalyzer = insertAnalyzer;
+  }
+
+  /**
+   * Like {@link InsertD2RTranslator#analyze(ImmutableMetaSnapshot, String, String,
+   * java.util.stream.Stream)}, but the translation is done asynchronously.
+   *
+   * <p>The returned future is completed exceptionally with a {@link CompletionException} that wraps
+   * a {@link IncompatibleSchemaException} if at least one of the documents doesn't fit on the
+   * collection.
+   */
+  CompletableFuture<CollectionData> analyze(ImmutableMetaSnapshot snapshot, String dbName,
+      String colName, List<KvDocument> docs) {
+    return execute(() -> {
+      try {
+        return insertAnalyzer.analyze(snapshot, dbName, colName, docs.stream());
+      } catch (IncompatibleSchemaException ex) {
+        throw new CompletionException(ex);
+      }
+    });
+  }
+
+}
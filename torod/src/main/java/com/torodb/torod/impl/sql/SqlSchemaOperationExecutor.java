@@ -37,9 +37,11 @@ import com.torodb.torod.exception.UnsupportedIndexException;
 import com.torodb.torod.impl.sql.schema.SchemaManager;
 import com.torodb.torod.impl.sql.schema.SyncSchemaManager;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,10 +49,15 @@ class SqlSchemaOperationExecutor implements SchemaOperationExecutor {
 
   private final SyncSchemaManager manager;
   private final DdlOperationExecutor ddlExecutor;
+  private final BackgroundIndexBuilder indexBuilder;
+  private final List<CompletableFuture<Void>> backgroundBuilds = new ArrayList<>();
+  private boolean buildsScheduled = false;
 
-  public SqlSchemaOperationExecutor(SchemaManager manager, DdlOperationExecutor ddlExecutor) {
+  public SqlSchemaOperationExecutor(SchemaManager manager, DdlOperationExecutor ddlExecutor,
+      BackgroundIndexBuilder indexBuilder) {
     this.manager = new SyncSchemaManager(manager);
     this.ddlExecutor = ddlExecutor;
+    this.indexBuilder = indexBuilder;
   }
 
   @Override
@@ -104,9 +111,15 @@ class SqlSchemaOperationExecutor implements SchemaOperationExecutor {
 
   @Override
   public boolean createIndex(String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) throws UnexistentDatabaseException,
-      UnexistentCollectionException, UnsupportedIndexException {
-    return manager.createIndex(ddlExecutor, dbName, colName, indexName, fields, unique);
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
+      throws UnexistentDatabaseException, UnexistentCollectionException,
+      UnsupportedIndexException {
+    boolean created = manager.createIndex(ddlExecutor, dbName, colName, indexName, fields, unique,
+        sparse, background);
+    if (created && background) {
+      backgroundBuilds.add(indexBuilder.watchBuild(dbName, colName, indexName));
+    }
+    return created;
   }
 
   @Override
@@ -127,6 +140,12 @@ class SqlSchemaOperationExecutor implements SchemaOperationExecutor {
         .map(MetaDatabase::getName);
   }
 
+  @Override
+  public CompletableFuture<Void> getBackgroundIndexBuilds() {
+    return CompletableFuture.allOf(backgroundBuilds.toArray(
+        new CompletableFuture<?>[backgroundBuilds.size()]));
+  }
+
   @Override
   public boolean isClosed() {
     return ddlExecutor.isClosed();
@@ -135,6 +154,17 @@ class SqlSchemaOperationExecutor implements SchemaOperationExecutor {
   @Override
   public void close() {
     ddlExecutor.close();
+    if (!backgroundBuilds.isEmpty() && !buildsScheduled) {
+      //the build starts once the schema lock is released
+      buildsScheduled = true;
+      if (indexBuilder.isRunning()) {
+        indexBuilder.buildPendingIndexes();
+      } else {
+        IllegalStateException ex = new IllegalStateException("The background index builder is "
+            + "not running. The indexes will be built on the next start");
+        backgroundBuilds.forEach(build -> build.completeExceptionally(ex));
+      }
+    }
   }
 
   private List<IndexInfo> createIndexesInfo(MetaSnapshot snapshot, String dbName, String colName) {
@@ -154,13 +184,13 @@ class SqlSchemaOperationExecutor implements SchemaOperationExecutor {
   @SuppressWarnings("checkstyle:indentation")
   private IndexInfo createIndexInfo(MetaIndex metaIndex) {
     IndexInfo.Builder indexInfoBuilder = new IndexInfo.Builder(metaIndex.getName(), metaIndex
-        .isUnique());
+        .isUnique(), metaIndex.isSparse());
 
     metaIndex.iteratorFields()
         .forEachRemaining(metaIndexField ->
             indexInfoBuilder.addField(
                 getAttributeReference(metaIndexField.getTableRef(), metaIndexField.getFieldName()),
-                metaIndexField.getOrdering().isAscending()
+                metaIndexField.getOrdering()
             )
         );
 
@@ -0,0 +1,54 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.torodb.torod.impl.sql;
+
+import com.codahale.metrics.Meter;
+import com.torodb.core.metrics.ToroMetricRegistry;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+@ThreadSafe
+public class SqlTorodMetrics {
+
+  private final Meter schemaChangesWithoutRollback;
+  private final Meter schemaChangeRollbacks;
+
+  @Inject
+  public SqlTorodMetrics(ToroMetricRegistry parentRegistry) {
+    ToroMetricRegistry registry = parentRegistry.createSubRegistry("SqlTorod");
+
+    schemaChangesWithoutRollback = registry.meter("schemaChangesWithoutRollback");
+    schemaChangeRollbacks = registry.meter("schemaChangeRollbacks");
+  }
+
+  /**
+   * Marked each time a write transaction waits for a schema change and continues.
+   */
+  public Meter getSchemaChangesWithoutRollback() {
+    return schemaChangesWithoutRollback;
+  }
+
+  /**
+   * Marked each time a write transaction is rolled back because its documents do not fit on the
+   * schema.
+   */
+  public Meter getSchemaChangeRollbacks() {
+    return schemaChangeRollbacks;
+  }
+}
@@ -22,8 +22,10 @@ import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.torodb.core.TableRefFactory;
+import com.torodb.core.annotations.TorodbIdleService;
 import com.torodb.core.backend.BackendExtInt;
 import com.torodb.core.backend.BackendService;
+import com.torodb.core.concurrent.ConcurrentToolsFactory;
 import com.torodb.core.d2r.IdentifierFactory;
 import com.torodb.core.d2r.R2DTranslator;
 import com.torodb.core.d2r.ReservedIdGenerator;
@@ -31,8 +33,14 @@ import com.torodb.core.d2r.impl.D2RModule;
 import com.torodb.core.guice.EssentialToDefaultModule;
 import com.torodb.core.supervision.Supervisor;
 import com.torodb.torod.ProtectedServer;
+import com.torodb.torod.TorodServer;
+import com.torodb.torod.impl.sql.schema.SchemaManager;
 import com.torodb.torod.impl.sql.schema.SqlSchemaModule;
 
+import java.util.concurrent.ThreadFactory;
+
+import javax.inject.Provider;
+
 
 public class SqlTorodModule extends PrivateModule {
 
@@ -60,6 +68,9 @@ public class SqlTorodModule extends PrivateModule {
         .in(Singleton.class);
 
     bind(InsertD2RTranslator.class);
+
+    bind(SqlTorodMetrics.class)
+        .in(Singleton.class);
   }
 
   private void bindConfig() {
@@ -73,6 +84,24 @@ public class SqlTorodModule extends PrivateModule {
         .toInstance(backendExtInt.getReservedIdGenerator());
   }
 
+  @Provides
+  @Singleton
+  InsertD2RExecutor createInsertD2RExecutor(@TorodbIdleService ThreadFactory threadFactory,
+      ConcurrentToolsFactory concurrentToolsFactory, InsertD2RTranslator insertAnalyzer) {
+    return new InsertD2RExecutor(threadFactory, concurrentToolsFactory, insertAnalyzer);
+  }
+
+  @Provides
+  @Singleton
+  BackgroundIndexBuilder createBackgroundIndexBuilder(
+      @TorodbIdleService ThreadFactory threadFactory,
+      ConcurrentToolsFactory concurrentToolsFactory, BackendService backend,
+      SchemaManager schemaManager, Provider<TorodServer> torodServerProvider) {
+    //the provider breaks the cycle with the guarded server, which decorates this module server
+    return new BackgroundIndexBuilder(threadFactory, concurrentToolsFactory, backend,
+        schemaManager, torodServerProvider);
+  }
+
   @Provides
   SqlTorodServer.ReadDocTransactionFactory createReadDocTransactionFactory(
       R2DTranslator r2d, TableRefFactory tableRefFactory) {
@@ -81,14 +110,17 @@ public class SqlTorodModule extends PrivateModule {
 
   @Provides
   SqlTorodServer.WriteDocTransactionFactory createWriteDocTransactionFactory(
-      R2DTranslator r2d, TableRefFactory tableRefFactory, InsertD2RTranslator insertAnalyzer) {
+      R2DTranslator r2d, TableRefFactory tableRefFactory, InsertD2RTranslator insertAnalyzer,
+      InsertD2RExecutor insertExecutor, SqlTorodMetrics metrics) {
     return (dmlTrans, snapshot, prepareSchemaCallback) -> new SqlWriteTransaction(
         dmlTrans,
         snapshot,
         r2d,
         tableRefFactory,
         insertAnalyzer,
-        prepareSchemaCallback
+        insertExecutor,
+        prepareSchemaCallback,
+        metrics
     );
   }
 }
\ No newline at end of file
@@ -37,6 +37,7 @@ import com.torodb.torod.impl.sql.schema.SchemaManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -57,6 +58,8 @@ public class SqlTorodServer extends IdleTorodbService implements ProtectedServer
   private final ReadDocTransactionFactory readTransFactory;
   private final WriteDocTransactionFactory writeTransFactory;
   private final ReservedIdGenerator idGenerator;
+  private final InsertD2RExecutor insertExecutor;
+  private final BackgroundIndexBuilder indexBuilder;
 
   @Inject
   public SqlTorodServer(@TorodbIdleService ThreadFactory threadFactory,
@@ -65,7 +68,9 @@ public class SqlTorodServer extends IdleTorodbService implements ProtectedServer
       SchemaManager schemaManager,
       ReadDocTransactionFactory readTransFactory,
       WriteDocTransactionFactory writeTransFactory,
-      ReservedIdGenerator idGenerator) {
+      ReservedIdGenerator idGenerator,
+      InsertD2RExecutor insertExecutor,
+      BackgroundIndexBuilder indexBuilder) {
     super(threadFactory);
     this.completableFutureUtils = completableFutureUtils;
     this.backend = backend;
@@ -73,6 +78,8 @@ public class SqlTorodServer extends IdleTorodbService implements ProtectedServer
     this.readTransFactory = readTransFactory;
     this.writeTransFactory = writeTransFactory;
     this.idGenerator = idGenerator;
+    this.insertExecutor = insertExecutor;
+    this.indexBuilder = indexBuilder;
   }
 
   @Override
@@ -108,12 +115,23 @@ public class SqlTorodServer extends IdleTorodbService implements ProtectedServer
       throws TimeoutException {
     return completableFutureUtils.executeOrTimeout(
         schemaManager.executeAtomically((snapshot) ->
-            new SqlSchemaOperationExecutor(schemaManager, backend.openDdlOperationExecutor())),
+            new SqlSchemaOperationExecutor(schemaManager, backend.openDdlOperationExecutor(),
+                indexBuilder)),
         timeout,
         unit
     );
   }
 
+  @Override
+  public int getMaxConcurrentWriteTransactions() {
+    return backend.getMaxConcurrentWriteTransactions();
+  }
+
+  @Override
+  public boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs) {
+    return schemaManager.fitsSchema(dbName, colName, docs).join();
+  }
+
   @Override
   protected void startUp() throws Exception {
     if (!backend.isRunning()) {
@@ -130,23 +148,36 @@ public class SqlTorodServer extends IdleTorodbService implements ProtectedServer
     LOGGER.debug("Reading last used rids...");
     ImmutableMetaSnapshot snapshot = schemaManager.getMetaSnapshot().join();
     idGenerator.load(snapshot);
+
+    insertExecutor.startAsync();
+    insertExecutor.awaitRunning();
+
+    indexBuilder.startAsync();
+    indexBuilder.awaitRunning();
+    indexBuilder.buildPendingIndexes();
   }
 
   @Override
   protected void shutDown() throws Exception {
+    indexBuilder.stopAsync();
+    indexBuilder.awaitTerminated();
+    insertExecutor.stopAsync();
+    insertExecutor.awaitTerminated();
     schemaManager.stopAsync();
     schemaManager.awaitTerminated();
   }
 
-  private void prepareSchema(String dbName, String colName, Collection<KvDocument> docs) {
+  private CompletableFuture<ImmutableMetaSnapshot> prepareSchema(String dbName, String colName,
+      Collection<KvDocument> docs) {
     DdlOperationExecutor ddlOpsEx = backend.openDdlOperationExecutor();
-    schemaManager.prepareSchema(ddlOpsEx, dbName, colName, docs)
+    return schemaManager.prepareSchema(ddlOpsEx, dbName, colName, docs)
         .whenComplete((result, ex) -> {
           if (ex != null) {
             LOGGER.debug("Error while trying to adapt the schema to fit with some documents", ex);
           }
           ddlOpsEx.close();
-        });
+        })
+        .thenCompose(result -> schemaManager.getMetaSnapshot());
   }
 
   static interface ReadDocTransactionFactory {
@@ -18,20 +18,29 @@
 
 package com.torodb.torod.impl.sql;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.SetMultimap;
 import com.torodb.core.TableRef;
 import com.torodb.core.TableRefFactory;
 import com.torodb.core.backend.BackendCursor;
 import com.torodb.core.backend.DmlTransaction;
+import com.torodb.core.backend.DocPartPredicate;
+import com.torodb.core.backend.ReadOptions;
 import com.torodb.core.cursors.Cursor;
 import com.torodb.core.cursors.EmptyCursor;
 import com.torodb.core.d2r.R2DTranslator;
 import com.torodb.core.exceptions.user.CollectionNotFoundException;
 import com.torodb.core.exceptions.user.IndexNotFoundException;
+import com.torodb.core.language.AttributePredicate;
+import com.torodb.core.language.AttributePredicate.Operator;
 import com.torodb.core.language.AttributeReference;
 import com.torodb.core.language.AttributeReference.Key;
 import com.torodb.core.language.AttributeReference.ObjectKey;
+import com.torodb.core.language.FindOptions;
+import com.torodb.core.language.FindOptions.SortKey;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.ImmutableMetaSnapshot;
 import com.torodb.core.transaction.metainf.MetaCollection;
@@ -46,22 +55,32 @@ import com.torodb.torod.DocTransaction;
 import com.torodb.torod.IndexInfo;
 import com.torodb.torod.TorodLoggerFactory;
 import com.torodb.torod.cursors.EmptyTorodCursor;
+import com.torodb.torod.cursors.ProjectedTorodCursor;
 import com.torodb.torod.cursors.TorodCursor;
 import org.apache.logging.log4j.Logger;
 import org.jooq.lambda.tuple.Tuple2;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
 import javax.json.Json;
 
 class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
 
   private static final Logger LOGGER = TorodLoggerFactory.get(SqlTransaction.class);
   private final BT backendTrans;
-  private final ImmutableMetaSnapshot snapshot;
+  private ImmutableMetaSnapshot snapshot;
+  /**
+   * The names of the collections, by database name, whose tables have been accessed by this
+   * transaction.
+   */
+  private final SetMultimap<String, String> usedCollections = HashMultimap.create();
   private final R2DTranslator r2d;
   private final TableRefFactory tableRefFactory;
 
@@ -77,10 +96,41 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
     return backendTrans;
   }
 
+  /**
+   * Like {@link #getBackendTransaction() }, but remembers that the tables of the given collection
+   * are going to be used by this transaction.
+   */
+  protected BT getBackendTransaction(MetaDatabase db, MetaCollection col) {
+    usedCollections.put(db.getName(), col.getName());
+    return backendTrans;
+  }
+
+  /**
+   * Returns true if the tables of the given collection have been used by this transaction, so the
+   * backend may hold locks on them until it is closed.
+   */
+  protected boolean isUsedCollection(String dbName, String colName) {
+    return usedCollections.containsEntry(dbName, colName);
+  }
+
   protected ImmutableMetaSnapshot getMetaSnapshot() {
     return snapshot;
   }
 
+  /**
+   * Changes the snapshot used by this transaction.
+   *
+   * <p>The new snapshot must be a newer version of the current one, usually obtained once the
+   * schema has been changed to fit some documents.
+   */
+  protected void setMetaSnapshot(ImmutableMetaSnapshot snapshot) {
+    this.snapshot = snapshot;
+  }
+
+  protected TableRefFactory getTableRefFactory() {
+    return tableRefFactory;
+  }
+
   @Override
   public boolean existsDatabase(String dbName) {
     MetaDatabase metaDb = getMetaSnapshot().getMetaDatabaseByName(dbName);
@@ -119,7 +169,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
     if (col == null) {
       return 0;
     }
-    return getBackendTransaction().countAll(db, col);
+    return getBackendTransaction(db, col).countAll(db, col);
   }
 
   @Override
@@ -132,7 +182,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
     if (col == null) {
       return 0;
     }
-    return getBackendTransaction().getCollectionSize(db, col);
+    return getBackendTransaction(db, col).getCollectionSize(db, col);
   }
 
   @Override
@@ -145,7 +195,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
     if (col == null) {
       return 0;
     }
-    return getBackendTransaction().getDocumentsSize(db, col);
+    return getBackendTransaction(db, col).getDocumentsSize(db, col);
   }
 
   @Override
@@ -161,7 +211,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
           + " does not exist. An empty cursor is returned");
       return new EmptyTorodCursor();
     }
-    return toToroCursor(getBackendTransaction().findAll(db, col));
+    return toToroCursor(getBackendTransaction(db, col).findAll(db, col));
   }
 
   @Override
@@ -195,7 +245,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
       return new EmptyTorodCursor();
     }
 
-    return toToroCursor(getBackendTransaction()
+    return toToroCursor(getBackendTransaction(db, col)
         .findByField(db, col, docPart, field, value)
     );
   }
@@ -237,11 +287,175 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
         valuesMap.put(field, value);
       }
     }
-    return toToroCursor(getBackendTransaction()
+    return toToroCursor(getBackendTransaction(db, col)
         .findByFieldIn(db, col, docPart, valuesMap)
     );
   }
 
+  @Override
+  public TorodCursor findByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates, FindOptions options) {
+    MetaDatabase db = getMetaSnapshot().getMetaDatabaseByName(dbName);
+    if (db == null) {
+      LOGGER.trace("Db with name " + dbName + " does not exist. An empty cursor is returned");
+      return new EmptyTorodCursor();
+    }
+    MetaCollection col = db.getMetaCollectionByName(colName);
+    if (col == null) {
+      LOGGER.trace("Collection " + dbName + '.' + colName
+          + " does not exist. An empty cursor is returned");
+      return new EmptyTorodCursor();
+    }
+
+    List<DocPartPredicate> docPartPredicates = resolvePredicates(col, predicates);
+    if (docPartPredicates == null) {
+      LOGGER.trace("Predicates " + predicates + " cannot be fulfilled on " + dbName + '.'
+          + colName + ". An empty cursor is returned");
+      return new EmptyTorodCursor();
+    }
+
+    if (docPartPredicates.isEmpty() && options.isDefault()) {
+      return toToroCursor(getBackendTransaction(db, col).findAll(db, col));
+    }
+    TorodCursor cursor = toToroCursor(getBackendTransaction(db, col)
+        .findByPredicates(db, col, docPartPredicates, resolveOptions(col, options))
+    );
+    if (options.getProjection().isAll()) {
+      return cursor;
+    }
+    return new ProjectedTorodCursor(cursor, options.getProjection());
+  }
+
+  private ReadOptions resolveOptions(MetaCollection col, FindOptions options) {
+    ReadOptions.Builder builder = new ReadOptions.Builder()
+        .setSkip(options.getSkip())
+        .setLimit(options.getLimit())
+        .setProjection(options.getProjection());
+
+    MetaDocPart rootDocPart = col.getMetaDocPartByTableRef(tableRefFactory.createRoot());
+    for (SortKey sortKey : options.getSort()) {
+      List<Key<?>> keys = sortKey.getAttributeReference().getKeys();
+      Preconditions.checkArgument(keys.size() == 1, "Only sorts on top level attributes are "
+          + "supported, but " + sortKey + " was recived");
+      if (rootDocPart == null) {
+        continue;
+      }
+      SortedMap<Integer, List<MetaField>> fieldGroups = rootDocPart
+          .streamMetaFieldByName(extractKeyName(keys.get(0)))
+          .filter(field -> field.getType() != FieldType.CHILD)
+          .collect(Collectors.groupingBy(
+              field -> FindOptions.getSortTypeGroup(field.getType()),
+              TreeMap::new,
+              Collectors.toList()));
+      //if the attribute is not stored, all documents have the same value
+      if (!fieldGroups.isEmpty()) {
+        builder.addSortField(new ArrayList<>(fieldGroups.values()), sortKey.isAscending());
+      }
+    }
+    return builder.build();
+  }
+
+  @Override
+  public long countByPredicates(String dbName, String colName,
+      List<AttributePredicate> predicates) {
+    MetaDatabase db = getMetaSnapshot().getMetaDatabaseByName(dbName);
+    if (db == null) {
+      return 0;
+    }
+    MetaCollection col = db.getMetaCollectionByName(colName);
+    if (col == null) {
+      return 0;
+    }
+    List<DocPartPredicate> docPartPredicates = resolvePredicates(col, predicates);
+    if (docPartPredicates == null) {
+      return 0;
+    }
+    return getBackendTransaction(db, col).countByPredicates(db, col, docPartPredicates);
+  }
+
+  /**
+   * Translates the given predicates to the doc parts of the given collection.
+   *
+   * @return the translated predicates or null if there is a predicate that cannot be fulfilled by
+   *         any document of the collection
+   */
+  @Nullable
+  private List<DocPartPredicate> resolvePredicates(MetaCollection col,
+      List<AttributePredicate> predicates) {
+    List<DocPartPredicate> docPartPredicates = new ArrayList<>(predicates.size());
+    for (AttributePredicate predicate : predicates) {
+      AttributeReference attRef = predicate.getAttributeReference();
+      TableRef ref = extractTableRef(attRef);
+      String lastKey = extractKeyName(attRef.getKeys().get(attRef.getKeys().size() - 1));
+
+      MetaDocPart docPart = col.getMetaDocPartByTableRef(ref);
+      DocPartPredicate docPartPredicate = docPart == null ? null :
+          resolvePredicate(docPart, lastKey, predicate);
+      if (docPartPredicate != null) {
+        docPartPredicates.add(docPartPredicate);
+      } else if (predicate.getOperator() != Operator.NOT_EXISTS) {
+        return null;
+      }
+    }
+    return docPartPredicates;
+  }
+
+  /**
+   * Translates the given predicate to the fields of the given doc part.
+   *
+   * @return the translated predicate or null if there are no fields on the doc part the predicate
+   *         can be evaluated on
+   */
+  private DocPartPredicate resolvePredicate(MetaDocPart docPart, String lastKey,
+      AttributePredicate predicate) {
+    switch (predicate.getOperator()) {
+      case IN: {
+        Multimap<MetaField, KvValue<?>> valuesMap = ArrayListMultimap.create();
+        for (KvValue<?> value : predicate.getValues()) {
+          FieldType fieldType = FieldType.from(value.getType());
+          if (fieldType == FieldType.CHILD) {
+            continue;
+          }
+          MetaField field = docPart.getMetaFieldByNameAndType(lastKey, fieldType);
+          if (field != null) {
+            valuesMap.put(field, value);
+          }
+        }
+        if (valuesMap.isEmpty()) {
+          return null;
+        }
+        return DocPartPredicate.in(docPart, valuesMap);
+      }
+      case GT:
+      case GTE:
+      case LT:
+      case LTE: {
+        KvValue<?> value = predicate.getValues().get(0);
+        FieldType fieldType = FieldType.from(value.getType());
+        if (fieldType == FieldType.CHILD) {
+          return null;
+        }
+        MetaField field = docPart.getMetaFieldByNameAndType(lastKey, fieldType);
+        if (field == null) {
+          return null;
+        }
+        return DocPartPredicate.range(docPart, predicate.getOperator(), field, value);
+      }
+      case EXISTS:
+      case NOT_EXISTS: {
+        List<MetaField> fields = docPart.streamMetaFieldByName(lastKey)
+            .collect(Collectors.toList());
+        if (fields.isEmpty()) {
+          return null;
+        }
+        return DocPartPredicate.exists(docPart, fields,
+            predicate.getOperator() == Operator.EXISTS);
+      }
+      default:
+        throw new AssertionError("Unexpected operator " + predicate.getOperator());
+    }
+  }
+
   @Override
   public Cursor<Tuple2<Integer, KvValue<?>>> findByAttRefInProjection(String dbName,
       String colName, AttributeReference attRef, Collection<KvValue<?>> values) {
@@ -279,7 +493,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
         valuesMap.put(field, value);
       }
     }
-    return getBackendTransaction()
+    return getBackendTransaction(db, col)
         .findByFieldInProjection(db, col, docPart, valuesMap);
   }
 
@@ -296,7 +510,7 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
           + " does not exist. An empty cursor is returned");
       return new EmptyTorodCursor();
     }
-    return toToroCursor(getBackendTransaction()
+    return toToroCursor(getBackendTransaction(db, col)
         .fetch(db, col, didCursor)
     );
   }
@@ -368,13 +582,13 @@ class SqlTransaction<BT extends DmlTransaction> implements DocTransaction {
 
   protected IndexInfo createIndexInfo(MetaIndex metaIndex) {
     IndexInfo.Builder indexInfoBuilder = new IndexInfo.Builder(metaIndex.getName(), metaIndex
-        .isUnique());
+        .isUnique(), metaIndex.isSparse());
 
     metaIndex.iteratorFields()
         .forEachRemaining(metaIndexField ->
             indexInfoBuilder.addField(
                 getAttrivuteReference(metaIndexField.getTableRef(), metaIndexField.getFieldName()),
-                metaIndexField.getOrdering().isAscending()));
+                metaIndexField.getOrdering()));
 
     return indexInfoBuilder.build();
   }
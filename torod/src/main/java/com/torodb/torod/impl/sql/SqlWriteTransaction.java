@@ -19,6 +19,8 @@
 package com.torodb.torod.impl.sql;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
 import com.torodb.core.TableRef;
 import com.torodb.core.TableRefFactory;
 import com.torodb.core.backend.WriteDmlTransaction;
@@ -26,6 +28,7 @@ import com.torodb.core.cursors.Cursor;
 import com.torodb.core.d2r.CollectionData;
 import com.torodb.core.d2r.DocPartData;
 import com.torodb.core.d2r.R2DTranslator;
+import com.torodb.core.document.ToroDocument;
 import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.language.AttributeReference;
 import com.torodb.core.transaction.RollbackException;
@@ -36,27 +39,56 @@ import com.torodb.core.transaction.metainf.MetaDatabase;
 import com.torodb.core.transaction.metainf.MetaDocPart;
 import com.torodb.core.transaction.metainf.MetaField;
 import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.kvdocument.values.KvDocument.DocEntry;
 import com.torodb.kvdocument.values.KvValue;
 import com.torodb.torod.TorodLoggerFactory;
 import com.torodb.torod.WriteDocTransaction;
 import org.apache.logging.log4j.Logger;
+import org.jooq.lambda.tuple.Tuple2;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nullable;
 
 class SqlWriteTransaction extends SqlTransaction<WriteDmlTransaction>
     implements WriteDocTransaction {
 
   private static final Logger LOGGER = TorodLoggerFactory.get(SqlWriteTransaction.class);
 
+  /**
+   * The max number of documents that are translated at once when a batch is inserted.
+   */
+  private static final int INSERT_CHUNK_SIZE = 500;
+  /**
+   * The max number of times the schema is changed by a single insert before the transaction is
+   * rolled back.
+   */
+  private static final int MAX_SCHEMA_CHANGES = 3;
+  private static final long SCHEMA_CHANGE_TIMEOUT_MILLIS = 5_000;
+
   private final InsertD2RTranslator insertAnalyzer;
+  private final InsertD2RExecutor insertExecutor;
   private final PrepareSchemaCallback prepareSchemaCallback;
+  private final SqlTorodMetrics metrics;
 
   public SqlWriteTransaction(WriteDmlTransaction backendTrans,
       ImmutableMetaSnapshot snapshot, R2DTranslator r2dTrans, TableRefFactory tableRefFactory,
-      InsertD2RTranslator insertAnalyzer, PrepareSchemaCallback prepareSchemaCallback) {
+      InsertD2RTranslator insertAnalyzer, InsertD2RExecutor insertExecutor,
+      PrepareSchemaCallback prepareSchemaCallback, SqlTorodMetrics metrics) {
     super(backendTrans, snapshot, r2dTrans, tableRefFactory);
     this.insertAnalyzer = insertAnalyzer;
+    this.insertExecutor = insertExecutor;
     this.prepareSchemaCallback = prepareSchemaCallback;
+    this.metrics = metrics;
   }
 
 
@@ -65,25 +97,117 @@ class SqlWriteTransaction extends SqlTransaction<WriteDmlTransaction>
       RollbackException, UserException {
     Preconditions.checkState(!isClosed());
 
-    try {
+    boolean schemaRequested = false;
+    for (int schemaChanges = 0; ; schemaChanges++) {
+      try {
+        doInsert(dbName, colName, documents);
+        return;
+      } catch (IncompatibleSchemaException ex) {
+        if (schemaChanges < MAX_SCHEMA_CHANGES && !isUsedCollection(dbName, colName)) {
+          schemaRequested = true;
+          if (changeSchema(dbName, colName, documents)) {
+            metrics.getSchemaChangesWithoutRollback().mark();
+            continue;
+          }
+        }
+        LOGGER.debug("Documents don't fit on {}.{}. Rolling back", dbName, colName);
+        LOGGER.trace("Exception:", ex);
+        this.close();
+
+        if (!schemaRequested) {
+          prepareSchemaCallback.prepareSchema(dbName, colName, documents);
+        }
+        metrics.getSchemaChangeRollbacks().mark();
+
+        throw new RollbackException(ex);
+      }
+    }
+  }
+
+  private void doInsert(String dbName, String colName, Collection<KvDocument> documents)
+      throws IncompatibleSchemaException, UserException {
+    if (documents.size() <= INSERT_CHUNK_SIZE || !insertExecutor.isRunning()) {
       CollectionData data = insertAnalyzer.analyze(
           getMetaSnapshot(), dbName, colName, documents.stream());
-      
-      MetaDatabase db = getMetaSnapshot().getMetaDatabaseByName(dbName);
-      assert db != null;
-      MetaCollection col = db.getMetaCollectionByName(colName);
+      insertCollectionData(dbName, colName, data);
+    } else {
+      pipelinedInsert(dbName, colName, new ArrayList<>(documents));
+    }
+  }
+
+  /**
+   * Waits until the schema is changed to fit the given documents and continues with a refreshed
+   * snapshot.
+   *
+   * <p>This is only safe when this transaction has not used the tables of the collection, as
+   * otherwise the DDL executed on the schema connection could wait for the locks held by this
+   * transaction. The wait is bounded anyway, so in the worst case the transaction is rolled back
+   * as it was done before.
+   *
+   * @return true if the schema has been changed and the snapshot has been refreshed
+   */
+  private boolean changeSchema(String dbName, String colName, Collection<KvDocument> documents) {
+    LOGGER.debug("Documents don't fit on {}.{}. Waiting until the schema is changed", dbName,
+        colName);
+    try {
+      ImmutableMetaSnapshot newSnapshot = prepareSchemaCallback
+          .prepareSchema(dbName, colName, documents)
+          .get(SCHEMA_CHANGE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      setMetaSnapshot(newSnapshot);
+      return true;
+    } catch (TimeoutException | ExecutionException ex) {
+      LOGGER.debug("The schema of {}.{} could not be changed on time", dbName, colName, ex);
+      return false;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Inserts the documents in chunks, translating the next chunk on the {@link InsertD2RExecutor}
+   * while the current one is being sent to the backend by this thread.
+   *
+   * <p>Chunks are translated one after the other, so they reserve their ids in the same order they
+   * would have on a sequential translation, and all of them are inserted on this transaction.
+   */
+  private void pipelinedInsert(String dbName, String colName, List<KvDocument> documents)
+      throws IncompatibleSchemaException, UserException {
+    List<List<KvDocument>> chunks = Lists.partition(documents, INSERT_CHUNK_SIZE);
 
-      for (DocPartData docPartData : data) {
-        getBackendTransaction().insert(db, col, docPartData);
+    CompletableFuture<CollectionData> nextChunk = insertExecutor.analyze(
+        getMetaSnapshot(), dbName, colName, chunks.get(0));
+    for (int i = 0; i < chunks.size(); i++) {
+      CollectionData data = waitForTranslation(nextChunk);
+      if (i + 1 < chunks.size()) {
+        nextChunk = insertExecutor.analyze(getMetaSnapshot(), dbName, colName, chunks.get(i + 1));
+      }
+      insertCollectionData(dbName, colName, data);
+    }
+  }
+
+  private CollectionData waitForTranslation(CompletableFuture<CollectionData> future)
+      throws IncompatibleSchemaException {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof IncompatibleSchemaException) {
+        throw (IncompatibleSchemaException) cause;
       }
-    } catch (IncompatibleSchemaException ex) {
-      LOGGER.debug("Documents don't fit on {}.{}. Rolling back", dbName, colName);
-      LOGGER.trace("Exception:", ex);
-      this.close();
+      Throwables.propagateIfPossible(cause);
+      throw ex;
+    }
+  }
 
-      prepareSchemaCallback.prepareSchema(dbName, colName, documents);
+  private void insertCollectionData(String dbName, String colName, CollectionData data)
+      throws UserException {
+    MetaDatabase db = getMetaSnapshot().getMetaDatabaseByName(dbName);
+    assert db != null;
+    MetaCollection col = db.getMetaCollectionByName(colName);
 
-      throw new RollbackException(ex);
+    for (DocPartData docPartData : data) {
+      getBackendTransaction(db, col).insert(db, col, docPartData);
     }
   }
 
@@ -98,7 +222,7 @@ class SqlWriteTransaction extends SqlTransaction<WriteDmlTransaction>
       return;
     }
 
-    getBackendTransaction().deleteDids(db, col, cursor.getRemaining());
+    getBackendTransaction(db, col).deleteDids(db, col, cursor.getRemaining());
   }
 
   @Override
@@ -112,11 +236,11 @@ class SqlWriteTransaction extends SqlTransaction<WriteDmlTransaction>
       return 0;
     }
 
-    Collection<Integer> dids = getBackendTransaction()
+    Collection<Integer> dids = getBackendTransaction(db, col)
         .findAll(db, col)
         .asDidCursor()
         .getRemaining();
-    getBackendTransaction().deleteDids(db, col, dids);
+    getBackendTransaction(db, col).deleteDids(db, col, dids);
 
     return dids.size();
   }
@@ -146,15 +270,108 @@ class SqlWriteTransaction extends SqlTransaction<WriteDmlTransaction>
       return 0;
     }
 
-    Collection<Integer> dids = getBackendTransaction()
+    Collection<Integer> dids = getBackendTransaction(db, col)
         .findByField(db, col, docPart, field, value)
         .asDidCursor()
         .getRemaining();
-    getBackendTransaction().deleteDids(db, col, dids);
+    getBackendTransaction(db, col).deleteDids(db, col, dids);
 
     return dids.size();
   }
 
+  @Override
+  public List<Tuple2<ToroDocument, KvDocument>> updateInPlace(String dbName, String colName,
+      List<Tuple2<ToroDocument, KvDocument>> updates) throws UserException {
+    Preconditions.checkState(!isClosed());
+
+    MetaDatabase db = getMetaSnapshot().getMetaDatabaseByName(dbName);
+    if (db == null) {
+      return updates;
+    }
+    MetaCollection col = db.getMetaCollectionByName(colName);
+    if (col == null) {
+      return updates;
+    }
+    MetaDocPart rootDocPart = col.getMetaDocPartByTableRef(getTableRefFactory().createRoot());
+    if (rootDocPart == null) {
+      return updates;
+    }
+
+    List<Tuple2<ToroDocument, KvDocument>> notApplied = new ArrayList<>();
+    //documents that receive the same changes are updated with a single statement
+    Map<Map<MetaField, KvValue<?>>, List<Integer>> didsByChanges = new HashMap<>();
+    for (Tuple2<ToroDocument, KvDocument> update : updates) {
+      Map<MetaField, KvValue<?>> changes = calculateRootScalarChanges(
+          rootDocPart, update.v1().getRoot(), update.v2());
+      if (changes == null) {
+        notApplied.add(update);
+      } else if (!changes.isEmpty()) {
+        didsByChanges.computeIfAbsent(changes, k -> new ArrayList<>())
+            .add(update.v1().getId());
+      }
+    }
+
+    for (Map.Entry<Map<MetaField, KvValue<?>>, List<Integer>> entry : didsByChanges.entrySet()) {
+      getBackendTransaction(db, col)
+          .updateFields(db, col, rootDocPart, entry.getKey(), entry.getValue());
+    }
+
+    LOGGER.trace("{} of {} updates on {}.{} have been applied in place",
+        updates.size() - notApplied.size(), updates.size(), dbName, colName);
+
+    return notApplied;
+  }
+
+  /**
+   * Returns the values that must be set on the root doc part to transform the old document into
+   * the new one or null if that transformation requires changes on the structure of the document.
+   *
+   * <p>A null value on the returned map means that the column of the associated field must be
+   * cleared.
+   */
+  @Nullable
+  private Map<MetaField, KvValue<?>> calculateRootScalarChanges(MetaDocPart rootDocPart,
+      KvDocument oldDoc, KvDocument newDoc) {
+    Map<MetaField, KvValue<?>> changes = new HashMap<>();
+    for (DocEntry<?> oldEntry : oldDoc) {
+      KvValue<?> oldValue = oldEntry.getValue();
+      KvValue<?> newValue = newDoc.get(oldEntry.getKey());
+      if (newValue != null && isSameValue(oldValue, newValue)) {
+        continue;
+      }
+      FieldType oldType = FieldType.from(oldValue.getType());
+      if (oldType == FieldType.CHILD) {
+        return null;
+      }
+      MetaField oldField = rootDocPart.getMetaFieldByNameAndType(oldEntry.getKey(), oldType);
+      if (oldField == null) {
+        return null;
+      }
+      changes.put(oldField, null);
+    }
+    for (DocEntry<?> newEntry : newDoc) {
+      KvValue<?> newValue = newEntry.getValue();
+      KvValue<?> oldValue = oldDoc.get(newEntry.getKey());
+      if (oldValue != null && isSameValue(oldValue, newValue)) {
+        continue;
+      }
+      FieldType newType = FieldType.from(newValue.getType());
+      if (newType == FieldType.CHILD) {
+        return null;
+      }
+      MetaField newField = rootDocPart.getMetaFieldByNameAndType(newEntry.getKey(), newType);
+      if (newField == null) {
+        return null;
+      }
+      changes.put(newField, newValue);
+    }
+    return changes;
+  }
+
+  private boolean isSameValue(KvValue<?> oldValue, KvValue<?> newValue) {
+    return oldValue.getType().equals(newValue.getType()) && oldValue.equals(newValue);
+  }
+
   @Override
   public void commit() throws RollbackException, UserException {
     getBackendTransaction().commit();
@@ -174,7 +391,10 @@ class SqlWriteTransaction extends SqlTransaction<WriteDmlTransaction>
      * @param dbName  The name of the database
      * @param colName The name of the collection
      * @param docs    The documents that must fit on the collection
+     * @return a future that is completed with the metadata snapshot once the schema has been
+     *         changed
      */
-    void prepareSchema(String dbName, String colName, Collection<KvDocument> docs);
+    CompletableFuture<ImmutableMetaSnapshot> prepareSchema(String dbName, String colName,
+        Collection<KvDocument> docs);
   }
 }
\ No newline at end of file
@@ -120,9 +120,9 @@ class BatchMetaCollection implements MutableMetaCollection {
   }
 
   @Override
-  public MutableMetaIndex addMetaIndex(String name, boolean unique)
+  public MutableMetaIndex addMetaIndex(String name, boolean unique, boolean sparse)
       throws IllegalArgumentException {
-    return delegate.addMetaIndex(name, unique);
+    return delegate.addMetaIndex(name, unique, sparse);
   }
 
   @Override
@@ -162,9 +162,9 @@ class BatchMetaDocPart implements MutableMetaDocPart {
   }
 
   @Override
-  public MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique)
+  public MutableMetaDocPartIndex addMetaDocPartIndex(boolean unique, boolean sparse)
       throws IllegalArgumentException {
-    return delegate.addMetaDocPartIndex(unique);
+    return delegate.addMetaDocPartIndex(unique, sparse);
   }
 
   @Override
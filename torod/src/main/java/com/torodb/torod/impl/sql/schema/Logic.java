@@ -28,13 +28,24 @@ import com.torodb.core.supervision.Supervisor;
 import com.torodb.core.supervision.SupervisorDecision;
 import com.torodb.core.transaction.RollbackException;
 import com.torodb.core.transaction.metainf.FieldIndexOrdering;
+import com.torodb.core.transaction.metainf.FieldType;
+import com.torodb.core.transaction.metainf.ImmutableMetaCollection;
+import com.torodb.core.transaction.metainf.ImmutableMetaDatabase;
+import com.torodb.core.transaction.metainf.ImmutableMetaIdentifiedDocPartIndex;
 import com.torodb.core.transaction.metainf.ImmutableMetaSnapshot;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaDocPartIndexColumn;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
 import com.torodb.core.transaction.metainf.MetaIndex;
+import com.torodb.core.transaction.metainf.MetaIndexField;
 import com.torodb.core.transaction.metainf.MutableMetaCollection;
 import com.torodb.core.transaction.metainf.MutableMetaDatabase;
+import com.torodb.core.transaction.metainf.MutableMetaDocPart;
+import com.torodb.core.transaction.metainf.MutableMetaDocPartIndex;
 import com.torodb.core.transaction.metainf.MutableMetaIndex;
+import com.torodb.core.transaction.metainf.WrapperMutableMetaCollection;
 import com.torodb.kvdocument.values.KvDocument;
 import com.torodb.torod.IndexFieldInfo;
 import com.torodb.torod.TorodLoggerFactory;
@@ -50,6 +61,7 @@ import org.jooq.lambda.tuple.Tuple3;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
@@ -136,6 +148,20 @@ class Logic {
     }
   }
 
+  boolean fitsSchema(String dbName, String colName, Collection<KvDocument> docs) {
+    ImmutableMetaDatabase db = metadata.getSnapshot().getMetaDatabaseByName(dbName);
+    if (db == null) {
+      return false;
+    }
+    ImmutableMetaCollection col = db.getMetaCollectionByName(colName);
+    if (col == null) {
+      return false;
+    }
+    MutableMetaCollection mutableCol = new WrapperMutableMetaCollection(col);
+    docSchemaAnalyzer.analyze(db, mutableCol, docs.stream());
+    return !mutableCol.hasChanges();
+  }
+
   private void adaptCollection(DdlOperationExecutor op,
       MetaDatabase db, BatchMetaCollection col) throws UserException, RollbackException {
     for (BatchMetaDocPart dp : col.getOnBatchModifiedMetaDocParts()) {
@@ -247,7 +273,8 @@ class Logic {
   }
 
   boolean createIndex(DdlOperationExecutor ops, String dbName, String colName, String indexName,
-      List<IndexFieldInfo> fields, boolean unique) throws UnexistentDatabaseException,
+      List<IndexFieldInfo> fields, boolean unique, boolean sparse, boolean background)
+      throws UnexistentDatabaseException,
       UnexistentCollectionException, UnsupportedIndexException {
     try (TransactionalSnapshot snapshot = metadata.createTransactionalSnapshot()) {
       if (fields.size() > 1) {
@@ -262,8 +289,7 @@ class Logic {
           fields.size());
       for (IndexFieldInfo field : fields) {
         AttributeReference attRef = field.getAttributeReference();
-        FieldIndexOrdering ordering = field.isAscending() ? FieldIndexOrdering.ASC :
-            FieldIndexOrdering.DESC;
+        FieldIndexOrdering ordering = field.getOrdering();
         TableRef tableRef = tableRefTranslator.apply(attRef);
         String lastKey = extractKeyName(attRef.getKeys().get(attRef.getKeys().size() - 1));
         indexFieldDefs.add(new Tuple3<>(tableRef, lastKey, ordering));
@@ -283,8 +309,8 @@ class Logic {
 
       boolean indexExists = metaColl.streamContainedMetaIndexes()
           .anyMatch(index -> index.getName().equals(indexName) || (index.isUnique() == unique
-              && index.size() == indexFieldDefs.size() && Seq.seq(index.iteratorFields())
-              .allMatch(indexField -> {
+              && index.isSparse() == sparse && index.size() == indexFieldDefs.size()
+              && Seq.seq(index.iteratorFields()).allMatch(indexField -> {
                 Tuple3<TableRef, String, FieldIndexOrdering> indexFieldDef =
                     indexFieldDefs.get(indexField.getPosition());
                 return indexFieldDef != null && indexFieldDef.v1().equals(indexField.getTableRef())
@@ -293,19 +319,19 @@ class Logic {
               })));
 
       if (!indexExists) {
-        MutableMetaIndex metaIndex = metaColl.addMetaIndex(indexName, unique);
+        MutableMetaIndex metaIndex = metaColl.addMetaIndex(indexName, unique, sparse);
         for (Tuple3<TableRef, String, FieldIndexOrdering> indexFieldDef : indexFieldDefs) {
           metaIndex.addMetaIndexField(indexFieldDef.v1(), indexFieldDef.v2(), indexFieldDef.v3());
         }
         try {
-          ops.createIndex(metaDb, metaColl, metaIndex);
+          ops.createIndex(metaDb, metaColl, metaIndex, background);
           snapshot.commit();
         } catch (UserException ex) {
           throw new UserSchemaException("Impossible to create the index on the backend", ex);
         }
       }
 
-      return indexExists;
+      return !indexExists;
     }
   }
 
@@ -329,6 +355,125 @@ class Logic {
     }
   }
 
+  List<PendingDocPartIndex> getPendingDocPartIndexes() {
+    ImmutableMetaSnapshot snapshot = metadata.getSnapshot();
+    List<PendingDocPartIndex> result = new ArrayList<>();
+
+    Iterator<? extends MetaDatabase> dbIterator = snapshot.streamMetaDatabases().iterator();
+    while (dbIterator.hasNext()) {
+      MetaDatabase db = dbIterator.next();
+      Iterator<? extends MetaCollection> colIterator = db.streamMetaCollections().iterator();
+      while (colIterator.hasNext()) {
+        MetaCollection col = colIterator.next();
+        Iterator<? extends MetaIndex> indexIterator = col.streamContainedMetaIndexes().iterator();
+        while (indexIterator.hasNext()) {
+          addPendingDocPartIndexes(db, col, indexIterator.next(), result);
+        }
+      }
+    }
+    return result;
+  }
+
+  private void addPendingDocPartIndexes(MetaDatabase db, MetaCollection col, MetaIndex index,
+      List<PendingDocPartIndex> result) {
+    Iterator<TableRef> tableRefIterator = index.streamTableRefs().iterator();
+    while (tableRefIterator.hasNext()) {
+      MetaDocPart docPart = col.getMetaDocPartByTableRef(tableRefIterator.next());
+      if (docPart != null && index.isCompatible(docPart)) {
+        Iterator<List<String>> docPartIndexesFieldsIterator =
+            index.iteratorMetaDocPartIndexesIdentifiers(docPart);
+
+        while (docPartIndexesFieldsIterator.hasNext()) {
+          List<String> identifiers = docPartIndexesFieldsIterator.next();
+          boolean built = docPart.streamIndexes()
+              .anyMatch(docPartIndex -> index.isMatch(docPart, identifiers, docPartIndex));
+          boolean pending = result.stream()
+              .anyMatch(pendingIndex -> pendingIndex.getDocPart() == docPart
+                  && index.isMatch(docPart, identifiers, pendingIndex.getDocPartIndex()));
+          if (!built && !pending) {
+            result.add(createPendingDocPartIndex(db, col, index, docPart, identifiers));
+          }
+        }
+      }
+    }
+  }
+
+  private PendingDocPartIndex createPendingDocPartIndex(MetaDatabase db, MetaCollection col,
+      MetaIndex index, MetaDocPart docPart, List<String> identifiers) {
+    Iterator<? extends MetaIndexField> indexFieldIterator = index.iteratorMetaIndexFieldByTableRef(
+        docPart.getTableRef());
+    List<FieldIndexOrdering> orderings = new ArrayList<>(identifiers.size());
+    List<Tuple3<String, FieldIndexOrdering, FieldType>> columnList = new ArrayList<>(
+        identifiers.size());
+    for (String identifier : identifiers) {
+      FieldIndexOrdering ordering = indexFieldIterator.next().getOrdering();
+      orderings.add(ordering);
+      columnList.add(new Tuple3<>(identifier, ordering,
+          docPart.getMetaFieldByIdentifier(identifier).getType()));
+    }
+
+    ImmutableMetaIdentifiedDocPartIndex.Builder docPartIndexBuilder =
+        new ImmutableMetaIdentifiedDocPartIndex.Builder(
+            idFactory.toIndexIdentifier(db, docPart.getIdentifier(), columnList),
+            index.isUnique(),
+            index.isSparse(),
+            identifiers.size()
+        );
+    for (int i = 0; i < identifiers.size(); i++) {
+      docPartIndexBuilder.addColumn(identifiers.get(i), orderings.get(i));
+    }
+
+    return new PendingDocPartIndex(db, col, index, docPart, docPartIndexBuilder.build());
+  }
+
+  /**
+   * Adds a physical index that has been built to the metainformation.
+   *
+   * @return true iff the built index is used by the metainformation, which is not the case if its
+   *         logical index or its doc part have been dropped meanwhile the index was being built
+   */
+  boolean publishDocPartIndex(DdlOperationExecutor ops, PendingDocPartIndex pendingIndex) {
+    try (TransactionalSnapshot snapshot = metadata.createTransactionalSnapshot()) {
+      MutableMetaDatabase db = snapshot.getMetaDatabaseByName(
+          pendingIndex.getDatabase().getName());
+      if (db == null || !db.getIdentifier().equals(pendingIndex.getDatabase().getIdentifier())) {
+        return false;
+      }
+      MutableMetaCollection col = db.getMetaCollectionByName(
+          pendingIndex.getCollection().getName());
+      if (col == null || col.getMetaIndexByName(pendingIndex.getIndex().getName()) == null) {
+        return false;
+      }
+      MutableMetaDocPart docPart = col.getMetaDocPartByTableRef(
+          pendingIndex.getDocPart().getTableRef());
+      if (docPart == null
+          || !docPart.getIdentifier().equals(pendingIndex.getDocPart().getIdentifier())) {
+        return false;
+      }
+
+      MetaIdentifiedDocPartIndex builtIndex = pendingIndex.getDocPartIndex();
+      if (docPart.getMetaDocPartIndexByIdentifier(builtIndex.getIdentifier()) != null) {
+        LOGGER.debug("Index {} has already been added by another operation", builtIndex
+            .getIdentifier());
+        return true;
+      }
+
+      MutableMetaDocPartIndex docPartIndex = docPart.addMetaDocPartIndex(builtIndex.isUnique(),
+          builtIndex.isSparse());
+      Iterator<? extends MetaDocPartIndexColumn> columnIterator = builtIndex.iteratorColumns();
+      while (columnIterator.hasNext()) {
+        MetaDocPartIndexColumn column = columnIterator.next();
+        docPartIndex.putMetaDocPartIndexColumn(column.getPosition(), column.getIdentifier(),
+            column.getOrdering());
+      }
+      docPartIndex.immutableCopy(builtIndex.getIdentifier());
+
+      ops.addDocPartIndex(db, col, docPart, builtIndex);
+      snapshot.commit();
+      return true;
+    }
+  }
+
   ImmutableMetaSnapshot getMetaSnapshot() {
     return metadata.getSnapshot();
   }
@@ -0,0 +1,79 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.torod.impl.sql.schema;
+
+import com.torodb.core.transaction.metainf.MetaCollection;
+import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
+import com.torodb.core.transaction.metainf.MetaIndex;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A physical index required by a logical index that has not been built yet, usually because the
+ * logical index has been created on background.
+ *
+ * <p>Meta elements are the ones found on the snapshot used to calculate the pending index, so
+ * they may not exist anymore once the index is built.
+ */
+@Immutable
+public class PendingDocPartIndex {
+
+  private final MetaDatabase database;
+  private final MetaCollection collection;
+  private final MetaIndex index;
+  private final MetaDocPart docPart;
+  private final MetaIdentifiedDocPartIndex docPartIndex;
+
+  public PendingDocPartIndex(MetaDatabase database, MetaCollection collection, MetaIndex index,
+      MetaDocPart docPart, MetaIdentifiedDocPartIndex docPartIndex) {
+    this.database = database;
+    this.collection = collection;
+    this.index = index;
+    this.docPart = docPart;
+    this.docPartIndex = docPartIndex;
+  }
+
+  public MetaDatabase getDatabase() {
+    return database;
+  }
+
+  public MetaCollection getCollection() {
+    return collection;
+  }
+
+  public MetaIndex getIndex() {
+    return index;
+  }
+
+  public MetaDocPart getDocPart() {
+    return docPart;
+  }
+
+  public MetaIdentifiedDocPartIndex getDocPartIndex() {
+    return docPartIndex;
+  }
+
+  @Override
+  public String toString() {
+    return docPartIndex.getIdentifier() + " on " + database.getName() + '.'
+        + collection.getName() + '.' + index.getName();
+  }
+}
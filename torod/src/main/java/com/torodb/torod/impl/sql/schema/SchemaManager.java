@@ -65,6 +65,21 @@ public interface SchemaManager extends TorodbService {
   CompletableFuture<Boolean> prepareSchema(DdlOperationExecutor ops, String db,
       String collection, Collection<KvDocument> docs);
 
+  /**
+   * Returns true iff the given documents <em>fit</em> on the current schema of the given
+   * collection, as defined on {@link #prepareSchema(DdlOperationExecutor, String, String,
+   * Collection)}.
+   *
+   * <p>The schema is not modified, so callers can use it to skip the exclusive access required to
+   * prepare it.
+   *
+   * @param db         The name of the database
+   * @param collection The name of the collection
+   * @param docs       The documents to check
+   */
+  CompletableFuture<Boolean> fitsSchema(String db, String collection,
+      Collection<KvDocument> docs);
+
   /**
    * Creates a database with a given name if it doesn't exist yet.
    *
@@ -160,12 +175,35 @@ public interface SchemaManager extends TorodbService {
    * @param indexName The name of the index to be created
    * @param fields    The field info of the index.
    * @param unique    If it must be unique or not
+   * @param sparse    If it must ignore the documents that do not contain the indexed fields
+   * @param background If true, the physical indexes for the existent doc parts are not built, so
+   *                   they are {@link #getPendingDocPartIndexes() pending} once the returned
+   *                   future is done
    * @throws UnexistentDatabaseException if the database does not exist
    * @throws UnexistentCollectionException if the collection does not exist
    * 
    */
   CompletableFuture<Boolean> createIndex(DdlOperationExecutor ops, String dbName, String colName,
-      String indexName, List<IndexFieldInfo> fields, boolean unique);
+      String indexName, List<IndexFieldInfo> fields, boolean unique, boolean sparse,
+      boolean background);
+
+  /**
+   * Returns the physical indexes that are required by logical indexes but have not been built
+   * yet.
+   */
+  CompletableFuture<List<PendingDocPartIndex>> getPendingDocPartIndexes();
+
+  /**
+   * Adds a pending physical index that has been built to the metainformation.
+   *
+   * @param ops          The backend object used to modify the database schema.
+   * @param pendingIndex The pending index, which must have been built.
+   * @return a future whose value is true iff the built index is used by the metainformation, which
+   *         is not the case if its logical index or its doc part have been dropped meanwhile it was
+   *         being built
+   */
+  CompletableFuture<Boolean> publishDocPartIndex(DdlOperationExecutor ops,
+      PendingDocPartIndex pendingIndex);
 
   /**
    * Drops an index.
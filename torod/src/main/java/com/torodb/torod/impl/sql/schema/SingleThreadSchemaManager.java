@@ -80,6 +80,12 @@ class SingleThreadSchemaManager extends ExecutorTorodbService<ExecutorService>
     return execute(() -> logic.prepareSchema(ops, db, collection, docs));
   }
 
+  @Override
+  public CompletableFuture<Boolean> fitsSchema(String db, String collection,
+      Collection<KvDocument> docs) {
+    return execute(() -> logic.fitsSchema(db, collection, docs));
+  }
+
   @Override
   public CompletableFuture<Empty> createDatabase(DdlOperationExecutor ops, String dbName) {
     return executeVoid(() -> logic.createDatabase(ops, dbName));
@@ -120,8 +126,21 @@ class SingleThreadSchemaManager extends ExecutorTorodbService<ExecutorService>
 
   @Override
   public CompletableFuture<Boolean> createIndex(DdlOperationExecutor ops, String dbName,
-      String colName, String indexName, List<IndexFieldInfo> fields, boolean unique) {
-    return execute(() -> logic.createIndex(ops, dbName, colName, indexName, fields, unique));
+      String colName, String indexName, List<IndexFieldInfo> fields, boolean unique,
+      boolean sparse, boolean background) {
+    return execute(() -> logic.createIndex(ops, dbName, colName, indexName, fields, unique,
+        sparse, background));
+  }
+
+  @Override
+  public CompletableFuture<List<PendingDocPartIndex>> getPendingDocPartIndexes() {
+    return execute(() -> logic.getPendingDocPartIndexes());
+  }
+
+  @Override
+  public CompletableFuture<Boolean> publishDocPartIndex(DdlOperationExecutor ops,
+      PendingDocPartIndex pendingIndex) {
+    return execute(() -> logic.publishDocPartIndex(ops, pendingIndex));
   }
 
   @Override
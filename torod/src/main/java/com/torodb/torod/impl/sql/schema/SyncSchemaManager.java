@@ -203,15 +203,19 @@ public class SyncSchemaManager {
    * @param indexName The name of the index to be created
    * @param fields    The field info of the index.
    * @param unique    If it must be unique or not
+   * @param sparse    If it must ignore the documents that do not contain the indexed fields
+   * @param background If true, the physical indexes for the existent doc parts are not built
    * @throws UnexistentDatabaseException if the database does not exist
    * @throws UnexistentCollectionException if the collection does not exist
    * 
    */
   public boolean createIndex(DdlOperationExecutor ops, String dbName, String colName,
-      String indexName, List<IndexFieldInfo> fields, boolean unique)
+      String indexName, List<IndexFieldInfo> fields, boolean unique, boolean sparse,
+      boolean background)
       throws UnexistentDatabaseException, UnexistentCollectionException, 
       UnsupportedIndexException {
-    return waitFor(async.createIndex(ops, dbName, colName, indexName, fields, unique),
+    return waitFor(async.createIndex(ops, dbName, colName, indexName, fields, unique, sparse,
+        background),
         UnexistentDatabaseException.class,
         UnexistentCollectionException.class,
         UnsupportedIndexException.class);
@@ -227,6 +227,126 @@ public abstract class ConcurrentServerGuardContract {
 
   }
 
+  @Nested
+  class OnScopedSchema {
+
+    private SchemaOperationExecutor schemaHandler;
+
+    @BeforeEach
+    void setUp() throws TimeoutException, InterruptedException {
+      schemaHandler = helper.createScopedSchemaHandler("scope1");
+    }
+
+    @AfterEach
+    void tearDown() {
+      if (schemaHandler != null) {
+        schemaHandler.close();
+      }
+    }
+
+    @Test
+    void expectedNotifySchemaHandlerClosed() {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        guard.notifyScopedSchemaHandlerClosed("scope1");
+      });
+    }
+
+    @Test
+    void unexpectedNotifySchemaHandlerClosed() {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        Assertions.assertThrows(IllegalStateException.class, guard::notifySchemaHandlerClosed);
+      });
+    }
+
+    @Test
+    void expectedCreateTransactionOnOtherScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        helper.createScopedTransactionAndClose("scope2");
+      });
+    }
+
+    @Test
+    void expectedCreateSchemaHandlerOnOtherScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        helper.createScopedSchemaHandlerAndClose("scope2");
+      });
+    }
+
+    @Test
+    void timeoutCreateTransactionOnSameScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        Assertions.assertThrows(TimeoutException.class, () -> {
+          helper.createScopedTransactionAndClose("scope1");
+        });
+      });
+    }
+
+    @Test
+    void timeoutCreateTransactionWithoutScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        Assertions.assertThrows(TimeoutException.class, helper::createTransactionAndClose);
+      });
+    }
+
+    @Test
+    void unlockCreateTransactionOnSameScope() throws Exception {
+
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        //This future shouldn't be able to finish
+        Future<?> future = submit(() -> helper.createScopedTransactionAndClose("scope1"));
+
+        //Until the active schema is closed
+        guard.notifyScopedSchemaHandlerClosed("scope1");
+
+        future.get();
+      });
+
+    }
+
+  }
+
+  @Nested
+  class OnScopedTransaction {
+
+    private DocTransaction transaction;
+
+    @BeforeEach
+    void setUp() throws TimeoutException, InterruptedException {
+      transaction = helper.createScopedTransaction("scope1");
+    }
+
+    @AfterEach
+    void tearDown() {
+      if (transaction != null) {
+        transaction.close();
+      }
+    }
+
+    @Test
+    void expectedCreateSchemaHandlerOnOtherScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        helper.createScopedSchemaHandlerAndClose("scope2");
+      });
+    }
+
+    @Test
+    void timeoutCreateSchemaHandlerOnSameScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        Assertions.assertThrows(TimeoutException.class, () -> {
+          helper.createScopedSchemaHandlerAndClose("scope1");
+        });
+      });
+    }
+
+    @Test
+    void timeoutCreateSchemaHandlerWithoutScope() throws Exception {
+      Assertions.assertTimeoutPreemptively(getTestTimeout(), () -> {
+        Assertions.assertThrows(TimeoutException.class, helper::createSchemaHandlerAndClose);
+      });
+    }
+
+  }
+
   class Helper {
 
     protected DocTransaction createTransaction() throws InterruptedException, TimeoutException {
@@ -259,6 +379,36 @@ public abstract class ConcurrentServerGuardContract {
       sh.close();
       return true;
     }
+
+    protected DocTransaction createScopedTransaction(String lockScope)
+        throws InterruptedException, TimeoutException {
+      return guard.createTransaction(
+          lockScope,
+          createTransactionMillisTimeout(),
+          TimeUnit.MILLISECONDS,
+          transSupplier);
+    }
+
+    protected SchemaOperationExecutor createScopedSchemaHandler(String lockScope)
+        throws InterruptedException, TimeoutException {
+      return guard.createSchemaHandler(
+          lockScope,
+          createSchemaHandlerMillisTimeout(),
+          TimeUnit.MILLISECONDS,
+          shSupplier);
+    }
+
+    protected Boolean createScopedTransactionAndClose(String lockScope)
+        throws InterruptedException, TimeoutException {
+      createScopedTransaction(lockScope).close();
+      return true;
+    }
+
+    protected Boolean createScopedSchemaHandlerAndClose(String lockScope)
+        throws InterruptedException, TimeoutException {
+      createScopedSchemaHandler(lockScope).close();
+      return true;
+    }
   }
 
   protected long createSchemaHandlerMillisTimeout() {
@@ -0,0 +1,209 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.torod.impl.sql;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.torodb.core.backend.BackendService;
+import com.torodb.core.backend.DdlOperationExecutor;
+import com.torodb.core.backend.DocPartIndexBuilder;
+import com.torodb.core.concurrent.ConcurrentToolsFactory;
+import com.torodb.core.exceptions.user.UniqueIndexViolationException;
+import com.torodb.core.transaction.metainf.MetaCollection;
+import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaDocPart;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
+import com.torodb.core.transaction.metainf.MetaIndex;
+import com.torodb.torod.SchemaOperationExecutor;
+import com.torodb.torod.TorodServer;
+import com.torodb.torod.impl.sql.schema.PendingDocPartIndex;
+import com.torodb.torod.impl.sql.schema.SchemaManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+public class BackgroundIndexBuilderTest {
+
+  private SchemaManager schemaManager;
+  private BackendService backend;
+  private DocPartIndexBuilder docPartIndexBuilder;
+  private SchemaOperationExecutor schemaEx;
+  private BackgroundIndexBuilder indexBuilder;
+
+  @Before
+  public void setUp() throws Exception {
+    schemaManager = mock(SchemaManager.class);
+    backend = mock(BackendService.class);
+    docPartIndexBuilder = mock(DocPartIndexBuilder.class);
+    schemaEx = mock(SchemaOperationExecutor.class);
+    TorodServer torodServer = mock(TorodServer.class);
+
+    when(backend.openDocPartIndexBuilder()).thenReturn(docPartIndexBuilder);
+    when(backend.openDdlOperationExecutor()).thenReturn(mock(DdlOperationExecutor.class));
+    when(torodServer.openSchemaOperationExecutor()).thenReturn(schemaEx);
+
+    indexBuilder = createIndexBuilder(torodServer);
+    indexBuilder.startAsync();
+    indexBuilder.awaitRunning();
+  }
+
+  @After
+  public void tearDown() {
+    if (indexBuilder.isRunning()) {
+      indexBuilder.stopAsync();
+      indexBuilder.awaitTerminated();
+    }
+  }
+
+  @Test
+  public void testBuild() throws Exception {
+    PendingDocPartIndex pending = createPendingIndex("idx");
+    when(schemaManager.getPendingDocPartIndexes())
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(pending)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+    when(schemaManager.publishDocPartIndex(any(), eq(pending)))
+        .thenReturn(CompletableFuture.completedFuture(true));
+
+    CompletableFuture<Void> build = indexBuilder.watchBuild("db", "col", "idx");
+    indexBuilder.buildPendingIndexes().join();
+
+    verify(docPartIndexBuilder).buildDocPartIndex(pending.getDatabase(), pending.getDocPart(),
+        pending.getDocPartIndex());
+    verify(schemaManager).publishDocPartIndex(any(), eq(pending));
+    verify(schemaEx).close();
+    verify(docPartIndexBuilder, never()).dropDocPartIndex(any(), any(), anyString());
+    assertTrue(build.isDone());
+    assertFalse(build.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testResumeAtStartup() throws Exception {
+    //a pending index without watchers, like the ones found when the server starts
+    PendingDocPartIndex pending = createPendingIndex("idx");
+    when(schemaManager.getPendingDocPartIndexes())
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(pending)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+    when(schemaManager.publishDocPartIndex(any(), eq(pending)))
+        .thenReturn(CompletableFuture.completedFuture(true));
+
+    indexBuilder.buildPendingIndexes().join();
+
+    verify(docPartIndexBuilder).buildDocPartIndex(pending.getDatabase(), pending.getDocPart(),
+        pending.getDocPartIndex());
+    verify(schemaManager).publishDocPartIndex(any(), eq(pending));
+  }
+
+  @Test
+  public void testUnusedBuiltIndexIsDropped() throws Exception {
+    PendingDocPartIndex pending = createPendingIndex("idx");
+    when(schemaManager.getPendingDocPartIndexes())
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(pending)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+    when(schemaManager.publishDocPartIndex(any(), eq(pending)))
+        .thenReturn(CompletableFuture.completedFuture(false));
+
+    indexBuilder.buildPendingIndexes().join();
+
+    verify(docPartIndexBuilder).dropDocPartIndex(pending.getDatabase(), pending.getDocPart(),
+        "idx_identifier");
+  }
+
+  @Test
+  public void testFailedBuildDropsIndex() throws Exception {
+    PendingDocPartIndex pending = createPendingIndex("idx");
+    when(schemaManager.getPendingDocPartIndexes())
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(pending)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+    doThrow(new UniqueIndexViolationException("duplicated key"))
+        .when(docPartIndexBuilder)
+        .buildDocPartIndex(any(), any(), any());
+
+    CompletableFuture<Void> build = indexBuilder.watchBuild("db", "col", "idx");
+    indexBuilder.buildPendingIndexes().join();
+
+    verify(schemaEx).dropIndex("db", "col", "idx");
+    verify(schemaEx).close();
+    verify(schemaManager, never()).publishDocPartIndex(any(), any());
+    assertTrue(build.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testIndexRegisteredWhileBuildingIsStillWatched() throws Exception {
+    PendingDocPartIndex first = createPendingIndex("first");
+    PendingDocPartIndex second = createPendingIndex("second");
+    when(schemaManager.getPendingDocPartIndexes())
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(first)))
+        .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(second)));
+    when(schemaManager.publishDocPartIndex(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(true));
+
+    CompletableFuture<Void> firstBuild = indexBuilder.watchBuild("db", "col", "first");
+    CompletableFuture<Void> secondBuild = indexBuilder.watchBuild("db", "col", "second");
+    indexBuilder.buildPendingIndexes().join();
+
+    assertTrue(firstBuild.isDone());
+    assertFalse("An index that is still pending must not be reported as built",
+        secondBuild.isDone());
+    verify(docPartIndexBuilder, times(1)).buildDocPartIndex(any(), any(), any());
+  }
+
+  @Test
+  public void testShutdownFailsWatchedBuilds() {
+    CompletableFuture<Void> build = indexBuilder.watchBuild("db", "col", "idx");
+
+    indexBuilder.stopAsync();
+    indexBuilder.awaitTerminated();
+
+    assertTrue(build.isCompletedExceptionally());
+  }
+
+  private BackgroundIndexBuilder createIndexBuilder(TorodServer torodServer) {
+    ConcurrentToolsFactory concurrentToolsFactory = mock(ConcurrentToolsFactory.class);
+    when(concurrentToolsFactory.createExecutorServiceWithMaxThreads(anyString(), eq(1)))
+        .thenAnswer(invocation -> Executors.newSingleThreadExecutor());
+    return new BackgroundIndexBuilder(Executors.defaultThreadFactory(), concurrentToolsFactory,
+        backend, schemaManager, () -> torodServer);
+  }
+
+  private PendingDocPartIndex createPendingIndex(String indexName) {
+    MetaDatabase db = mock(MetaDatabase.class);
+    when(db.getName()).thenReturn("db");
+    MetaCollection col = mock(MetaCollection.class);
+    when(col.getName()).thenReturn("col");
+    MetaIndex index = mock(MetaIndex.class);
+    when(index.getName()).thenReturn(indexName);
+    MetaIdentifiedDocPartIndex docPartIndex = mock(MetaIdentifiedDocPartIndex.class);
+    when(docPartIndex.getIdentifier()).thenReturn(indexName + "_identifier");
+    return new PendingDocPartIndex(db, col, index, mock(MetaDocPart.class), docPartIndex);
+  }
+}
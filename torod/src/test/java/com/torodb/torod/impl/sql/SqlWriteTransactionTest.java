@@ -0,0 +1,182 @@
+/*
+ * ToroDB
+ * Copyright © 2014 8Kdata Technology (www.8kdata.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.torodb.torod.impl.sql;
+
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.Meter;
+import com.torodb.core.TableRefFactory;
+import com.torodb.core.backend.WriteDmlTransaction;
+import com.torodb.core.d2r.CollectionData;
+import com.torodb.core.d2r.DocPartData;
+import com.torodb.core.d2r.R2DTranslator;
+import com.torodb.core.transaction.RollbackException;
+import com.torodb.core.transaction.metainf.ImmutableMetaCollection;
+import com.torodb.core.transaction.metainf.ImmutableMetaDatabase;
+import com.torodb.core.transaction.metainf.ImmutableMetaSnapshot;
+import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.torod.impl.sql.SqlWriteTransaction.PrepareSchemaCallback;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+public class SqlWriteTransactionTest {
+
+  private static final String DB_NAME = "db";
+  private static final String COL_NAME = "col";
+  private final Collection<KvDocument> docs = Collections.emptyList();
+  private WriteDmlTransaction backendTrans;
+  private InsertD2RTranslator insertAnalyzer;
+  private PrepareSchemaCallback prepareSchemaCallback;
+  private Meter schemaChangesWithoutRollback;
+  private Meter schemaChangeRollbacks;
+  private ImmutableMetaSnapshot oldSnapshot;
+  private ImmutableMetaSnapshot newSnapshot;
+  private ImmutableMetaDatabase newDb;
+  private ImmutableMetaCollection newCol;
+  private DocPartData docPartData;
+  private SqlWriteTransaction transaction;
+
+  @Before
+  public void setUp() throws Exception {
+    backendTrans = mock(WriteDmlTransaction.class);
+    insertAnalyzer = mock(InsertD2RTranslator.class);
+    prepareSchemaCallback = mock(PrepareSchemaCallback.class);
+
+    SqlTorodMetrics metrics = mock(SqlTorodMetrics.class);
+    schemaChangesWithoutRollback = mock(Meter.class);
+    schemaChangeRollbacks = mock(Meter.class);
+    when(metrics.getSchemaChangesWithoutRollback()).thenReturn(schemaChangesWithoutRollback);
+    when(metrics.getSchemaChangeRollbacks()).thenReturn(schemaChangeRollbacks);
+
+    oldSnapshot = mockSnapshot();
+    newSnapshot = mockSnapshot();
+    newDb = newSnapshot.getMetaDatabaseByName(DB_NAME);
+    newCol = newDb.getMetaCollectionByName(COL_NAME);
+
+    //documents only fit on the new snapshot
+    when(insertAnalyzer.analyze(eq(oldSnapshot), eq(DB_NAME), eq(COL_NAME), any()))
+        .thenThrow(new IncompatibleSchemaException());
+    docPartData = mock(DocPartData.class);
+    CollectionData data = mock(CollectionData.class);
+    when(data.iterator()).thenAnswer(invocation ->
+        Collections.singletonList(docPartData).iterator());
+    when(insertAnalyzer.analyze(eq(newSnapshot), eq(DB_NAME), eq(COL_NAME), any()))
+        .thenReturn(data);
+
+    InsertD2RExecutor insertExecutor = mock(InsertD2RExecutor.class);
+    when(insertExecutor.isRunning()).thenReturn(false);
+
+    transaction = new SqlWriteTransaction(backendTrans, oldSnapshot, mock(R2DTranslator.class),
+        mock(TableRefFactory.class), insertAnalyzer, insertExecutor, prepareSchemaCallback,
+        metrics);
+  }
+
+  @Test
+  public void testContinueAfterSchemaChange() throws Exception {
+    when(prepareSchemaCallback.prepareSchema(DB_NAME, COL_NAME, docs))
+        .thenReturn(CompletableFuture.completedFuture(newSnapshot));
+
+    transaction.insert(DB_NAME, COL_NAME, docs);
+
+    verify(backendTrans).insert(newDb, newCol, docPartData);
+    verify(backendTrans, never()).close();
+    verify(schemaChangesWithoutRollback).mark();
+    verify(schemaChangeRollbacks, never()).mark();
+  }
+
+  @Test
+  public void testRollbackIfCollectionWasUsed() throws Exception {
+    transaction.countAll(DB_NAME, COL_NAME);
+
+    assertRollback();
+
+    //the schema is still changed for the retried transaction
+    verify(prepareSchemaCallback).prepareSchema(DB_NAME, COL_NAME, docs);
+    verify(schemaChangesWithoutRollback, never()).mark();
+  }
+
+  @Test
+  public void testRollbackIfSchemaChangeFails() throws Exception {
+    CompletableFuture<ImmutableMetaSnapshot> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("The schema could not be changed"));
+    when(prepareSchemaCallback.prepareSchema(DB_NAME, COL_NAME, docs)).thenReturn(failed);
+
+    assertRollback();
+
+    verify(prepareSchemaCallback, times(1)).prepareSchema(DB_NAME, COL_NAME, docs);
+    verify(schemaChangesWithoutRollback, never()).mark();
+  }
+
+  @Test
+  public void testRollbackIfSchemaChangeTimesOut() throws Exception {
+    when(prepareSchemaCallback.prepareSchema(DB_NAME, COL_NAME, docs))
+        .thenReturn(new CompletableFuture<>());
+
+    assertRollback();
+
+    verify(prepareSchemaCallback, times(1)).prepareSchema(DB_NAME, COL_NAME, docs);
+    verify(schemaChangesWithoutRollback, never()).mark();
+  }
+
+  @Test
+  public void testRollbackAfterMaxSchemaChanges() throws Exception {
+    //the schema is changed, but the documents never fit on it
+    when(prepareSchemaCallback.prepareSchema(DB_NAME, COL_NAME, docs))
+        .thenReturn(CompletableFuture.completedFuture(oldSnapshot));
+
+    assertRollback();
+
+    verify(prepareSchemaCallback, times(3)).prepareSchema(DB_NAME, COL_NAME, docs);
+    verify(schemaChangesWithoutRollback, times(3)).mark();
+  }
+
+  private void assertRollback() throws Exception {
+    try {
+      transaction.insert(DB_NAME, COL_NAME, docs);
+      fail("The transaction should be rolled back");
+    } catch (RollbackException ex) {
+      //expected
+    }
+    verify(backendTrans).close();
+    verify(backendTrans, never()).insert(any(), any(), any());
+    verify(schemaChangeRollbacks).mark();
+  }
+
+  private static ImmutableMetaSnapshot mockSnapshot() {
+    ImmutableMetaCollection col = mock(ImmutableMetaCollection.class);
+    when(col.getName()).thenReturn(COL_NAME);
+    ImmutableMetaDatabase db = mock(ImmutableMetaDatabase.class);
+    when(db.getName()).thenReturn(DB_NAME);
+    when(db.getMetaCollectionByName(COL_NAME)).thenReturn(col);
+    ImmutableMetaSnapshot snapshot = mock(ImmutableMetaSnapshot.class);
+    when(snapshot.getMetaDatabaseByName(DB_NAME)).thenReturn(db);
+    return snapshot;
+  }
+}
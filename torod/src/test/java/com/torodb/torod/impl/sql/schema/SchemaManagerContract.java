@@ -32,19 +32,27 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import com.torodb.core.TableRef;
 import com.torodb.core.TableRefFactory;
 import com.torodb.core.backend.DdlOperationExecutor;
 import com.torodb.core.exceptions.user.UserException;
 import com.torodb.core.impl.TableRefFactoryImpl;
+import com.torodb.core.language.AttributeReference;
+import com.torodb.core.transaction.metainf.FieldIndexOrdering;
 import com.torodb.core.transaction.metainf.FieldType;
 import com.torodb.core.transaction.metainf.ImmutableMetaCollection;
 import com.torodb.core.transaction.metainf.ImmutableMetaDatabase;
 import com.torodb.core.transaction.metainf.ImmutableMetaDocPart;
 import com.torodb.core.transaction.metainf.ImmutableMetaField;
+import com.torodb.core.transaction.metainf.ImmutableMetaIdentifiedDocPartIndex;
+import com.torodb.core.transaction.metainf.ImmutableMetaIndex;
+import com.torodb.core.transaction.metainf.ImmutableMetaIndexField;
 import com.torodb.core.transaction.metainf.ImmutableMetaScalar;
 import com.torodb.core.transaction.metainf.ImmutableMetaSnapshot;
 import com.torodb.core.transaction.metainf.MetaCollection;
 import com.torodb.core.transaction.metainf.MetaDatabase;
+import com.torodb.core.transaction.metainf.MetaIdentifiedDocPartIndex;
+import com.torodb.core.transaction.metainf.MetaIndex;
 import com.torodb.core.transaction.metainf.MetaSnapshot;
 import com.torodb.core.transaction.metainf.MutableMetaCollection;
 import com.torodb.core.transaction.metainf.MutableMetaDatabase;
@@ -52,6 +60,7 @@ import com.torodb.core.transaction.metainf.WrapperMutableMetaCollection;
 import com.torodb.kvdocument.conversion.json.JacksonJsonParser;
 import com.torodb.kvdocument.conversion.json.JsonParser;
 import com.torodb.kvdocument.values.KvDocument;
+import com.torodb.torod.IndexFieldInfo;
 import com.torodb.torod.exception.AlreadyExistentCollectionException;
 import com.torodb.torod.exception.UnexistentCollectionException;
 import com.torodb.torod.exception.UnexistentDatabaseException;
@@ -77,6 +86,7 @@ import org.mockito.stubbing.Answer;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
@@ -260,6 +270,29 @@ public abstract class SchemaManagerContract {
           argThat(matchCol(col))
       );
     }
+
+    @ParameterizedTest
+    @ArgumentsSource(StreamDocuments.class)
+    void fitsSchemaOnceItIsPrepared(Collection<KvDocument> docs) {
+      String dbName = "oldDbName";
+      String colName = "newColName";
+
+      Assertions.assertFalse(sm.fitsSchema(dbName, colName, docs).join(),
+          "The documents cannot fit on a collection that does not exist");
+
+      sm.prepareSchema(ddlOpsEx, dbName, colName, docs).join();
+
+      Assertions.assertTrue(sm.fitsSchema(dbName, colName, docs).join(),
+          "After calling PrepareSchema, the documents must fit on the schema");
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(StreamFitDocuments.class)
+    void fitsSchemaWhenFit(Collection<KvDocument> docs) {
+      Assertions.assertTrue(sm.fitsSchema("oldDbName", "oldColName", docs).join());
+
+      verifyNoMoreInteractions(ddlOpsEx);
+    }
   }
 
   @Nested
@@ -822,6 +855,116 @@ public abstract class SchemaManagerContract {
     }
   }
 
+  @Nested
+  class CreateIndex {
+
+    private final TableRef rootRef = tableRefFactory.createRoot();
+    private final ImmutableMetaSnapshot initialSnapshot = new ImmutableMetaSnapshot.Builder()
+        .put(new ImmutableMetaDatabase("oldDbName", "oldDbId", Collections.singleton(
+            new ImmutableMetaCollection.Builder("oldColName", "oldColId")
+                .put(new ImmutableMetaDocPart.Builder(rootRef, "root")
+                    .put(new ImmutableMetaField("a", "a_i", FieldType.INTEGER))
+                    .put(new ImmutableMetaIdentifiedDocPartIndex.Builder("a_asc_idx", false)
+                        .addColumn("a_i", FieldIndexOrdering.ASC))
+                )
+                .put(new ImmutableMetaIndex.Builder("oldIdx", false)
+                    .add(new ImmutableMetaIndexField(0, rootRef, "a", FieldIndexOrdering.ASC)))
+                .build()
+        )))
+        .build();
+
+    @BeforeEach
+    void refresh() {
+      doReturn(initialSnapshot)
+          .when(refreshDdlOps)
+          .readMetadata();
+      sm.refreshMetadata(refreshDdlOps).join();
+    }
+
+    private boolean createIndex(String indexName, FieldIndexOrdering ordering, boolean sparse,
+        boolean background) {
+      AttributeReference attRef = new AttributeReference.Builder()
+          .addObjectKey("a")
+          .build();
+      return sm.createIndex(ddlOpsEx, "oldDbName", "oldColName", indexName,
+          Collections.singletonList(new IndexFieldInfo(attRef, ordering)), false, sparse,
+          background).join();
+    }
+
+    private MetaIndex getIndex(String indexName) {
+      return sm.getMetaSnapshot().join()
+          .getMetaDatabaseByName("oldDbName")
+          .getMetaCollectionByName("oldColName")
+          .getMetaIndexByName(indexName);
+    }
+
+    @Test
+    void sparseIndexIsNotMatchedByNonSparseIndex() throws UserException {
+      //When
+      boolean created = createIndex("newIdx", FieldIndexOrdering.ASC, true, false);
+
+      //Then
+      Assertions.assertTrue(created);
+      MetaIndex index = getIndex("newIdx");
+      assertNotNull(index);
+      Assertions.assertTrue(index.isSparse());
+      verify(ddlOpsEx).createIndex(any(), any(), argThat((MetaIndex found) -> found.isSparse()),
+          Mockito.eq(false));
+    }
+
+    @Test
+    void equivalentSparseIndexIsNotCreatedTwice() throws UserException {
+      //Given
+      createIndex("newIdx", FieldIndexOrdering.ASC, true, false);
+
+      //When
+      boolean created = createIndex("otherIdx", FieldIndexOrdering.ASC, true, false);
+
+      //Then
+      Assertions.assertFalse(created);
+      assertThat(getIndex("otherIdx"), is(nullValue()));
+      verify(ddlOpsEx, times(1)).createIndex(any(), any(), any(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void hashedIndexIsNotMatchedByAscIndex() {
+      //When
+      boolean created = createIndex("hashedIdx", FieldIndexOrdering.HASHED, false, false);
+
+      //Then
+      Assertions.assertTrue(created);
+      MetaIndex index = getIndex("hashedIdx");
+      assertNotNull(index);
+      assertThat(index.getMetaIndexFieldByPosition(0).getOrdering(),
+          is(FieldIndexOrdering.HASHED));
+    }
+
+    @Test
+    void pendingDocPartIndexKeepsSparseAndHashed() {
+      //When
+      createIndex("newIdx", FieldIndexOrdering.HASHED, true, true);
+
+      //Then
+      List<PendingDocPartIndex> pendingIndexes = sm.getPendingDocPartIndexes().join();
+      assertThat("The non sparse doc part index must not be used by the sparse index",
+          pendingIndexes.size(), is(1));
+      MetaIdentifiedDocPartIndex docPartIndex = pendingIndexes.get(0).getDocPartIndex();
+      Assertions.assertTrue(docPartIndex.isSparse());
+      assertThat(docPartIndex.getMetaDocPartIndexColumnByPosition(0).getOrdering(),
+          is(FieldIndexOrdering.HASHED));
+    }
+
+    @Test
+    void pendingDocPartIndexIsNotCreatedForBuiltIndex() {
+      //When
+      boolean created = createIndex("newIdx", FieldIndexOrdering.ASC, false, true);
+
+      //Then
+      Assertions.assertFalse(created);
+      assertThat(sm.getPendingDocPartIndexes().join().size(), is(0));
+    }
+  }
+
   /**
    * Returns a db {@link ArgumentMatcher} that is evaluated to true when the name and the id of the
    * found db is the same as the expected.